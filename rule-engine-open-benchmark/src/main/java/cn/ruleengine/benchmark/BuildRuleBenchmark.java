@@ -0,0 +1,64 @@
+/*
+ * Copyright (c) 2020 dingqianwen (761945125@qq.com)
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cn.ruleengine.benchmark;
+
+import cn.ruleengine.core.rule.GeneralRule;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 〈一句话功能简述〉<br>
+ * 〈〉
+ * 普通规则json/二进制快照反序列化，规则发布加载时使用
+ *
+ * @author dingqianwen
+ * @date 2026/10/18
+ * @since 1.0.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BuildRuleBenchmark {
+
+    @Param({"1", "10", "100"})
+    private int groupCount;
+
+    private String json;
+
+    private byte[] snapshot;
+
+    @Setup
+    public void setup() {
+        GeneralRule generalRule = RuleGenerator.generalRule("benchmark", this.groupCount);
+        this.json = generalRule.toJson();
+        this.snapshot = generalRule.toSnapshot();
+    }
+
+    @Benchmark
+    public GeneralRule buildRule() {
+        return GeneralRule.buildRule(this.json);
+    }
+
+    @Benchmark
+    public GeneralRule buildRuleFromSnapshot() {
+        return GeneralRule.buildRule(this.snapshot);
+    }
+
+}
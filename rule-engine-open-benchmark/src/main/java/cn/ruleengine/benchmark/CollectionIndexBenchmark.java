@@ -0,0 +1,92 @@
+/*
+ * Copyright (c) 2020 dingqianwen (761945125@qq.com)
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cn.ruleengine.benchmark;
+
+import cn.ruleengine.core.condition.Operator;
+import cn.ruleengine.core.condition.compare.CollectionCompare;
+import cn.ruleengine.core.value.IndexedList;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 〈一句话功能简述〉<br>
+ * 〈〉
+ * 集合类型固定值IN/CONTAIN，普通集合与带索引集合对比，例如黑名单规则
+ *
+ * @author dingqianwen
+ * @date 2026/10/18
+ * @since 1.0.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CollectionIndexBenchmark {
+
+    private final CollectionCompare collectionCompare = CollectionCompare.getInstance();
+
+    @Param({"8", "1000", "50000"})
+    private int size;
+
+    private List<String> constant;
+
+    private List<String> indexedConstant;
+
+    private List<String> input;
+
+    private String element;
+
+    @Setup
+    public void setup() {
+        this.constant = new ArrayList<>(this.size);
+        for (int i = 0; i < this.size; i++) {
+            this.constant.add("1380000" + i);
+        }
+        this.indexedConstant = IndexedList.of(this.constant);
+        // 入参集合，最后一个元素不在固定值中
+        this.input = new ArrayList<>();
+        this.input.add(this.constant.get(this.size / 2));
+        this.input.add(this.constant.get(this.size - 1));
+        this.input.add("13900000000");
+        this.element = this.constant.get(this.size - 1);
+    }
+
+    @Benchmark
+    public boolean listIn() {
+        return this.collectionCompare.compare(this.input, Operator.IN, this.constant);
+    }
+
+    @Benchmark
+    public boolean indexedIn() {
+        return this.collectionCompare.compare(this.input, Operator.IN, this.indexedConstant);
+    }
+
+    @Benchmark
+    public boolean listContain() {
+        return this.collectionCompare.compare(this.constant, Operator.CONTAIN, this.element);
+    }
+
+    @Benchmark
+    public boolean indexedContain() {
+        return this.collectionCompare.compare(this.indexedConstant, Operator.CONTAIN, this.element);
+    }
+
+}
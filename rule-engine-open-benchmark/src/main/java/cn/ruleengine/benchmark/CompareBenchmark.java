@@ -0,0 +1,141 @@
+/*
+ * Copyright (c) 2020 dingqianwen (761945125@qq.com)
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cn.ruleengine.benchmark;
+
+import cn.ruleengine.core.condition.Operator;
+import cn.ruleengine.core.condition.compare.*;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+
+/**
+ * 〈一句话功能简述〉<br>
+ * 〈〉
+ * 各个数据类型的条件比较
+ *
+ * @author dingqianwen
+ * @date 2026/10/18
+ * @since 1.0.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CompareBenchmark {
+
+    private final StringCompare stringCompare = StringCompare.getInstance();
+
+    private final NumberCompare numberCompare = NumberCompare.getInstance();
+
+    private final BooleanCompare booleanCompare = BooleanCompare.getInstance();
+
+    private final CollectionCompare collectionCompare = CollectionCompare.getInstance();
+
+    private final DateCompare dateCompare = DateCompare.getInstance();
+
+    private final BigDecimal leftNumber = new BigDecimal("30.5");
+
+    private final BigDecimal rightNumber = new BigDecimal("18");
+
+    private final Long leftLong = 30L;
+
+    /**
+     * 编译后右值为固定值的比较
+     */
+    private final Predicate<Object> numberGtConstant = NumberCompare.getInstance().resolve(Operator.GT, new BigDecimal("18"));
+
+    private final Date leftDate = new Date(1600000000000L);
+
+    private final Date rightDate = new Date(1500000000000L);
+
+    @Param({"10", "1000"})
+    private int collectionSize;
+
+    private List<String> leftCollection;
+
+    private List<String> rightCollection;
+
+    private String collectionElement;
+
+    @Setup
+    public void setup() {
+        this.leftCollection = new ArrayList<>(this.collectionSize);
+        for (int i = 0; i < this.collectionSize; i++) {
+            this.leftCollection.add("element" + i);
+        }
+        this.rightCollection = new ArrayList<>(this.leftCollection.subList(0, Math.min(5, this.collectionSize)));
+        // 最坏情况，查找最后一个元素
+        this.collectionElement = "element" + (this.collectionSize - 1);
+    }
+
+    @Benchmark
+    public boolean stringEq() {
+        return this.stringCompare.compare("北京市朝阳区", Operator.EQ, "北京市朝阳区");
+    }
+
+    @Benchmark
+    public boolean stringContain() {
+        return this.stringCompare.compare("北京市朝阳区", Operator.CONTAIN, "朝阳");
+    }
+
+    @Benchmark
+    public boolean numberGt() {
+        return this.numberCompare.compare(this.leftNumber, Operator.GT, this.rightNumber);
+    }
+
+    @Benchmark
+    public boolean numberGtConstant() {
+        return this.numberGtConstant.test(this.leftNumber);
+    }
+
+    @Benchmark
+    public boolean numberGtConstantPrimitive() {
+        return this.numberGtConstant.test(this.leftLong);
+    }
+
+    @Benchmark
+    public boolean booleanEq() {
+        return this.booleanCompare.compare(Boolean.TRUE, Operator.EQ, Boolean.TRUE);
+    }
+
+    @Benchmark
+    public boolean dateGt() {
+        return this.dateCompare.compare(this.leftDate, Operator.GT, this.rightDate);
+    }
+
+    @Benchmark
+    public boolean collectionContain() {
+        return this.collectionCompare.compare(this.leftCollection, Operator.CONTAIN, this.collectionElement);
+    }
+
+    @Benchmark
+    public boolean collectionIn() {
+        return this.collectionCompare.compare(this.rightCollection, Operator.IN, this.leftCollection);
+    }
+
+    @Benchmark
+    public boolean collectionEq() {
+        return this.collectionCompare.compare(this.leftCollection, Operator.EQ, new ArrayList<>(this.leftCollection));
+    }
+
+}
@@ -0,0 +1,92 @@
+/*
+ * Copyright (c) 2020 dingqianwen (761945125@qq.com)
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cn.ruleengine.benchmark;
+
+import cn.ruleengine.core.value.Constant;
+import cn.ruleengine.core.value.Value;
+import cn.ruleengine.core.value.ValueType;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 〈一句话功能简述〉<br>
+ * 〈〉
+ * 各个数据类型的数据转换，入参分别为已经是目标类型的值以及需要转换的值
+ *
+ * @author dingqianwen
+ * @date 2026/10/18
+ * @since 1.0.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DataConversionBenchmark {
+
+    @Param({"STRING", "BOOLEAN", "NUMBER", "COLLECTION", "DATE"})
+    private ValueType valueType;
+
+    private final Value value = new Constant(null, ValueType.STRING);
+
+    private Object rawValue;
+
+    private Object convertedValue;
+
+    @Setup
+    public void setup() {
+        switch (this.valueType) {
+            case STRING:
+                this.rawValue = 123456;
+                this.convertedValue = "123456";
+                break;
+            case BOOLEAN:
+                this.rawValue = "true";
+                this.convertedValue = Boolean.TRUE;
+                break;
+            case NUMBER:
+                this.rawValue = 123456L;
+                this.convertedValue = new BigDecimal("123456");
+                break;
+            case COLLECTION:
+                this.rawValue = "a,b,c,d,e,f,g,h";
+                this.convertedValue = Arrays.asList("a", "b", "c", "d", "e", "f", "g", "h");
+                break;
+            case DATE:
+                this.rawValue = "2020-10-01 12:00:00";
+                this.convertedValue = new Date(1601524800000L);
+                break;
+            default:
+                throw new IllegalStateException("Unexpected value: " + this.valueType);
+        }
+    }
+
+    @Benchmark
+    public Object raw() {
+        return this.value.dataConversion(this.rawValue, this.valueType);
+    }
+
+    @Benchmark
+    public Object converted() {
+        return this.value.dataConversion(this.convertedValue, this.valueType);
+    }
+
+}
@@ -0,0 +1,73 @@
+/*
+ * Copyright (c) 2020 dingqianwen (761945125@qq.com)
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cn.ruleengine.benchmark;
+
+import cn.ruleengine.core.DefaultInput;
+import cn.ruleengine.core.Input;
+import cn.ruleengine.core.RuleEngineConfiguration;
+import cn.ruleengine.core.value.Formula;
+import cn.ruleengine.core.value.ValueType;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 〈一句话功能简述〉<br>
+ * 〈〉
+ * 表达式计算
+ *
+ * @author dingqianwen
+ * @date 2026/10/18
+ * @since 1.0.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class FormulaBenchmark {
+
+    private final RuleEngineConfiguration configuration = new RuleEngineConfiguration();
+
+    private Formula numberFormula;
+
+    private Formula stringFormula;
+
+    private Input input;
+
+    @Setup
+    public void setup() {
+        this.numberFormula = new Formula("(#input1 - #input2) * 3 + #input3", ValueType.NUMBER);
+        this.stringFormula = new Formula("#name + ' 你好'", ValueType.STRING);
+        this.input = new DefaultInput();
+        this.input.put("input1", 30);
+        this.input.put("input2", 12);
+        this.input.put("input3", 5);
+        this.input.put("name", "小丁");
+    }
+
+    @Benchmark
+    public Object number() {
+        return this.numberFormula.getValue(this.input, this.configuration);
+    }
+
+    @Benchmark
+    public Object string() {
+        return this.stringFormula.getValue(this.input, this.configuration);
+    }
+
+}
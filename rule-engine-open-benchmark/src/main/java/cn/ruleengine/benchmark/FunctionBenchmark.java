@@ -0,0 +1,78 @@
+/*
+ * Copyright (c) 2020 dingqianwen (761945125@qq.com)
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cn.ruleengine.benchmark;
+
+import cn.ruleengine.benchmark.function.CacheableStringConcatFunction;
+import cn.ruleengine.benchmark.function.StringConcatFunction;
+import cn.ruleengine.core.Input;
+import cn.ruleengine.core.RuleEngineConfiguration;
+import cn.ruleengine.core.value.Constant;
+import cn.ruleengine.core.value.Function;
+import cn.ruleengine.core.value.InputParameter;
+import cn.ruleengine.core.value.Value;
+import cn.ruleengine.core.value.ValueType;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 〈一句话功能简述〉<br>
+ * 〈〉
+ * 函数取值，分别测试未开启缓存以及开启缓存的函数
+ *
+ * @author dingqianwen
+ * @date 2026/10/18
+ * @since 1.0.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class FunctionBenchmark {
+
+    private final RuleEngineConfiguration configuration = new RuleEngineConfiguration();
+
+    private Function function;
+
+    private Function cacheableFunction;
+
+    private Input input;
+
+    @Setup
+    public void setup() {
+        Map<String, Value> params = new HashMap<>();
+        params.put("value", new InputParameter(2, "city", ValueType.STRING));
+        params.put("concat", new Constant("朝阳区", ValueType.STRING));
+        this.function = new Function(1, new StringConcatFunction(), ValueType.STRING, params);
+        this.cacheableFunction = new Function(2, new CacheableStringConcatFunction(), ValueType.STRING, params);
+        this.input = RuleGenerator.input();
+    }
+
+    @Benchmark
+    public Object noCache() {
+        return this.function.getValue(this.input, this.configuration);
+    }
+
+    @Benchmark
+    public Object cache() {
+        return this.cacheableFunction.getValue(this.input, this.configuration);
+    }
+
+}
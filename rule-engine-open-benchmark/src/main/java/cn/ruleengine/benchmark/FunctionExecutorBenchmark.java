@@ -0,0 +1,106 @@
+/*
+ * Copyright (c) 2020 dingqianwen (761945125@qq.com)
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cn.ruleengine.benchmark;
+
+import cn.ruleengine.benchmark.function.CollectionSumFunction;
+import cn.ruleengine.benchmark.function.StringConcatFunction;
+import cn.ruleengine.core.FunctionExecutor;
+import cn.ruleengine.core.value.Function;
+import cn.ruleengine.core.value.Value;
+import cn.ruleengine.core.value.ValueType;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 〈一句话功能简述〉<br>
+ * 〈〉
+ * 函数执行：反射执行与预编译执行器执行对比
+ *
+ * @author dingqianwen
+ * @date 2026/10/18
+ * @since 1.0.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class FunctionExecutorBenchmark {
+
+    private final FunctionExecutor functionExecutor = FunctionExecutor.getInstance();
+
+    private Function stringFunction;
+
+    private FunctionExecutor.Invoker stringInvoker;
+
+    private Map<String, Object> stringParamValue;
+
+    private Function collectionFunction;
+
+    private FunctionExecutor.Invoker collectionInvoker;
+
+    private Map<String, Object> collectionParamValue;
+
+    @Setup
+    public void setup() {
+        this.stringFunction = this.createFunction(new StringConcatFunction(), ValueType.STRING, new HashMap<>());
+        this.stringInvoker = this.createInvoker(this.stringFunction);
+        this.stringParamValue = new HashMap<>();
+        this.stringParamValue.put("value", "rule");
+        this.stringParamValue.put("concat", "engine");
+
+        this.collectionFunction = this.createFunction(new CollectionSumFunction(), ValueType.NUMBER, new HashMap<>());
+        this.collectionInvoker = this.createInvoker(this.collectionFunction);
+        this.collectionParamValue = new HashMap<>();
+        this.collectionParamValue.put("list", Arrays.asList(1, 2, 3, 4, 5, 6, 7, 8));
+    }
+
+    @Benchmark
+    public Object stringReflect() {
+        return this.functionExecutor.executor(this.stringFunction.getAbstractFunction(), this.stringFunction.getExecutorMethod(),
+                this.stringFunction.getFailureStrategyMethod(), this.stringParamValue);
+    }
+
+    @Benchmark
+    public Object stringInvoker() {
+        return this.functionExecutor.executor(this.stringInvoker, this.stringParamValue);
+    }
+
+    @Benchmark
+    public Object collectionReflect() {
+        return this.functionExecutor.executor(this.collectionFunction.getAbstractFunction(), this.collectionFunction.getExecutorMethod(),
+                this.collectionFunction.getFailureStrategyMethod(), this.collectionParamValue);
+    }
+
+    @Benchmark
+    public Object collectionInvoker() {
+        return this.functionExecutor.executor(this.collectionInvoker, this.collectionParamValue);
+    }
+
+    private Function createFunction(Object abstractFunction, ValueType valueType, Map<String, Value> params) {
+        return new Function(1, abstractFunction, valueType, params);
+    }
+
+    private FunctionExecutor.Invoker createInvoker(Function function) {
+        return this.functionExecutor.createInvoker(function.getAbstractFunction(), function.getExecutorMethod(), function.getFailureStrategyMethod());
+    }
+
+}
@@ -0,0 +1,74 @@
+/*
+ * Copyright (c) 2020 dingqianwen (761945125@qq.com)
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cn.ruleengine.benchmark;
+
+import cn.ruleengine.core.GeneralRuleEngine;
+import cn.ruleengine.core.Input;
+import cn.ruleengine.core.Output;
+import cn.ruleengine.core.RuleEngineConfiguration;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 〈一句话功能简述〉<br>
+ * 〈〉
+ * 普通规则执行，分别测试1/10/100个条件组以及是否编译规则
+ *
+ * @author dingqianwen
+ * @date 2026/10/18
+ * @since 1.0.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class GeneralRuleEngineBenchmark {
+
+    private static final String RULE_CODE = "benchmark";
+
+    @Param({"1", "10", "100"})
+    private int groupCount;
+
+    @Param({"false", "true"})
+    private boolean compileEnabled;
+
+    private GeneralRuleEngine engine;
+
+    private Input input;
+
+    @Setup
+    public void setup() {
+        RuleEngineConfiguration configuration = new RuleEngineConfiguration();
+        configuration.getGeneralRuleContainer().setCompileEnabled(this.compileEnabled);
+        configuration.getGeneralRuleContainer().add(RuleGenerator.generalRule(RULE_CODE, this.groupCount));
+        this.engine = new GeneralRuleEngine(configuration);
+        this.input = RuleGenerator.input();
+    }
+
+    @TearDown
+    public void tearDown() {
+        this.engine.close();
+    }
+
+    @Benchmark
+    public Output execute() {
+        return this.engine.execute(this.input, RuleGenerator.WORKSPACE_CODE, RULE_CODE);
+    }
+
+}
@@ -0,0 +1,109 @@
+/*
+ * Copyright (c) 2020 dingqianwen (761945125@qq.com)
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cn.ruleengine.benchmark;
+
+import cn.ruleengine.core.DefaultInput;
+import cn.ruleengine.core.Input;
+import cn.ruleengine.core.condition.Condition;
+import cn.ruleengine.core.condition.ConditionGroup;
+import cn.ruleengine.core.condition.Operator;
+import cn.ruleengine.core.rule.GeneralRule;
+import cn.ruleengine.core.rule.Rule;
+import cn.ruleengine.core.value.Constant;
+import cn.ruleengine.core.value.InputParameter;
+import cn.ruleengine.core.value.Value;
+import cn.ruleengine.core.value.ValueType;
+
+import java.util.Arrays;
+
+/**
+ * 〈一句话功能简述〉<br>
+ * 〈〉
+ * 基准测试规则生成
+ * <p>
+ * 生成的规则只有最后一个条件组命中，执行时需要比较全部条件组
+ *
+ * @author dingqianwen
+ * @date 2026/10/18
+ * @since 1.0.0
+ */
+public class RuleGenerator {
+
+    public static final String WORKSPACE_CODE = "benchmark";
+
+    private RuleGenerator() {
+    }
+
+    /**
+     * 生成普通规则
+     *
+     * @param code       规则code
+     * @param groupCount 条件组数量
+     * @return 普通规则
+     */
+    public static GeneralRule generalRule(String code, int groupCount) {
+        Rule rule = new Rule();
+        rule.setCode(code);
+        rule.setName(code);
+        for (int i = 0; i < groupCount; i++) {
+            boolean last = i == groupCount - 1;
+            ConditionGroup conditionGroup = new ConditionGroup();
+            conditionGroup.setId(i);
+            conditionGroup.setOrderNo(i);
+            // 只有最后一个条件组成立
+            int age = last ? 18 : 100 + i;
+            conditionGroup.addCondition(condition(i, new InputParameter(1, "age", ValueType.NUMBER), Operator.GT, new Constant(age, ValueType.NUMBER)));
+            conditionGroup.addCondition(condition(i, new InputParameter(2, "city", ValueType.STRING), Operator.STARTS_WITH, new Constant("北京", ValueType.STRING)));
+            conditionGroup.addCondition(condition(i, new InputParameter(3, "vip", ValueType.BOOLEAN), Operator.EQ, new Constant(true, ValueType.BOOLEAN)));
+            conditionGroup.addCondition(condition(i, new InputParameter(4, "tags", ValueType.COLLECTION), Operator.CONTAIN, new Constant("tag" + (i % 8), ValueType.STRING)));
+            rule.getConditionSet().addConditionGroup(conditionGroup);
+        }
+        rule.setActionValue(new Constant("命中", ValueType.STRING));
+        GeneralRule generalRule = new GeneralRule(rule);
+        generalRule.setId(groupCount);
+        generalRule.setCode(code);
+        generalRule.setName(code);
+        generalRule.setWorkspaceId(1);
+        generalRule.setWorkspaceCode(WORKSPACE_CODE);
+        generalRule.setVersion("1.0");
+        generalRule.setDefaultActionValue(new Constant("未命中", ValueType.STRING));
+        return generalRule;
+    }
+
+    /**
+     * 生成规则入参，与generalRule生成的最后一个条件组匹配
+     *
+     * @return 规则入参
+     */
+    public static Input input() {
+        Input input = new DefaultInput();
+        input.put("age", 30);
+        input.put("city", "北京市");
+        input.put("vip", true);
+        input.put("tags", Arrays.asList("tag0", "tag1", "tag2", "tag3", "tag4", "tag5", "tag6", "tag7"));
+        return input;
+    }
+
+    private static Condition condition(int groupIndex, Value leftValue, Operator operator, Value rightValue) {
+        Condition condition = new Condition();
+        condition.setName("condition" + groupIndex);
+        condition.setLeftValue(leftValue);
+        condition.setOperator(operator);
+        condition.setRightValue(rightValue);
+        return condition;
+    }
+
+}
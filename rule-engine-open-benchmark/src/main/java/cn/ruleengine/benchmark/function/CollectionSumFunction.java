@@ -0,0 +1,44 @@
+/*
+ * Copyright (c) 2020 dingqianwen (761945125@qq.com)
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cn.ruleengine.benchmark.function;
+
+import cn.ruleengine.core.annotation.Executor;
+import cn.ruleengine.core.annotation.Param;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * 〈一句话功能简述〉<br>
+ * 〈〉
+ * 基准测试使用的函数，参数为需要元素转换的集合
+ *
+ * @author dingqianwen
+ * @date 2026/10/18
+ * @since 1.0.0
+ */
+public class CollectionSumFunction {
+
+    @Executor
+    public BigDecimal executor(@Param("list") List<BigDecimal> list) {
+        BigDecimal sum = BigDecimal.ZERO;
+        for (BigDecimal value : list) {
+            sum = sum.add(value);
+        }
+        return sum;
+    }
+
+}
@@ -9,6 +9,7 @@ import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
 import org.springframework.boot.autoconfigure.security.servlet.SecurityAutoConfiguration;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Import;
+import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.web.bind.annotation.RequestMethod;
 import org.springframework.web.client.RestTemplate;
 import org.springframework.web.cors.CorsConfiguration;
@@ -31,6 +32,7 @@ import org.springframework.web.filter.CorsFilter;
         scanBasePackages = "cn.ruleengine.compute")
 @MapperScan({"cn.ruleengine.compute.store.mapper"})
 @Import(RestTemplate.class)
+@EnableScheduling
 public class ComputeApp {
 
     public static void main(String[] args) {
@@ -0,0 +1,229 @@
+/*
+ * Copyright (c) 2020 dingqianwen (761945125@qq.com)
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cn.ruleengine.compute.aspect;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+/**
+ * 〈一句话功能简述〉<br>
+ * 〈请求日志无锁环形队列〉
+ * <p>
+ * 多生产者单消费者，槽位预先分配，请求线程通过CAS领取序号后填充槽位并发布，
+ * 后台线程按序号顺序消费，无数据时挂起等待发布唤醒。队列满时直接丢弃，不会阻塞请求线程。
+ *
+ * @author dingqianwen
+ * @date 2026/10/18
+ * @since 1.0.0
+ */
+@Slf4j
+public class AccessLogRingBuffer implements Runnable {
+
+    /**
+     * 后台线程无数据时最长挂起时间，正常情况下由发布唤醒，超时只是兜底
+     */
+    private static final long IDLE_PARK_NANOS = TimeUnit.SECONDS.toNanos(1);
+    /**
+     * 丢弃日志告警的最小间隔
+     */
+    private static final long DROPPED_REPORT_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final Slot[] slots;
+    private final int mask;
+    /**
+     * 最后一个被领取的序号
+     */
+    private final AtomicLong cursor = new AtomicLong(-1);
+    /**
+     * 最后一个被消费完成的序号
+     */
+    private final AtomicLong consumed = new AtomicLong(-1);
+    private final LongAdder dropped = new LongAdder();
+    private final Consumer<Slot> handler;
+    private final Thread consumer;
+    private volatile boolean running = true;
+    /**
+     * 后台线程是否正在等待发布
+     */
+    private volatile boolean waiting;
+
+    /**
+     * @param bufferSize 队列大小，会向上取整为2的幂
+     * @param handler    后台线程中处理每一条日志
+     */
+    public AccessLogRingBuffer(int bufferSize, Consumer<Slot> handler) {
+        int capacity = Integer.highestOneBit(Math.max(bufferSize, 2) - 1) << 1;
+        this.slots = new Slot[capacity];
+        for (int i = 0; i < capacity; i++) {
+            this.slots[i] = new Slot();
+        }
+        this.mask = capacity - 1;
+        this.handler = handler;
+        this.consumer = new Thread(this, "access-log-writer");
+        this.consumer.setDaemon(true);
+        this.consumer.start();
+    }
+
+    /**
+     * 领取一个槽位序号，队列已满时返回-1
+     *
+     * @return 序号
+     */
+    public long next() {
+        while (true) {
+            long current = this.cursor.get();
+            long next = current + 1;
+            if (next - this.consumed.get() > this.slots.length) {
+                this.dropped.increment();
+                return -1;
+            }
+            if (this.cursor.compareAndSet(current, next)) {
+                return next;
+            }
+        }
+    }
+
+    /**
+     * 获取序号对应的槽位，填充完成后需要调用{@link #publish(long)}
+     *
+     * @param sequence 序号
+     * @return 槽位
+     */
+    public Slot get(long sequence) {
+        return this.slots[(int) sequence & this.mask];
+    }
+
+    /**
+     * 发布填充完成的槽位
+     *
+     * @param sequence 序号
+     */
+    public void publish(long sequence) {
+        this.get(sequence).sequence = sequence;
+        if (this.waiting) {
+            LockSupport.unpark(this.consumer);
+        }
+    }
+
+    /**
+     * 由于队列已满丢弃的日志条数
+     *
+     * @return 条数
+     */
+    public long getDropped() {
+        return this.dropped.sum();
+    }
+
+    @Override
+    public void run() {
+        long next = 0;
+        long reportedDropped = 0;
+        long reportedTime = System.nanoTime();
+        while (true) {
+            Slot slot = this.get(next);
+            if (slot.sequence != next) {
+                if (!this.running) {
+                    break;
+                }
+                long dropped = this.getDropped();
+                if (dropped != reportedDropped && System.nanoTime() - reportedTime > DROPPED_REPORT_INTERVAL_NANOS) {
+                    log.warn("请求日志队列已满，累计丢弃{}条", dropped);
+                    reportedDropped = dropped;
+                    reportedTime = System.nanoTime();
+                }
+                // 先标记等待再检查一次，与publish中先发布再检查等待标记配合，不会错过唤醒
+                this.waiting = true;
+                if (slot.sequence != next && this.running) {
+                    LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+                }
+                this.waiting = false;
+                continue;
+            }
+            try {
+                if (!slot.skipped) {
+                    this.handler.accept(slot);
+                }
+            } catch (Throwable e) {
+                log.warn("请求日志输出失败", e);
+            } finally {
+                slot.clear();
+                this.consumed.lazySet(next);
+            }
+            next++;
+        }
+    }
+
+    /**
+     * 停止后台线程，已经发布的日志会被输出完成
+     *
+     * @param timeout 最多等待时间，毫秒
+     */
+    public void shutdown(long timeout) {
+        this.running = false;
+        LockSupport.unpark(this.consumer);
+        try {
+            this.consumer.join(timeout);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * 预先分配的槽位，参数与结果在请求线程中序列化为截断后的字符串
+     */
+    @Getter
+    @Setter
+    public static class Slot {
+
+        @Getter(AccessLevel.NONE)
+        @Setter(AccessLevel.NONE)
+        private volatile long sequence = -1;
+
+        private String requestId;
+        private String httpMethod;
+        private String uri;
+        private String handler;
+        private String args;
+        private String result;
+        private String error;
+        private long cost;
+        /**
+         * 填充失败的槽位只发布不输出
+         */
+        private boolean skipped;
+
+        private void clear() {
+            this.requestId = null;
+            this.httpMethod = null;
+            this.uri = null;
+            this.handler = null;
+            this.args = null;
+            this.result = null;
+            this.error = null;
+            this.skipped = false;
+        }
+
+    }
+
+}
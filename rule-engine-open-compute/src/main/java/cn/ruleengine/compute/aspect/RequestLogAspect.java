@@ -15,21 +15,41 @@
  */
 package cn.ruleengine.compute.aspect;
 
+import cn.ruleengine.compute.interceptor.TraceInterceptor;
 import cn.ruleengine.compute.util.HttpServletUtils;
 import com.alibaba.fastjson.JSON;
+import com.alibaba.fastjson.serializer.ValueFilter;
 import lombok.extern.slf4j.Slf4j;
 import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.annotation.Around;
 import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 import org.springframework.web.multipart.MultipartFile;
 
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
+import java.lang.reflect.Array;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Stream;
 
 /**
  * 打印请求日志
+ * <p>
+ * 请求线程中把参数、结果序列化为截断后的摘要放入{@link AccessLogRingBuffer}，日志输出在后台线程完成。
+ * 序列化时集合、数组、Map只保留前若干个元素，字符串超过长度限制时截断，避免大对象拖慢请求线程，
+ * 队列中也不会持有请求的完整对象。出现异常的请求不受采样率限制，总是会被记录。
  *
  * @author 丁乾文
  * @date 2021/6/17
@@ -40,6 +60,58 @@ import java.util.stream.Stream;
 @Slf4j
 public class RequestLogAspect {
 
+    /**
+     * 是否打印请求日志
+     */
+    @Value("${rule.engine.access-log.enable:true}")
+    private boolean enable;
+    /**
+     * 采样率，0~1之间
+     */
+    @Value("${rule.engine.access-log.sample-rate:1.0}")
+    private double sampleRate;
+    /**
+     * 参数与结果序列化后最多打印的字符数
+     */
+    @Value("${rule.engine.access-log.max-length:2048}")
+    private int maxLength;
+    /**
+     * 集合、数组、Map序列化时最多保留的元素个数
+     */
+    @Value("${rule.engine.access-log.max-elements:16}")
+    private int maxElements;
+    /**
+     * 是否打印执行结果
+     */
+    @Value("${rule.engine.access-log.log-result:true}")
+    private boolean logResult;
+    /**
+     * 日志队列大小，队列满时丢弃日志
+     */
+    @Value("${rule.engine.access-log.buffer-size:4096}")
+    private int bufferSize;
+
+    private AccessLogRingBuffer ringBuffer;
+
+    /**
+     * 序列化对象属性以及Map值时截断
+     */
+    private final ValueFilter capFilter = (object, name, value) -> this.cap(value);
+
+    @PostConstruct
+    public void init() {
+        if (this.enable) {
+            this.ringBuffer = new AccessLogRingBuffer(this.bufferSize, this::write);
+        }
+    }
+
+    @PreDestroy
+    public void destroy() {
+        if (this.ringBuffer != null) {
+            this.ringBuffer.shutdown(TimeUnit.SECONDS.toMillis(5));
+        }
+    }
+
     /**
      * 打印请求日志
      *
@@ -49,23 +121,177 @@ public class RequestLogAspect {
      */
     @Around("execution(* cn.ruleengine.compute.controller..*.*(..))&&!execution(* cn.ruleengine.compute.controller.exception.*.*(..))")
     public Object around(ProceedingJoinPoint joinPoint) throws Throwable {
-        StringBuilder sb = new StringBuilder("\n");
-        long start = System.currentTimeMillis();
+        if (this.ringBuffer == null || !log.isInfoEnabled()) {
+            return joinPoint.proceed();
+        }
+        boolean sampled = this.sampleRate >= 1 || ThreadLocalRandom.current().nextDouble() < this.sampleRate;
+        long start = System.nanoTime();
+        Object proceed = null;
+        Throwable throwable = null;
         try {
-            sb.append("┏━━━━━━━━请求日志━━━━━━━━\n");
-            sb.append("┣ 链接: ").append(HttpServletUtils.getRequest().getRequestURL()).append("\n");
-            sb.append("┣ 参数: ").append(JSON.toJSONString(this.argsExcludeClass(joinPoint.getArgs()))).append("\n");
-            Object proceed = joinPoint.proceed();
-            sb.append("┣ 结果: ").append(JSON.toJSONString(proceed)).append("\n");
+            proceed = joinPoint.proceed();
             return proceed;
-        } catch (Throwable throwable) {
-            sb.append("┣ 异常: ").append(throwable).append("\n");
-            throw throwable;
+        } catch (Throwable e) {
+            throwable = e;
+            throw e;
+        } finally {
+            if (sampled || throwable != null) {
+                // 记录日志失败不能影响请求的执行结果
+                try {
+                    this.publish(joinPoint, proceed, throwable, System.nanoTime() - start);
+                } catch (Throwable e) {
+                    log.warn("请求日志记录失败", e);
+                }
+            }
+        }
+    }
+
+    /**
+     * 请求线程中序列化为截断后的摘要，槽位中不保存请求的对象引用
+     * <p>
+     * 领取的序号无论填充是否成功都会发布，否则后台线程会一直等待这个序号，填充失败的槽位标记为跳过
+     */
+    private void publish(ProceedingJoinPoint joinPoint, Object proceed, Throwable throwable, long cost) {
+        long sequence = this.ringBuffer.next();
+        if (sequence < 0) {
+            return;
+        }
+        AccessLogRingBuffer.Slot slot = this.ringBuffer.get(sequence);
+        boolean filled = false;
+        try {
+            try {
+                HttpServletRequest request = HttpServletUtils.getRequest();
+                slot.setHttpMethod(request.getMethod());
+                slot.setUri(request.getRequestURI());
+            } catch (RuntimeException ignored) {
+                // 非web请求线程
+            }
+            MethodSignature signature = (MethodSignature) joinPoint.getSignature();
+            slot.setHandler(signature.getDeclaringType().getSimpleName() + "." + signature.getName());
+            slot.setRequestId(TraceInterceptor.getRequestId());
+            slot.setArgs(this.toCappedJson(this.argsExcludeClass(joinPoint.getArgs())));
+            if (throwable != null) {
+                slot.setError(throwable.toString());
+            } else if (this.logResult) {
+                slot.setResult(this.toCappedJson(proceed));
+            }
+            slot.setCost(cost);
+            filled = true;
         } finally {
-            sb.append("┣ 时间: ").append(System.currentTimeMillis() - start).append("ms\n");
-            sb.append("┗━━━━━━━━━━━━━━━━━━━━━━━");
+            if (!filled) {
+                slot.setSkipped(true);
+            }
+            this.ringBuffer.publish(sequence);
+        }
+    }
+
+    /**
+     * 后台线程中输出一条日志
+     *
+     * @param slot 日志
+     */
+    private void write(AccessLogRingBuffer.Slot slot) {
+        StringBuilder sb = new StringBuilder(256);
+        sb.append("access method=").append(slot.getHttpMethod())
+                .append(" uri=").append(slot.getUri())
+                .append(" handler=").append(slot.getHandler())
+                .append(" status=").append(slot.getError() == null ? "OK" : "ERROR")
+                .append(" cost=").append(TimeUnit.NANOSECONDS.toMillis(slot.getCost())).append("ms")
+                .append(" args=").append(slot.getArgs());
+        if (slot.getError() != null) {
+            sb.append(" error=").append(slot.getError());
+        } else if (this.logResult) {
+            sb.append(" result=").append(slot.getResult());
+        }
+        if (slot.getRequestId() != null) {
+            MDC.put(TraceInterceptor.REQUEST_ID, slot.getRequestId());
+        }
+        try {
             log.info("{}", sb);
+        } finally {
+            MDC.remove(TraceInterceptor.REQUEST_ID);
+        }
+    }
+
+    /**
+     * 序列化为截断后的摘要，超过最大长度的部分截断
+     *
+     * @param value 参数或者结果
+     * @return json
+     */
+    private String toCappedJson(Object value) {
+        String json;
+        try {
+            json = JSON.toJSONString(this.cap(value), this.capFilter);
+        } catch (RuntimeException | StackOverflowError e) {
+            // 日志序列化失败不能影响请求，对象自身引用时可能栈溢出
+            return "(serialize failed: " + e + ")";
+        }
+        if (json.length() <= this.maxLength) {
+            return json;
+        }
+        return json.substring(0, this.maxLength) + "...(" + json.length() + " chars)";
+    }
+
+    /**
+     * 集合、数组、Map只保留前{@link #maxElements}个元素，并注明总数，字符串超过最大长度时截断
+     *
+     * @param value 值
+     * @return 截断后的值
+     */
+    private Object cap(Object value) {
+        if (value == null) {
+            return null;
+        }
+        if (value instanceof CharSequence) {
+            CharSequence chars = (CharSequence) value;
+            if (chars.length() <= this.maxLength) {
+                return value;
+            }
+            return chars.subSequence(0, this.maxLength) + "...(" + chars.length() + " chars)";
+        }
+        if (value instanceof Collection) {
+            Collection<?> collection = (Collection<?>) value;
+            return this.capElements(collection.iterator(), collection.size());
+        }
+        if (value.getClass().isArray()) {
+            int length = Array.getLength(value);
+            List<Object> elements = new ArrayList<>(Math.min(length, this.maxElements) + 1);
+            for (int i = 0; i < length && i < this.maxElements; i++) {
+                elements.add(this.cap(Array.get(value, i)));
+            }
+            if (length > this.maxElements) {
+                elements.add("...(" + length + " elements)");
+            }
+            return elements;
+        }
+        if (value instanceof Map) {
+            Map<?, ?> map = (Map<?, ?>) value;
+            if (map.size() <= this.maxElements) {
+                // Map的值由capFilter截断
+                return value;
+            }
+            Map<Object, Object> entries = new LinkedHashMap<>(this.maxElements + 1);
+            Iterator<? extends Map.Entry<?, ?>> iterator = map.entrySet().iterator();
+            for (int i = 0; i < this.maxElements && iterator.hasNext(); i++) {
+                Map.Entry<?, ?> entry = iterator.next();
+                entries.put(entry.getKey(), entry.getValue());
+            }
+            entries.put("...", map.size() + " entries");
+            return entries;
+        }
+        return value;
+    }
+
+    private List<Object> capElements(Iterator<?> iterator, int size) {
+        List<Object> elements = new ArrayList<>(Math.min(size, this.maxElements) + 1);
+        for (int i = 0; i < this.maxElements && iterator.hasNext(); i++) {
+            elements.add(this.cap(iterator.next()));
+        }
+        if (size > this.maxElements) {
+            elements.add("...(" + size + " elements)");
         }
+        return elements;
     }
 
     /**
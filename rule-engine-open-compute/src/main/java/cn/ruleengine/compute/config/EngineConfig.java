@@ -15,18 +15,29 @@
  */
 package cn.ruleengine.compute.config;
 
+import cn.ruleengine.compute.listener.GeneralRuleRevisionRegistry;
 import cn.ruleengine.compute.service.GeneralRulePublishService;
 import cn.ruleengine.compute.service.VariableResolveService;
+import cn.ruleengine.compute.snapshot.EngineSnapshotStore;
 import cn.ruleengine.core.*;
 import cn.ruleengine.core.cache.DefaultFunctionCache;
+import cn.ruleengine.core.cache.FunctionCache;
+import cn.ruleengine.core.cache.SegmentedFunctionCache;
 import cn.ruleengine.core.listener.ExecuteListener;
+import cn.ruleengine.core.metrics.HdrMetricsRecorder;
 import cn.ruleengine.core.rule.GeneralRule;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Primary;
 import org.springframework.stereotype.Component;
 
 import javax.annotation.Resource;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * 〈一句话功能简述〉<br>
@@ -40,10 +51,76 @@ import javax.annotation.Resource;
 @Component
 public class EngineConfig {
 
+    /**
+     * 异步加载规则失败后首次重试的等待时间，毫秒
+     */
+    private static final long ASYNC_LOAD_INITIAL_BACKOFF = 1000;
+    /**
+     * 异步加载规则失败后重试的最长等待时间，毫秒
+     */
+    private static final long ASYNC_LOAD_MAX_BACKOFF = 60000;
+
     @Resource
     private VariableResolveService variableResolveService;
     @Resource
     private GeneralRulePublishService rulePublishService;
+    @Resource
+    private EngineLoadProgress engineLoadProgress;
+    @Resource
+    private GeneralRuleRevisionRegistry revisionRegistry;
+    @Resource
+    private EngineSnapshotStore engineSnapshotStore;
+
+    /**
+     * 启动时并行解析规则/变量的线程数
+     */
+    @Value("${rule.engine.load.parallelism:8}")
+    private int parallelism;
+    /**
+     * 启动时分页加载规则/变量，每页条数
+     */
+    @Value("${rule.engine.load.page-size:500}")
+    private int pageSize;
+    /**
+     * 是否异步加载规则，异步加载时已经加载完成的工作空间可以提前对外提供服务
+     */
+    @Value("${rule.engine.load.async:false}")
+    private boolean async;
+    /**
+     * 函数缓存实现：segmented 分段SLRU缓存，default 基于hutool的LRU缓存
+     */
+    @Value("${rule.engine.function-cache.type:segmented}")
+    private String functionCacheType;
+    /**
+     * default缓存最多缓存条数
+     */
+    @Value("${rule.engine.function-cache.maximum-size:1000}")
+    private int functionCacheMaximumSize;
+    /**
+     * segmented缓存最多占用的字节数(估算)，默认64MB
+     */
+    @Value("${rule.engine.function-cache.maximum-weight:67108864}")
+    private long functionCacheMaximumWeight;
+    /**
+     * 是否并行调用同一条件组中可以并行的函数
+     */
+    @Value("${rule.engine.function.parallel:true}")
+    private boolean parallelFunction;
+    /**
+     * 批量执行规则的线程数，0时为CPU核数的2倍
+     */
+    @Value("${rule.engine.batch.parallelism:0}")
+    private int batchParallelism;
+    /**
+     * 是否记录规则/条件/函数执行指标，通过/monitor/prometheus获取
+     */
+    @Value("${rule.engine.metrics.enable:true}")
+    private boolean metricsEnable;
+    /**
+     * 最多记录的指标数量
+     */
+    @Value("${rule.engine.metrics.maximum-metrics:10000}")
+    private int maximumMetrics;
 
     /**
      * 规则引擎配置
@@ -53,13 +130,52 @@ public class EngineConfig {
     @Bean(destroyMethod = "close")
     public RuleEngineConfiguration ruleEngineConfiguration(Listener.GeneralExecuteListener generalExecuteListener) {
         RuleEngineConfiguration configuration = new RuleEngineConfiguration();
-        configuration.getEngineVariable().addMultipleVariable(this.variableResolveService.getAllVariable());
-        configuration.setFunctionCache(new DefaultFunctionCache(1000));
+        // 优先从本地快照加载，启动完成后在后台与数据库对账
+        if (!this.engineSnapshotStore.loadVariables(configuration.getEngineVariable())) {
+            configuration.getEngineVariable().addMultipleVariable(this.variableResolveService.getAllVariable(this.parallelism, this.pageSize, this.engineLoadProgress));
+        }
+        configuration.setFunctionCache(this.functionCache());
+        configuration.setParallelFunction(this.parallelFunction);
+        if (this.metricsEnable) {
+            configuration.setMetricsRecorder(new HdrMetricsRecorder(this.maximumMetrics));
+        }
         // 普通规则执行监听器
         configuration.setGeneralRuleListener(generalExecuteListener);
         return configuration;
     }
 
+    /**
+     * 根据配置创建函数缓存
+     *
+     * @return FunctionCache
+     */
+    private FunctionCache functionCache() {
+        switch (this.functionCacheType) {
+            case "segmented":
+                return new SegmentedFunctionCache(this.functionCacheMaximumWeight);
+            case "default":
+                return new DefaultFunctionCache(this.functionCacheMaximumSize);
+            default:
+                throw new IllegalStateException("Unexpected function cache type: " + this.functionCacheType);
+        }
+    }
+
+    /**
+     * 批量执行规则的线程池，与处理http请求的线程隔离，通过工作窃取平衡各线程的执行
+     *
+     * @return ForkJoinPool
+     */
+    @Bean(destroyMethod = "shutdownNow")
+    public ForkJoinPool batchExecutePool() {
+        int parallelism = this.batchParallelism > 0 ? this.batchParallelism : Runtime.getRuntime().availableProcessors() * 2;
+        AtomicInteger threadNumber = new AtomicInteger();
+        return new ForkJoinPool(parallelism, pool -> {
+            ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+            thread.setName("batch-execute-" + threadNumber.incrementAndGet());
+            return thread;
+        }, null, false);
+    }
+
     /**
      * 规则引擎
      *
@@ -70,12 +186,87 @@ public class EngineConfig {
     public GeneralRuleEngine generalRuleEngine(RuleEngineConfiguration ruleEngineConfiguration) {
         log.info("开始初始化普通规则引擎");
         Container.Body<GeneralRule> generalRuleContainer = ruleEngineConfiguration.getGeneralRuleContainer();
-        generalRuleContainer.addMultiple(this.rulePublishService.getAllPublishGeneralRule());
+        // 规则加载时编译，执行时不再解释执行规则
+        generalRuleContainer.setCompileEnabled(true);
+        List<GeneralRuleRevisionRegistry.Revision> snapshotRules = this.engineSnapshotStore.loadRules();
+        if (snapshotRules != null) {
+            this.loadSnapshotRule(generalRuleContainer, snapshotRules);
+        } else if (this.async) {
+            Thread loadThread = new Thread(() -> this.asyncLoadGeneralRule(ruleEngineConfiguration), "general-rule-loader");
+            loadThread.setDaemon(true);
+            loadThread.start();
+        } else {
+            this.loadGeneralRule(ruleEngineConfiguration);
+        }
         GeneralRuleEngine ruleEngine = new GeneralRuleEngine(ruleEngineConfiguration);
         log.info("普通规则引擎初始化完毕");
         return ruleEngine;
     }
 
+    /**
+     * 发布从本地快照中读取的规则，版本落后的规则由后台对账更新
+     *
+     * @param generalRuleContainer 规则容器
+     * @param rules                快照中的规则
+     */
+    private void loadSnapshotRule(Container.Body<GeneralRule> generalRuleContainer, List<GeneralRuleRevisionRegistry.Revision> rules) {
+        EngineLoadProgress.Stage stage = this.engineLoadProgress.getRule();
+        stage.total(rules.size());
+        List<GeneralRule> generalRules = new ArrayList<>(rules.size());
+        for (GeneralRuleRevisionRegistry.Revision revision : rules) {
+            this.revisionRegistry.offer(revision.getRule(), revision.getRevision());
+            generalRules.add(revision.getRule());
+        }
+        this.revisionRegistry.publishLoaded(generalRules, generalRuleContainer::addMultiple);
+        stage.loaded(rules.size());
+        this.engineLoadProgress.ready();
+        log.info("从快照加载规则完毕：{}", this.engineLoadProgress.snapshot());
+    }
+
+    /**
+     * 异步加载规则，加载失败时按指数退避一直重试，直到加载完成
+     * <p>
+     * 加载完成之前引擎未就绪，对账任务也不会执行，不重试的话节点将一直无法对外提供服务
+     *
+     * @param ruleEngineConfiguration 规则引擎配置
+     */
+    private void asyncLoadGeneralRule(RuleEngineConfiguration ruleEngineConfiguration) {
+        long backoff = ASYNC_LOAD_INITIAL_BACKOFF;
+        while (true) {
+            try {
+                this.loadGeneralRule(ruleEngineConfiguration);
+                return;
+            } catch (Exception e) {
+                log.error("规则加载失败，{}ms后重试，当前进度：{}", backoff, this.engineLoadProgress.snapshot(), e);
+            }
+            try {
+                Thread.sleep(backoff);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                log.warn("规则加载线程被中断，停止重试");
+                return;
+            }
+            // 已经发布的规则保留，重新加载时按版本覆盖
+            this.engineLoadProgress.getRule().reset();
+            backoff = Math.min(backoff * 2, ASYNC_LOAD_MAX_BACKOFF);
+        }
+    }
+
+    /**
+     * 分页加载所有的线上规则，每一页解析完成后发布到引擎中，加载完成后写入本地快照
+     *
+     * @param ruleEngineConfiguration 规则引擎配置
+     */
+    private void loadGeneralRule(RuleEngineConfiguration ruleEngineConfiguration) {
+        Container.Body<GeneralRule> generalRuleContainer = ruleEngineConfiguration.getGeneralRuleContainer();
+        // 加载期间已经被规则消息更新的规则不会被覆盖
+        this.rulePublishService.loadAllPublishGeneralRule(this.parallelism, this.pageSize, this.engineLoadProgress,
+                rules -> this.revisionRegistry.publishLoaded(rules, generalRuleContainer::addMultiple));
+        this.engineLoadProgress.ready();
+        log.info("规则加载完毕：{}", this.engineLoadProgress.snapshot());
+        this.engineSnapshotStore.rewrite(ruleEngineConfiguration.getEngineVariable()::getVariables, this.revisionRegistry::snapshot);
+    }
+
 
     @Component
     public static class Listener {
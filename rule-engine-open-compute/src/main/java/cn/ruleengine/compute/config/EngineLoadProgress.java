@@ -0,0 +1,170 @@
+/*
+ * Copyright (c) 2020 dingqianwen (761945125@qq.com)
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cn.ruleengine.compute.config;
+
+import lombok.Data;
+import org.springframework.stereotype.Component;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 〈一句话功能简述〉<br>
+ * 〈规则引擎启动加载进度〉
+ *
+ * @author dingqianwen
+ * @date 2026/10/18
+ * @since 1.0.0
+ */
+@Component
+public class EngineLoadProgress {
+
+    private final Stage variable = new Stage();
+
+    private final Stage rule = new Stage();
+
+    /**
+     * 已经加载完成的工作空间
+     */
+    private final Set<String> readyWorkspaces = ConcurrentHashMap.newKeySet();
+
+    private final long startTime = System.currentTimeMillis();
+
+    private volatile long endTime;
+
+    private volatile boolean ready;
+
+    public Stage getVariable() {
+        return this.variable;
+    }
+
+    public Stage getRule() {
+        return this.rule;
+    }
+
+    /**
+     * 工作空间下的规则全部加载完成
+     *
+     * @param workspaceCode 工作空间code
+     */
+    public void workspaceReady(String workspaceCode) {
+        this.readyWorkspaces.add(workspaceCode);
+    }
+
+    /**
+     * 所有的变量以及规则全部加载完成
+     */
+    public void ready() {
+        this.endTime = System.currentTimeMillis();
+        this.ready = true;
+    }
+
+    public boolean isReady() {
+        return this.ready;
+    }
+
+    /**
+     * 工作空间是否可以对外提供服务，全部加载完成或者此工作空间已经加载完成
+     *
+     * @param workspaceCode 工作空间code
+     * @return true可以
+     */
+    public boolean isReady(String workspaceCode) {
+        return this.ready || this.readyWorkspaces.contains(workspaceCode);
+    }
+
+    /**
+     * 当前加载进度
+     *
+     * @return 进度信息
+     */
+    public Snapshot snapshot() {
+        Snapshot snapshot = new Snapshot();
+        snapshot.setReady(this.ready);
+        snapshot.setVariableTotal(this.variable.total.get());
+        snapshot.setVariableLoaded(this.variable.loaded.get());
+        snapshot.setVariableFailed(this.variable.failed.get());
+        snapshot.setRuleTotal(this.rule.total.get());
+        snapshot.setRuleLoaded(this.rule.loaded.get());
+        snapshot.setRuleFailed(this.rule.failed.get());
+        snapshot.setReadyWorkspaces(this.readyWorkspaces.size());
+        snapshot.setElapsedTime((this.ready ? this.endTime : System.currentTimeMillis()) - this.startTime);
+        return snapshot;
+    }
+
+    public static class Stage {
+
+        private final AtomicInteger total = new AtomicInteger();
+
+        private final AtomicInteger loaded = new AtomicInteger();
+
+        private final AtomicInteger failed = new AtomicInteger();
+
+        public void total(int total) {
+            this.total.set(total);
+        }
+
+        public void loaded(int loaded) {
+            this.loaded.addAndGet(loaded);
+        }
+
+        public void failed() {
+            this.failed.incrementAndGet();
+        }
+
+        /**
+         * 重新加载前清空已加载以及失败的数量
+         */
+        public void reset() {
+            this.loaded.set(0);
+            this.failed.set(0);
+        }
+
+        @Override
+        public String toString() {
+            return (this.loaded.get() + this.failed.get()) + "/" + this.total.get();
+        }
+
+    }
+
+    @Data
+    public static class Snapshot {
+
+        private boolean ready;
+
+        private int variableTotal;
+
+        private int variableLoaded;
+
+        private int variableFailed;
+
+        private int ruleTotal;
+
+        private int ruleLoaded;
+
+        private int ruleFailed;
+
+        private int readyWorkspaces;
+
+        /**
+         * 已耗时，毫秒
+         */
+        private long elapsedTime;
+
+    }
+
+}
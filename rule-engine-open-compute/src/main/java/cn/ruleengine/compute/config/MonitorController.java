@@ -1,10 +1,19 @@
 package cn.ruleengine.compute.config;
 
+import cn.ruleengine.compute.service.MonitorService;
+import cn.ruleengine.compute.shadow.ShadowEvaluator;
+import cn.ruleengine.core.RuleEngineConfiguration;
+import cn.ruleengine.core.cache.FunctionCacheStats;
 import io.swagger.annotations.Api;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import javax.annotation.Resource;
+
 /**
  * 〈MonitorController〉
  *
@@ -18,9 +27,59 @@ import org.springframework.web.bind.annotation.RestController;
 public class MonitorController {
 
 
+    @Resource
+    private EngineLoadProgress engineLoadProgress;
+    @Resource
+    private RuleEngineConfiguration ruleEngineConfiguration;
+    @Resource
+    private MonitorService monitorService;
+    @Resource
+    private ShadowEvaluator shadowEvaluator;
+
     @PostMapping("health")
     public boolean monitorHealth() {
         return true;
     }
 
+    /**
+     * 规则/变量是否全部加载完成，未完成时返回503
+     *
+     * @return 加载进度
+     */
+    @GetMapping("ready")
+    public ResponseEntity<EngineLoadProgress.Snapshot> ready() {
+        EngineLoadProgress.Snapshot snapshot = this.engineLoadProgress.snapshot();
+        return ResponseEntity.status(snapshot.isReady() ? HttpStatus.OK : HttpStatus.SERVICE_UNAVAILABLE).body(snapshot);
+    }
+
+    /**
+     * 函数缓存命中/未命中/淘汰等统计信息
+     *
+     * @return 统计信息
+     */
+    @GetMapping("functionCache")
+    public FunctionCacheStats functionCache() {
+        return this.ruleEngineConfiguration.getFunctionCache().stats();
+    }
+
+    /**
+     * 规则/条件/函数执行耗时以及命中情况，Prometheus文本格式，需要开启rule.engine.metrics.enable
+     *
+     * @return 指标
+     */
+    @GetMapping(value = "prometheus", produces = "text/plain; version=0.0.4; charset=utf-8")
+    public String prometheus() {
+        return this.monitorService.prometheus();
+    }
+
+    /**
+     * 测试版本规则影子执行统计以及最近与线上结果不一致的请求，需要开启rule.engine.shadow.enable
+     *
+     * @return 统计信息
+     */
+    @GetMapping("shadow")
+    public ShadowEvaluator.Snapshot shadow() {
+        return this.shadowEvaluator.snapshot();
+    }
+
 }
@@ -26,11 +26,16 @@ import io.swagger.annotations.Api;
 import io.swagger.annotations.ApiOperation;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
 import javax.annotation.Resource;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
 import javax.validation.Valid;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 
 /**
  * 〈一句话功能简述〉<br>
@@ -46,6 +51,8 @@ import javax.validation.Valid;
 public class GeneralRuleOutController {
 
 
+    private static final String NDJSON = "application/x-ndjson";
+
     @Resource
     private RuleEngineOutService ruleOutService;
 
@@ -77,6 +84,27 @@ public class GeneralRuleOutController {
         return plainResult;
     }
 
+    /**
+     * 流式批量执行规则，入参每行一个规则执行信息JSON，执行结果按照入参顺序每行一个JSON，不限制执行数量
+     *
+     * @param workspaceCode   工作空间code
+     * @param accessKeyId     工作空间AccessKeyId
+     * @param accessKeySecret 工作空间AccessKeySecret
+     * @param request         入参
+     * @param response        执行结果
+     * @throws IOException 读取入参或者写出结果失败
+     */
+    @PostMapping(value = "streamExecute", produces = NDJSON)
+    @ApiOperation("流式批量执行规则，入参与执行结果均为每行一个JSON")
+    public void streamExecute(@RequestHeader("workspaceCode") String workspaceCode,
+                              @RequestHeader("accessKeyId") String accessKeyId,
+                              @RequestHeader("accessKeySecret") String accessKeySecret,
+                              HttpServletRequest request, HttpServletResponse response) throws IOException {
+        response.setContentType(NDJSON);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        ruleOutService.streamExecute(workspaceCode, accessKeyId, accessKeySecret, request.getInputStream(), response.getOutputStream());
+    }
+
     /**
      * 引擎中是否存在这个规则
      *
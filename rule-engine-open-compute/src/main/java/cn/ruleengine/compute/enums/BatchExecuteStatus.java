@@ -0,0 +1,35 @@
+package cn.ruleengine.compute.enums;
+
+/**
+ * 〈一句话功能简述〉<br>
+ * 〈〉
+ * 批量执行中单条规则的执行状态
+ *
+ * @author dingqianwen
+ * @date 2026/10/18
+ * @since 1.0.0
+ */
+public enum BatchExecuteStatus {
+
+    /**
+     * 执行成功
+     */
+    SUCCESS,
+    /**
+     * 执行异常
+     */
+    FAILURE,
+    /**
+     * 执行超时，批量执行超时时还在执行中
+     */
+    TIMEOUT,
+    /**
+     * 执行完成，但是耗时超过单条超时时间，保留执行结果
+     */
+    OVERTIME,
+    /**
+     * 批量执行超时后，还未开始执行的规则不再执行
+     */
+    CANCELLED
+
+}
@@ -33,7 +33,7 @@ import java.util.concurrent.ThreadLocalRandom;
  * @since 1.0.0
  */
 @Slf4j
-@Function
+@Function(deterministic = false)
 public class CollectionRandomValueFunction {
 
     /**
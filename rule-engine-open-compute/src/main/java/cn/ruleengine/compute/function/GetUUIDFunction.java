@@ -15,7 +15,7 @@ import java.util.UUID;
  * @date 2021/2/9
  * @since 1.0.0
  */
-@Function
+@Function(deterministic = false)
 @Slf4j
 public class GetUUIDFunction {
 
@@ -21,7 +21,7 @@ import javax.validation.constraints.NotBlank;
  * @since 1.0.0
  */
 @Slf4j
-@Function
+@Function(remote = true)
 public class HttpFunction {
 
     @Executor
@@ -25,7 +25,7 @@ import javax.annotation.Resource;
  */
 @Slf4j
 @FunctionCacheable(liveOutTime = 86400000 * 10)
-@Function
+@Function(remote = true, parallel = true)
 public class MobilePhoneProvinceFunction {
 
     @Resource
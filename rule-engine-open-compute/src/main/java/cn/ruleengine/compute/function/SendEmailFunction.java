@@ -44,7 +44,7 @@ import java.util.Properties;
  * @since 1.0.0
  */
 @Slf4j
-@Function
+@Function(remote = true)
 public class SendEmailFunction {
 
     /**
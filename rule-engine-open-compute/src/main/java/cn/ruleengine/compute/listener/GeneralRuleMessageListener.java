@@ -17,10 +17,7 @@ package cn.ruleengine.compute.listener;
 
 import cn.ruleengine.compute.config.rabbit.RabbitTopicConfig;
 import cn.ruleengine.compute.listener.body.GeneralRuleMessageBody;
-import cn.ruleengine.compute.service.GeneralRulePublishService;
-import cn.ruleengine.core.Container;
-import cn.ruleengine.core.RuleEngineConfiguration;
-import cn.ruleengine.core.rule.GeneralRule;
+import cn.ruleengine.compute.service.GeneralRuleSyncService;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.amqp.core.ExchangeTypes;
 import org.springframework.amqp.rabbit.annotation.Exchange;
@@ -45,9 +42,7 @@ import javax.annotation.Resource;
 public class GeneralRuleMessageListener {
 
     @Resource
-    private RuleEngineConfiguration ruleEngineConfiguration;
-    @Resource
-    private GeneralRulePublishService rulePublishService;
+    private GeneralRuleSyncService generalRuleSyncService;
 
 
     @RabbitListener(bindings = @QueueBinding(
@@ -57,27 +52,6 @@ public class GeneralRuleMessageListener {
     )
     public void message(GeneralRuleMessageBody ruleMessageBody) {
         log.info("规则消息：{}", ruleMessageBody);
-        String workspaceCode = ruleMessageBody.getWorkspaceCode();
-        String ruleCode = ruleMessageBody.getRuleCode();
-        Container.Body<GeneralRule> generalRuleContainer = this.ruleEngineConfiguration.getGeneralRuleContainer();
-        switch (ruleMessageBody.getType()) {
-            case UPDATE:
-                log.info("开始更新规则：{}", ruleCode);
-                generalRuleContainer.add(rulePublishService.getPublishGeneralRule(workspaceCode, ruleCode));
-                log.info("更新完毕：{}", ruleCode);
-                break;
-            case LOAD:
-                log.info("开始加载规则：{}", ruleCode);
-                generalRuleContainer.add(rulePublishService.getPublishGeneralRule(workspaceCode, ruleCode));
-                log.info("加载完毕：{}", ruleCode);
-                break;
-            case REMOVE:
-                log.info("开始移除规则：{}", ruleCode);
-                generalRuleContainer.remove(workspaceCode, ruleCode);
-                log.info("移除完毕：{}", ruleCode);
-                break;
-            default:
-                throw new IllegalStateException("Unexpected value: " + ruleMessageBody.getType());
-        }
+        this.generalRuleSyncService.apply(ruleMessageBody);
     }
 }
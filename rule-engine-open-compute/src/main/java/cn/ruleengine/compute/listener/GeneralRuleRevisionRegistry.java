@@ -0,0 +1,153 @@
+/*
+ * Copyright (c) 2020 dingqianwen (761945125@qq.com)
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cn.ruleengine.compute.listener;
+
+import cn.ruleengine.core.rule.GeneralRule;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * 〈一句话功能简述〉<br>
+ * 记录计算服务中每个规则当前的发布版本
+ * <p>
+ * 启动加载、规则消息以及定时对账都通过此类修改规则容器，只有版本比当前新的规则才会被加载，
+ * 乱序或者重复到达的旧消息会被丢弃；移除的规则保留移除时的版本，防止旧的加载消息使其复活
+ *
+ * @author dingqianwen
+ * @date 2026/10/18
+ * @since 1.0.0
+ */
+@Component
+public class GeneralRuleRevisionRegistry {
+
+    /**
+     * 规则当前的版本，所有的修改都在this锁内完成
+     */
+    private final Map<RuleKey, Revision> revisions = new HashMap<>();
+
+    /**
+     * 记录启动时从数据库加载的规则版本，此时规则还没有发布到规则容器中
+     *
+     * @param rule     规则
+     * @param revision 版本
+     */
+    public synchronized void offer(GeneralRule rule, long revision) {
+        RuleKey key = new RuleKey(rule.getWorkspaceCode(), rule.getCode());
+        Revision current = this.revisions.get(key);
+        if (current == null || revision > current.getRevision()) {
+            this.revisions.put(key, new Revision(revision, rule));
+        }
+    }
+
+    /**
+     * 发布启动时加载的一批规则，加载期间已经被消息更新或者移除的规则跳过
+     *
+     * @param rules  启动时加载的规则
+     * @param action 发布到规则容器
+     */
+    public synchronized void publishLoaded(List<GeneralRule> rules, Consumer<List<GeneralRule>> action) {
+        List<GeneralRule> current = new ArrayList<>(rules.size());
+        for (GeneralRule rule : rules) {
+            Revision revision = this.revisions.get(new RuleKey(rule.getWorkspaceCode(), rule.getCode()));
+            if (revision == null || revision.getRule() == rule) {
+                current.add(rule);
+            }
+        }
+        action.accept(current);
+    }
+
+    /**
+     * 版本比当前新时执行规则的加载或者移除
+     *
+     * @param workspaceCode 工作空间code
+     * @param ruleCode      规则code
+     * @param revision      版本
+     * @param rule          新的规则，为null时移除规则，移除版本不小于当前版本即可
+     * @param action        修改规则容器
+     * @return 是否执行
+     */
+    public synchronized boolean advance(String workspaceCode, String ruleCode, long revision, @Nullable GeneralRule rule, Runnable action) {
+        RuleKey key = new RuleKey(workspaceCode, ruleCode);
+        Revision current = this.revisions.get(key);
+        if (current != null && (rule == null ? revision < current.getRevision() : revision <= current.getRevision())) {
+            return false;
+        }
+        action.run();
+        this.revisions.put(key, new Revision(revision, rule));
+        return true;
+    }
+
+    /**
+     * 获取规则当前的版本，包括已经移除的规则
+     *
+     * @param workspaceCode 工作空间code
+     * @param ruleCode      规则code
+     * @return 版本，不存在时返回0
+     */
+    public synchronized long getRevision(String workspaceCode, String ruleCode) {
+        Revision current = this.revisions.get(new RuleKey(workspaceCode, ruleCode));
+        return current == null ? 0 : current.getRevision();
+    }
+
+    /**
+     * 所有规则当前版本的副本，用于与数据库对账
+     *
+     * @return 规则版本
+     */
+    public synchronized Map<RuleKey, Revision> snapshot() {
+        return new HashMap<>(this.revisions);
+    }
+
+    @Getter
+    @ToString
+    @EqualsAndHashCode
+    @AllArgsConstructor
+    public static class RuleKey {
+
+        private final String workspaceCode;
+
+        private final String ruleCode;
+
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class Revision {
+
+        private final long revision;
+
+        /**
+         * 当前版本的规则，为null时已经被移除
+         */
+        private final GeneralRule rule;
+
+        public boolean isRemoved() {
+            return this.rule == null;
+        }
+
+    }
+
+}
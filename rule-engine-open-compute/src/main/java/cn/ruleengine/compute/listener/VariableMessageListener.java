@@ -18,8 +18,11 @@ package cn.ruleengine.compute.listener;
 import cn.ruleengine.compute.config.rabbit.RabbitTopicConfig;
 import cn.ruleengine.compute.listener.body.VariableMessageBody;
 import cn.ruleengine.compute.service.VariableResolveService;
+import cn.ruleengine.compute.shadow.ShadowEvaluator;
+import cn.ruleengine.compute.snapshot.EngineSnapshotStore;
 import cn.ruleengine.core.EngineVariable;
 import cn.ruleengine.core.RuleEngineConfiguration;
+import cn.ruleengine.core.value.Value;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.amqp.core.ExchangeTypes;
 import org.springframework.amqp.rabbit.annotation.Exchange;
@@ -29,6 +32,7 @@ import org.springframework.amqp.rabbit.annotation.RabbitListener;
 import org.springframework.stereotype.Component;
 
 import javax.annotation.Resource;
+import java.util.Collections;
 
 /**
  * 〈一句话功能简述〉<br>
@@ -46,6 +50,10 @@ public class VariableMessageListener {
     private RuleEngineConfiguration ruleEngineConfiguration;
     @Resource
     private VariableResolveService variableResolveService;
+    @Resource
+    private EngineSnapshotStore engineSnapshotStore;
+    @Resource
+    private ShadowEvaluator shadowEvaluator;
 
     @RabbitListener(bindings = @QueueBinding(
             value = @Queue(),
@@ -60,21 +68,28 @@ public class VariableMessageListener {
             case REMOVE:
                 log.info("开始移除变量：{}", id);
                 engineVariable.removeVariable(id);
+                this.engineSnapshotStore.variableChanged(id, null);
                 log.info("移除完毕：{}", id);
                 break;
             case UPDATE:
-                log.info("开始更新变量：{}", id);
-                engineVariable.addVariable(id, variableResolveService.getVarById(id));
-                log.info("更新完毕：{}", id);
-                break;
             case LOAD:
                 log.info("开始加载变量：{}", id);
-                engineVariable.addVariable(id, variableResolveService.getVarById(id));
+                Value value = this.variableResolveService.getVarById(id);
+                if (value == null) {
+                    log.warn("变量不存在或者解析失败，保留当前变量：{}", id);
+                    return;
+                }
+                engineVariable.addVariable(id, value);
+                this.engineSnapshotStore.variableChanged(id, value);
                 log.info("加载完毕：{}", id);
                 break;
             default:
                 throw new IllegalStateException("Unexpected value: " + variableMessageBody.getType());
         }
+        // 只重新编译依赖此变量的规则
+        int recompiled = this.ruleEngineConfiguration.getGeneralRuleContainer().variableChanged(Collections.singletonList(id));
+        this.shadowEvaluator.variableChanged(Collections.singletonList(id));
+        log.info("变量：{}，重新编译规则数：{}", id, recompiled);
     }
 
 }
@@ -1,6 +1,7 @@
 package cn.ruleengine.compute.listener.body;
 
 import lombok.Data;
+import lombok.ToString;
 
 import java.io.Serializable;
 
@@ -25,6 +26,28 @@ public class GeneralRuleMessageBody implements Serializable {
 
     private String ruleCode;
 
+    /**
+     * 规则发布版本，为线上发布数据的id，每次发布递增；为null时为旧版本消息，需要从数据库查询规则
+     */
+    private Long revision;
+
+    /**
+     * 消息中规则数据的md5，存在snapshot时为snapshot的md5，否则为data的md5
+     */
+    private String hash;
+
+    /**
+     * 规则二进制快照
+     */
+    @ToString.Exclude
+    private byte[] snapshot;
+
+    /**
+     * 规则json，没有快照时使用
+     */
+    @ToString.Exclude
+    private String data;
+
     public enum Type {
         /**
          * 规则加载，以及移除
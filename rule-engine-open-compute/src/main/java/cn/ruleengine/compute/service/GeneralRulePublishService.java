@@ -1,8 +1,12 @@
 package cn.ruleengine.compute.service;
 
+import cn.ruleengine.compute.config.EngineLoadProgress;
+import cn.ruleengine.compute.store.entity.RuleEngineGeneralRulePublish;
 import cn.ruleengine.core.rule.GeneralRule;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * 〈一句话功能简述〉<br>
@@ -21,6 +25,16 @@ public interface GeneralRulePublishService {
      */
     List<GeneralRule> getAllPublishGeneralRule();
 
+    /**
+     * 按工作空间分页加载所有的线上规则，每一页的规则并行解析完成后回调
+     *
+     * @param parallelism 并行解析线程数
+     * @param pageSize    每页条数
+     * @param progress    加载进度
+     * @param consumer    每一页解析完成的规则
+     */
+    void loadAllPublishGeneralRule(int parallelism, int pageSize, EngineLoadProgress progress, Consumer<List<GeneralRule>> consumer);
+
     /**
      * 根据规则code，查询发布规则
      *
@@ -30,4 +44,51 @@ public interface GeneralRulePublishService {
      */
     GeneralRule getPublishGeneralRule(String workspaceCode, String ruleCode);
 
+    /**
+     * 根据规则code，查询发布规则数据
+     *
+     * @param workspaceCode 工作空间code
+     * @param ruleCode      规则code
+     * @return 发布的规则数据，不存在时返回null
+     */
+    RuleEngineGeneralRulePublish getPublish(String workspaceCode, String ruleCode);
+
+    /**
+     * 查询所有线上规则的版本，只查询id、工作空间code以及规则code，不查询规则数据
+     *
+     * @return 发布的规则版本
+     */
+    List<RuleEngineGeneralRulePublish> getPublishRevisions();
+
+    /**
+     * 根据id查询线上规则数据
+     *
+     * @param ids 发布数据id
+     * @return 发布的规则数据
+     */
+    List<RuleEngineGeneralRulePublish> getPublishByIds(Collection<Integer> ids);
+
+    /**
+     * 查询所有测试规则的版本，只查询id、工作空间code以及规则code，不查询规则数据
+     *
+     * @return 测试规则版本
+     */
+    List<RuleEngineGeneralRulePublish> getTestRevisions();
+
+    /**
+     * 根据id查询测试规则数据
+     *
+     * @param ids 发布数据id
+     * @return 测试规则数据
+     */
+    List<RuleEngineGeneralRulePublish> getTestByIds(Collection<Integer> ids);
+
+    /**
+     * 构建规则，优先使用二进制快照，快照不存在或者版本不兼容时使用json
+     *
+     * @param publish 发布的规则数据
+     * @return 规则
+     */
+    GeneralRule buildRule(RuleEngineGeneralRulePublish publish);
+
 }
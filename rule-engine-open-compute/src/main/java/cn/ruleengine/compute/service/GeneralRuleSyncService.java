@@ -0,0 +1,27 @@
+package cn.ruleengine.compute.service;
+
+import cn.ruleengine.compute.listener.body.GeneralRuleMessageBody;
+
+/**
+ * 〈一句话功能简述〉<br>
+ * 〈〉
+ *
+ * @author dingqianwen
+ * @date 2026/10/18
+ * @since 1.0.0
+ */
+public interface GeneralRuleSyncService {
+
+    /**
+     * 处理规则变更消息，旧版本的消息会被丢弃
+     *
+     * @param ruleMessageBody 规则消息
+     */
+    void apply(GeneralRuleMessageBody ruleMessageBody);
+
+    /**
+     * 与数据库中的线上规则对账，补偿丢失的规则消息
+     */
+    void reconcile();
+
+}
@@ -8,4 +8,12 @@ package cn.ruleengine.compute.service;
  * @since 1.0.0
  */
 public interface MonitorService {
+
+    /**
+     * 规则/条件/函数执行指标，Prometheus文本格式
+     *
+     * @return 指标
+     */
+    String prometheus();
+
 }
@@ -1,21 +1,30 @@
 package cn.ruleengine.compute.service;
 
-import cn.hutool.core.thread.ThreadUtil;
+import cn.hutool.core.util.StrUtil;
+import cn.ruleengine.compute.config.EngineLoadProgress;
+import cn.ruleengine.compute.enums.BatchExecuteStatus;
 import cn.ruleengine.compute.service.impl.BatchExecuteTask;
 import cn.ruleengine.compute.vo.*;
 import cn.ruleengine.core.Container;
 import cn.ruleengine.core.DefaultInput;
 import cn.ruleengine.core.Engine;
+import cn.ruleengine.core.ExecutionContext;
 import cn.ruleengine.core.Input;
 import cn.ruleengine.core.exception.EngineException;
 import cn.ruleengine.core.exception.ValidException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.slf4j.MDC;
 
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.Deque;
 import java.util.List;
-import java.util.concurrent.CopyOnWriteArrayList;
-import java.util.concurrent.CountDownLatch;
-import java.util.concurrent.TimeUnit;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.function.Supplier;
 
 
 /**
@@ -31,17 +40,38 @@ public abstract class RuleEngineOutService {
 
 
     private final Engine engine;
-    private final ThreadPoolTaskExecutor threadPoolTaskExecutor;
+    private final ForkJoinPool batchExecutePool;
     private final WorkspaceService workspaceService;
     private final Container.Body<?> containerBody;
+    private final EngineLoadProgress engineLoadProgress;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * 流式批量执行时，同时执行中的最大条数，超过时等待最早的一条执行完成并写出后再读取下一条
+     */
+    private static final int STREAM_WINDOW_SIZE = 256;
 
     public RuleEngineOutService(Engine engine,
                                 Container.Body<?> containerBody,
-                                ThreadPoolTaskExecutor threadPoolTaskExecutor, WorkspaceService workspaceService) {
+                                ForkJoinPool batchExecutePool, WorkspaceService workspaceService,
+                                EngineLoadProgress engineLoadProgress, ObjectMapper objectMapper) {
         this.engine = engine;
         this.containerBody = containerBody;
-        this.threadPoolTaskExecutor = threadPoolTaskExecutor;
+        this.batchExecutePool = batchExecutePool;
         this.workspaceService = workspaceService;
+        this.engineLoadProgress = engineLoadProgress;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * 异步加载规则时，工作空间下的规则还未加载完成不能对外提供服务
+     *
+     * @param workspaceCode 工作空间code
+     */
+    private void checkReady(String workspaceCode) {
+        if (!this.engineLoadProgress.isReady(workspaceCode)) {
+            throw new EngineException("The rules of workspace {} are loading, please try again later", workspaceCode);
+        }
     }
 
     /**
@@ -58,15 +88,19 @@ public abstract class RuleEngineOutService {
         if (!accessKey.equals(executeRequest.getAccessKeyId(), executeRequest.getAccessKeySecret())) {
             throw new ValidException("AccessKey Verification failed");
         }
-        Input input = new DefaultInput(executeRequest.getParam());
-        return this.engine.execute(input, workspaceCode, executeRequest.getCode());
+        this.checkReady(workspaceCode);
+        ExecutionContext context = ExecutionContext.of(new DefaultInput(executeRequest.getParam()));
+        if (executeRequest.isTrace()) {
+            context.enableTrace();
+        }
+        return this.engine.execute(context, workspaceCode, executeRequest.getCode());
     }
 
 
     /**
      * 默认批量执行器
      * <p>
-     * 批量执行多个(一次最多1000个)，获取执行结果
+     * 批量执行多个(一次最多2000个)，获取执行结果，执行结果与入参顺序一致
      *
      * @param batchExecuteRequest 批量数据
      * @return 执行结果
@@ -77,33 +111,142 @@ public abstract class RuleEngineOutService {
         if (!accessKey.equals(batchExecuteRequest.getAccessKeyId(), batchExecuteRequest.getAccessKeySecret())) {
             throw new ValidException("AccessKey Verification failed");
         }
+        this.checkReady(workspaceCode);
         List<BatchExecuteRequest.ExecuteInfo> executeInfos = batchExecuteRequest.getExecuteInfos();
-        Integer threadSegNumber = batchExecuteRequest.getThreadSegNumber();
-        log.info("批量执行数量：{},单个线程执行{}条", executeInfos.size(), threadSegNumber);
-        List<BatchExecuteResponse> outputs = new CopyOnWriteArrayList<>();
-        int countDownNumber = executeInfos.size() % threadSegNumber == 0 ? executeInfos.size() / threadSegNumber : (executeInfos.size() / threadSegNumber) + 1;
-        CountDownLatch countDownLatch = ThreadUtil.newCountDownLatch(countDownNumber);
-        // 批量插入，执行一次批量
-        for (int fromIndex = 0; fromIndex < executeInfos.size(); fromIndex += threadSegNumber) {
-            int toIndex = Math.min(fromIndex + threadSegNumber, executeInfos.size());
-            List<BatchExecuteRequest.ExecuteInfo> infoList = executeInfos.subList(fromIndex, toIndex);
-            BatchExecuteTask batchExecuteRuleTask = new BatchExecuteTask(workspaceCode, countDownLatch, outputs, this.engine, infoList);
-            this.threadPoolTaskExecutor.execute(batchExecuteRuleTask);
-        }
-        // 等待线程处理完毕
+        log.info("批量执行数量：{}", executeInfos.size());
+        BatchExecuteTask batchExecuteTask = new BatchExecuteTask(workspaceCode, this.engine, executeInfos, batchExecuteRequest.getTimeout(), batchExecuteRequest.getItemTimeout());
+        this.batchExecutePool.execute(batchExecuteTask);
+        // 等待执行完毕
         try {
             Long timeout = batchExecuteRequest.getTimeout();
             if (timeout.equals(-1L)) {
-                countDownLatch.await();
+                batchExecuteTask.get();
             } else {
-                if (!countDownLatch.await(timeout, TimeUnit.MILLISECONDS)) {
-                    throw new EngineException("Execution timeout:{}ms", timeout);
-                }
+                batchExecuteTask.get(timeout, TimeUnit.MILLISECONDS);
             }
+        } catch (TimeoutException e) {
+            log.warn("批量执行超时：{}ms，返回已经执行完成的结果", batchExecuteRequest.getTimeout());
         } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
             throw new EngineException("Execution failed, rule execution thread was interrupted", e);
+        } catch (ExecutionException e) {
+            throw new EngineException("Execution failed:{}", e.getCause().getMessage());
+        } finally {
+            // 超时或者当前线程中断时，剩余未开始执行的规则不再执行
+            batchExecuteTask.cancel();
+        }
+        return batchExecuteTask.getResponses();
+    }
+
+    /**
+     * 流式批量执行
+     * <p>
+     * 入参每行一个{@link BatchExecuteRequest.ExecuteInfo} JSON，结果按照入参顺序每行写出一个{@link BatchExecuteResponse} JSON，
+     * 同时执行中的最多{@link #STREAM_WINDOW_SIZE}条，最早的一条未执行完成时不再读取入参，内存占用与批量大小无关
+     *
+     * @param workspaceCode   工作空间code
+     * @param accessKeyId     工作空间AccessKeyId
+     * @param accessKeySecret 工作空间AccessKeySecret
+     * @param inputStream     入参
+     * @param outputStream    执行结果
+     * @throws IOException 读取入参或者写出结果失败，例如客户端断开连接
+     */
+    public void streamExecute(String workspaceCode, String accessKeyId, String accessKeySecret,
+                              InputStream inputStream, OutputStream outputStream) throws IOException {
+        AccessKey accessKey = this.workspaceService.accessKey(workspaceCode);
+        if (!accessKey.equals(accessKeyId, accessKeySecret)) {
+            throw new ValidException("AccessKey Verification failed");
+        }
+        this.checkReady(workspaceCode);
+        BufferedReader reader = new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8));
+        Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+        Deque<CompletableFuture<BatchExecuteResponse>> window = new ArrayDeque<>(STREAM_WINDOW_SIZE);
+        long count = 0;
+        try {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (StrUtil.isBlank(line)) {
+                    continue;
+                }
+                if (window.size() >= STREAM_WINDOW_SIZE) {
+                    this.writeLine(window.poll(), writer);
+                }
+                window.add(this.streamExecute(workspaceCode, line));
+                count++;
+            }
+            while (!window.isEmpty()) {
+                this.writeLine(window.poll(), writer);
+            }
+            writer.flush();
+        } finally {
+            // 客户端断开连接等情况，未开始执行的不再执行
+            window.forEach(future -> future.cancel(false));
+            log.info("流式批量执行数量：{}", count);
+        }
+    }
+
+    /**
+     * 异步执行一条流式批量执行的入参
+     *
+     * @param workspaceCode 工作空间code
+     * @param line          一行入参
+     * @return 执行结果
+     */
+    private CompletableFuture<BatchExecuteResponse> streamExecute(String workspaceCode, String line) {
+        BatchExecuteRequest.ExecuteInfo executeInfo;
+        try {
+            executeInfo = this.objectMapper.readValue(line, BatchExecuteRequest.ExecuteInfo.class);
+        } catch (JsonProcessingException e) {
+            return CompletableFuture.completedFuture(this.failure(null, "Invalid execute info: " + e.getOriginalMessage()));
         }
-        return outputs;
+        if (StrUtil.isEmpty(executeInfo.getCode())) {
+            return CompletableFuture.completedFuture(this.failure(executeInfo.getSymbol(), "规则编码不能为空"));
+        }
+        Map<String, String> context = MDC.getCopyOfContextMap();
+        Supplier<BatchExecuteResponse> task = () -> {
+            BatchExecuteResponse response = new BatchExecuteResponse();
+            response.setSymbol(executeInfo.getSymbol());
+            if (context != null) {
+                MDC.setContextMap(context);
+            }
+            try {
+                Input input = new DefaultInput(executeInfo.getParam());
+                response.setOutput(this.engine.execute(input, workspaceCode, executeInfo.getCode()));
+            } catch (Exception e) {
+                log.error("Execution exception", e);
+                response.setMessage(e.getMessage());
+                response.setIsDone(false);
+                response.setStatus(BatchExecuteStatus.FAILURE);
+            } finally {
+                MDC.clear();
+            }
+            return response;
+        };
+        return CompletableFuture.supplyAsync(task, this.batchExecutePool);
+    }
+
+    /**
+     * 等待执行完成并写出一行执行结果，需要等待时先把已经写出的结果发送给客户端
+     *
+     * @param future 执行结果
+     * @param writer 输出
+     * @throws IOException 写出失败
+     */
+    private void writeLine(CompletableFuture<BatchExecuteResponse> future, Writer writer) throws IOException {
+        if (!future.isDone()) {
+            writer.flush();
+        }
+        writer.write(this.objectMapper.writeValueAsString(future.join()));
+        writer.write('\n');
+    }
+
+    private BatchExecuteResponse failure(String symbol, String message) {
+        BatchExecuteResponse response = new BatchExecuteResponse();
+        response.setSymbol(symbol);
+        response.setIsDone(false);
+        response.setStatus(BatchExecuteStatus.FAILURE);
+        response.setMessage(message);
+        return response;
     }
 
     /**
@@ -118,6 +261,7 @@ public abstract class RuleEngineOutService {
         if (!accessKey.equals(isExistsRequest.getAccessKeyId(), isExistsRequest.getAccessKeySecret())) {
             throw new ValidException("AccessKey Verification failed");
         }
+        this.checkReady(workspaceCode);
         return this.containerBody.isExists(isExistsRequest.getWorkspaceCode(), isExistsRequest.getCode());
     }
 
@@ -1,7 +1,9 @@
 package cn.ruleengine.compute.service;
 
+import cn.ruleengine.compute.config.EngineLoadProgress;
 import cn.ruleengine.core.value.Value;
 
+import java.util.Collection;
 import java.util.Map;
 
 /**
@@ -21,11 +23,29 @@ public interface VariableResolveService {
      */
     Map<Integer, Value> getAllVariable();
 
+    /**
+     * 分页加载所有的变量/函数配置信息，每一页的变量并行解析
+     *
+     * @param parallelism 并行解析线程数
+     * @param pageSize    每页条数
+     * @param progress    加载进度
+     * @return 变量
+     */
+    Map<Integer, Value> getAllVariable(int parallelism, int pageSize, EngineLoadProgress progress);
+
+    /**
+     * 批量解析变量，不论多少个变量，查询次数固定
+     *
+     * @param ids 变量id
+     * @return 变量，不存在或者解析失败的变量不会返回
+     */
+    Map<Integer, Value> getVarByIds(Collection<Integer> ids);
+
     /**
      * 根据变量获取变量/函数配置信息
      *
      * @param id 变量id
-     * @return 变量
+     * @return 变量，不存在或者解析失败时返回null
      */
     Value getVarById(Integer id);
 
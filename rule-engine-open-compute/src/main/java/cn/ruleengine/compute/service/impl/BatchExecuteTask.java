@@ -1,5 +1,6 @@
 package cn.ruleengine.compute.service.impl;
 
+import cn.ruleengine.compute.enums.BatchExecuteStatus;
 import cn.ruleengine.compute.vo.BatchExecuteRequest;
 import cn.ruleengine.compute.vo.BatchExecuteResponse;
 import cn.ruleengine.core.DefaultInput;
@@ -7,56 +8,204 @@ import cn.ruleengine.core.Engine;
 import cn.ruleengine.core.Input;
 import cn.ruleengine.core.Output;
 import lombok.extern.slf4j.Slf4j;
+import org.slf4j.MDC;
 
+import java.util.ArrayList;
 import java.util.List;
-import java.util.concurrent.CountDownLatch;
+import java.util.Map;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
 /**
  * 〈一句话功能简述〉<br>
  * 〈〉
+ * 批量执行规则任务，在ForkJoinPool中拆分为小任务执行，空闲线程可以窃取其他线程未开始的任务，
+ * 避免一段执行慢的规则拖慢整个批量
+ * <p>
+ * 执行结果按照入参下标保存，每条规则开始执行前检查批量执行是否已经超时，超时或者调用{@link #cancel()}后，
+ * 还未开始执行的规则不再执行，通过{@link #getResponses()}获取当前的执行结果以及每条规则的执行状态
+ * <p>
+ * 执行中的规则无法被中断，单条规则耗时超过单条超时时间时仍然保留执行结果，状态为{@link BatchExecuteStatus#OVERTIME}
  *
  * @author dingqianwen
  * @date 2020/8/23
  * @since 1.0.0
  */
 @Slf4j
-public class BatchExecuteTask implements Runnable {
-
-    private final List<BatchExecuteRequest.ExecuteInfo> infoList;
-    private final Engine engine;
-    private final List<BatchExecuteResponse> outputs;
-    private final CountDownLatch countDownLatch;
-    private final String workspaceCode;
-
-    public BatchExecuteTask(String workspaceCode,
-                            CountDownLatch countDownLatch,
-                            List<BatchExecuteResponse> outputs,
-                            Engine engine, List<BatchExecuteRequest.ExecuteInfo> infoList) {
-        this.workspaceCode = workspaceCode;
-        this.countDownLatch = countDownLatch;
-        this.outputs = outputs;
-        this.engine = engine;
-        this.infoList = infoList;
+public class BatchExecuteTask extends RecursiveAction {
+
+    private static final long serialVersionUID = -2447284357937542117L;
+
+    /**
+     * 拆分到每个任务最多执行的规则数量
+     */
+    private static final int LEAF_SIZE = 8;
+
+    /**
+     * 执行中的规则占位
+     */
+    private static final BatchExecuteResponse RUNNING = new BatchExecuteResponse();
+
+    private final Batch batch;
+
+    private final int fromIndex;
+
+    private final int toIndex;
+
+    /**
+     * 创建批量执行规则任务
+     *
+     * @param workspaceCode 工作空间code
+     * @param engine        规则引擎
+     * @param infoList      规则执行信息
+     * @param timeout       批量执行超时时间，超时后不再开始执行剩余的规则，-1永不超时
+     * @param itemTimeout   单条规则执行超时时间，超过时标记超时但保留执行结果，-1永不超时
+     */
+    public BatchExecuteTask(String workspaceCode, Engine engine, List<BatchExecuteRequest.ExecuteInfo> infoList, long timeout, long itemTimeout) {
+        this(new Batch(workspaceCode, engine, infoList, timeout, itemTimeout), 0, infoList.size());
+    }
+
+    private BatchExecuteTask(Batch batch, int fromIndex, int toIndex) {
+        this.batch = batch;
+        this.fromIndex = fromIndex;
+        this.toIndex = toIndex;
     }
 
     @Override
-    public void run() {
-        for (BatchExecuteRequest.ExecuteInfo executeInfo : this.infoList) {
+    protected void compute() {
+        if (this.toIndex - this.fromIndex <= LEAF_SIZE) {
+            Map<String, String> context = this.batch.context;
+            if (context != null) {
+                MDC.setContextMap(context);
+            }
+            try {
+                for (int i = this.fromIndex; i < this.toIndex; i++) {
+                    // 已经超时或者取消，剩余的规则不再执行
+                    if (this.batch.isExpired()) {
+                        return;
+                    }
+                    this.batch.execute(i);
+                }
+            } finally {
+                MDC.clear();
+            }
+            return;
+        }
+        int middle = (this.fromIndex + this.toIndex) >>> 1;
+        invokeAll(new BatchExecuteTask(this.batch, this.fromIndex, middle), new BatchExecuteTask(this.batch, middle, this.toIndex));
+    }
+
+    /**
+     * 取消执行，正在执行中的规则执行完成后，剩余的规则不再执行
+     */
+    public void cancel() {
+        this.batch.cancelled = true;
+    }
+
+    /**
+     * 获取当前的执行结果，按照入参顺序，未执行完成的规则状态为超时或者取消
+     *
+     * @return 执行结果
+     */
+    public List<BatchExecuteResponse> getResponses() {
+        List<BatchExecuteRequest.ExecuteInfo> infoList = this.batch.infoList;
+        List<BatchExecuteResponse> responses = new ArrayList<>(infoList.size());
+        for (int i = 0; i < infoList.size(); i++) {
+            BatchExecuteResponse response = this.batch.responses.get(i);
+            if (response == null) {
+                response = Batch.failure(infoList.get(i), BatchExecuteStatus.CANCELLED, "Execution cancelled");
+            } else if (response == RUNNING) {
+                response = Batch.failure(infoList.get(i), BatchExecuteStatus.TIMEOUT, "Execution timeout");
+            }
+            responses.add(response);
+        }
+        return responses;
+    }
+
+    /**
+     * 一次批量执行，所有拆分的任务共享
+     */
+    private static final class Batch {
+
+        private final String workspaceCode;
+
+        private final Engine engine;
+
+        private final List<BatchExecuteRequest.ExecuteInfo> infoList;
+
+        /**
+         * 批量执行截止时间，-1永不超时
+         */
+        private final long deadline;
+
+        private final long itemTimeout;
+
+        private final AtomicReferenceArray<BatchExecuteResponse> responses;
+
+        /**
+         * 请求线程的日志上下文，例如traceId
+         */
+        private final Map<String, String> context;
+
+        private volatile boolean cancelled;
+
+        private Batch(String workspaceCode, Engine engine, List<BatchExecuteRequest.ExecuteInfo> infoList, long timeout, long itemTimeout) {
+            this.workspaceCode = workspaceCode;
+            this.engine = engine;
+            this.infoList = infoList;
+            this.deadline = timeout == -1 ? -1 : System.currentTimeMillis() + timeout;
+            this.itemTimeout = itemTimeout;
+            this.responses = new AtomicReferenceArray<>(infoList.size());
+            this.context = MDC.getCopyOfContextMap();
+        }
+
+        /**
+         * 是否已经取消或者超过批量执行截止时间
+         *
+         * @return true不再开始执行新的规则
+         */
+        private boolean isExpired() {
+            return this.cancelled || (this.deadline != -1 && System.currentTimeMillis() >= this.deadline);
+        }
+
+        /**
+         * 执行一条规则
+         *
+         * @param index 入参下标
+         */
+        private void execute(int index) {
+            this.responses.set(index, RUNNING);
+            BatchExecuteRequest.ExecuteInfo executeInfo = this.infoList.get(index);
             Input input = new DefaultInput(executeInfo.getParam());
             // 封装规则执行结果
             BatchExecuteResponse ruleResponse = new BatchExecuteResponse();
             ruleResponse.setSymbol(executeInfo.getSymbol());
+            long startTime = System.currentTimeMillis();
             try {
                 Output output = this.engine.execute(input, this.workspaceCode, executeInfo.getCode());
                 ruleResponse.setOutput(output);
+                long cost = System.currentTimeMillis() - startTime;
+                // 执行中的规则无法中断，超过单条超时时间时只标记，执行结果仍然返回
+                if (this.itemTimeout != -1 && cost > this.itemTimeout) {
+                    ruleResponse.setStatus(BatchExecuteStatus.OVERTIME);
+                    ruleResponse.setMessage("Execution exceeded item timeout:" + cost + "ms");
+                }
             } catch (Exception e) {
                 log.error("Execution exception", e);
-                ruleResponse.setMessage(e.getMessage());
-                ruleResponse.setIsDone(false);
+                ruleResponse = failure(executeInfo, BatchExecuteStatus.FAILURE, e.getMessage());
             }
-            this.outputs.add(ruleResponse);
+            this.responses.set(index, ruleResponse);
         }
-        this.countDownLatch.countDown();
+
+        private static BatchExecuteResponse failure(BatchExecuteRequest.ExecuteInfo executeInfo, BatchExecuteStatus status, String message) {
+            BatchExecuteResponse ruleResponse = new BatchExecuteResponse();
+            ruleResponse.setSymbol(executeInfo.getSymbol());
+            ruleResponse.setIsDone(false);
+            ruleResponse.setStatus(status);
+            ruleResponse.setMessage(message);
+            return ruleResponse;
+        }
+
     }
 
 }
@@ -1,18 +1,27 @@
 package cn.ruleengine.compute.service.impl;
 
+import cn.ruleengine.compute.config.EngineLoadProgress;
 import cn.ruleengine.compute.service.RuleEngineOutService;
 import cn.ruleengine.compute.service.WorkspaceService;
+import cn.ruleengine.compute.shadow.ShadowEvaluator;
 import cn.ruleengine.compute.vo.BatchExecuteRequest;
 import cn.ruleengine.compute.vo.ExecuteRequest;
 import cn.ruleengine.compute.vo.IsExistsRequest;
 import cn.ruleengine.core.GeneralRuleEngine;
+import cn.ruleengine.core.Output;
 import cn.ruleengine.core.RuleEngineConfiguration;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.context.annotation.Primary;
-import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.stereotype.Service;
 
+import javax.annotation.Resource;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.concurrent.ForkJoinPool;
+
 
 /**
  * 〈一句话功能简述〉<br>
@@ -27,23 +36,29 @@ import org.springframework.stereotype.Service;
 @Service
 public class GeneralRuleOutServiceImpl extends RuleEngineOutService {
 
+    @Resource
+    private ShadowEvaluator shadowEvaluator;
 
     public GeneralRuleOutServiceImpl(@Qualifier("generalRuleEngine") GeneralRuleEngine generalRuleEngine,
                                      @Qualifier("ruleEngineConfiguration") RuleEngineConfiguration ruleEngineConfiguration,
-                                     ThreadPoolTaskExecutor threadPoolTaskExecutor,
-                                     WorkspaceService workspaceService) {
-        super(generalRuleEngine, ruleEngineConfiguration.getGeneralRuleContainer(), threadPoolTaskExecutor, workspaceService);
+                                     @Qualifier("batchExecutePool") ForkJoinPool batchExecutePool,
+                                     WorkspaceService workspaceService,
+                                     EngineLoadProgress engineLoadProgress,
+                                     ObjectMapper objectMapper) {
+        super(generalRuleEngine, ruleEngineConfiguration.getGeneralRuleContainer(), batchExecutePool, workspaceService, engineLoadProgress, objectMapper);
     }
 
     /**
-     * 执行单个规则，获取执行结果
+     * 执行单个规则，获取执行结果，存在测试版本时按采样率异步影子执行
      *
      * @param executeRule 执行规则入参
      * @return 规则执行结果
      */
     @Override
     public Object execute(ExecuteRequest executeRule) {
-        return super.execute(executeRule);
+        Output output = (Output) super.execute(executeRule);
+        this.shadowEvaluator.offer(executeRule.getWorkspaceCode(), executeRule.getCode(), executeRule.getParam(), output.getValue());
+        return output;
     }
 
     /**
@@ -57,6 +72,22 @@ public class GeneralRuleOutServiceImpl extends RuleEngineOutService {
         return super.batchExecute(batchExecuteRequest);
     }
 
+    /**
+     * 流式批量执行，入参与执行结果均为每行一个JSON
+     *
+     * @param workspaceCode   工作空间code
+     * @param accessKeyId     工作空间AccessKeyId
+     * @param accessKeySecret 工作空间AccessKeySecret
+     * @param inputStream     入参
+     * @param outputStream    执行结果
+     * @throws IOException 读取入参或者写出结果失败
+     */
+    @Override
+    public void streamExecute(String workspaceCode, String accessKeyId, String accessKeySecret,
+                              InputStream inputStream, OutputStream outputStream) throws IOException {
+        super.streamExecute(workspaceCode, accessKeyId, accessKeySecret, inputStream, outputStream);
+    }
+
     /**
      * 引擎中是否存在这个规则
      *
@@ -1,18 +1,28 @@
 package cn.ruleengine.compute.service.impl;
 
 import cn.hutool.core.collection.CollUtil;
+import cn.ruleengine.compute.config.EngineLoadProgress;
 import cn.ruleengine.compute.enums.DataStatus;
+import cn.ruleengine.compute.listener.GeneralRuleRevisionRegistry;
 import cn.ruleengine.compute.service.GeneralRulePublishService;
 import cn.ruleengine.compute.store.entity.RuleEngineGeneralRulePublish;
 import cn.ruleengine.compute.store.manager.RuleEngineGeneralRulePublishManager;
+import cn.ruleengine.core.codec.RuleSnapshotCodec;
+import cn.ruleengine.core.exception.EngineException;
 import cn.ruleengine.core.rule.GeneralRule;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
 import javax.annotation.Resource;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
 
 /**
  * 〈一句话功能简述〉<br>
@@ -26,8 +36,19 @@ import java.util.List;
 @Service
 public class GeneralRulePublishServiceImpl implements GeneralRulePublishService {
 
+    /**
+     * 默认并行解析线程数
+     */
+    private static final int DEFAULT_PARALLELISM = Math.min(Runtime.getRuntime().availableProcessors(), 8);
+    /**
+     * 默认每页加载条数
+     */
+    private static final int DEFAULT_PAGE_SIZE = 500;
+
     @Resource
     private RuleEngineGeneralRulePublishManager ruleEngineGeneralRulePublishManager;
+    @Resource
+    private GeneralRuleRevisionRegistry revisionRegistry;
 
     /**
      * 根据规则code，查询发布规则
@@ -38,12 +59,85 @@ public class GeneralRulePublishServiceImpl implements GeneralRulePublishService
      */
     @Override
     public GeneralRule getPublishGeneralRule(String workspaceCode, String ruleCode) {
-        RuleEngineGeneralRulePublish rulePublish = this.ruleEngineGeneralRulePublishManager.lambdaQuery()
+        return this.buildRule(this.getPublish(workspaceCode, ruleCode));
+    }
+
+    /**
+     * 根据规则code，查询发布规则数据
+     *
+     * @param workspaceCode 工作空间code
+     * @param ruleCode      规则code
+     * @return 发布的规则数据，不存在时返回null
+     */
+    @Override
+    public RuleEngineGeneralRulePublish getPublish(String workspaceCode, String ruleCode) {
+        return this.ruleEngineGeneralRulePublishManager.lambdaQuery()
                 .eq(RuleEngineGeneralRulePublish::getStatus, DataStatus.PRD.getStatus())
                 .eq(RuleEngineGeneralRulePublish::getGeneralRuleCode, ruleCode)
                 .eq(RuleEngineGeneralRulePublish::getWorkspaceCode, workspaceCode)
                 .one();
-        return GeneralRule.buildRule(rulePublish.getData());
+    }
+
+    /**
+     * 查询所有线上规则的版本，只查询id、工作空间code以及规则code，不查询规则数据
+     *
+     * @return 发布的规则版本
+     */
+    @Override
+    public List<RuleEngineGeneralRulePublish> getPublishRevisions() {
+        return this.ruleEngineGeneralRulePublishManager.lambdaQuery()
+                .select(RuleEngineGeneralRulePublish::getId, RuleEngineGeneralRulePublish::getWorkspaceCode, RuleEngineGeneralRulePublish::getGeneralRuleCode)
+                .eq(RuleEngineGeneralRulePublish::getStatus, DataStatus.PRD.getStatus())
+                .list();
+    }
+
+    /**
+     * 根据id查询线上规则数据
+     *
+     * @param ids 发布数据id
+     * @return 发布的规则数据
+     */
+    @Override
+    public List<RuleEngineGeneralRulePublish> getPublishByIds(Collection<Integer> ids) {
+        if (CollUtil.isEmpty(ids)) {
+            return Collections.emptyList();
+        }
+        return this.ruleEngineGeneralRulePublishManager.lambdaQuery()
+                .eq(RuleEngineGeneralRulePublish::getStatus, DataStatus.PRD.getStatus())
+                .in(RuleEngineGeneralRulePublish::getId, ids)
+                .list();
+    }
+
+    /**
+     * 查询所有测试规则的版本，只查询id、工作空间code以及规则code，不查询规则数据
+     * <p>
+     * 每次生成测试规则都会删除旧数据后重新插入，id可以作为测试规则的版本
+     *
+     * @return 测试规则版本
+     */
+    @Override
+    public List<RuleEngineGeneralRulePublish> getTestRevisions() {
+        return this.ruleEngineGeneralRulePublishManager.lambdaQuery()
+                .select(RuleEngineGeneralRulePublish::getId, RuleEngineGeneralRulePublish::getWorkspaceCode, RuleEngineGeneralRulePublish::getGeneralRuleCode)
+                .eq(RuleEngineGeneralRulePublish::getStatus, DataStatus.TEST.getStatus())
+                .list();
+    }
+
+    /**
+     * 根据id查询测试规则数据
+     *
+     * @param ids 发布数据id
+     * @return 测试规则数据
+     */
+    @Override
+    public List<RuleEngineGeneralRulePublish> getTestByIds(Collection<Integer> ids) {
+        if (CollUtil.isEmpty(ids)) {
+            return Collections.emptyList();
+        }
+        return this.ruleEngineGeneralRulePublishManager.lambdaQuery()
+                .eq(RuleEngineGeneralRulePublish::getStatus, DataStatus.TEST.getStatus())
+                .in(RuleEngineGeneralRulePublish::getId, ids)
+                .list();
     }
 
     /**
@@ -53,23 +147,116 @@ public class GeneralRulePublishServiceImpl implements GeneralRulePublishService
      */
     @Override
     public List<GeneralRule> getAllPublishGeneralRule() {
-        List<RuleEngineGeneralRulePublish> rulePublishList = this.ruleEngineGeneralRulePublishManager.lambdaQuery()
+        List<GeneralRule> rules = new ArrayList<>();
+        this.loadAllPublishGeneralRule(DEFAULT_PARALLELISM, DEFAULT_PAGE_SIZE, new EngineLoadProgress(), rules::addAll);
+        return rules;
+    }
+
+    /**
+     * 按工作空间分页加载所有的线上规则，每一页的规则并行解析完成后回调
+     * <p>
+     * 使用id做游标分页，避免一次查询出所有的规则数据
+     *
+     * @param parallelism 并行解析线程数
+     * @param pageSize    每页条数
+     * @param progress    加载进度
+     * @param consumer    每一页解析完成的规则
+     */
+    @Override
+    public void loadAllPublishGeneralRule(int parallelism, int pageSize, EngineLoadProgress progress, Consumer<List<GeneralRule>> consumer) {
+        EngineLoadProgress.Stage stage = progress.getRule();
+        stage.total(this.ruleEngineGeneralRulePublishManager.lambdaQuery()
                 .eq(RuleEngineGeneralRulePublish::getStatus, DataStatus.PRD.getStatus())
-                .list();
-        if (CollUtil.isEmpty(rulePublishList)) {
-            return Collections.emptyList();
+                .count());
+        List<String> workspaceCodes = this.ruleEngineGeneralRulePublishManager.lambdaQuery()
+                .select(RuleEngineGeneralRulePublish::getWorkspaceCode)
+                .eq(RuleEngineGeneralRulePublish::getStatus, DataStatus.PRD.getStatus())
+                .groupBy(RuleEngineGeneralRulePublish::getWorkspaceCode)
+                .list()
+                .stream()
+                .map(RuleEngineGeneralRulePublish::getWorkspaceCode)
+                .collect(Collectors.toList());
+        ForkJoinPool forkJoinPool = new ForkJoinPool(parallelism);
+        try {
+            for (String workspaceCode : workspaceCodes) {
+                Integer lastId = 0;
+                while (true) {
+                    List<RuleEngineGeneralRulePublish> rulePublishList = this.ruleEngineGeneralRulePublishManager.lambdaQuery()
+                            .eq(RuleEngineGeneralRulePublish::getStatus, DataStatus.PRD.getStatus())
+                            .eq(RuleEngineGeneralRulePublish::getWorkspaceCode, workspaceCode)
+                            .gt(RuleEngineGeneralRulePublish::getId, lastId)
+                            .orderByAsc(RuleEngineGeneralRulePublish::getId)
+                            .last("limit " + pageSize)
+                            .list();
+                    if (CollUtil.isEmpty(rulePublishList)) {
+                        break;
+                    }
+                    lastId = rulePublishList.get(rulePublishList.size() - 1).getId();
+                    List<GeneralRule> rules = this.parse(forkJoinPool, rulePublishList, stage);
+                    consumer.accept(rules);
+                    stage.loaded(rules.size());
+                    if (rulePublishList.size() < pageSize) {
+                        break;
+                    }
+                }
+                progress.workspaceReady(workspaceCode);
+                log.info("工作空间规则加载完毕：{}，当前进度：{}", workspaceCode, stage);
+            }
+        } finally {
+            forkJoinPool.shutdown();
         }
-        List<GeneralRule> rules = new ArrayList<>(rulePublishList.size());
-        for (RuleEngineGeneralRulePublish publish : rulePublishList) {
+    }
+
+    /**
+     * 构建规则，优先使用二进制快照，快照不存在或者版本不兼容时使用json
+     *
+     * @param publish 发布的规则数据
+     * @return 规则
+     */
+    @Override
+    public GeneralRule buildRule(RuleEngineGeneralRulePublish publish) {
+        byte[] snapshot = publish.getSnapshot();
+        if (RuleSnapshotCodec.isSnapshot(snapshot)) {
             try {
-                log.info("parse rule for workspace code: {} rule code: {}", publish.getWorkspaceCode(), publish.getGeneralRuleCode());
-                GeneralRule rule = GeneralRule.buildRule(publish.getData());
-                rules.add(rule);
+                return GeneralRule.buildRule(snapshot);
             } catch (Exception e) {
-                log.error("parse rule error ", e);
+                log.warn("parse rule snapshot error, fallback to json, workspace code: {} rule code: {}", publish.getWorkspaceCode(), publish.getGeneralRuleCode(), e);
             }
         }
-        return rules;
+        return GeneralRule.buildRule(publish.getData());
+    }
+
+    /**
+     * 在指定的线程池中并行解析规则，解析失败的规则跳过
+     *
+     * @param forkJoinPool    解析线程池
+     * @param rulePublishList 发布的规则数据
+     * @param stage           加载进度
+     * @return 解析后的规则
+     */
+    private List<GeneralRule> parse(ForkJoinPool forkJoinPool, List<RuleEngineGeneralRulePublish> rulePublishList, EngineLoadProgress.Stage stage) {
+        try {
+            return forkJoinPool.submit(() -> rulePublishList.parallelStream()
+                    .map(publish -> {
+                        try {
+                            GeneralRule rule = this.buildRule(publish);
+                            this.revisionRegistry.offer(rule, publish.getId());
+                            return rule;
+                        } catch (Exception e) {
+                            log.error("parse rule error, workspace code: {} rule code: {}", publish.getWorkspaceCode(), publish.getGeneralRuleCode(), e);
+                            stage.failed();
+                            return null;
+                        }
+                    })
+                    .filter(Objects::nonNull)
+                    .collect(Collectors.toList())
+            ).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new EngineException("Rule loading was interrupted", e);
+        } catch (ExecutionException e) {
+            throw new EngineException(e.getCause());
+        }
     }
 
 }
@@ -0,0 +1,214 @@
+package cn.ruleengine.compute.service.impl;
+
+import cn.ruleengine.compute.config.EngineLoadProgress;
+import cn.ruleengine.compute.listener.GeneralRuleRevisionRegistry;
+import cn.ruleengine.compute.listener.body.GeneralRuleMessageBody;
+import cn.ruleengine.compute.service.GeneralRulePublishService;
+import cn.ruleengine.compute.service.GeneralRuleSyncService;
+import cn.ruleengine.compute.snapshot.EngineSnapshotStore;
+import cn.ruleengine.compute.store.entity.RuleEngineGeneralRulePublish;
+import cn.ruleengine.core.Container;
+import cn.ruleengine.core.RuleEngineConfiguration;
+import cn.ruleengine.core.rule.GeneralRule;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.util.DigestUtils;
+
+import javax.annotation.Resource;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+/**
+ * 〈一句话功能简述〉<br>
+ * 规则消息携带发布版本以及规则数据，计算服务无需查询数据库即可更新规则；
+ * 消息丢失时由定时对账只拉取版本落后的规则
+ *
+ * @author dingqianwen
+ * @date 2026/10/18
+ * @since 1.0.0
+ */
+@Slf4j
+@Service
+public class GeneralRuleSyncServiceImpl implements GeneralRuleSyncService {
+
+    @Resource
+    private RuleEngineConfiguration ruleEngineConfiguration;
+    @Resource
+    private GeneralRulePublishService rulePublishService;
+    @Resource
+    private GeneralRuleRevisionRegistry revisionRegistry;
+    @Resource
+    private EngineLoadProgress engineLoadProgress;
+    @Resource
+    private EngineSnapshotStore engineSnapshotStore;
+
+    /**
+     * 是否定时与数据库对账
+     */
+    @Value("${rule.engine.sync.reconcile:true}")
+    private boolean reconcile;
+
+    /**
+     * 处理规则变更消息，旧版本的消息会被丢弃
+     *
+     * @param ruleMessageBody 规则消息
+     */
+    @Override
+    public void apply(GeneralRuleMessageBody ruleMessageBody) {
+        String workspaceCode = ruleMessageBody.getWorkspaceCode();
+        String ruleCode = ruleMessageBody.getRuleCode();
+        switch (ruleMessageBody.getType()) {
+            case LOAD:
+            case UPDATE:
+                RuleEngineGeneralRulePublish publish = this.fromMessage(ruleMessageBody);
+                if (publish != null) {
+                    try {
+                        this.load(publish);
+                        return;
+                    } catch (Exception e) {
+                        log.warn("解析消息中的规则失败，从数据库加载：{}", ruleCode, e);
+                    }
+                }
+                publish = this.rulePublishService.getPublish(workspaceCode, ruleCode);
+                if (publish == null) {
+                    log.warn("规则不存在或者已经下线：{}", ruleCode);
+                    return;
+                }
+                this.load(publish);
+                break;
+            case REMOVE:
+                // 旧版本消息没有版本号，直接移除当前规则
+                long revision = ruleMessageBody.getRevision() != null ? ruleMessageBody.getRevision() : this.revisionRegistry.getRevision(workspaceCode, ruleCode);
+                this.remove(workspaceCode, ruleCode, revision);
+                break;
+            default:
+                throw new IllegalStateException("Unexpected value: " + ruleMessageBody.getType());
+        }
+    }
+
+    /**
+     * 定时对账
+     */
+    @Scheduled(initialDelayString = "${rule.engine.sync.reconcile-interval:60000}", fixedDelayString = "${rule.engine.sync.reconcile-interval:60000}")
+    public void scheduledReconcile() {
+        if (this.reconcile) {
+            this.reconcile();
+        }
+    }
+
+    /**
+     * 与数据库中的线上规则对账，补偿丢失的规则消息
+     * <p>
+     * 只查询规则的id以及code，版本落后或者不存在的规则才会查询规则数据
+     */
+    @Override
+    public void reconcile() {
+        if (!this.engineLoadProgress.isReady()) {
+            return;
+        }
+        Map<GeneralRuleRevisionRegistry.RuleKey, GeneralRuleRevisionRegistry.Revision> local = this.revisionRegistry.snapshot();
+        Set<GeneralRuleRevisionRegistry.RuleKey> remote = new HashSet<>();
+        List<Integer> stale = new ArrayList<>();
+        for (RuleEngineGeneralRulePublish publish : this.rulePublishService.getPublishRevisions()) {
+            GeneralRuleRevisionRegistry.RuleKey key = new GeneralRuleRevisionRegistry.RuleKey(publish.getWorkspaceCode(), publish.getGeneralRuleCode());
+            remote.add(key);
+            GeneralRuleRevisionRegistry.Revision revision = local.get(key);
+            if (revision == null || publish.getId() > revision.getRevision()) {
+                stale.add(publish.getId());
+            }
+        }
+        int loaded = 0;
+        for (RuleEngineGeneralRulePublish publish : this.rulePublishService.getPublishByIds(stale)) {
+            try {
+                if (this.load(publish)) {
+                    loaded++;
+                }
+            } catch (Exception e) {
+                log.error("对账加载规则失败，workspace code: {} rule code: {}", publish.getWorkspaceCode(), publish.getGeneralRuleCode(), e);
+            }
+        }
+        int removed = 0;
+        for (Map.Entry<GeneralRuleRevisionRegistry.RuleKey, GeneralRuleRevisionRegistry.Revision> entry : local.entrySet()) {
+            GeneralRuleRevisionRegistry.RuleKey key = entry.getKey();
+            if (!entry.getValue().isRemoved() && !remote.contains(key)) {
+                if (this.remove(key.getWorkspaceCode(), key.getRuleCode(), entry.getValue().getRevision())) {
+                    removed++;
+                }
+            }
+        }
+        if (loaded > 0 || removed > 0) {
+            log.warn("规则对账完毕，补偿加载：{}，补偿移除：{}", loaded, removed);
+        }
+    }
+
+    /**
+     * 加载比当前版本新的规则
+     *
+     * @param publish 发布的规则数据
+     * @return 是否加载
+     */
+    private boolean load(RuleEngineGeneralRulePublish publish) {
+        String workspaceCode = publish.getWorkspaceCode();
+        String ruleCode = publish.getGeneralRuleCode();
+        long revision = publish.getId();
+        // 先过滤掉旧版本，避免无意义的规则解析
+        if (revision <= this.revisionRegistry.getRevision(workspaceCode, ruleCode)) {
+            log.info("忽略旧版本规则：{}，版本：{}", ruleCode, revision);
+            return false;
+        }
+        GeneralRule rule = this.rulePublishService.buildRule(publish);
+        Container.Body<GeneralRule> generalRuleContainer = this.ruleEngineConfiguration.getGeneralRuleContainer();
+        boolean loaded = this.revisionRegistry.advance(workspaceCode, ruleCode, revision, rule, () -> generalRuleContainer.add(rule));
+        log.info(loaded ? "规则加载完毕：{}，版本：{}" : "忽略旧版本规则：{}，版本：{}", ruleCode, revision);
+        if (loaded) {
+            this.engineSnapshotStore.ruleChanged(workspaceCode, ruleCode, revision, rule);
+        }
+        return loaded;
+    }
+
+    /**
+     * 移除规则，移除版本不能小于当前版本
+     *
+     * @param workspaceCode 工作空间code
+     * @param ruleCode      规则code
+     * @param revision      移除的版本
+     * @return 是否移除
+     */
+    private boolean remove(String workspaceCode, String ruleCode, long revision) {
+        Container.Body<GeneralRule> generalRuleContainer = this.ruleEngineConfiguration.getGeneralRuleContainer();
+        boolean removed = this.revisionRegistry.advance(workspaceCode, ruleCode, revision, null, () -> generalRuleContainer.remove(workspaceCode, ruleCode));
+        log.info(removed ? "规则移除完毕：{}，版本：{}" : "忽略旧版本规则移除：{}，版本：{}", ruleCode, revision);
+        if (removed) {
+            this.engineSnapshotStore.ruleChanged(workspaceCode, ruleCode, revision, null);
+        }
+        return removed;
+    }
+
+    /**
+     * 消息中携带的规则数据，旧版本消息或者数据校验失败时返回null
+     *
+     * @param ruleMessageBody 规则消息
+     * @return 发布的规则数据
+     */
+    private RuleEngineGeneralRulePublish fromMessage(GeneralRuleMessageBody ruleMessageBody) {
+        if (ruleMessageBody.getRevision() == null || ruleMessageBody.getHash() == null) {
+            return null;
+        }
+        byte[] payload = ruleMessageBody.getSnapshot() != null ? ruleMessageBody.getSnapshot()
+                : ruleMessageBody.getData() != null ? ruleMessageBody.getData().getBytes(StandardCharsets.UTF_8) : null;
+        if (payload == null || !ruleMessageBody.getHash().equals(DigestUtils.md5DigestAsHex(payload))) {
+            log.warn("规则消息数据校验失败，从数据库加载：{}", ruleMessageBody.getRuleCode());
+            return null;
+        }
+        RuleEngineGeneralRulePublish publish = new RuleEngineGeneralRulePublish();
+        publish.setId(ruleMessageBody.getRevision().intValue());
+        publish.setWorkspaceCode(ruleMessageBody.getWorkspaceCode());
+        publish.setGeneralRuleCode(ruleMessageBody.getRuleCode());
+        publish.setSnapshot(ruleMessageBody.getSnapshot());
+        publish.setData(ruleMessageBody.getData());
+        return publish;
+    }
+
+}
@@ -0,0 +1,119 @@
+package cn.ruleengine.compute.service.impl;
+
+import cn.ruleengine.compute.service.MonitorService;
+import cn.ruleengine.core.RuleEngineConfiguration;
+import cn.ruleengine.core.metrics.HdrMetricsRecorder;
+import cn.ruleengine.core.metrics.MetricsRecorder;
+import cn.ruleengine.core.metrics.MetricsSnapshot;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.Resource;
+import java.util.*;
+import java.util.function.ToLongFunction;
+
+/**
+ * 〈一句话功能简述〉<br>
+ * 〈〉
+ *
+ * @author dingqianwen
+ * @date 2026/10/18
+ * @since 1.0.0
+ */
+@Service
+public class MonitorServiceImpl implements MonitorService {
+
+    private static final double NANOS_PER_SECOND = 1_000_000_000D;
+
+    @Resource
+    private RuleEngineConfiguration ruleEngineConfiguration;
+
+    /**
+     * 规则/条件/函数执行指标，Prometheus文本格式，耗时单位为秒
+     * <p>
+     * 耗时分位数为上次获取之后的值，次数以及耗时总和为累计值
+     *
+     * @return 指标
+     */
+    @Override
+    public String prometheus() {
+        MetricsRecorder metricsRecorder = this.ruleEngineConfiguration.getMetricsRecorder();
+        if (!(metricsRecorder instanceof HdrMetricsRecorder)) {
+            return "";
+        }
+        Map<String, List<MetricsSnapshot>> snapshots = new TreeMap<>();
+        for (MetricsSnapshot snapshot : ((HdrMetricsRecorder) metricsRecorder).snapshot()) {
+            snapshots.computeIfAbsent(snapshot.getType(), k -> new ArrayList<>()).add(snapshot);
+        }
+        StringBuilder sb = new StringBuilder();
+        this.summary(sb, snapshots.get(HdrMetricsRecorder.RULE), "rule_engine_rule_seconds", "规则执行耗时");
+        this.counter(sb, snapshots.get(HdrMetricsRecorder.RULE), "rule_engine_rule_hits_total", "规则命中次数", MetricsSnapshot::getPositive);
+        this.summary(sb, snapshots.get(HdrMetricsRecorder.CONDITION), "rule_engine_condition_seconds", "条件执行耗时，每16次采样一次");
+        this.counter(sb, snapshots.get(HdrMetricsRecorder.CONDITION), "rule_engine_condition_true_total", "采样中条件成立次数", MetricsSnapshot::getPositive);
+        this.summary(sb, snapshots.get(HdrMetricsRecorder.FUNCTION), "rule_engine_function_seconds", "函数调用耗时，缓存命中时不调用");
+        this.counter(sb, snapshots.get(HdrMetricsRecorder.FUNCTION), "rule_engine_function_success_total", "函数调用成功次数", MetricsSnapshot::getPositive);
+        this.counter(sb, snapshots.get(HdrMetricsRecorder.FUNCTION), "rule_engine_function_cache_hits_total", "函数缓存命中次数", MetricsSnapshot::getCacheHits);
+        this.counter(sb, snapshots.get(HdrMetricsRecorder.FUNCTION), "rule_engine_function_cache_misses_total", "函数缓存未命中次数", MetricsSnapshot::getCacheMisses);
+        return sb.toString();
+    }
+
+    private void summary(StringBuilder sb, List<MetricsSnapshot> snapshots, String name, String help) {
+        if (snapshots == null) {
+            return;
+        }
+        sb.append("# HELP ").append(name).append(' ').append(help).append('\n');
+        sb.append("# TYPE ").append(name).append(" summary\n");
+        for (MetricsSnapshot snapshot : snapshots) {
+            this.sample(sb, name, snapshot.getTags(), "0.5", snapshot.getP50() / NANOS_PER_SECOND);
+            this.sample(sb, name, snapshot.getTags(), "0.9", snapshot.getP90() / NANOS_PER_SECOND);
+            this.sample(sb, name, snapshot.getTags(), "0.99", snapshot.getP99() / NANOS_PER_SECOND);
+            this.sample(sb, name, snapshot.getTags(), "1", snapshot.getMax() / NANOS_PER_SECOND);
+            this.sample(sb, name + "_count", snapshot.getTags(), null, snapshot.getCount());
+            this.sample(sb, name + "_sum", snapshot.getTags(), null, snapshot.getTotalNanos() / NANOS_PER_SECOND);
+        }
+    }
+
+    private void counter(StringBuilder sb, List<MetricsSnapshot> snapshots, String name, String help,
+                         ToLongFunction<MetricsSnapshot> value) {
+        if (snapshots == null) {
+            return;
+        }
+        sb.append("# HELP ").append(name).append(' ').append(help).append('\n');
+        sb.append("# TYPE ").append(name).append(" counter\n");
+        for (MetricsSnapshot snapshot : snapshots) {
+            this.sample(sb, name, snapshot.getTags(), null, value.applyAsLong(snapshot));
+        }
+    }
+
+    private void sample(StringBuilder sb, String name, Map<String, String> tags, String quantile, double value) {
+        sb.append(name).append('{');
+        boolean first = true;
+        for (Map.Entry<String, String> entry : tags.entrySet()) {
+            if (!first) {
+                sb.append(',');
+            }
+            first = false;
+            sb.append(entry.getKey()).append("=\"").append(this.escape(entry.getValue())).append('"');
+        }
+        if (quantile != null) {
+            if (!first) {
+                sb.append(',');
+            }
+            sb.append("quantile=\"").append(quantile).append('"');
+        }
+        sb.append("} ").append(value).append('\n');
+    }
+
+    /**
+     * 标签值转义：反斜杠、双引号、换行
+     *
+     * @param value 标签值
+     * @return 转义后的值
+     */
+    private String escape(String value) {
+        if (value == null) {
+            return "";
+        }
+        return value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+
+}
@@ -1,6 +1,9 @@
 package cn.ruleengine.compute.service.impl;
 
+import cn.hutool.cache.CacheUtil;
+import cn.hutool.cache.impl.TimedCache;
 import cn.hutool.core.collection.CollUtil;
+import cn.ruleengine.compute.config.EngineLoadProgress;
 import cn.ruleengine.compute.service.ValueResolve;
 import cn.ruleengine.compute.service.VariableResolveService;
 import cn.ruleengine.compute.store.entity.RuleEngineFunction;
@@ -11,6 +14,7 @@ import cn.ruleengine.compute.store.manager.RuleEngineFunctionManager;
 import cn.ruleengine.compute.store.manager.RuleEngineFunctionValueManager;
 import cn.ruleengine.compute.store.manager.RuleEngineInputParameterManager;
 import cn.ruleengine.compute.store.manager.RuleEngineVariableManager;
+import cn.ruleengine.core.exception.EngineException;
 import cn.ruleengine.core.value.Function;
 import cn.ruleengine.core.value.Value;
 import cn.ruleengine.core.value.ValueType;
@@ -19,11 +23,19 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.ApplicationContext;
 import org.springframework.stereotype.Service;
 
+import javax.annotation.PostConstruct;
 import javax.annotation.Resource;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
 import java.util.stream.Collectors;
 
 /**
@@ -38,6 +50,15 @@ import java.util.stream.Collectors;
 @Service
 public class VariableResolveServiceImpl implements VariableResolveService {
 
+    /**
+     * 默认并行解析线程数
+     */
+    private static final int DEFAULT_PARALLELISM = Math.min(Runtime.getRuntime().availableProcessors(), 8);
+    /**
+     * 默认每页加载条数
+     */
+    private static final int DEFAULT_PAGE_SIZE = 500;
+
     @Resource
     private RuleEngineVariableManager ruleEngineVariableManager;
     @Resource
@@ -51,6 +72,26 @@ public class VariableResolveServiceImpl implements VariableResolveService {
     @Resource
     private RuleEngineInputParameterManager ruleEngineInputParameterManager;
 
+    /**
+     * 函数以及规则参数元数据缓存时间(毫秒)
+     */
+    @org.springframework.beans.factory.annotation.Value("${rule.engine.variable.metadata-cache-ttl:30000}")
+    private long metadataCacheTtl;
+    /**
+     * 函数元数据缓存，批量解析变量时共享，避免每个变量都查询一次
+     */
+    private TimedCache<Integer, RuleEngineFunction> functionCache;
+    /**
+     * 规则参数元数据缓存
+     */
+    private TimedCache<Integer, RuleEngineInputParameter> inputParameterCache;
+
+    @PostConstruct
+    public void init() {
+        this.functionCache = CacheUtil.newTimedCache(this.metadataCacheTtl);
+        this.inputParameterCache = CacheUtil.newTimedCache(this.metadataCacheTtl);
+    }
+
     /**
      * 获取所有的变量/函数配置信息
      *
@@ -58,70 +99,202 @@ public class VariableResolveServiceImpl implements VariableResolveService {
      */
     @Override
     public Map<Integer, Value> getAllVariable() {
+        return this.getAllVariable(DEFAULT_PARALLELISM, DEFAULT_PAGE_SIZE, new EngineLoadProgress());
+    }
+
+    /**
+     * 分页加载所有的变量/函数配置信息，每一页的变量并行解析
+     * <p>
+     * 使用id做游标分页，函数参数值只查询当前页变量的
+     *
+     * @param parallelism 并行解析线程数
+     * @param pageSize    每页条数
+     * @param progress    加载进度
+     * @return 变量
+     */
+    @Override
+    public Map<Integer, Value> getAllVariable(int parallelism, int pageSize, EngineLoadProgress progress) {
         log.info("开始加载规则引擎变量");
-        Map<Integer, Value> maps = new HashMap<>(100);
-        // 查询到所有的变量 待优化
-        List<RuleEngineVariable> engineVariables = this.ruleEngineVariableManager.list();
+        EngineLoadProgress.Stage stage = progress.getVariable();
+        stage.total(this.ruleEngineVariableManager.count());
+        Map<Integer, Value> maps = new ConcurrentHashMap<>(100);
+        // 全量加载时一次查询所有的函数以及规则参数，同时预热元数据缓存
         List<RuleEngineFunction> engineFunctions = this.ruleEngineFunctionManager.list();
         Map<Integer, RuleEngineFunction> engineFunctionMap = engineFunctions.stream().collect(Collectors.toMap(RuleEngineFunction::getId, java.util.function.Function.identity()));
-        List<RuleEngineFunctionValue> engineFunctionValues = this.ruleEngineFunctionValueManager.list();
-        Map<Integer, List<RuleEngineFunctionValue>> functionValueMap = engineFunctionValues.stream().collect(Collectors.groupingBy(RuleEngineFunctionValue::getVariableId));
+        engineFunctionMap.forEach(this.functionCache::put);
         List<RuleEngineInputParameter> inputParameters = this.ruleEngineInputParameterManager.list();
         Map<Integer, RuleEngineInputParameter> inputParameterMap = inputParameters.stream().collect(Collectors.toMap(RuleEngineInputParameter::getId, java.util.function.Function.identity()));
-        for (RuleEngineVariable engineVariable : engineVariables) {
-            try {
-                Integer type = engineVariable.getType();
-                if (VariableType.CONSTANT.getType().equals(type)) {
-                    // 固定值变量
-                    Value value = this.valueResolve.getValue(VariableType.CONSTANT.getType(), engineVariable.getValueType(), engineVariable.getValue(), inputParameterMap);
-                    maps.put(engineVariable.getId(), value);
-                } else if (VariableType.FUNCTION.getType().equals(type)) {
-                    // 函数变量
-                    maps.put(engineVariable.getId(), this.functionProcess(engineVariable, engineFunctionMap, functionValueMap, inputParameterMap));
-                } else if (VariableType.FORMULA.getType().equals(type)) {
-                    // 表达式变量
-                    Value value = this.valueResolve.getValue(type, engineVariable.getValueType(), engineVariable.getValue(), inputParameterMap);
+        inputParameterMap.forEach(this.inputParameterCache::put);
+        ForkJoinPool forkJoinPool = new ForkJoinPool(parallelism);
+        try {
+            Integer lastId = 0;
+            while (true) {
+                List<RuleEngineVariable> engineVariables = this.ruleEngineVariableManager.lambdaQuery()
+                        .gt(RuleEngineVariable::getId, lastId)
+                        .orderByAsc(RuleEngineVariable::getId)
+                        .last("limit " + pageSize)
+                        .list();
+                if (CollUtil.isEmpty(engineVariables)) {
+                    break;
+                }
+                lastId = engineVariables.get(engineVariables.size() - 1).getId();
+                Map<Integer, List<RuleEngineFunctionValue>> functionValueMap = this.getFunctionValues(engineVariables);
+                forkJoinPool.submit(() -> engineVariables.parallelStream().forEach(engineVariable -> {
+                    Value value = this.resolve(engineVariable, engineFunctionMap, functionValueMap, inputParameterMap);
+                    if (value == null) {
+                        stage.failed();
+                        return;
+                    }
                     maps.put(engineVariable.getId(), value);
+                    stage.loaded(1);
+                })).get();
+                if (engineVariables.size() < pageSize) {
+                    break;
                 }
-            } catch (Exception e) {
-                log.warn("加载变量失败，变量Id：{}", engineVariable.getId(), e);
             }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new EngineException("Variable loading was interrupted", e);
+        } catch (ExecutionException e) {
+            throw new EngineException(e.getCause());
+        } finally {
+            forkJoinPool.shutdown();
         }
+        log.info("规则引擎变量加载完毕，当前进度：{}", stage);
         return maps;
     }
 
+    /**
+     * 批量解析变量，不论多少个变量，查询次数固定
+     * <p>
+     * 变量以及函数参数值各查询一次，函数以及规则参数优先从元数据缓存中获取，未命中的再一次查询
+     *
+     * @param ids 变量id
+     * @return 变量，不存在或者解析失败的变量不会返回
+     */
+    @Override
+    public Map<Integer, Value> getVarByIds(Collection<Integer> ids) {
+        if (CollUtil.isEmpty(ids)) {
+            return new HashMap<>(0);
+        }
+        List<RuleEngineVariable> engineVariables = this.ruleEngineVariableManager.listByIds(new HashSet<>(ids));
+        if (CollUtil.isEmpty(engineVariables)) {
+            return new HashMap<>(0);
+        }
+        Map<Integer, List<RuleEngineFunctionValue>> functionValueMap = this.getFunctionValues(engineVariables);
+        Set<Integer> functionIds = new HashSet<>();
+        for (RuleEngineVariable engineVariable : engineVariables) {
+            if (VariableType.FUNCTION.getType().equals(engineVariable.getType())) {
+                functionIds.add(Integer.valueOf(engineVariable.getValue()));
+            }
+        }
+        Set<Integer> inputParameterIds = new HashSet<>();
+        for (List<RuleEngineFunctionValue> functionValues : functionValueMap.values()) {
+            for (RuleEngineFunctionValue functionValue : functionValues) {
+                if (VariableType.INPUT_PARAMETER.getType().equals(functionValue.getType())) {
+                    inputParameterIds.add(Integer.valueOf(functionValue.getValue()));
+                }
+            }
+        }
+        Map<Integer, RuleEngineFunction> engineFunctionMap = this.getCached(functionIds, this.functionCache, this.ruleEngineFunctionManager::listByIds, RuleEngineFunction::getId);
+        Map<Integer, RuleEngineInputParameter> inputParameterMap = this.getCached(inputParameterIds, this.inputParameterCache, this.ruleEngineInputParameterManager::listByIds, RuleEngineInputParameter::getId);
+        Map<Integer, Value> maps = new HashMap<>(engineVariables.size());
+        for (RuleEngineVariable engineVariable : engineVariables) {
+            Value value = this.resolve(engineVariable, engineFunctionMap, functionValueMap, inputParameterMap);
+            if (value != null) {
+                maps.put(engineVariable.getId(), value);
+            }
+        }
+        return maps;
+    }
 
     /**
      * 根据变量获取变量/函数配置信息
      *
      * @param id 变量id
-     * @return 变量
+     * @return 变量，不存在或者解析失败时返回null
      */
     @Override
     public Value getVarById(Integer id) {
-        RuleEngineVariable ruleEngineVariable = this.ruleEngineVariableManager.getById(id);
-        // 固定值变量
-        if (Objects.equals(ruleEngineVariable.getType(), VariableType.CONSTANT.getType())) {
-            return this.valueResolve.getValue(VariableType.CONSTANT.getType(), ruleEngineVariable.getValueType(), ruleEngineVariable.getValue());
-        } else if (Objects.equals(ruleEngineVariable.getType(), VariableType.FORMULA.getType())) {
-            // 表达式变量
-            return this.valueResolve.getValue(VariableType.FORMULA.getType(), ruleEngineVariable.getValueType(), ruleEngineVariable.getValue());
+        return this.getVarByIds(Collections.singletonList(id)).get(id);
+    }
+
+    /**
+     * 一次查询这些变量的函数参数值
+     *
+     * @param engineVariables 变量
+     * @return key为变量id
+     */
+    private Map<Integer, List<RuleEngineFunctionValue>> getFunctionValues(List<RuleEngineVariable> engineVariables) {
+        List<Integer> variableIds = engineVariables.stream()
+                .filter(f -> VariableType.FUNCTION.getType().equals(f.getType()))
+                .map(RuleEngineVariable::getId)
+                .collect(Collectors.toList());
+        if (variableIds.isEmpty()) {
+            return new HashMap<>(0);
         }
-        // 函数变量
-        RuleEngineFunction engineFunction = this.ruleEngineFunctionManager.getById(ruleEngineVariable.getValue());
-        List<RuleEngineFunctionValue> functionValueList = this.ruleEngineFunctionValueManager.lambdaQuery()
-                .eq(RuleEngineFunctionValue::getFunctionId, ruleEngineVariable.getValue())
-                .eq(RuleEngineFunctionValue::getVariableId, ruleEngineVariable.getId()).list();
+        return this.ruleEngineFunctionValueManager.lambdaQuery()
+                .in(RuleEngineFunctionValue::getVariableId, variableIds)
+                .list()
+                .stream()
+                .collect(Collectors.groupingBy(RuleEngineFunctionValue::getVariableId));
+    }
 
-        Map<String, Value> param = new HashMap<>(10);
-        if (CollUtil.isNotEmpty(functionValueList)) {
-            for (RuleEngineFunctionValue engineFunctionValue : functionValueList) {
-                param.put(engineFunctionValue.getParamCode(), this.valueResolve.getValue(engineFunctionValue.getType(), engineFunctionValue.getValueType(), engineFunctionValue.getValue()));
+    /**
+     * 优先从元数据缓存中获取，未命中的一次查询后放入缓存
+     *
+     * @param ids      id
+     * @param cache    元数据缓存
+     * @param loader   批量查询
+     * @param idGetter 获取id
+     * @param <T>      元数据类型
+     * @return key为id
+     */
+    private <T> Map<Integer, T> getCached(Set<Integer> ids, TimedCache<Integer, T> cache, java.util.function.Function<Collection<Integer>, List<T>> loader, java.util.function.Function<T, Integer> idGetter) {
+        Map<Integer, T> result = new HashMap<>(ids.size());
+        List<Integer> missIds = new ArrayList<>();
+        for (Integer id : ids) {
+            // 不更新最后访问时间，保证元数据最多缓存ttl时间
+            T cached = cache.get(id, false);
+            if (cached != null) {
+                result.put(id, cached);
+            } else {
+                missIds.add(id);
             }
         }
-        Object abstractFunction = this.applicationContext.getBean(engineFunction.getExecutor());
-        return new Function(engineFunction.getId(), abstractFunction, ValueType.getByValue(engineFunction.getReturnValueType()), param);
+        if (!missIds.isEmpty()) {
+            for (T loaded : loader.apply(missIds)) {
+                Integer id = idGetter.apply(loaded);
+                cache.put(id, loaded);
+                result.put(id, loaded);
+            }
+        }
+        return result;
+    }
 
+    /**
+     * 解析单个变量，解析失败时返回null
+     *
+     * @param engineVariable 变量
+     * @return 变量值
+     */
+    private Value resolve(RuleEngineVariable engineVariable, Map<Integer, RuleEngineFunction> engineFunctionMap, Map<Integer, List<RuleEngineFunctionValue>> functionValueMap, Map<Integer, RuleEngineInputParameter> inputParameterMap) {
+        try {
+            Integer type = engineVariable.getType();
+            if (VariableType.CONSTANT.getType().equals(type)) {
+                // 固定值变量
+                return this.valueResolve.getValue(VariableType.CONSTANT.getType(), engineVariable.getValueType(), engineVariable.getValue(), inputParameterMap);
+            } else if (VariableType.FUNCTION.getType().equals(type)) {
+                // 函数变量
+                return this.functionProcess(engineVariable, engineFunctionMap, functionValueMap, inputParameterMap);
+            } else if (VariableType.FORMULA.getType().equals(type)) {
+                // 表达式变量
+                return this.valueResolve.getValue(type, engineVariable.getValueType(), engineVariable.getValue(), inputParameterMap);
+            }
+        } catch (Exception e) {
+            log.warn("加载变量失败，变量Id：{}", engineVariable.getId(), e);
+        }
+        return null;
     }
 
 
@@ -0,0 +1,65 @@
+/*
+ * Copyright (c) 2020 dingqianwen (761945125@qq.com)
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cn.ruleengine.compute.shadow;
+
+import lombok.Data;
+
+import java.util.Date;
+import java.util.Map;
+
+/**
+ * 〈一句话功能简述〉<br>
+ * 测试版本规则与线上规则执行结果不一致的记录
+ *
+ * @author dingqianwen
+ * @date 2026/10/18
+ * @since 1.0.0
+ */
+@Data
+public class ShadowDivergence {
+
+    private Date time;
+
+    private String workspaceCode;
+
+    private String ruleCode;
+
+    /**
+     * 测试规则版本
+     */
+    private String version;
+
+    /**
+     * 执行入参
+     */
+    private Map<String, Object> param;
+
+    /**
+     * 线上规则执行结果
+     */
+    private Object prdValue;
+
+    /**
+     * 测试规则执行结果
+     */
+    private Object testValue;
+
+    /**
+     * 测试规则执行失败时的异常信息
+     */
+    private String error;
+
+}
@@ -0,0 +1,325 @@
+/*
+ * Copyright (c) 2020 dingqianwen (761945125@qq.com)
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cn.ruleengine.compute.shadow;
+
+import cn.ruleengine.compute.listener.GeneralRuleRevisionRegistry;
+import cn.ruleengine.compute.service.GeneralRulePublishService;
+import cn.ruleengine.compute.store.entity.RuleEngineGeneralRulePublish;
+import cn.ruleengine.core.Container;
+import cn.ruleengine.core.DefaultInput;
+import cn.ruleengine.core.ExecutionContext;
+import cn.ruleengine.core.RuleEngineConfiguration;
+import cn.ruleengine.core.rule.GeneralRule;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.lang.Nullable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.annotation.Resource;
+import java.math.BigDecimal;
+import java.util.*;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 〈一句话功能简述〉<br>
+ * 影子执行：按采样率使用线上请求的入参异步执行测试版本规则，记录与线上规则执行结果不一致的请求
+ * <p>
+ * 测试规则常驻在独立的引擎配置中，与线上共用变量以及函数缓存，不记录执行指标。影子执行使用独立的有界线程池，
+ * 队列满时直接丢弃，不会增加线上请求的耗时。测试规则中的函数会被真实调用，有副作用的函数(发送邮件等)需要谨慎开启。
+ *
+ * @author dingqianwen
+ * @date 2026/10/18
+ * @since 1.0.0
+ */
+@Slf4j
+@Component
+public class ShadowEvaluator {
+
+    @Resource
+    private RuleEngineConfiguration ruleEngineConfiguration;
+    @Resource
+    private GeneralRulePublishService generalRulePublishService;
+
+    /**
+     * 是否开启影子执行
+     */
+    @Value("${rule.engine.shadow.enable:false}")
+    private boolean enable;
+    /**
+     * 采样率(0~1)
+     */
+    @Value("${rule.engine.shadow.sample-rate:0.01}")
+    private double sampleRate;
+    /**
+     * 影子执行线程数
+     */
+    @Value("${rule.engine.shadow.threads:1}")
+    private int threads;
+    /**
+     * 等待影子执行的最多请求数，超过时丢弃
+     */
+    @Value("${rule.engine.shadow.queue-size:1000}")
+    private int queueSize;
+    /**
+     * 最多保留的不一致记录数，超过时丢弃最早的记录
+     */
+    @Value("${rule.engine.shadow.maximum-divergences:1000}")
+    private int maximumDivergences;
+
+    /**
+     * 测试规则，不与线上规则共用容器
+     */
+    private final RuleEngineConfiguration shadowConfiguration = new RuleEngineConfiguration();
+    /**
+     * 已加载的测试规则版本，每次生成测试规则都会重新插入，id即版本
+     */
+    private final Map<GeneralRuleRevisionRegistry.RuleKey, Integer> revisions = new ConcurrentHashMap<>();
+    private final Deque<ShadowDivergence> divergences = new ArrayDeque<>();
+
+    private final LongAdder sampled = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder matched = new LongAdder();
+    private final LongAdder diverged = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+
+    private ThreadPoolExecutor executor;
+
+    @PostConstruct
+    public void init() {
+        if (!this.enable) {
+            return;
+        }
+        this.shadowConfiguration.setEngineVariable(this.ruleEngineConfiguration.getEngineVariable());
+        this.shadowConfiguration.setFunctionCache(this.ruleEngineConfiguration.getFunctionCache());
+        // 函数在影子执行线程中串行调用，不占用线上的函数并行调用线程池
+        this.shadowConfiguration.setParallelFunction(false);
+        // 与线上规则一样加载时编译，比较的是同样的执行路径，变量变化时重新编译依赖的测试规则
+        this.shadowConfiguration.getGeneralRuleContainer().setCompileEnabled(true);
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(this.threads, this.threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(this.queueSize), runnable -> {
+            Thread thread = new Thread(runnable, "shadow-evaluator-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }, (runnable, pool) -> this.dropped.increment());
+        log.info("影子执行已开启，采样率：{}", this.sampleRate);
+    }
+
+    /**
+     * 线上规则执行完成后调用，存在测试版本并且被采样时提交影子执行，不会阻塞也不会抛出异常
+     *
+     * @param workspaceCode 工作空间code
+     * @param ruleCode      规则code
+     * @param param         执行入参
+     * @param prdValue      线上规则执行结果
+     */
+    public void offer(String workspaceCode, String ruleCode, Map<String, Object> param, @Nullable Object prdValue) {
+        if (!this.enable) {
+            return;
+        }
+        Container.Body<GeneralRule> container = this.shadowConfiguration.getGeneralRuleContainer();
+        if (!container.isExists(workspaceCode, ruleCode) || ThreadLocalRandom.current().nextDouble() >= this.sampleRate) {
+            return;
+        }
+        this.sampled.increment();
+        this.executor.execute(() -> this.evaluate(workspaceCode, ruleCode, param, prdValue));
+    }
+
+    /**
+     * 执行测试规则并与线上规则执行结果比较
+     */
+    private void evaluate(String workspaceCode, String ruleCode, Map<String, Object> param, @Nullable Object prdValue) {
+        Container.Body<GeneralRule> container = this.shadowConfiguration.getGeneralRuleContainer();
+        GeneralRule candidate = container.isExists(workspaceCode, ruleCode) ? container.get(workspaceCode, ruleCode) : null;
+        if (candidate == null) {
+            // 提交后测试规则被移除
+            return;
+        }
+        try {
+            Object testValue = candidate.execute(ExecutionContext.of(new DefaultInput(param)), this.shadowConfiguration);
+            if (isSame(prdValue, testValue)) {
+                this.matched.increment();
+                return;
+            }
+            this.diverged.increment();
+            this.record(candidate, param, prdValue, testValue, null);
+        } catch (Exception e) {
+            this.failed.increment();
+            this.record(candidate, param, prdValue, null, e.getMessage());
+        }
+    }
+
+    private static boolean isSame(@Nullable Object prdValue, @Nullable Object testValue) {
+        if (prdValue instanceof BigDecimal && testValue instanceof BigDecimal) {
+            // 1.0与1.00认为一致
+            return ((BigDecimal) prdValue).compareTo((BigDecimal) testValue) == 0;
+        }
+        return Objects.equals(prdValue, testValue);
+    }
+
+    private void record(GeneralRule candidate, Map<String, Object> param, @Nullable Object prdValue, @Nullable Object testValue, @Nullable String error) {
+        ShadowDivergence divergence = new ShadowDivergence();
+        divergence.setTime(new Date());
+        divergence.setWorkspaceCode(candidate.getWorkspaceCode());
+        divergence.setRuleCode(candidate.getCode());
+        divergence.setVersion(candidate.getVersion());
+        divergence.setParam(param);
+        divergence.setPrdValue(prdValue);
+        divergence.setTestValue(testValue);
+        divergence.setError(error);
+        synchronized (this.divergences) {
+            if (this.divergences.size() >= this.maximumDivergences) {
+                this.divergences.pollFirst();
+            }
+            this.divergences.addLast(divergence);
+        }
+    }
+
+    /**
+     * 定时同步测试规则，只拉取新生成的测试规则数据
+     */
+    @Scheduled(fixedDelayString = "${rule.engine.shadow.refresh-interval:60000}")
+    public void refresh() {
+        if (!this.enable) {
+            return;
+        }
+        try {
+            this.doRefresh();
+        } catch (Exception e) {
+            log.warn("同步测试规则失败", e);
+        }
+    }
+
+    private synchronized void doRefresh() {
+        Map<GeneralRuleRevisionRegistry.RuleKey, Integer> latest = new HashMap<>();
+        for (RuleEngineGeneralRulePublish publish : this.generalRulePublishService.getTestRevisions()) {
+            latest.put(new GeneralRuleRevisionRegistry.RuleKey(publish.getWorkspaceCode(), publish.getGeneralRuleCode()), publish.getId());
+        }
+        Container.Body<GeneralRule> container = this.shadowConfiguration.getGeneralRuleContainer();
+        Iterator<Map.Entry<GeneralRuleRevisionRegistry.RuleKey, Integer>> iterator = this.revisions.entrySet().iterator();
+        while (iterator.hasNext()) {
+            GeneralRuleRevisionRegistry.RuleKey ruleKey = iterator.next().getKey();
+            if (!latest.containsKey(ruleKey)) {
+                container.remove(ruleKey.getWorkspaceCode(), ruleKey.getRuleCode());
+                iterator.remove();
+            }
+        }
+        List<Integer> changedIds = new ArrayList<>();
+        latest.forEach((ruleKey, id) -> {
+            if (!id.equals(this.revisions.get(ruleKey))) {
+                changedIds.add(id);
+            }
+        });
+        if (changedIds.isEmpty()) {
+            return;
+        }
+        List<GeneralRule> rules = new ArrayList<>(changedIds.size());
+        for (RuleEngineGeneralRulePublish publish : this.generalRulePublishService.getTestByIds(changedIds)) {
+            try {
+                rules.add(this.generalRulePublishService.buildRule(publish));
+                this.revisions.put(new GeneralRuleRevisionRegistry.RuleKey(publish.getWorkspaceCode(), publish.getGeneralRuleCode()), publish.getId());
+            } catch (Exception e) {
+                log.warn("解析测试规则失败，工作空间：{}，规则：{}", publish.getWorkspaceCode(), publish.getGeneralRuleCode(), e);
+            }
+        }
+        container.addMultiple(rules);
+        log.info("同步测试规则：{}，当前测试规则数：{}", rules.size(), this.revisions.size());
+    }
+
+    /**
+     * 变量变化后重新编译依赖这些变量的测试规则
+     *
+     * @param variableIds 发生变化的变量
+     */
+    public void variableChanged(Collection<Integer> variableIds) {
+        if (this.enable) {
+            this.shadowConfiguration.getGeneralRuleContainer().variableChanged(variableIds);
+        }
+    }
+
+    /**
+     * 影子执行统计以及最近的不一致记录
+     *
+     * @return 统计信息
+     */
+    public Snapshot snapshot() {
+        List<ShadowDivergence> recent;
+        synchronized (this.divergences) {
+            recent = new ArrayList<>(this.divergences);
+        }
+        return new Snapshot(this.enable, this.sampleRate, this.revisions.size(), this.sampled.sum(), this.dropped.sum(),
+                this.matched.sum(), this.diverged.sum(), this.failed.sum(), recent);
+    }
+
+    @PreDestroy
+    public void close() {
+        if (this.executor != null) {
+            this.executor.shutdownNow();
+        }
+        this.shadowConfiguration.getGeneralRuleContainer().close();
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class Snapshot {
+
+        private final boolean enable;
+
+        private final double sampleRate;
+
+        /**
+         * 测试规则数
+         */
+        private final int candidates;
+
+        /**
+         * 被采样的请求数
+         */
+        private final long sampled;
+
+        /**
+         * 队列满时丢弃的请求数
+         */
+        private final long dropped;
+
+        private final long matched;
+
+        private final long diverged;
+
+        /**
+         * 测试规则执行失败的请求数
+         */
+        private final long failed;
+
+        /**
+         * 最近的不一致记录
+         */
+        private final List<ShadowDivergence> divergences;
+
+    }
+
+}
@@ -0,0 +1,342 @@
+/*
+ * Copyright (c) 2020 dingqianwen (761945125@qq.com)
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cn.ruleengine.compute.snapshot;
+
+import cn.ruleengine.compute.listener.GeneralRuleRevisionRegistry;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+/**
+ * 〈一句话功能简述〉<br>
+ * 引擎本地快照文件，记录规则以及变量的变更
+ * <p>
+ * 格式：魔数(4字节) + 版本号(4字节) + 多条记录，每条记录为 长度(4字节) + crc32(4字节) + 类型(1字节) + 内容，
+ * 变更时追加记录，读取时通过内存映射顺序回放，遇到长度越界或者crc不一致的记录(进程退出时写了一半)时截断，
+ * 记录过多时通过{@link #rewrite(List)}写入新文件后原子替换
+ * <p>
+ * 非线程安全，由调用方加锁
+ *
+ * @author dingqianwen
+ * @date 2026/10/18
+ * @since 1.0.0
+ */
+public class EngineSnapshotFile implements Closeable {
+
+    /**
+     * 魔数 RESF
+     */
+    private static final int MAGIC = 0x52455346;
+    private static final int VERSION = 1;
+    private static final int HEADER_LENGTH = 8;
+    /**
+     * 记录头：长度 + crc32
+     */
+    private static final int RECORD_HEADER_LENGTH = 8;
+
+    private static final byte RULE = 1;
+    private static final byte RULE_REMOVED = 2;
+    private static final byte VARIABLE = 3;
+    private static final byte VARIABLE_REMOVED = 4;
+
+    private final Path path;
+
+    private FileChannel channel;
+
+    public EngineSnapshotFile(Path path) {
+        this.path = path;
+    }
+
+    /**
+     * 读取快照文件中的规则以及变量，并打开文件用于追加记录
+     *
+     * @return 快照内容，文件不存在时为空
+     * @throws IOException 读写文件失败
+     */
+    public Content open() throws IOException {
+        Path parent = this.path.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        Content content = new Content();
+        long validLength = 0;
+        if (Files.exists(this.path) && Files.size(this.path) >= HEADER_LENGTH) {
+            try (FileChannel readChannel = FileChannel.open(this.path, StandardOpenOption.READ)) {
+                MappedByteBuffer buffer = readChannel.map(FileChannel.MapMode.READ_ONLY, 0, readChannel.size());
+                if (buffer.getInt() == MAGIC && buffer.getInt() == VERSION) {
+                    validLength = this.replay(buffer, content);
+                }
+            }
+        }
+        this.channel = FileChannel.open(this.path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        if (validLength == 0) {
+            // 新文件或者无法识别的文件，重新写入文件头
+            this.channel.truncate(0);
+            this.write(this.channel, this.header());
+        } else {
+            this.channel.truncate(validLength);
+        }
+        this.channel.position(this.channel.size());
+        return content;
+    }
+
+    /**
+     * 顺序回放记录，返回最后一条完整记录的结束位置
+     */
+    private long replay(MappedByteBuffer buffer, Content content) {
+        CRC32 crc32 = new CRC32();
+        long validLength = buffer.position();
+        while (buffer.remaining() >= RECORD_HEADER_LENGTH) {
+            int length = buffer.getInt();
+            int checksum = buffer.getInt();
+            if (length < 1 || length > buffer.remaining()) {
+                break;
+            }
+            byte[] record = new byte[length];
+            buffer.get(record);
+            crc32.reset();
+            crc32.update(record, 0, length);
+            if ((int) crc32.getValue() != checksum) {
+                break;
+            }
+            try {
+                content.apply(record);
+            } catch (IOException e) {
+                break;
+            }
+            validLength = buffer.position();
+        }
+        return validLength;
+    }
+
+    /**
+     * 追加一条记录
+     *
+     * @param record 记录
+     * @throws IOException 写入失败
+     */
+    public void append(byte[] record) throws IOException {
+        this.write(this.channel, this.frame(record));
+    }
+
+    /**
+     * 只保留指定的记录，写入临时文件后原子替换原文件
+     *
+     * @param records 记录
+     * @throws IOException 写入失败
+     */
+    public void rewrite(List<byte[]> records) throws IOException {
+        Path temp = this.path.resolveSibling(this.path.getFileName() + ".tmp");
+        try (FileChannel tempChannel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            this.write(tempChannel, this.header());
+            for (byte[] record : records) {
+                this.write(tempChannel, this.frame(record));
+            }
+            tempChannel.force(true);
+        }
+        this.channel.close();
+        Files.move(temp, this.path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        this.channel = FileChannel.open(this.path, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        this.channel.position(this.channel.size());
+    }
+
+    /**
+     * 文件当前大小
+     *
+     * @return 字节数
+     * @throws IOException 读取失败
+     */
+    public long size() throws IOException {
+        return this.channel.size();
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (this.channel != null) {
+            this.channel.force(false);
+            this.channel.close();
+        }
+    }
+
+    private ByteBuffer header() {
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_LENGTH);
+        buffer.putInt(MAGIC).putInt(VERSION).flip();
+        return buffer;
+    }
+
+    private ByteBuffer frame(byte[] record) {
+        CRC32 crc32 = new CRC32();
+        crc32.update(record, 0, record.length);
+        ByteBuffer buffer = ByteBuffer.allocate(RECORD_HEADER_LENGTH + record.length);
+        buffer.putInt(record.length).putInt((int) crc32.getValue()).put(record).flip();
+        return buffer;
+    }
+
+    private void write(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    /**
+     * 规则记录
+     *
+     * @param key      规则
+     * @param revision 规则版本
+     * @param snapshot 规则二进制快照
+     * @return 记录
+     */
+    public static byte[] rule(GeneralRuleRevisionRegistry.RuleKey key, long revision, byte[] snapshot) {
+        return record(RULE, out -> {
+            out.writeLong(revision);
+            out.writeUTF(key.getWorkspaceCode());
+            out.writeUTF(key.getRuleCode());
+            out.write(snapshot);
+        });
+    }
+
+    /**
+     * 规则移除记录
+     *
+     * @param key      规则
+     * @param revision 移除时的规则版本
+     * @return 记录
+     */
+    public static byte[] ruleRemoved(GeneralRuleRevisionRegistry.RuleKey key, long revision) {
+        return record(RULE_REMOVED, out -> {
+            out.writeLong(revision);
+            out.writeUTF(key.getWorkspaceCode());
+            out.writeUTF(key.getRuleCode());
+        });
+    }
+
+    /**
+     * 变量记录
+     *
+     * @param id       变量id
+     * @param snapshot 变量值二进制快照
+     * @return 记录
+     */
+    public static byte[] variable(int id, byte[] snapshot) {
+        return record(VARIABLE, out -> {
+            out.writeInt(id);
+            out.write(snapshot);
+        });
+    }
+
+    /**
+     * 变量移除记录
+     *
+     * @param id 变量id
+     * @return 记录
+     */
+    public static byte[] variableRemoved(int id) {
+        return record(VARIABLE_REMOVED, out -> out.writeInt(id));
+    }
+
+    private static byte[] record(byte type, RecordWriter writer) {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream(128);
+        try (DataOutputStream out = new DataOutputStream(outputStream)) {
+            out.writeByte(type);
+            writer.write(out);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return outputStream.toByteArray();
+    }
+
+    @FunctionalInterface
+    private interface RecordWriter {
+
+        void write(DataOutputStream out) throws IOException;
+
+    }
+
+    /**
+     * 快照中的规则以及变量，同一规则只保留版本最新的记录
+     */
+    @Getter
+    public static class Content {
+
+        private final Map<GeneralRuleRevisionRegistry.RuleKey, RuleRecord> rules = new HashMap<>();
+
+        private final Map<Integer, byte[]> variables = new HashMap<>();
+
+        public boolean isEmpty() {
+            return this.rules.isEmpty() && this.variables.isEmpty();
+        }
+
+        void apply(byte[] record) throws IOException {
+            DataInputStream in = new DataInputStream(new ByteArrayInputStream(record));
+            byte type = in.readByte();
+            switch (type) {
+                case RULE:
+                case RULE_REMOVED:
+                    long revision = in.readLong();
+                    GeneralRuleRevisionRegistry.RuleKey key = new GeneralRuleRevisionRegistry.RuleKey(in.readUTF(), in.readUTF());
+                    byte[] snapshot = type == RULE ? this.remaining(in) : null;
+                    RuleRecord current = this.rules.get(key);
+                    // 与规则容器的版本规则一致，加载要求版本更新，移除要求版本不旧
+                    if (current == null || (snapshot == null ? revision >= current.getRevision() : revision > current.getRevision())) {
+                        this.rules.put(key, new RuleRecord(revision, snapshot));
+                    }
+                    break;
+                case VARIABLE:
+                    int id = in.readInt();
+                    this.variables.put(id, this.remaining(in));
+                    break;
+                case VARIABLE_REMOVED:
+                    this.variables.remove(in.readInt());
+                    break;
+                default:
+                    throw new IOException("Unknown snapshot record type: " + type);
+            }
+        }
+
+        private byte[] remaining(DataInputStream in) throws IOException {
+            byte[] bytes = new byte[in.available()];
+            in.readFully(bytes);
+            return bytes;
+        }
+
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class RuleRecord {
+
+        private final long revision;
+
+        /**
+         * 规则二进制快照，为null时规则已经被移除
+         */
+        private final byte[] snapshot;
+
+    }
+
+}
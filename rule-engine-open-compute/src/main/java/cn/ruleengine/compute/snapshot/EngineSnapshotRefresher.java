@@ -0,0 +1,135 @@
+/*
+ * Copyright (c) 2020 dingqianwen (761945125@qq.com)
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cn.ruleengine.compute.snapshot;
+
+import cn.ruleengine.compute.listener.GeneralRuleRevisionRegistry;
+import cn.ruleengine.compute.service.GeneralRuleSyncService;
+import cn.ruleengine.compute.service.VariableResolveService;
+import cn.ruleengine.compute.shadow.ShadowEvaluator;
+import cn.ruleengine.core.EngineVariable;
+import cn.ruleengine.core.RuleEngineConfiguration;
+import cn.ruleengine.core.value.Value;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.Resource;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 〈一句话功能简述〉<br>
+ * 从快照启动后在后台与数据库对账，以及定时重写快照文件
+ *
+ * @author dingqianwen
+ * @date 2026/10/18
+ * @since 1.0.0
+ */
+@Slf4j
+@Component
+public class EngineSnapshotRefresher {
+
+    @Resource
+    private RuleEngineConfiguration ruleEngineConfiguration;
+    @Resource
+    private VariableResolveService variableResolveService;
+    @Resource
+    private GeneralRuleSyncService generalRuleSyncService;
+    @Resource
+    private GeneralRuleRevisionRegistry revisionRegistry;
+    @Resource
+    private EngineSnapshotStore engineSnapshotStore;
+    @Resource
+    private ShadowEvaluator shadowEvaluator;
+
+    /**
+     * 从快照启动后是否已经与数据库对账完成
+     */
+    private volatile boolean refreshed;
+
+    /**
+     * 从快照启动时，服务启动完成后立即在后台与数据库对账
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (!this.isFromSnapshot()) {
+            return;
+        }
+        Thread refreshThread = new Thread(this::refresh, "engine-snapshot-refresh");
+        refreshThread.setDaemon(true);
+        refreshThread.start();
+    }
+
+    /**
+     * 对账失败时定时重试，追加的记录过多时重写快照文件
+     */
+    @Scheduled(initialDelayString = "${rule.engine.sync.reconcile-interval:60000}", fixedDelayString = "${rule.engine.sync.reconcile-interval:60000}")
+    public void schedule() {
+        if (this.isFromSnapshot() && !this.refreshed) {
+            this.refresh();
+        } else if (this.engineSnapshotStore.needsCompaction()) {
+            this.rewrite();
+        }
+    }
+
+    /**
+     * 从数据库重新加载变量，规则只拉取版本落后的部分，完成后重写快照
+     */
+    private synchronized void refresh() {
+        if (this.refreshed) {
+            return;
+        }
+        try {
+            if (this.engineSnapshotStore.isVariablesFromSnapshot()) {
+                this.refreshVariables();
+            }
+            if (this.engineSnapshotStore.isRulesFromSnapshot()) {
+                this.generalRuleSyncService.reconcile();
+            }
+            this.rewrite();
+            this.refreshed = true;
+            log.info("快照数据与数据库对账完毕");
+        } catch (Exception e) {
+            log.warn("快照数据与数据库对账失败，稍后重试", e);
+        }
+    }
+
+    private void refreshVariables() {
+        Map<Integer, Value> variables = this.variableResolveService.getAllVariable();
+        EngineVariable engineVariable = this.ruleEngineConfiguration.getEngineVariable();
+        Set<Integer> removed = new HashSet<>(engineVariable.getVariables().keySet());
+        removed.removeAll(variables.keySet());
+        removed.forEach(engineVariable::removeVariable);
+        engineVariable.addMultipleVariable(variables);
+        Set<Integer> changed = new HashSet<>(removed);
+        changed.addAll(variables.keySet());
+        int recompiled = this.ruleEngineConfiguration.getGeneralRuleContainer().variableChanged(changed);
+        this.shadowEvaluator.variableChanged(changed);
+        log.info("变量对账完毕，更新：{}，移除：{}，重新编译规则数：{}", variables.size(), removed.size(), recompiled);
+    }
+
+    private void rewrite() {
+        this.engineSnapshotStore.rewrite(this.ruleEngineConfiguration.getEngineVariable()::getVariables, this.revisionRegistry::snapshot);
+    }
+
+    private boolean isFromSnapshot() {
+        return this.engineSnapshotStore.isVariablesFromSnapshot() || this.engineSnapshotStore.isRulesFromSnapshot();
+    }
+
+}
@@ -0,0 +1,303 @@
+/*
+ * Copyright (c) 2020 dingqianwen (761945125@qq.com)
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cn.ruleengine.compute.snapshot;
+
+import cn.ruleengine.compute.listener.GeneralRuleRevisionRegistry;
+import cn.ruleengine.core.EngineVariable;
+import cn.ruleengine.core.annotation.Function;
+import cn.ruleengine.core.codec.RuleSnapshotCodec;
+import cn.ruleengine.core.rule.GeneralRule;
+import cn.ruleengine.core.value.Value;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationContext;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.annotation.Resource;
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.*;
+import java.util.function.Supplier;
+
+/**
+ * 〈一句话功能简述〉<br>
+ * 引擎本地快照，规则以及变量变更时追加到快照文件
+ * <p>
+ * 启动时优先从快照加载，无需等待数据库即可对外提供服务，随后在后台与数据库对账
+ *
+ * @author dingqianwen
+ * @date 2026/10/18
+ * @since 1.0.0
+ */
+@Slf4j
+@Component
+public class EngineSnapshotStore {
+
+    @Resource
+    private ApplicationContext applicationContext;
+
+    /**
+     * 是否启用本地快照
+     */
+    @org.springframework.beans.factory.annotation.Value("${rule.engine.snapshot.enable:true}")
+    private boolean enable;
+    /**
+     * 快照文件路径
+     */
+    @org.springframework.beans.factory.annotation.Value("${rule.engine.snapshot.path:data/engine.snapshot}")
+    private String path;
+    /**
+     * 追加的记录超过此字节数时重写快照文件
+     */
+    @org.springframework.beans.factory.annotation.Value("${rule.engine.snapshot.compact-size:67108864}")
+    private long compactSize;
+
+    private volatile EngineSnapshotFile file;
+
+    /**
+     * 启动时读取的快照内容，加载完成后释放
+     */
+    private EngineSnapshotFile.Content content;
+
+    /**
+     * 上次重写后的文件大小
+     */
+    private long rewriteSize;
+
+    /**
+     * 重写期间追加的记录，重写完成后写入新文件
+     */
+    private List<byte[]> pending;
+
+    private volatile boolean variablesFromSnapshot;
+
+    private volatile boolean rulesFromSnapshot;
+
+    @PostConstruct
+    public void init() {
+        if (!this.enable) {
+            return;
+        }
+        try {
+            EngineSnapshotFile snapshotFile = new EngineSnapshotFile(Paths.get(this.path));
+            this.content = snapshotFile.open();
+            this.rewriteSize = snapshotFile.size();
+            this.file = snapshotFile;
+            log.info("读取引擎快照：{}，规则：{}，变量：{}", this.path, this.content.getRules().size(), this.content.getVariables().size());
+        } catch (Exception e) {
+            log.warn("引擎快照不可用：{}", this.path, e);
+        }
+    }
+
+    @PreDestroy
+    public synchronized void close() {
+        if (this.file == null) {
+            return;
+        }
+        try {
+            this.file.close();
+        } catch (IOException e) {
+            log.warn("关闭引擎快照失败：{}", this.path, e);
+        }
+        this.file = null;
+    }
+
+    /**
+     * 从快照中读取变量
+     *
+     * @param engineVariable 引擎变量
+     * @return 快照不存在或者解析失败时返回false
+     */
+    public synchronized boolean loadVariables(EngineVariable engineVariable) {
+        if (this.content == null || this.content.isEmpty()) {
+            return false;
+        }
+        try {
+            RuleSnapshotCodec.FunctionResolver functionResolver = this.functionResolver();
+            Map<Integer, Value> variables = new HashMap<>(Math.max(16, this.content.getVariables().size() * 2));
+            this.content.getVariables().forEach((id, snapshot) -> variables.put(id, RuleSnapshotCodec.decodeValue(snapshot, functionResolver)));
+            engineVariable.addMultipleVariable(variables);
+            this.variablesFromSnapshot = true;
+            return true;
+        } catch (Exception e) {
+            log.warn("从快照中读取变量失败，从数据库加载", e);
+            this.content = null;
+            return false;
+        }
+    }
+
+    /**
+     * 从快照中读取规则，快照不存在或者解析失败时返回null，读取后释放快照内容
+     *
+     * @return 规则以及规则版本
+     */
+    @Nullable
+    public synchronized List<GeneralRuleRevisionRegistry.Revision> loadRules() {
+        if (this.content == null || this.content.isEmpty()) {
+            return null;
+        }
+        try {
+            List<GeneralRuleRevisionRegistry.Revision> rules = new ArrayList<>(this.content.getRules().size());
+            for (EngineSnapshotFile.RuleRecord record : this.content.getRules().values()) {
+                if (record.getSnapshot() != null) {
+                    rules.add(new GeneralRuleRevisionRegistry.Revision(record.getRevision(), RuleSnapshotCodec.decode(record.getSnapshot())));
+                }
+            }
+            this.rulesFromSnapshot = true;
+            return rules;
+        } catch (Exception e) {
+            log.warn("从快照中读取规则失败，从数据库加载", e);
+            return null;
+        } finally {
+            this.content = null;
+        }
+    }
+
+    /**
+     * 启动时变量是否从快照加载
+     */
+    public boolean isVariablesFromSnapshot() {
+        return this.variablesFromSnapshot;
+    }
+
+    /**
+     * 启动时规则是否从快照加载
+     */
+    public boolean isRulesFromSnapshot() {
+        return this.rulesFromSnapshot;
+    }
+
+    /**
+     * 记录规则变更
+     *
+     * @param workspaceCode 工作空间code
+     * @param ruleCode      规则code
+     * @param revision      规则版本
+     * @param rule          规则，为null时规则已经被移除
+     */
+    public void ruleChanged(String workspaceCode, String ruleCode, long revision, @Nullable GeneralRule rule) {
+        if (this.file == null) {
+            return;
+        }
+        GeneralRuleRevisionRegistry.RuleKey key = new GeneralRuleRevisionRegistry.RuleKey(workspaceCode, ruleCode);
+        try {
+            this.append(rule == null ? EngineSnapshotFile.ruleRemoved(key, revision) : EngineSnapshotFile.rule(key, revision, RuleSnapshotCodec.encode(rule)));
+        } catch (Exception e) {
+            log.warn("记录规则快照失败：{}", ruleCode, e);
+        }
+    }
+
+    /**
+     * 记录变量变更
+     *
+     * @param id    变量id
+     * @param value 变量值，为null时变量已经被移除
+     */
+    public void variableChanged(Integer id, @Nullable Value value) {
+        if (this.file == null) {
+            return;
+        }
+        try {
+            this.append(value == null ? EngineSnapshotFile.variableRemoved(id) : EngineSnapshotFile.variable(id, RuleSnapshotCodec.encodeValue(value)));
+        } catch (Exception e) {
+            log.warn("记录变量快照失败：{}", id, e);
+        }
+    }
+
+    private synchronized void append(byte[] record) throws IOException {
+        if (this.file == null) {
+            return;
+        }
+        this.file.append(record);
+        if (this.pending != null) {
+            this.pending.add(record);
+        }
+    }
+
+    /**
+     * 追加的记录是否已经超过重写阈值
+     *
+     * @return true需要重写
+     */
+    public synchronized boolean needsCompaction() {
+        try {
+            return this.file != null && this.file.size() - this.rewriteSize > this.compactSize;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    /**
+     * 使用引擎当前的规则以及变量重写快照文件
+     * <p>
+     * 重写期间的变更同时记录下来，重写完成后追加到新文件，规则按版本合并，不会被旧数据覆盖
+     *
+     * @param variables 当前的变量
+     * @param rules     当前的规则版本
+     */
+    public void rewrite(Supplier<Map<Integer, Value>> variables, Supplier<Map<GeneralRuleRevisionRegistry.RuleKey, GeneralRuleRevisionRegistry.Revision>> rules) {
+        synchronized (this) {
+            if (this.file == null || this.pending != null) {
+                return;
+            }
+            this.pending = new ArrayList<>();
+        }
+        try {
+            List<byte[]> records = new ArrayList<>();
+            for (Map.Entry<Integer, Value> entry : variables.get().entrySet()) {
+                records.add(EngineSnapshotFile.variable(entry.getKey(), RuleSnapshotCodec.encodeValue(entry.getValue())));
+            }
+            for (Map.Entry<GeneralRuleRevisionRegistry.RuleKey, GeneralRuleRevisionRegistry.Revision> entry : rules.get().entrySet()) {
+                GeneralRuleRevisionRegistry.Revision revision = entry.getValue();
+                // 移除的规则不再写入快照
+                if (!revision.isRemoved()) {
+                    records.add(EngineSnapshotFile.rule(entry.getKey(), revision.getRevision(), RuleSnapshotCodec.encode(revision.getRule())));
+                }
+            }
+            synchronized (this) {
+                if (this.file == null) {
+                    return;
+                }
+                records.addAll(this.pending);
+                this.file.rewrite(records);
+                this.rewriteSize = this.file.size();
+                log.info("引擎快照重写完毕：{}，记录数：{}，大小：{}", this.path, records.size(), this.rewriteSize);
+            }
+        } catch (Exception e) {
+            log.warn("引擎快照重写失败：{}", this.path, e);
+        } finally {
+            synchronized (this) {
+                this.pending = null;
+            }
+        }
+    }
+
+    /**
+     * 根据类名找到函数执行器，类名为Spring代理类时也可以找到
+     */
+    private RuleSnapshotCodec.FunctionResolver functionResolver() {
+        Map<String, Object> functions = new HashMap<>();
+        for (Object function : this.applicationContext.getBeansWithAnnotation(Function.class).values()) {
+            functions.put(function.getClass().getName(), function);
+            functions.put(ClassUtils.getUserClass(function).getName(), function);
+        }
+        return functions::get;
+    }
+
+}
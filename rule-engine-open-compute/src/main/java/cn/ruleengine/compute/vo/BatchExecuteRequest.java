@@ -30,6 +30,8 @@ public class BatchExecuteRequest {
 
     /**
      * 指定一个线程处理多少规则
+     * <p>
+     * 已不再使用，批量执行在独立的ForkJoinPool中自动拆分，空闲线程窃取未开始的任务，保留兼容旧的调用方
      */
     @Min(100)
     @Max(2000)
@@ -37,10 +39,20 @@ public class BatchExecuteRequest {
 
     /**
      * 执行超时时间，-1永不超时
+     * <p>
+     * 超时后返回已经执行完成的结果，执行中以及未开始执行的规则状态分别为超时、取消
      */
     @NotNull
     private Long timeout = -1L;
 
+    /**
+     * 单条规则执行超时时间，-1永不超时
+     * <p>
+     * 执行中的规则无法被中断，超过时仍然返回执行结果，状态为OVERTIME
+     */
+    @NotNull
+    private Long itemTimeout = -1L;
+
     /**
      * 规则执行信息，规则code以及规则入参
      */
@@ -1,5 +1,6 @@
 package cn.ruleengine.compute.vo;
 
+import cn.ruleengine.compute.enums.BatchExecuteStatus;
 import lombok.Data;
 import org.springframework.lang.Nullable;
 
@@ -19,6 +20,10 @@ public class BatchExecuteResponse {
      * 规则执行状态，是否执行成功，或者遇到了异常
      */
     private Boolean isDone = true;
+    /**
+     * 规则执行状态，超时未执行完成或者未开始执行时isDone=false
+     */
+    private BatchExecuteStatus status = BatchExecuteStatus.SUCCESS;
     /**
      * isDone=false规则执行错误消息
      */
@@ -31,4 +31,9 @@ public class ExecuteRequest {
 
     private Map<String, Object> param = new HashMap<>();
 
+    /**
+     * 是否返回执行跟踪记录，记录执行过的条件组、条件、函数以及它们的值和耗时
+     */
+    private boolean trace;
+
 }
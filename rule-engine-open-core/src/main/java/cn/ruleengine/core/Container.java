@@ -1,17 +1,24 @@
 package cn.ruleengine.core;
 
 
+import cn.ruleengine.core.compile.Compilable;
+import cn.ruleengine.core.compile.VariableDependencyIndex;
 import cn.ruleengine.core.exception.EngineException;
 import cn.ruleengine.core.rule.GeneralRule;
 import cn.ruleengine.core.scorecard.ScoreCard;
+import cn.ruleengine.core.value.Value;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.lang.NonNull;
 
 import java.io.Closeable;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.UnaryOperator;
 
 /**
  * 〈Container〉
@@ -20,6 +27,7 @@ import java.util.concurrent.ConcurrentHashMap;
  * @date 2021/7/22 10:49 上午
  * @since 1.0.0
  */
+@Slf4j
 public class Container implements Closeable {
 
     private final Body<GeneralRule> generalRuleContainer = new Body<>();
@@ -45,20 +53,69 @@ public class Container implements Closeable {
     public static class Body<T extends DataSupport> implements Closeable {
 
         /**
-         * 启动时加载的规则/决策表
+         * 启动时加载的规则/决策表，不可变快照
+         * <p>
+         * 读取时只需要一次volatile读，写入时复制一份新的快照后整体替换，
+         * 批量添加/重新加载一次性发布，读取方不会看到只更新了一半的工作空间
          */
-        private final Map<String, Map<String, T>> workspaceMap;
+        private final AtomicReference<Map<String, Map<String, T>>> workspaceMap;
+
+        /**
+         * 添加时是否编译规则，编译失败时仍然解释执行
+         */
+        private volatile boolean compileEnabled;
+
+        /**
+         * 引擎变量，编译时值为固定值的变量直接取出
+         */
+        private volatile EngineVariable engineVariable;
+
+        /**
+         * 变量到规则的反向索引，变量变化后只重新编译依赖此变量的规则
+         */
+        private final VariableDependencyIndex<T> dependencyIndex = new VariableDependencyIndex<>();
 
         public Body() {
-            this.workspaceMap = new ConcurrentHashMap<>();
+            this.workspaceMap = new AtomicReference<>(Collections.emptyMap());
         }
 
         public Body(Map<String, Map<String, T>> workspaceMap) {
-            this.workspaceMap = workspaceMap;
+            this.workspaceMap = new AtomicReference<>(freeze(workspaceMap));
         }
 
         public Map<String, Map<String, T>> getWorkspaceMap() {
-            return Collections.unmodifiableMap(workspaceMap);
+            return this.workspaceMap.get();
+        }
+
+        public boolean isCompileEnabled() {
+            return this.compileEnabled;
+        }
+
+        /**
+         * 设置添加规则时是否编译，只对之后添加的规则生效
+         *
+         * @param compileEnabled true编译
+         */
+        public void setCompileEnabled(boolean compileEnabled) {
+            this.compileEnabled = compileEnabled;
+        }
+
+        /**
+         * 设置编译时使用的引擎变量，只对之后编译的规则生效
+         *
+         * @param engineVariable 引擎变量
+         */
+        public void setEngineVariable(EngineVariable engineVariable) {
+            this.engineVariable = engineVariable;
+        }
+
+        /**
+         * 依赖变量的规则数量
+         *
+         * @return 数量
+         */
+        public int getVariableDependentSize() {
+            return this.dependencyIndex.size();
         }
 
         /**
@@ -71,7 +128,7 @@ public class Container implements Closeable {
         public T get(String workspaceCode, String ruleCode) {
             Objects.requireNonNull(workspaceCode);
             Objects.requireNonNull(ruleCode);
-            Map<String, T> workspaceMap = this.workspaceMap.get(workspaceCode);
+            Map<String, T> workspaceMap = this.workspaceMap.get().get(workspaceCode);
             if (workspaceMap == null) {
                 throw new EngineException("Can't find this workspace：" + workspaceCode);
             }
@@ -89,10 +146,8 @@ public class Container implements Closeable {
             if (workspaceCode == null || ruleCode == null) {
                 return false;
             }
-            if (!this.workspaceMap.containsKey(workspaceCode)) {
-                return false;
-            }
-            return this.workspaceMap.get(workspaceCode).containsKey(ruleCode);
+            Map<String, T> workspaceMap = this.workspaceMap.get().get(workspaceCode);
+            return workspaceMap != null && workspaceMap.containsKey(ruleCode);
         }
 
         /**
@@ -100,24 +155,101 @@ public class Container implements Closeable {
          *
          * @param dataSupport 配置信息
          */
-        public synchronized void add(T dataSupport) {
-            Objects.requireNonNull(dataSupport);
-            String workspaceCode = Objects.requireNonNull(dataSupport.getWorkspaceCode());
-            String ruleSetCode = Objects.requireNonNull(dataSupport.getCode());
-            if (!this.workspaceMap.containsKey(workspaceCode)) {
-                this.workspaceMap.put(workspaceCode, new ConcurrentHashMap<>());
+        public void add(T dataSupport) {
+            this.addMultiple(Collections.singletonList(dataSupport));
+        }
+
+        /**
+         * 编译规则并登记依赖的变量，编译失败时仍然使用解释执行
+         *
+         * @param dataSupport 规则
+         */
+        private void compile(T dataSupport) {
+            Compilable compilable = (Compilable) dataSupport;
+            EngineVariable engineVariable = this.engineVariable;
+            try {
+                Map<Integer, Value> variables;
+                do {
+                    compilable.compile(engineVariable);
+                    variables = compilable.getCompiledVariables();
+                    this.dependencyIndex.update(dataSupport.getWorkspaceCode(), dataSupport.getCode(), dataSupport, variables.keySet());
+                    // 编译期间依赖的变量被修改，修改通知可能在登记依赖之前已经处理完成，需要重新编译
+                } while (engineVariable != null && isChanged(variables, engineVariable));
+            } catch (Exception e) {
+                this.dependencyIndex.remove(dataSupport.getWorkspaceCode(), dataSupport.getCode());
+                log.warn("规则编译失败，使用解释执行：{}", dataSupport.getCode(), e);
             }
-            this.workspaceMap.get(workspaceCode).put(ruleSetCode, dataSupport);
+        }
+
+        private static boolean isChanged(Map<Integer, Value> variables, EngineVariable engineVariable) {
+            Map<Integer, Value> current = engineVariable.getVariables();
+            for (Map.Entry<Integer, Value> entry : variables.entrySet()) {
+                if (current.get(entry.getKey()) != entry.getValue()) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        /**
+         * 变量变化后重新编译依赖这些变量的规则，其他规则不受影响
+         *
+         * @param variableIds 发生变化的变量
+         * @return 重新编译的规则数量
+         */
+        public int variableChanged(@NonNull Collection<Integer> variableIds) {
+            Objects.requireNonNull(variableIds);
+            List<T> dependents = this.dependencyIndex.getDependents(variableIds);
+            for (T dataSupport : dependents) {
+                this.compile(dataSupport);
+            }
+            return dependents.size();
         }
 
         /**
-         * 添加多个
+         * 添加多个，所有规则编译完成后一次性发布
          *
          * @param dataSupports 配置信息列表
          */
         public void addMultiple(List<T> dataSupports) {
-            Objects.requireNonNull(dataSupports);
-            dataSupports.forEach(this::add);
+            this.prepare(dataSupports);
+            this.update(snapshot -> {
+                Map<String, Map<String, T>> newSnapshot = new HashMap<>(snapshot);
+                Map<String, Map<String, T>> changed = new HashMap<>();
+                for (T dataSupport : dataSupports) {
+                    changed.computeIfAbsent(dataSupport.getWorkspaceCode(), workspaceCode -> {
+                        Map<String, T> workspaceMap = snapshot.get(workspaceCode);
+                        return workspaceMap == null ? new HashMap<>() : new HashMap<>(workspaceMap);
+                    }).put(dataSupport.getCode(), dataSupport);
+                }
+                changed.forEach((workspaceCode, workspaceMap) -> newSnapshot.put(workspaceCode, Collections.unmodifiableMap(workspaceMap)));
+                return Collections.unmodifiableMap(newSnapshot);
+            });
+        }
+
+        /**
+         * 重新加载，使用新的规则列表整体替换当前所有规则
+         * <p>
+         * 新规则先编译并登记依赖后再发布，发布后只移除被替换掉的旧规则的依赖，
+         * 期间依赖索引始终覆盖引擎中的规则
+         *
+         * @param dataSupports 配置信息列表
+         */
+        public void reload(List<T> dataSupports) {
+            this.prepare(dataSupports);
+            Map<String, Map<String, T>> newWorkspaceMap = new HashMap<>();
+            for (T dataSupport : dataSupports) {
+                newWorkspaceMap.computeIfAbsent(dataSupport.getWorkspaceCode(), k -> new HashMap<>()).put(dataSupport.getCode(), dataSupport);
+            }
+            Map<String, Map<String, T>> newSnapshot = freeze(newWorkspaceMap);
+            Map<String, Map<String, T>> oldSnapshot = this.update(snapshot -> newSnapshot);
+            oldSnapshot.forEach((workspaceCode, workspaceMap) -> workspaceMap.forEach((code, dataSupport) -> {
+                Map<String, T> newMap = newSnapshot.get(workspaceCode);
+                if (newMap == null || newMap.get(code) != dataSupport) {
+                    // 只有索引中仍然是这个旧实例时才移除，不影响并发添加的规则
+                    this.dependencyIndex.remove(workspaceCode, code, dataSupport);
+                }
+            }));
         }
 
         /**
@@ -126,14 +258,63 @@ public class Container implements Closeable {
          * @param ruleSetCode 规则集code
          */
         public void remove(String workspaceCode, @NonNull String ruleSetCode) {
-            if (this.workspaceMap.containsKey(workspaceCode)) {
-                this.workspaceMap.get(workspaceCode).remove(ruleSetCode);
-            }
+            this.dependencyIndex.remove(workspaceCode, ruleSetCode);
+            this.update(snapshot -> {
+                Map<String, T> workspaceMap = snapshot.get(workspaceCode);
+                if (workspaceMap == null || !workspaceMap.containsKey(ruleSetCode)) {
+                    return snapshot;
+                }
+                Map<String, T> newWorkspaceMap = new HashMap<>(workspaceMap);
+                newWorkspaceMap.remove(ruleSetCode);
+                Map<String, Map<String, T>> newSnapshot = new HashMap<>(snapshot);
+                newSnapshot.put(workspaceCode, Collections.unmodifiableMap(newWorkspaceMap));
+                return Collections.unmodifiableMap(newSnapshot);
+            });
         }
 
         @Override
         public void close() {
-            this.workspaceMap.clear();
+            this.dependencyIndex.clear();
+            this.workspaceMap.set(Collections.emptyMap());
+        }
+
+        /**
+         * 校验并编译待发布的规则，在发布快照之前完成，不占用写入时间
+         *
+         * @param dataSupports 配置信息列表
+         */
+        private void prepare(List<T> dataSupports) {
+            Objects.requireNonNull(dataSupports);
+            for (T dataSupport : dataSupports) {
+                Objects.requireNonNull(dataSupport);
+                Objects.requireNonNull(dataSupport.getWorkspaceCode());
+                Objects.requireNonNull(dataSupport.getCode());
+                if (this.compileEnabled && dataSupport instanceof Compilable) {
+                    this.compile(dataSupport);
+                }
+            }
+        }
+
+        /**
+         * CAS替换快照，并发写入冲突时基于最新快照重试
+         *
+         * @param updateFunction 根据旧快照生成新快照
+         * @return 被替换的旧快照
+         */
+        private Map<String, Map<String, T>> update(UnaryOperator<Map<String, Map<String, T>>> updateFunction) {
+            Map<String, Map<String, T>> snapshot;
+            Map<String, Map<String, T>> newSnapshot;
+            do {
+                snapshot = this.workspaceMap.get();
+                newSnapshot = updateFunction.apply(snapshot);
+            } while (snapshot != newSnapshot && !this.workspaceMap.compareAndSet(snapshot, newSnapshot));
+            return snapshot;
+        }
+
+        private static <T> Map<String, Map<String, T>> freeze(Map<String, Map<String, T>> workspaceMap) {
+            Map<String, Map<String, T>> snapshot = new HashMap<>(workspaceMap.size());
+            workspaceMap.forEach((workspaceCode, map) -> snapshot.put(workspaceCode, Collections.unmodifiableMap(new HashMap<>(map))));
+            return Collections.unmodifiableMap(snapshot);
         }
     }
 
@@ -15,6 +15,8 @@
  */
 package cn.ruleengine.core;
 
+import cn.ruleengine.core.trace.ExecutionTrace;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import org.springframework.lang.Nullable;
 
 
@@ -31,6 +33,7 @@ public class DefaultOutput implements Output {
 
     private Object value;
     private Class<?> classType;
+    private ExecutionTrace trace;
 
     public DefaultOutput(@Nullable Object value) {
         if (value == null) {
@@ -40,6 +43,11 @@ public class DefaultOutput implements Output {
         this.classType = value.getClass();
     }
 
+    public DefaultOutput(@Nullable Object value, @Nullable ExecutionTrace trace) {
+        this(value);
+        this.trace = trace;
+    }
+
     /**
      * 输出的参数值
      *
@@ -60,4 +68,15 @@ public class DefaultOutput implements Output {
         return this.classType;
     }
 
+    /**
+     * 规则执行的跟踪记录
+     *
+     * @return 没有开启跟踪时为null
+     */
+    @Override
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public ExecutionTrace getTrace() {
+        return this.trace;
+    }
+
 }
@@ -20,6 +20,7 @@ import cn.ruleengine.core.value.Value;
 import org.springframework.lang.NonNull;
 
 import java.io.Closeable;
+import java.util.Collections;
 import java.util.Map;
 import java.util.Objects;
 import java.util.concurrent.ConcurrentHashMap;
@@ -88,6 +89,15 @@ public class EngineVariable implements Closeable {
         variableMap.forEach(this::addVariable);
     }
 
+    /**
+     * 引擎中所有的变量，只读
+     *
+     * @return 变量id与变量值
+     */
+    public Map<Integer, Value> getVariables() {
+        return Collections.unmodifiableMap(this.variableMap);
+    }
+
     /**
      * 变量size
      *
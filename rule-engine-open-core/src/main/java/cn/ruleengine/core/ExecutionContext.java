@@ -0,0 +1,215 @@
+/*
+ * Copyright (c) 2020 dingqianwen (761945125@qq.com)
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cn.ruleengine.core;
+
+import cn.ruleengine.core.trace.ExecutionTrace;
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+/**
+ * 〈一句话功能简述〉<br>
+ * 〈〉
+ * 一次规则执行的上下文，包装规则入参，并缓存本次执行中变量以及函数的值
+ * <p>
+ * 同一个变量或者参数相同的函数在多个条件中使用时，本次执行只计算一次，执行结束后随上下文一起释放，
+ * 可以并行调用的函数提前发起异步调用，使用时再等待结果
+ * <p>
+ * 开启跟踪后记录本次执行经过的条件组、条件以及函数，见{@link ExecutionTrace}
+ *
+ * @author dingqianwen
+ * @date 2026/10/18
+ * @since 1.0.0
+ */
+public class ExecutionContext implements Input {
+
+    /**
+     * 规则入参
+     */
+    private final Input input;
+
+    /**
+     * 本次执行中已经计算过的值
+     */
+    private final Map<Object, Object> memo = new HashMap<>();
+
+    /**
+     * 本次执行的跟踪记录，没有开启跟踪时为null
+     */
+    private ExecutionTrace trace;
+
+    private ExecutionContext(Input input) {
+        this.input = input;
+    }
+
+    /**
+     * 创建规则执行上下文，已经是执行上下文时直接返回
+     *
+     * @param input 规则入参
+     * @return 执行上下文
+     */
+    public static ExecutionContext of(@NonNull Input input) {
+        Objects.requireNonNull(input);
+        if (input instanceof ExecutionContext) {
+            return (ExecutionContext) input;
+        }
+        return new ExecutionContext(input);
+    }
+
+    /**
+     * 获取本次执行中key对应的值，不存在时计算并缓存，计算结果为null时也会缓存，计算异常时不缓存
+     *
+     * @param key      缓存key
+     * @param supplier 计算值
+     * @return 值
+     */
+    public Object memoize(@NonNull Object key, @NonNull Supplier<?> supplier) {
+        Object value = this.memo.get(key);
+        if (value == null && !this.memo.containsKey(key)) {
+            value = supplier.get();
+            this.memo.put(key, value);
+        } else if (value instanceof Pending) {
+            // 提前发起的异步计算，等待计算完成
+            try {
+                value = FunctionExecutor.join(((Pending) value).future);
+            } catch (RuntimeException | Error e) {
+                this.memo.remove(key);
+                throw e;
+            }
+            this.memo.put(key, value);
+        }
+        return value;
+    }
+
+    /**
+     * 提前发起key对应值的异步计算，之后通过{@link #memoize(Object, Supplier)}获取时等待计算完成，已经存在时不再计算
+     * <p>
+     * 只能在执行规则的线程中调用，异步计算的结果不会在其他线程中写入上下文
+     *
+     * @param key      缓存key
+     * @param supplier 发起异步计算
+     */
+    public void prefetch(@NonNull Object key, @NonNull Supplier<CompletableFuture<?>> supplier) {
+        if (this.memo.containsKey(key)) {
+            return;
+        }
+        this.memo.put(key, new Pending(supplier.get()));
+    }
+
+    /**
+     * 开启本次执行的跟踪，已经开启时不再创建
+     *
+     * @return 跟踪记录
+     */
+    public ExecutionTrace enableTrace() {
+        return this.enableTrace(ExecutionTrace.DEFAULT_CAPACITY);
+    }
+
+    /**
+     * 开启本次执行的跟踪，已经开启时不再创建
+     *
+     * @param capacity 最多记录条数
+     * @return 跟踪记录
+     */
+    public ExecutionTrace enableTrace(int capacity) {
+        if (this.trace == null) {
+            this.trace = new ExecutionTrace(capacity);
+        }
+        return this.trace;
+    }
+
+    /**
+     * 获取本次执行的跟踪记录
+     *
+     * @return 没有开启跟踪时为null
+     */
+    @Nullable
+    public ExecutionTrace getTrace() {
+        return this.trace;
+    }
+
+    /**
+     * 获取入参所在执行的跟踪记录
+     *
+     * @param input 入参
+     * @return 不是执行上下文或者没有开启跟踪时为null
+     */
+    @Nullable
+    public static ExecutionTrace traceOf(Input input) {
+        if (input instanceof ExecutionContext) {
+            return ((ExecutionContext) input).trace;
+        }
+        return null;
+    }
+
+    /**
+     * 获取包装的规则入参
+     *
+     * @return 规则入参
+     */
+    public Input getInput() {
+        return this.input;
+    }
+
+    /**
+     * 异步计算中的值
+     */
+    private static final class Pending {
+
+        private final CompletableFuture<?> future;
+
+        private Pending(CompletableFuture<?> future) {
+            this.future = Objects.requireNonNull(future);
+        }
+
+    }
+
+    @Override
+    public void put(String key, Object value) {
+        this.input.put(key, value);
+    }
+
+    @Override
+    public void putAll(Map<String, Object> inputParam) {
+        this.input.putAll(inputParam);
+    }
+
+    @Override
+    public Object remove(String key) {
+        return this.input.remove(key);
+    }
+
+    @Override
+    public Object get(String key) {
+        return this.input.get(key);
+    }
+
+    @Override
+    public Map<String, Object> getAll() {
+        return this.input.getAll();
+    }
+
+    @Override
+    public void clear() {
+        this.input.clear();
+    }
+
+}
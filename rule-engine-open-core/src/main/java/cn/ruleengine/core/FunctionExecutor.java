@@ -32,10 +32,15 @@ import javax.validation.ConstraintViolation;
 import javax.validation.Valid;
 import javax.validation.Validation;
 import javax.validation.Validator;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Parameter;
 import java.lang.reflect.*;
 import java.math.BigDecimal;
 import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -53,8 +58,6 @@ import java.util.stream.Stream;
 @Slf4j
 public class FunctionExecutor {
 
-    private final static Validator VALIDATOR = Validation.buildDefaultValidatorFactory().getValidator();
-
     private final static FunctionExecutor FUNCTION_EXECUTOR = new FunctionExecutor();
 
     /**
@@ -88,7 +91,11 @@ public class FunctionExecutor {
             int i = 0;
             do {
                 try {
-                    return executor.invoke(abstractFunction, executorMethodArgs);
+                    Object value = executor.invoke(abstractFunction, executorMethodArgs);
+                    if (value instanceof CompletionStage) {
+                        return join(((CompletionStage<?>) value).toCompletableFuture());
+                    }
+                    return value;
                 } catch (IllegalAccessException e) {
                     throw new FunctionException("主函数方法非法访问异常{}", e.getMessage());
                 } catch (Exception e) {
@@ -142,6 +149,460 @@ public class FunctionExecutor {
 
     }
 
+    /**
+     * 预编译函数执行器，方法注解、参数名称以及参数转换方式在此时解析完成，执行时不再反射解析
+     *
+     * @param abstractFunction 函数
+     * @param executor         函数主方法
+     * @param failureStrategy  函数失败策略方法，可以为null
+     * @return 预编译的函数执行器
+     */
+    public Invoker createInvoker(Object abstractFunction, Method executor, Method failureStrategy) {
+        return new Invoker(abstractFunction, executor, failureStrategy);
+    }
+
+    /**
+     * 使用预编译的函数执行器执行函数
+     *
+     * @param invoker    预编译的函数执行器
+     * @param paramValue 函数入参
+     * @return 函数执行结果
+     */
+    public Object executor(Invoker invoker, Map<String, Object> paramValue) {
+        return this.executor(invoker, paramValue, AsyncExecutorHolder.EXECUTOR);
+    }
+
+    /**
+     * 使用预编译的函数执行器执行函数
+     *
+     * @param invoker       预编译的函数执行器
+     * @param paramValue    函数入参
+     * @param asyncExecutor 失败重试使用的线程池
+     * @return 函数执行结果
+     */
+    public Object executor(Invoker invoker, Map<String, Object> paramValue, java.util.concurrent.Executor asyncExecutor) {
+        if (log.isDebugEnabled()) {
+            log.debug("开始执行函数：{}，函数入参：{}", invoker.abstractFunction, paramValue);
+        }
+        // 函数主方法返回CompletionStage时，等待异步执行完成，重试通过定时任务进行
+        if (invoker.async) {
+            return join(this.executeAsync(invoker, paramValue, asyncExecutor));
+        }
+        Object[] executorMethodArgs = invoker.bindExecutorArgs(paramValue);
+        // 第一次在当前线程执行，Error不重试直接抛出
+        try {
+            return invoker.invoke(executorMethodArgs);
+        } catch (Exception e) {
+            //没有重试次数时，直接执行失败策略
+            if (invoker.maxAttempts <= 0) {
+                return this.failureStrategy(invoker, e, paramValue);
+            }
+            log.warn("执行函数主方法异常，{}ms后重试调用，异常原因：", invoker.delay, e);
+        }
+        // 重试通过定时任务提交到asyncExecutor执行，不在当前线程中休眠
+        CompletableFuture<Object> result = new CompletableFuture<>();
+        this.retry(invoker, executorMethodArgs, paramValue, asyncExecutor, 1, result);
+        return join(result);
+    }
+
+    /**
+     * 异步执行函数，普通函数在asyncExecutor中执行，函数主方法返回CompletionStage时在当前线程调用
+     * <p>
+     * 失败重试通过定时任务延迟后提交到asyncExecutor，不占用执行线程
+     *
+     * @param invoker       预编译的函数执行器
+     * @param paramValue    函数入参
+     * @param asyncExecutor 执行函数的线程池
+     * @return 函数执行结果，失败时为FunctionException
+     */
+    public CompletableFuture<Object> executeAsync(Invoker invoker, Map<String, Object> paramValue, java.util.concurrent.Executor asyncExecutor) {
+        Objects.requireNonNull(asyncExecutor);
+        CompletableFuture<Object> result = new CompletableFuture<>();
+        Object[] executorMethodArgs;
+        try {
+            executorMethodArgs = invoker.bindExecutorArgs(paramValue);
+        } catch (RuntimeException e) {
+            result.completeExceptionally(e);
+            return result;
+        }
+        this.attempt(invoker, executorMethodArgs, paramValue, asyncExecutor, 0, result);
+        return result;
+    }
+
+    /**
+     * 异步执行一次函数主方法，失败时延迟重试，重试全部用完后执行失败策略
+     *
+     * @param invoker            预编译的函数执行器
+     * @param executorMethodArgs 函数主方法参数
+     * @param paramValue         函数入参
+     * @param asyncExecutor      执行函数的线程池
+     * @param attempts           已经重试的次数
+     * @param result             函数执行结果
+     */
+    private void attempt(Invoker invoker, Object[] executorMethodArgs, Map<String, Object> paramValue,
+                         java.util.concurrent.Executor asyncExecutor, int attempts, CompletableFuture<Object> result) {
+        CompletableFuture<Object> future;
+        if (invoker.async) {
+            future = invoker.invokeAsync(executorMethodArgs);
+        } else {
+            future = CompletableFuture.supplyAsync(() -> invoker.invoke(executorMethodArgs), asyncExecutor);
+        }
+        future.whenComplete((value, e) -> {
+            if (e == null) {
+                result.complete(value);
+                return;
+            }
+            Throwable targetException = unwrap(e);
+            if (targetException instanceof Error) {
+                result.completeExceptionally(targetException);
+                return;
+            }
+            if (attempts >= invoker.maxAttempts) {
+                try {
+                    Object failureValue = this.failureStrategy(invoker, targetException, paramValue);
+                    if (failureValue instanceof CompletionStage) {
+                        ((CompletionStage<?>) failureValue).whenComplete((v, ex) -> {
+                            if (ex == null) {
+                                result.complete(v);
+                            } else {
+                                log.error("失败策略方法执行失败", unwrap(ex));
+                                result.completeExceptionally(new FunctionException(unwrap(ex)));
+                            }
+                        });
+                    } else {
+                        result.complete(failureValue);
+                    }
+                } catch (Throwable ex) {
+                    result.completeExceptionally(ex);
+                }
+                return;
+            }
+            log.warn("执行函数主方法异常，{}ms后重试调用，异常原因：", invoker.delay, targetException);
+            this.retry(invoker, executorMethodArgs, paramValue, asyncExecutor, attempts + 1, result);
+        });
+    }
+
+    /**
+     * 延迟后在asyncExecutor中重试
+     * <p>
+     * 定时器只有一个线程，线程池队列已满并且拒绝策略为调用线程执行时，重试会在定时器线程中执行，
+     * 此时不执行重试直接失败，避免阻塞其他等待中的重试
+     *
+     * @param invoker            预编译的函数执行器
+     * @param executorMethodArgs 函数主方法参数
+     * @param paramValue         函数入参
+     * @param asyncExecutor      执行函数的线程池
+     * @param attempts           本次是第几次重试
+     * @param result             函数执行结果
+     */
+    private void retry(Invoker invoker, Object[] executorMethodArgs, Map<String, Object> paramValue,
+                       java.util.concurrent.Executor asyncExecutor, int attempts, CompletableFuture<Object> result) {
+        Runnable retry = () -> {
+            if (RetrySchedulerHolder.isSchedulerThread()) {
+                result.completeExceptionally(new FunctionException(new RejectedExecutionException("函数执行线程池已满，放弃重试")));
+                return;
+            }
+            this.attempt(invoker, executorMethodArgs, paramValue, asyncExecutor, attempts, result);
+        };
+        try {
+            if (invoker.delay > 0) {
+                RetrySchedulerHolder.SCHEDULER.schedule(() -> {
+                    try {
+                        asyncExecutor.execute(retry);
+                    } catch (RejectedExecutionException ex) {
+                        result.completeExceptionally(new FunctionException(ex));
+                    }
+                }, invoker.delay, TimeUnit.MILLISECONDS);
+            } else {
+                asyncExecutor.execute(retry);
+            }
+        } catch (RejectedExecutionException ex) {
+            result.completeExceptionally(new FunctionException(ex));
+        }
+    }
+
+    /**
+     * 函数主方法执行失败，存在失败策略方法并且异常满足条件时执行失败策略方法，否则抛出异常
+     *
+     * @param invoker         预编译的函数执行器
+     * @param targetException 函数主方法异常
+     * @param paramValue      函数入参
+     * @return 失败策略方法返回值
+     */
+    private Object failureStrategy(Invoker invoker, Throwable targetException, Map<String, Object> paramValue) {
+        log.warn("函数主方法执行失败", targetException);
+        // 如果存在失败策略方法
+        if (invoker.failureStrategyHandle != null) {
+            //如果遇到这种类型的异常，都是直接抛出的
+            for (Class<? extends Throwable> aClass : invoker.noFailureFor) {
+                if (aClass.isAssignableFrom(targetException.getClass())) {
+                    throw new FunctionException(targetException);
+                }
+            }
+            //再判断是否满足失败函数触发的异常
+            for (Class<? extends Throwable> aClass : invoker.failureFor) {
+                if (aClass.isAssignableFrom(targetException.getClass())) {
+                    log.debug("开始执行函数失败策略方法");
+                    Object[] failureStrategyMethodArgs = invoker.bindFailureStrategyArgs(paramValue);
+                    try {
+                        return invoker.failureStrategyHandle.invokeExact(failureStrategyMethodArgs);
+                    } catch (Throwable ex) {
+                        log.error("失败策略方法执行失败", ex);
+                        throw new FunctionException(ex);
+                    }
+                }
+            }
+            log.warn("失败策略方法异常未命中执行");
+        }
+        throw new FunctionException(targetException);
+    }
+
+    /**
+     * 默认的异步执行函数线程池，运行在支持虚拟线程的JDK上时使用虚拟线程，否则使用有界线程池，队列满时在调用线程执行
+     *
+     * @return 线程池
+     */
+    public java.util.concurrent.Executor getDefaultAsyncExecutor() {
+        return AsyncExecutorHolder.EXECUTOR;
+    }
+
+    /**
+     * 等待异步执行结果
+     *
+     * @param future 异步执行结果
+     * @return 执行结果
+     */
+    static Object join(CompletableFuture<?> future) {
+        try {
+            return future.join();
+        } catch (CompletionException | CancellationException e) {
+            Throwable cause = unwrap(e);
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new FunctionException(cause);
+        }
+    }
+
+    /**
+     * 取出CompletableFuture包装的异常
+     *
+     * @param e 异常
+     * @return 原始异常
+     */
+    private static Throwable unwrap(Throwable e) {
+        while (e instanceof CompletionException && e.getCause() != null) {
+            e = e.getCause();
+        }
+        return e;
+    }
+
+    /**
+     * 预编译的函数执行器
+     * <p>
+     * 函数主方法/失败策略方法绑定到函数实例的MethodHandle，参数按照方法参数顺序预先解析好转换器
+     */
+    public static class Invoker {
+
+        private final Object abstractFunction;
+
+        private final MethodHandle executorHandle;
+
+        private final ParamConverter[] executorParamConverters;
+
+        private final MethodHandle failureStrategyHandle;
+
+        private final ParamConverter[] failureStrategyParamConverters;
+
+        private final int maxAttempts;
+
+        private final long delay;
+
+        private final Class<? extends Throwable>[] failureFor;
+
+        private final Class<? extends Throwable>[] noFailureFor;
+
+        /**
+         * 函数主方法是否返回CompletionStage
+         */
+        private final boolean async;
+
+        private Invoker(Object abstractFunction, Method executor, Method failureStrategy) {
+            Objects.requireNonNull(abstractFunction);
+            Objects.requireNonNull(executor);
+            this.abstractFunction = abstractFunction;
+            this.executorHandle = this.unreflect(abstractFunction, executor);
+            this.executorParamConverters = METHOD_PARAMS_PARSER.getConverters(executor.getParameters());
+            if (failureStrategy != null) {
+                this.failureStrategyHandle = this.unreflect(abstractFunction, failureStrategy);
+                this.failureStrategyParamConverters = METHOD_PARAMS_PARSER.getConverters(failureStrategy.getParameters());
+            } else {
+                this.failureStrategyHandle = null;
+                this.failureStrategyParamConverters = null;
+            }
+            Executor executorAnnotation = executor.getAnnotation(Executor.class);
+            this.maxAttempts = executorAnnotation.maxAttempts();
+            this.delay = executorAnnotation.delay();
+            this.failureFor = executorAnnotation.failureFor();
+            this.noFailureFor = executorAnnotation.noFailureFor();
+            this.async = CompletionStage.class.isAssignableFrom(executor.getReturnType());
+        }
+
+        /**
+         * 函数主方法是否返回CompletionStage
+         *
+         * @return true 异步函数
+         */
+        public boolean isAsync() {
+            return this.async;
+        }
+
+        /**
+         * 执行一次函数主方法
+         *
+         * @param executorMethodArgs 函数主方法参数
+         * @return 执行结果
+         */
+        @SneakyThrows
+        private Object invoke(Object[] executorMethodArgs) {
+            return this.executorHandle.invokeExact(executorMethodArgs);
+        }
+
+        /**
+         * 执行一次异步函数主方法，同步抛出的异常以及返回null都转换为CompletableFuture
+         *
+         * @param executorMethodArgs 函数主方法参数
+         * @return 执行结果
+         */
+        @SuppressWarnings("unchecked")
+        private CompletableFuture<Object> invokeAsync(Object[] executorMethodArgs) {
+            try {
+                Object value = this.executorHandle.invokeExact(executorMethodArgs);
+                CompletionStage<Object> stage = (CompletionStage<Object>) value;
+                if (stage == null) {
+                    return CompletableFuture.completedFuture(null);
+                }
+                return stage.toCompletableFuture();
+            } catch (Throwable e) {
+                CompletableFuture<Object> future = new CompletableFuture<>();
+                future.completeExceptionally(e);
+                return future;
+            }
+        }
+
+        /**
+         * 方法转为MethodHandle，参数统一为Object[]，返回值统一为Object
+         *
+         * @param abstractFunction 函数
+         * @param method           方法
+         * @return MethodHandle
+         */
+        private MethodHandle unreflect(Object abstractFunction, Method method) {
+            try {
+                method.setAccessible(true);
+                MethodHandle methodHandle = MethodHandles.lookup().unreflect(method);
+                if (!Modifier.isStatic(method.getModifiers())) {
+                    methodHandle = methodHandle.bindTo(abstractFunction);
+                }
+                return methodHandle.asSpreader(Object[].class, method.getParameterCount())
+                        .asType(MethodType.methodType(Object.class, Object[].class));
+            } catch (IllegalAccessException e) {
+                throw new FunctionException("函数方法非法访问异常{}", e.getMessage());
+            }
+        }
+
+        private Object[] bindExecutorArgs(Map<String, Object> paramValue) {
+            return METHOD_PARAMS_PARSER.bindArgs(this.executorParamConverters, paramValue);
+        }
+
+        private Object[] bindFailureStrategyArgs(Map<String, Object> paramValue) {
+            return METHOD_PARAMS_PARSER.bindArgs(this.failureStrategyParamConverters, paramValue);
+        }
+
+    }
+
+    /**
+     * 默认的异步执行函数线程池，第一次异步执行函数时初始化
+     */
+    private static class AsyncExecutorHolder {
+
+        private final static java.util.concurrent.Executor EXECUTOR = newAsyncExecutor();
+
+        private static java.util.concurrent.Executor newAsyncExecutor() {
+            try {
+                // JDK21+ 使用虚拟线程
+                Method method = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+                return (java.util.concurrent.Executor) method.invoke(null);
+            } catch (ReflectiveOperationException ignored) {
+                // 不支持虚拟线程
+            }
+            int threads = Math.max(8, Runtime.getRuntime().availableProcessors() * 4);
+            AtomicInteger threadNumber = new AtomicInteger();
+            ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS, new LinkedBlockingQueue<>(1024), r -> {
+                Thread thread = new Thread(r, "function-async-" + threadNumber.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            }, new ThreadPoolExecutor.CallerRunsPolicy());
+            executor.allowCoreThreadTimeOut(true);
+            return executor;
+        }
+
+    }
+
+    /**
+     * 异步执行函数失败重试的定时器，只负责延迟，重试提交到执行函数的线程池
+     */
+    private static class RetrySchedulerHolder {
+
+        private static volatile Thread schedulerThread;
+
+        private final static ScheduledExecutorService SCHEDULER = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "function-retry-scheduler");
+            thread.setDaemon(true);
+            schedulerThread = thread;
+            return thread;
+        });
+
+        /**
+         * 当前线程是否为定时器线程
+         *
+         * @return true是
+         */
+        private static boolean isSchedulerThread() {
+            return Thread.currentThread() == schedulerThread;
+        }
+
+    }
+
+    /**
+     * 参数校验器，只有带Valid注解的Bean参数使用，延迟到第一次使用时初始化
+     */
+    private static class ValidatorHolder {
+
+        private final static Validator VALIDATOR = Validation.buildDefaultValidatorFactory().getValidator();
+
+    }
+
+    /**
+     * 函数方法参数转换器
+     */
+    @FunctionalInterface
+    private interface ParamConverter {
+
+        /**
+         * 从函数入参中取出并转换为方法参数
+         *
+         * @param paramValue 函数入参
+         * @return 方法参数
+         * @throws Exception 转换失败
+         */
+        Object convert(Map<String, Object> paramValue) throws Exception;
+
+    }
+
     /**
      * 函数方法参数解析
      */
@@ -175,26 +636,51 @@ public class FunctionExecutor {
          * @param paramValue 执行入参
          * @return 绑定后的参数列表
          */
-        @SneakyThrows
         private Object[] getBindArgs(Parameter[] parameters, Map<String, Object> paramValue) {
+            return this.bindArgs(this.getConverters(parameters), paramValue);
+        }
+
+        /**
+         * 使用参数转换器绑定参数
+         *
+         * @param converters 参数转换器
+         * @param paramValue 执行入参
+         * @return 绑定后的参数列表
+         */
+        @SneakyThrows
+        private Object[] bindArgs(ParamConverter[] converters, Map<String, Object> paramValue) {
+            Object[] args = new Object[converters.length];
+            for (int i = 0; i < converters.length; i++) {
+                args[i] = converters[i].convert(paramValue);
+            }
+            return args;
+        }
+
+        /**
+         * 解析方法参数列表的参数转换器
+         *
+         * @param parameters 方法参数列表
+         * @return 参数转换器
+         */
+        private ParamConverter[] getConverters(Parameter[] parameters) {
             if (ArrayUtil.isEmpty(parameters)) {
-                return new Object[]{};
+                return new ParamConverter[]{};
             }
-            Object[] args = new Object[parameters.length];
+            ParamConverter[] converters = new ParamConverter[parameters.length];
             for (int i = 0; i < parameters.length; i++) {
                 Parameter parameter = parameters[i];
                 Class<?> parameterType = parameter.getType();
                 if (Map.class.isAssignableFrom(parameterType)) {
-                    args[i] = this.paramConvertMap(parameter, paramValue);
+                    converters[i] = this.paramConvertMap(parameter);
                 } else if (BASIC_TYPE.contains(parameterType)) {
-                    args[i] = this.paramConvertBasicType(parameter, paramValue);
+                    converters[i] = this.paramConvertBasicType(parameter);
                 } else if (List.class.isAssignableFrom(parameterType) || Set.class.isAssignableFrom(parameterType)) {
-                    args[i] = this.paramConvertCollection(parameter, paramValue);
+                    converters[i] = this.paramConvertCollection(parameter);
                 } else {
-                    args[i] = this.paramConvertBean(parameter, paramValue);
+                    converters[i] = this.paramConvertBean(parameter);
                 }
             }
-            return args;
+            return converters;
         }
 
         /**
@@ -202,118 +688,148 @@ public class FunctionExecutor {
          * <p>
          * 效率最高
          *
-         * @param parameter  方法参数
-         * @param paramValue 参数值
+         * @param parameter 方法参数
          * @return Map
          */
-        private Map<String, Object> paramConvertMap(Parameter parameter, Map<String, Object> paramValue) {
+        private ParamConverter paramConvertMap(Parameter parameter) {
             Type parameterParameterizedType = parameter.getParameterizedType();
             if (parameterParameterizedType instanceof ParameterizedType) {
                 ParameterizedType parameterizedType = (ParameterizedType) parameterParameterizedType;
                 Type[] actualTypeArguments = parameterizedType.getActualTypeArguments();
                 if (!(actualTypeArguments[0].equals(String.class) && actualTypeArguments[1].equals(Object.class))) {
-                    throw new ValidException("仅支持范型为<String,Object>类型Map");
+                    return paramValue -> {
+                        throw new ValidException("仅支持范型为<String,Object>类型Map");
+                    };
                 }
             }
-            return paramValue;
+            return paramValue -> paramValue;
         }
 
         /**
          * 参数转换为基本类型
          *
-         * @param parameter  方法参数
-         * @param paramValue 参数值
+         * @param parameter 方法参数
          * @return 基本类型
          */
-        @SneakyThrows
-        private Object paramConvertBasicType(Parameter parameter, Map<String, Object> paramValue) {
+        private ParamConverter paramConvertBasicType(Parameter parameter) {
             Class<?> parameterType = parameter.getType();
-            // 参数值
-            Object value = paramValue.get(this.getParameterName(parameter));
-            // 校验，例如如果为空是否抛出异常
-            this.paramValid(parameter, value);
-            if (value == null) {
-                return null;
-            }
-            // 类型一致情况
-            if (parameterType.isAssignableFrom(value.getClass())) {
-                return value;
-            }
+            String name = this.getParameterName(parameter);
+            boolean required = this.isRequired(parameter);
             // 类型不一致情况尝试使用String构造下
-            Constructor<?> constructor = parameterType.getConstructor(String.class);
-            return constructor.newInstance(String.valueOf(value));
+            Constructor<?> stringConstructor = this.findConstructor(parameterType, String.class);
+            return paramValue -> {
+                // 参数值
+                Object value = paramValue.get(name);
+                // 校验，例如如果为空是否抛出异常
+                this.paramValid(name, required, value);
+                if (value == null) {
+                    return null;
+                }
+                // 类型一致情况
+                if (parameterType.isAssignableFrom(value.getClass())) {
+                    return value;
+                }
+                Constructor<?> constructor = stringConstructor != null ? stringConstructor : parameterType.getConstructor(String.class);
+                return constructor.newInstance(String.valueOf(value));
+            };
         }
 
 
         /**
          * 参数转换为集合
          *
-         * @param parameter  方法参数
-         * @param paramValue 参数值
+         * @param parameter 方法参数
          * @return 集合
          */
-        private Collection<?> paramConvertCollection(Parameter parameter, Map<String, Object> paramValue) {
+        private ParamConverter paramConvertCollection(Parameter parameter) {
             Class<?> parameterType = parameter.getType();
             Type parameterParameterizedType = parameter.getParameterizedType();
-            Collection<?> value = (Collection<?>) paramValue.get(this.getParameterName(parameter));
-            // 校验集合参数
-            this.paramValid(parameter, value);
-            // bug 修复，空集合参数导致空指针问题
-            if (value != null) {
+            String name = this.getParameterName(parameter);
+            boolean required = this.isRequired(parameter);
+            boolean isSet = Set.class.isAssignableFrom(parameterType);
+            java.util.function.Function<Object, Object> elementConverter = null;
+            if (parameterParameterizedType instanceof ParameterizedType) {
+                ParameterizedType parameterizedType = (ParameterizedType) parameterParameterizedType;
+                Type typeArgument = parameterizedType.getActualTypeArguments()[0];
+                // 判断方法集合类型
+                if (typeArgument.equals(BigDecimal.class)) {
+                    elementConverter = element -> new BigDecimal(String.valueOf(element));
+                } else if (typeArgument.equals(Integer.class)) {
+                    elementConverter = element -> Integer.valueOf(String.valueOf(element));
+                }
+            }
+            java.util.function.Function<Object, Object> finalElementConverter = elementConverter;
+            return paramValue -> {
+                Collection<?> value = (Collection<?>) paramValue.get(name);
+                // 校验集合参数
+                this.paramValid(name, required, value);
+                // bug 修复，空集合参数导致空指针问题
+                if (value == null) {
+                    return null;
+                }
                 Stream<?> stream = value.stream();
-                if (parameterParameterizedType instanceof ParameterizedType) {
-                    ParameterizedType parameterizedType = (ParameterizedType) parameterParameterizedType;
-                    Type typeArgument = parameterizedType.getActualTypeArguments()[0];
-                    // 判断方法集合类型
-                    if (typeArgument.equals(BigDecimal.class)) {
-                        stream = stream.map(String::valueOf).map(BigDecimal::new);
-                    } else if (typeArgument.equals(Integer.class)) {
-                        stream = stream.map(String::valueOf).map(Integer::valueOf);
-                    }
+                if (finalElementConverter != null) {
+                    stream = stream.map(finalElementConverter);
                 }
-                if (Set.class.isAssignableFrom(parameterType)) {
+                if (isSet) {
                     return stream.collect(Collectors.toSet());
                 } else {
                     return stream.collect(Collectors.toList());
                 }
-            }
-            return null;
+            };
         }
 
         /**
          * 参数转换为Bean
          *
-         * @param parameter  方法参数
-         * @param paramValue 参数值
+         * @param parameter 方法参数
          * @return Bean
          */
-        @SneakyThrows
-        private Object paramConvertBean(Parameter parameter, Map<String, Object> paramValue) {
+        private ParamConverter paramConvertBean(Parameter parameter) {
             Class<?> parameterType = parameter.getType();
-            Constructor<?> constructor = parameterType.getConstructor();
-            if (!Modifier.isPublic(constructor.getModifiers())) {
-                constructor.setAccessible(true);
+            Constructor<?> beanConstructor = this.findConstructor(parameterType);
+            if (beanConstructor != null && !Modifier.isPublic(beanConstructor.getModifiers())) {
+                beanConstructor.setAccessible(true);
             }
-            // 如果类型不匹配则可能引起问题 例如Bean中属性List<BigDecimal> list，但是传入的为字符串list=a,b,c
-            Object newInstance = constructor.newInstance();
-            BeanUtil.copyProperties(paramValue, newInstance);
             // 如果参数没有有Valid注解
-            if (!parameter.isAnnotationPresent(Valid.class)) {
-                return newInstance;
-            }
-            // 验证某个对象,，其实也可以只验证其中的某一个属性的
-            Set<ConstraintViolation<Object>> constraintViolations = VALIDATOR.validate(newInstance);
-            Iterator<ConstraintViolation<Object>> iter = constraintViolations.iterator();
-            if (iter.hasNext()) {
-                ConstraintViolation<Object> next = iter.next();
-                String messageTemplate = next.getMessageTemplate();
-                if (messageTemplate.startsWith(StrUtil.DELIM_START) && messageTemplate.endsWith(StrUtil.DELIM_END)) {
-                    throw new ValueException(next.getPropertyPath().toString() + " " + next.getMessage());
-                } else {
-                    throw new ValueException(next.getMessage());
+            boolean valid = parameter.isAnnotationPresent(Valid.class);
+            return paramValue -> {
+                Constructor<?> constructor = beanConstructor != null ? beanConstructor : parameterType.getConstructor();
+                // 如果类型不匹配则可能引起问题 例如Bean中属性List<BigDecimal> list，但是传入的为字符串list=a,b,c
+                Object newInstance = constructor.newInstance();
+                BeanUtil.copyProperties(paramValue, newInstance);
+                if (!valid) {
+                    return newInstance;
+                }
+                // 验证某个对象,，其实也可以只验证其中的某一个属性的
+                Set<ConstraintViolation<Object>> constraintViolations = ValidatorHolder.VALIDATOR.validate(newInstance);
+                Iterator<ConstraintViolation<Object>> iter = constraintViolations.iterator();
+                if (iter.hasNext()) {
+                    ConstraintViolation<Object> next = iter.next();
+                    String messageTemplate = next.getMessageTemplate();
+                    if (messageTemplate.startsWith(StrUtil.DELIM_START) && messageTemplate.endsWith(StrUtil.DELIM_END)) {
+                        throw new ValueException(next.getPropertyPath().toString() + " " + next.getMessage());
+                    } else {
+                        throw new ValueException(next.getMessage());
+                    }
                 }
+                return newInstance;
+            };
+        }
+
+        /**
+         * 查找构造方法，不存在时返回null，由执行时抛出异常
+         *
+         * @param type           类型
+         * @param parameterTypes 构造方法参数类型
+         * @return 构造方法
+         */
+        private Constructor<?> findConstructor(Class<?> type, Class<?>... parameterTypes) {
+            try {
+                return type.getConstructor(parameterTypes);
+            } catch (NoSuchMethodException e) {
+                return null;
             }
-            return newInstance;
         }
 
         /**
@@ -331,21 +847,26 @@ public class FunctionExecutor {
         }
 
         /**
-         * 校验普通参数
+         * 参数是否必填，存在Param注解并且required为true时必填
          *
          * @param parameter 参数信息
-         * @param value     参数值
+         * @return true必填
          */
-        private void paramValid(Parameter parameter, Object value) {
-            String name = getParameterName(parameter);
-            if (parameter.isAnnotationPresent(Param.class)) {
-                Param param = parameter.getAnnotation(Param.class);
-                if (!param.required()) {
-                    return;
-                }
-                if (Objects.isNull(value)) {
-                    throw new ValidException("{} can not be null", name);
-                }
+        private boolean isRequired(Parameter parameter) {
+            Param param = parameter.getAnnotation(Param.class);
+            return param != null && param.required();
+        }
+
+        /**
+         * 校验普通参数
+         *
+         * @param name     参数名称
+         * @param required 是否必填
+         * @param value    参数值
+         */
+        private void paramValid(String name, boolean required, Object value) {
+            if (required && Objects.isNull(value)) {
+                throw new ValidException("{} can not be null", name);
             }
         }
     }
@@ -76,11 +76,13 @@ public class GeneralRuleEngine extends Engine {
         ExecuteListener<GeneralRule> listener = this.getConfiguration().getGeneralRuleListener();
         listener.before(generalRule, input);
         try {
-            Object action = generalRule.execute(input, this.getConfiguration());
+            // 本次执行的上下文，同一个变量/函数只计算一次
+            ExecutionContext context = ExecutionContext.of(input);
+            Object action = generalRule.execute(context, this.getConfiguration());
             if (log.isDebugEnabled()) {
                 log.debug("规则执行完毕:{},{}", generalRule.getCode(), action);
             }
-            Output output = new DefaultOutput(action);
+            Output output = new DefaultOutput(action, context.getTrace());
             listener.after(generalRule, input, output);
             return output;
         } catch (Exception exception) {
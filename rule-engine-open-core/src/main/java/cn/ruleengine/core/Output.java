@@ -15,7 +15,7 @@
  */
 package cn.ruleengine.core;
 
-
+import cn.ruleengine.core.trace.ExecutionTrace;
 
 /**
  * 〈一句话功能简述〉<br>
@@ -41,4 +41,13 @@ public interface Output {
      */
     Class<?> getClassType();
 
+    /**
+     * 规则执行的跟踪记录，通过{@link ExecutionContext#enableTrace()}开启
+     *
+     * @return 没有开启跟踪时为null
+     */
+    default ExecutionTrace getTrace() {
+        return null;
+    }
+
 }
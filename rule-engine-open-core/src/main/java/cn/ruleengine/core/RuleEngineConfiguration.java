@@ -19,12 +19,16 @@ import cn.ruleengine.core.cache.DefaultFunctionCache;
 import cn.ruleengine.core.cache.FunctionCache;
 import cn.ruleengine.core.listener.DefaultExecuteListener;
 import cn.ruleengine.core.listener.ExecuteListener;
+import cn.ruleengine.core.metrics.MetricsRecorder;
+import cn.ruleengine.core.metrics.NoopMetricsRecorder;
 import cn.ruleengine.core.rule.GeneralRule;
+import lombok.AccessLevel;
 import lombok.Getter;
 import org.springframework.lang.NonNull;
 
 import java.io.Closeable;
 import java.util.Objects;
+import java.util.concurrent.Executor;
 
 
 /**
@@ -54,6 +58,26 @@ public class RuleEngineConfiguration extends Container implements Closeable {
      */
     private EngineVariable engineVariable = new EngineVariable();
 
+    /**
+     * 规则/条件/函数执行指标记录，默认不记录
+     */
+    private MetricsRecorder metricsRecorder = new NoopMetricsRecorder();
+
+    /**
+     * 是否并行调用同一条件组中可以并行的函数，见{@link cn.ruleengine.core.annotation.Function#parallel()}
+     */
+    private boolean parallelFunction = true;
+
+    /**
+     * 异步执行函数的线程池，为null时使用默认线程池
+     */
+    @Getter(AccessLevel.NONE)
+    private Executor functionAsyncExecutor;
+
+    public RuleEngineConfiguration() {
+        this.getGeneralRuleContainer().setEngineVariable(this.engineVariable);
+    }
+
     /**
      * 设置普通规则执行监听器
      *
@@ -82,6 +106,49 @@ public class RuleEngineConfiguration extends Container implements Closeable {
     public void setEngineVariable(@NonNull EngineVariable engineVariable) {
         Objects.requireNonNull(engineVariable);
         this.engineVariable = engineVariable;
+        this.getGeneralRuleContainer().setEngineVariable(engineVariable);
+    }
+
+    /**
+     * 设置规则/条件/函数执行指标记录
+     *
+     * @param metricsRecorder 指标记录
+     */
+    public void setMetricsRecorder(@NonNull MetricsRecorder metricsRecorder) {
+        Objects.requireNonNull(metricsRecorder);
+        this.metricsRecorder = metricsRecorder;
+    }
+
+    /**
+     * 设置是否并行调用同一条件组中可以并行的函数
+     *
+     * @param parallelFunction true并行调用
+     */
+    public void setParallelFunction(boolean parallelFunction) {
+        this.parallelFunction = parallelFunction;
+    }
+
+    /**
+     * 设置异步执行函数的线程池
+     *
+     * @param functionAsyncExecutor 线程池
+     */
+    public void setFunctionAsyncExecutor(@NonNull Executor functionAsyncExecutor) {
+        Objects.requireNonNull(functionAsyncExecutor);
+        this.functionAsyncExecutor = functionAsyncExecutor;
+    }
+
+    /**
+     * 获取异步执行函数的线程池
+     *
+     * @return 线程池，没有设置时返回默认线程池
+     */
+    public Executor getFunctionAsyncExecutor() {
+        Executor functionAsyncExecutor = this.functionAsyncExecutor;
+        if (functionAsyncExecutor == null) {
+            return FunctionExecutor.getInstance().getDefaultAsyncExecutor();
+        }
+        return functionAsyncExecutor;
     }
 
     @Override
@@ -25,6 +25,8 @@ import java.lang.annotation.Target;
  * 〈一句话功能简述〉<br>
  * 〈〉
  * 标记为函数主方法
+ * <p>
+ * 函数主方法可以返回{@link java.util.concurrent.CompletionStage}，此时函数在返回的结果完成时才算执行完成，失败策略方法也需要返回相同类型
  *
  * @author dingqianwen
  * @date 2020/7/19
@@ -44,7 +46,7 @@ public @interface Executor {
     int maxAttempts() default 0;
 
     /**
-     * 重试时间间隔，毫秒
+     * 重试时间间隔，毫秒，异步执行时通过定时任务重试，不占用执行线程
      *
      * @return long
      */
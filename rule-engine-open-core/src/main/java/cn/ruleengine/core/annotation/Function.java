@@ -58,4 +58,30 @@ public @interface Function {
      */
     String description() default "";
 
+    /**
+     * 相同参数时函数返回值是否一定相同，例如获取UUID、随机值的函数不是
+     * <p>
+     * 为true时一次规则执行中参数相同的函数只执行一次
+     *
+     * @return 默认true
+     */
+    boolean deterministic() default true;
+
+    /**
+     * 是否为远程调用的函数，例如调用http接口，规则编译后优先执行其他条件
+     *
+     * @return 默认false
+     */
+    boolean remote() default false;
+
+    /**
+     * 是否可以提前并行调用，只有没有副作用的函数可以设置为true，例如查询类的远程接口，发送邮件/短信的函数不可以
+     * <p>
+     * 同一条件组中存在多个可以并行调用的函数时，执行到第一个函数所在的条件时同时发起全部调用，
+     * 耗时由各函数耗时之和降低为最慢的一个
+     *
+     * @return 默认false
+     */
+    boolean parallel() default false;
+
 }
@@ -15,8 +15,8 @@
  */
 package cn.ruleengine.core.annotation;
 
-import cn.ruleengine.core.cache.DefaultKeyGenerator;
 import cn.ruleengine.core.cache.KeyGenerator;
+import cn.ruleengine.core.cache.StructuredKeyGenerator;
 
 import java.lang.annotation.ElementType;
 import java.lang.annotation.Retention;
@@ -54,6 +54,6 @@ public @interface FunctionCacheable {
      *
      * @return class
      */
-    Class<? extends KeyGenerator> keyGenerator() default DefaultKeyGenerator.class;
+    Class<? extends KeyGenerator> keyGenerator() default StructuredKeyGenerator.class;
 
 }
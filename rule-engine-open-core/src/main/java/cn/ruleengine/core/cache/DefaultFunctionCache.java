@@ -18,6 +18,8 @@ package cn.ruleengine.core.cache;
 import cn.hutool.cache.CacheUtil;
 import cn.hutool.cache.impl.LRUCache;
 
+import java.util.concurrent.atomic.LongAdder;
+
 /**
  * 〈一句话功能简述〉<br>
  * 〈基于内存的缓存实现类〉
@@ -31,7 +33,11 @@ public class DefaultFunctionCache implements FunctionCache {
     /**
      * 默认使用LRUCache 存储函数缓存信息
      */
-    private final LRUCache<String, Object> cache;
+    private final LRUCache<Object, Object> cache;
+
+    private final LongAdder hitCount = new LongAdder();
+
+    private final LongAdder missCount = new LongAdder();
 
     public DefaultFunctionCache(int capacity) {
         cache = CacheUtil.newLRUCache(capacity);
@@ -42,13 +48,24 @@ public class DefaultFunctionCache implements FunctionCache {
     }
 
     @Override
-    public void put(String key, Object value, long timeout) {
+    public void put(Object key, Object value, long timeout) {
         this.cache.put(key, value, timeout);
     }
 
     @Override
-    public Object get(String key) {
-        return this.cache.get(key);
+    public Object get(Object key) {
+        Object value = this.cache.get(key);
+        if (value != null) {
+            this.hitCount.increment();
+        } else {
+            this.missCount.increment();
+        }
+        return value;
+    }
+
+    @Override
+    public FunctionCacheStats stats() {
+        return new FunctionCacheStats(this.hitCount.sum(), this.missCount.sum(), 0, 0, 0, 0, this.cache.size(), 0);
     }
 
     @Override
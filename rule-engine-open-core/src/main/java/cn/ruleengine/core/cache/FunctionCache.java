@@ -15,6 +15,8 @@
  */
 package cn.ruleengine.core.cache;
 
+import java.util.function.Supplier;
+
 /**
  * 〈一句话功能简述〉<br>
  * 〈〉
@@ -35,7 +37,7 @@ public interface FunctionCache {
      * @param value   缓存的value
      * @param timeout 缓存的有效时间
      */
-    void put(String key, Object value, long timeout);
+    void put(Object key, Object value, long timeout);
 
     /**
      * 获取函数缓存的方法
@@ -43,7 +45,33 @@ public interface FunctionCache {
      * @param key 缓存的key
      * @return 缓存的value
      */
-    Object get(String key);
+    Object get(Object key);
+
+    /**
+     * 获取函数缓存，不存在时执行函数并放入缓存
+     *
+     * @param key     缓存的key
+     * @param timeout 缓存的有效时间
+     * @param loader  执行函数
+     * @return 缓存的value
+     */
+    default Object get(Object key, long timeout, Supplier<Object> loader) {
+        Object value = this.get(key);
+        if (value == null) {
+            value = loader.get();
+            this.put(key, value, timeout);
+        }
+        return value;
+    }
+
+    /**
+     * 缓存统计信息
+     *
+     * @return 统计信息
+     */
+    default FunctionCacheStats stats() {
+        return FunctionCacheStats.EMPTY;
+    }
 
     /**
      * 清除所有缓存信息
@@ -0,0 +1,82 @@
+/*
+ * Copyright (c) 2020 dingqianwen (761945125@qq.com)
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cn.ruleengine.core.cache;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * 〈一句话功能简述〉<br>
+ * 〈结构化的函数缓存key〉
+ * <p>
+ * 由函数、排序后的参数名以及对应的参数值组成，hash在创建时计算
+ *
+ * @author dingqianwen
+ * @date 2026/10/18
+ * @since 1.0.0
+ */
+public final class FunctionCacheKey {
+
+    private final Object function;
+
+    private final String[] names;
+
+    private final Object[] values;
+
+    private final int hashCode;
+
+    public FunctionCacheKey(Object function, String[] names, Object[] values) {
+        this.function = Objects.requireNonNull(function);
+        this.names = Objects.requireNonNull(names);
+        this.values = Objects.requireNonNull(values);
+        this.hashCode = 31 * function.hashCode() + Arrays.hashCode(values);
+    }
+
+    Object[] getValues() {
+        return this.values;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (this == other) {
+            return true;
+        }
+        if (!(other instanceof FunctionCacheKey)) {
+            return false;
+        }
+        FunctionCacheKey key = (FunctionCacheKey) other;
+        return this.hashCode == key.hashCode && this.function.equals(key.function)
+                && Arrays.equals(this.names, key.names) && Arrays.equals(this.values, key.values);
+    }
+
+    @Override
+    public int hashCode() {
+        return this.hashCode;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder().append(this.function).append('[');
+        for (int i = 0; i < this.names.length; i++) {
+            if (i > 0) {
+                builder.append(", ");
+            }
+            builder.append(this.names[i]).append('=').append(this.values[i]);
+        }
+        return builder.append(']').toString();
+    }
+
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright (c) 2020 dingqianwen (761945125@qq.com)
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cn.ruleengine.core.cache;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * 〈一句话功能简述〉<br>
+ * 〈函数缓存统计信息〉
+ *
+ * @author dingqianwen
+ * @date 2026/10/18
+ * @since 1.0.0
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class FunctionCacheStats {
+
+    /**
+     * 不支持统计的缓存实现
+     */
+    public static final FunctionCacheStats EMPTY = new FunctionCacheStats(0, 0, 0, 0, 0, 0, 0, 0);
+
+    private final long hitCount;
+
+    private final long missCount;
+
+    /**
+     * 容量不足被淘汰的数量
+     */
+    private final long evictionCount;
+
+    /**
+     * 过期被移除的数量
+     */
+    private final long expirationCount;
+
+    /**
+     * 提前异步刷新成功的数量
+     */
+    private final long refreshCount;
+
+    /**
+     * 异步刷新失败的数量
+     */
+    private final long refreshFailureCount;
+
+    /**
+     * 当前缓存条数
+     */
+    private final long size;
+
+    /**
+     * 当前缓存估算占用的字节数
+     */
+    private final long weight;
+
+    /**
+     * 命中率
+     *
+     * @return 没有请求时为1
+     */
+    public double getHitRate() {
+        long requestCount = this.hitCount + this.missCount;
+        return requestCount == 0 ? 1.0 : (double) this.hitCount / requestCount;
+    }
+
+}
@@ -32,8 +32,8 @@ public interface KeyGenerator {
      *
      * @param target 执行的函数对象
      * @param params 执行函数入参
-     * @return 生成的key
+     * @return 生成的key，需要正确实现equals以及hashCode
      */
-    String generate(Object target, Map<String, Object> params);
+    Object generate(Object target, Map<String, Object> params);
 
 }
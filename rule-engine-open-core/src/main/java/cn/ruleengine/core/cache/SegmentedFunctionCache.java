@@ -0,0 +1,449 @@
+/*
+ * Copyright (c) 2020 dingqianwen (761945125@qq.com)
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cn.ruleengine.core.cache;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * 〈一句话功能简述〉<br>
+ * 〈分段锁的SLRU函数缓存〉
+ * <p>
+ * 缓存按key的hash分为多个段，每个段一把锁，不同段之间读写互不影响。
+ * 每个段内为SLRU：新加入的缓存先放入试用区，再次命中后晋升到保护区，淘汰时优先淘汰试用区，
+ * 只访问一次的数据不会把热点数据挤出缓存。
+ * <p>
+ * 容量按估算的字节数限制，每条缓存使用函数{@link cn.ruleengine.core.annotation.FunctionCacheable#liveOutTime()}作为有效期，
+ * 超过有效期的80%后再次命中时返回旧值，并异步刷新缓存。
+ *
+ * @author dingqianwen
+ * @date 2026/10/18
+ * @since 1.0.0
+ */
+@Slf4j
+public class SegmentedFunctionCache implements FunctionCache {
+
+    /**
+     * 默认分段数量
+     */
+    private static final int DEFAULT_CONCURRENCY_LEVEL = 16;
+
+    /**
+     * 保护区占段容量的比例
+     */
+    private static final double PROTECTED_RATIO = 0.8;
+
+    /**
+     * 超过有效期的此比例后，命中时异步刷新
+     */
+    private static final double REFRESH_RATIO = 0.8;
+
+    private final Segment[] segments;
+
+    private final int segmentMask;
+
+    private final Executor refreshExecutor;
+
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+    private final LongAdder evictionCount = new LongAdder();
+    private final LongAdder expirationCount = new LongAdder();
+    private final LongAdder refreshCount = new LongAdder();
+    private final LongAdder refreshFailureCount = new LongAdder();
+
+    /**
+     * @param maximumWeight 缓存最多占用的字节数(估算)
+     */
+    public SegmentedFunctionCache(long maximumWeight) {
+        this(maximumWeight, DEFAULT_CONCURRENCY_LEVEL, newRefreshExecutor());
+    }
+
+    /**
+     * @param maximumWeight    缓存最多占用的字节数(估算)
+     * @param concurrencyLevel 分段数量，会调整为2的幂
+     * @param refreshExecutor  异步刷新缓存的线程池
+     */
+    public SegmentedFunctionCache(long maximumWeight, int concurrencyLevel, Executor refreshExecutor) {
+        if (maximumWeight <= 0) {
+            throw new IllegalArgumentException("maximumWeight must be positive");
+        }
+        int segmentCount = 1;
+        while (segmentCount < concurrencyLevel) {
+            segmentCount <<= 1;
+        }
+        this.segments = new Segment[segmentCount];
+        for (int i = 0; i < segmentCount; i++) {
+            this.segments[i] = new Segment(Math.max(1, maximumWeight / segmentCount));
+        }
+        this.segmentMask = segmentCount - 1;
+        this.refreshExecutor = refreshExecutor;
+    }
+
+    @Override
+    public Object get(Object key) {
+        Segment segment = this.segmentFor(key);
+        Object value;
+        synchronized (segment) {
+            Node node = this.getNode(segment, key, System.nanoTime());
+            value = node == null ? null : node.value;
+        }
+        this.record(value != null);
+        return value;
+    }
+
+    @Override
+    public Object get(Object key, long timeout, Supplier<Object> loader) {
+        Segment segment = this.segmentFor(key);
+        Node refreshNode = null;
+        Object value;
+        synchronized (segment) {
+            long now = System.nanoTime();
+            Node node = this.getNode(segment, key, now);
+            if (node == null) {
+                value = null;
+            } else {
+                value = node.value;
+                if (!node.refreshing && node.refreshAt - now <= 0) {
+                    node.refreshing = true;
+                    refreshNode = node;
+                }
+            }
+        }
+        this.record(value != null);
+        if (value != null) {
+            if (refreshNode != null) {
+                this.refresh(segment, refreshNode, timeout, loader);
+            }
+            return value;
+        }
+        value = loader.get();
+        this.put(key, value, timeout);
+        return value;
+    }
+
+    @Override
+    public void clear() {
+        for (Segment segment : this.segments) {
+            synchronized (segment) {
+                segment.clear();
+            }
+        }
+    }
+
+    @Override
+    public FunctionCacheStats stats() {
+        long size = 0;
+        long weight = 0;
+        for (Segment segment : this.segments) {
+            synchronized (segment) {
+                size += segment.map.size();
+                weight += segment.weight;
+            }
+        }
+        return new FunctionCacheStats(this.hitCount.sum(), this.missCount.sum(), this.evictionCount.sum(), this.expirationCount.sum(),
+                this.refreshCount.sum(), this.refreshFailureCount.sum(), size, weight);
+    }
+
+    @Override
+    public void put(Object key, Object value, long timeout) {
+        // 函数返回null时不缓存，与未命中无法区分
+        if (value == null) {
+            return;
+        }
+        Segment segment = this.segmentFor(key);
+        long weight = weigh(key) + weigh(value);
+        if (weight > segment.maximumWeight) {
+            return;
+        }
+        long now = System.nanoTime();
+        Node node = new Node(key, value, weight);
+        if (timeout > 0) {
+            long ttl = TimeUnit.MILLISECONDS.toNanos(timeout);
+            node.expireAt = now + ttl;
+            node.refreshAt = now + (long) (ttl * REFRESH_RATIO);
+        } else {
+            node.expireAt = now + Long.MAX_VALUE;
+            node.refreshAt = node.expireAt;
+        }
+        synchronized (segment) {
+            Node old = segment.map.put(key, node);
+            if (old != null) {
+                segment.unlink(old);
+            }
+            segment.linkProbation(node);
+            while (segment.weight > segment.maximumWeight) {
+                Node victim = segment.victim();
+                segment.map.remove(victim.key);
+                segment.unlink(victim);
+                this.evictionCount.increment();
+            }
+        }
+    }
+
+    /**
+     * 在持有段锁时获取缓存节点，过期时移除
+     */
+    private Node getNode(Segment segment, Object key, long now) {
+        Node node = segment.map.get(key);
+        if (node == null) {
+            return null;
+        }
+        if (node.expireAt - now <= 0) {
+            segment.map.remove(key);
+            segment.unlink(node);
+            this.expirationCount.increment();
+            return null;
+        }
+        segment.onHit(node);
+        return node;
+    }
+
+    /**
+     * 异步刷新缓存，刷新期间仍然返回旧值
+     */
+    private void refresh(Segment segment, Node node, long timeout, Supplier<Object> loader) {
+        try {
+            this.refreshExecutor.execute(() -> {
+                try {
+                    this.put(node.key, loader.get(), timeout);
+                    this.refreshCount.increment();
+                } catch (Throwable e) {
+                    this.refreshFailureCount.increment();
+                    log.warn("函数缓存刷新失败", e);
+                } finally {
+                    synchronized (segment) {
+                        node.refreshing = false;
+                    }
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            synchronized (segment) {
+                node.refreshing = false;
+            }
+        }
+    }
+
+    private void record(boolean hit) {
+        if (hit) {
+            this.hitCount.increment();
+        } else {
+            this.missCount.increment();
+        }
+    }
+
+    private Segment segmentFor(Object key) {
+        int hash = key.hashCode();
+        hash ^= hash >>> 16;
+        return this.segments[hash & this.segmentMask];
+    }
+
+    /**
+     * 估算对象占用的字节数，只需要大致准确
+     *
+     * @param value 对象
+     * @return 字节数
+     */
+    static long weigh(Object value) {
+        if (value == null) {
+            return 0;
+        }
+        if (value instanceof String) {
+            return 40 + 2L * ((String) value).length();
+        }
+        if (value instanceof BigDecimal) {
+            return 40 + ((BigDecimal) value).unscaledValue().bitLength() / 8;
+        }
+        if (value instanceof Number || value instanceof Boolean || value instanceof Character) {
+            return 16;
+        }
+        if (value instanceof Date) {
+            return 24;
+        }
+        if (value instanceof FunctionCacheKey) {
+            long weight = 32;
+            for (Object element : ((FunctionCacheKey) value).getValues()) {
+                weight += 8 + weigh(element);
+            }
+            return weight;
+        }
+        if (value instanceof Collection) {
+            long weight = 40;
+            for (Object element : (Collection<?>) value) {
+                weight += 8 + weigh(element);
+            }
+            return weight;
+        }
+        if (value instanceof Map) {
+            long weight = 48;
+            for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+                weight += 32 + weigh(entry.getKey()) + weigh(entry.getValue());
+            }
+            return weight;
+        }
+        return 64;
+    }
+
+    private static Executor newRefreshExecutor() {
+        AtomicInteger threadNumber = new AtomicInteger();
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(2, 2, 60, TimeUnit.SECONDS, new LinkedBlockingQueue<>(1024), r -> {
+            Thread thread = new Thread(r, "function-cache-refresh-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }, new ThreadPoolExecutor.AbortPolicy());
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    private static final class Node {
+
+        final Object key;
+
+        final Object value;
+
+        final long weight;
+
+        long expireAt;
+
+        long refreshAt;
+
+        boolean refreshing;
+
+        boolean protectedQueue;
+
+        Node prev;
+
+        Node next;
+
+        Node(Object key, Object value, long weight) {
+            this.key = key;
+            this.value = value;
+            this.weight = weight;
+        }
+
+    }
+
+    private static final class Segment {
+
+        final Map<Object, Node> map = new HashMap<>();
+
+        /**
+         * 试用区，环形链表，head.next为最近使用
+         */
+        final Node probation = newHead();
+
+        /**
+         * 保护区，环形链表，head.next为最近使用
+         */
+        final Node protectedHead = newHead();
+
+        final long maximumWeight;
+
+        final long maximumProtectedWeight;
+
+        long weight;
+
+        long protectedWeight;
+
+        Segment(long maximumWeight) {
+            this.maximumWeight = maximumWeight;
+            this.maximumProtectedWeight = (long) (maximumWeight * PROTECTED_RATIO);
+        }
+
+        void linkProbation(Node node) {
+            node.protectedQueue = false;
+            linkFirst(this.probation, node);
+            this.weight += node.weight;
+        }
+
+        void unlink(Node node) {
+            node.prev.next = node.next;
+            node.next.prev = node.prev;
+            node.prev = node.next = null;
+            this.weight -= node.weight;
+            if (node.protectedQueue) {
+                this.protectedWeight -= node.weight;
+            }
+        }
+
+        /**
+         * 命中时，试用区晋升到保护区，保护区超出容量时最久未使用的降级到试用区
+         */
+        void onHit(Node node) {
+            if (node.protectedQueue) {
+                moveFirst(this.protectedHead, node);
+                return;
+            }
+            this.unlink(node);
+            node.protectedQueue = true;
+            linkFirst(this.protectedHead, node);
+            this.weight += node.weight;
+            this.protectedWeight += node.weight;
+            while (this.protectedWeight > this.maximumProtectedWeight && this.protectedHead.prev != node) {
+                Node demote = this.protectedHead.prev;
+                this.unlink(demote);
+                this.linkProbation(demote);
+            }
+        }
+
+        /**
+         * 淘汰的节点，优先淘汰试用区最久未使用的
+         */
+        Node victim() {
+            if (this.probation.prev != this.probation) {
+                return this.probation.prev;
+            }
+            return this.protectedHead.prev;
+        }
+
+        void clear() {
+            this.map.clear();
+            this.probation.prev = this.probation.next = this.probation;
+            this.protectedHead.prev = this.protectedHead.next = this.protectedHead;
+            this.weight = 0;
+            this.protectedWeight = 0;
+        }
+
+        static Node newHead() {
+            Node head = new Node(null, null, 0);
+            head.prev = head.next = head;
+            return head;
+        }
+
+        static void linkFirst(Node head, Node node) {
+            node.prev = head;
+            node.next = head.next;
+            head.next.prev = node;
+            head.next = node;
+        }
+
+        static void moveFirst(Node head, Node node) {
+            node.prev.next = node.next;
+            node.next.prev = node.prev;
+            linkFirst(head, node);
+        }
+
+    }
+
+}
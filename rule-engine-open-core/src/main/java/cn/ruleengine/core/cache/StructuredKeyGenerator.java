@@ -0,0 +1,96 @@
+/*
+ * Copyright (c) 2020 dingqianwen (761945125@qq.com)
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cn.ruleengine.core.cache;
+
+import cn.ruleengine.core.condition.compare.DateCompare;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 〈一句话功能简述〉<br>
+ * 〈结构化缓存key生成策略〉
+ * <p>
+ * 不再拼接字符串，key为函数类型加上按参数名排序后的参数值。
+ * 只合并函数无法区分的写法：Integer/Short/Byte转为Long，集合复制一份；
+ * BigDecimal保留精度(1.0与1.00不同)，Double与BigDecimal不同，日期保留类型以及格式，
+ * 避免对精度或者格式敏感的函数命中其他参数的缓存
+ *
+ * @author dingqianwen
+ * @date 2026/10/18
+ * @since 1.0.0
+ */
+public class StructuredKeyGenerator implements KeyGenerator {
+
+    /**
+     * 函数参数名排序后的结果，每个函数只排序一次
+     */
+    private final Map<Class<?>, String[]> paramNames = new ConcurrentHashMap<>();
+
+    /**
+     * 缓存key生成策略
+     *
+     * @param target 执行的函数对象
+     * @param params 执行函数入参
+     * @return 生成的key
+     */
+    @Override
+    public FunctionCacheKey generate(Object target, Map<String, Object> params) {
+        Class<?> functionClass = target.getClass();
+        String[] names = this.paramNames.get(functionClass);
+        if (names == null || names.length != params.size() || !params.keySet().containsAll(Arrays.asList(names))) {
+            names = params.keySet().toArray(new String[0]);
+            Arrays.sort(names);
+            this.paramNames.put(functionClass, names);
+        }
+        Object[] values = new Object[names.length];
+        for (int i = 0; i < names.length; i++) {
+            values[i] = normalize(params.get(names[i]));
+        }
+        return new FunctionCacheKey(functionClass, names, values);
+    }
+
+    /**
+     * 统一参数值格式
+     *
+     * @param value 参数值
+     * @return 格式化后的参数值
+     */
+    static Object normalize(Object value) {
+        if (value instanceof Integer || value instanceof Short || value instanceof Byte) {
+            return ((Number) value).longValue();
+        }
+        if (value instanceof DateCompare.DateTime) {
+            // 格式不同时toString结果不同
+            DateCompare.DateTime dateTime = (DateCompare.DateTime) value;
+            return Arrays.asList(DateCompare.DateTime.class, dateTime.getTime(), dateTime.getPattern());
+        }
+        if (value instanceof Date) {
+            // Date的equals只比较时间戳，保留具体类型
+            return Arrays.asList(value.getClass(), value);
+        }
+        if (value instanceof Collection) {
+            Collection<?> collection = (Collection<?>) value;
+            List<Object> list = new ArrayList<>(collection.size());
+            for (Object element : collection) {
+                list.add(normalize(element));
+            }
+            return list;
+        }
+        return value;
+    }
+
+}
@@ -0,0 +1,559 @@
+/*
+ * Copyright (c) 2020 dingqianwen (761945125@qq.com)
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cn.ruleengine.core.codec;
+
+import cn.ruleengine.core.JsonParse;
+import cn.ruleengine.core.condition.Condition;
+import cn.ruleengine.core.condition.ConditionGroup;
+import cn.ruleengine.core.condition.ConditionSet;
+import cn.ruleengine.core.condition.Operator;
+import cn.ruleengine.core.condition.compare.DateCompare;
+import cn.ruleengine.core.exception.EngineException;
+import cn.ruleengine.core.rule.GeneralRule;
+import cn.ruleengine.core.rule.Rule;
+import cn.ruleengine.core.value.*;
+import lombok.SneakyThrows;
+import org.springframework.lang.NonNull;
+
+import java.io.*;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+/**
+ * 〈一句话功能简述〉<br>
+ * 〈规则二进制快照编解码〉
+ * <p>
+ * 与json格式相比不再携带类名，字符串在一个快照内只写一次，后续出现时只写序号。
+ * <p>
+ * 格式：魔数(2字节) + 版本号(1字节) + 规则内容，整数使用变长编码，
+ * 读取时版本号不一致直接失败，由调用方回退到json格式。
+ *
+ * @author dingqianwen
+ * @date 2026/10/18
+ * @since 1.0.0
+ */
+public final class RuleSnapshotCodec {
+
+    /**
+     * 魔数 RE
+     */
+    private static final int MAGIC = 0x5245;
+
+    /**
+     * 当前格式版本号，格式变更时需要升级
+     */
+    public static final int VERSION = 1;
+
+    private static final int NULL = 0;
+    private static final int CONSTANT = 1;
+    private static final int INPUT_PARAMETER = 2;
+    private static final int VARIABLE = 3;
+    private static final int FORMULA = 4;
+    private static final int EXECUTOR = 5;
+    private static final int FUNCTION = 6;
+    /**
+     * 不支持的值类型使用json保存
+     */
+    private static final int JSON = 15;
+
+    private RuleSnapshotCodec() {
+    }
+
+    /**
+     * 是否为二进制快照
+     *
+     * @param bytes 数据
+     * @return true是
+     */
+    public static boolean isSnapshot(byte[] bytes) {
+        return bytes != null && bytes.length > 2 && ((bytes[0] & 0xFF) << 8 | (bytes[1] & 0xFF)) == MAGIC;
+    }
+
+    /**
+     * 规则转为二进制快照
+     *
+     * @param generalRule 规则
+     * @return 二进制快照
+     */
+    @SneakyThrows
+    public static byte[] encode(@NonNull GeneralRule generalRule) {
+        Objects.requireNonNull(generalRule);
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream(256);
+        SnapshotWriter writer = new SnapshotWriter(new DataOutputStream(outputStream));
+        writer.out.writeShort(MAGIC);
+        writer.out.writeByte(VERSION);
+        writer.writeGeneralRule(generalRule);
+        writer.out.flush();
+        return outputStream.toByteArray();
+    }
+
+    /**
+     * 变量值转为二进制快照，函数只保存执行器的类名，读取时由调用方找到对应的执行器实例
+     *
+     * @param value 变量值
+     * @return 二进制快照
+     */
+    @SneakyThrows
+    public static byte[] encodeValue(@NonNull Value value) {
+        Objects.requireNonNull(value);
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream(64);
+        SnapshotWriter writer = new SnapshotWriter(new DataOutputStream(outputStream));
+        writer.out.writeShort(MAGIC);
+        writer.out.writeByte(VERSION);
+        writer.writeValue(value);
+        writer.out.flush();
+        return outputStream.toByteArray();
+    }
+
+    /**
+     * 二进制快照转为变量值
+     *
+     * @param bytes            二进制快照
+     * @param functionResolver 根据类名获取函数执行器实例
+     * @return 变量值
+     */
+    @SneakyThrows
+    public static Value decodeValue(@NonNull byte[] bytes, @NonNull FunctionResolver functionResolver) {
+        Objects.requireNonNull(functionResolver);
+        SnapshotReader reader = newReader(bytes);
+        reader.functionResolver = functionResolver;
+        return reader.readValue();
+    }
+
+    /**
+     * 二进制快照转为规则
+     *
+     * @param bytes 二进制快照
+     * @return 规则
+     */
+    @SneakyThrows
+    public static GeneralRule decode(@NonNull byte[] bytes) {
+        return newReader(bytes).readGeneralRule();
+    }
+
+    private static SnapshotReader newReader(byte[] bytes) throws IOException {
+        if (!isSnapshot(bytes)) {
+            throw new EngineException("Not a rule snapshot");
+        }
+        SnapshotReader reader = new SnapshotReader(new DataInputStream(new ByteArrayInputStream(bytes)));
+        reader.in.readShort();
+        int version = reader.in.readUnsignedByte();
+        if (version != VERSION) {
+            throw new EngineException("Unsupported rule snapshot version:{}", version);
+        }
+        return reader;
+    }
+
+    /**
+     * 根据类名获取函数执行器实例
+     */
+    @FunctionalInterface
+    public interface FunctionResolver {
+
+        /**
+         * 获取函数执行器实例
+         *
+         * @param className 执行器类名
+         * @return 执行器实例，不存在时返回null
+         */
+        Object resolve(String className);
+
+    }
+
+    private static class SnapshotWriter {
+
+        private final DataOutputStream out;
+
+        private final Map<String, Integer> strings = new HashMap<>();
+
+        SnapshotWriter(DataOutputStream out) {
+            this.out = out;
+        }
+
+        void writeGeneralRule(GeneralRule generalRule) throws IOException {
+            this.writeInteger(generalRule.getId());
+            this.writeString(generalRule.getCode());
+            this.writeString(generalRule.getName());
+            this.writeString(generalRule.getDescription());
+            this.writeInteger(generalRule.getWorkspaceId());
+            this.writeString(generalRule.getWorkspaceCode());
+            this.writeString(generalRule.getVersion());
+            this.writeRule(generalRule.getRule());
+            this.writeValue(generalRule.getDefaultActionValue());
+        }
+
+        void writeRule(Rule rule) throws IOException {
+            this.writeInteger(rule.getId());
+            this.writeString(rule.getCode());
+            this.writeString(rule.getName());
+            this.writeString(rule.getDescription());
+            List<ConditionGroup> conditionGroups = rule.getConditionSet().getConditionGroups();
+            this.writeVarInt(conditionGroups.size());
+            for (ConditionGroup conditionGroup : conditionGroups) {
+                this.writeInteger(conditionGroup.getId());
+                this.writeString(conditionGroup.getName());
+                this.writeInteger(conditionGroup.getOrderNo());
+                List<Condition> conditions = conditionGroup.getConditions();
+                this.writeVarInt(conditions.size());
+                for (Condition condition : conditions) {
+                    this.writeInteger(condition.getId());
+                    this.writeString(condition.getName());
+                    this.writeInteger(condition.getOrderNo());
+                    this.writeValue(condition.getLeftValue());
+                    this.writeString(condition.getOperator() == null ? null : condition.getOperator().name());
+                    this.writeValue(condition.getRightValue());
+                }
+            }
+            this.writeValue(rule.getActionValue());
+        }
+
+        void writeValue(Value value) throws IOException {
+            if (value == null) {
+                this.out.writeByte(NULL);
+            } else if (value.getClass() == Constant.class) {
+                this.out.writeByte(CONSTANT);
+                this.writeConstant((Constant) value);
+            } else if (value.getClass() == InputParameter.class) {
+                InputParameter inputParameter = (InputParameter) value;
+                this.out.writeByte(INPUT_PARAMETER);
+                this.writeInteger(inputParameter.getInputParameterId());
+                this.writeString(inputParameter.getInputParameterCode());
+                this.writeValueType(inputParameter.getValueType());
+            } else if (value.getClass() == Variable.class) {
+                Variable variable = (Variable) value;
+                this.out.writeByte(VARIABLE);
+                this.writeInteger(variable.getVariableId());
+                this.writeValueType(variable.getValueType());
+            } else if (value.getClass() == Formula.class) {
+                Formula formula = (Formula) value;
+                this.out.writeByte(FORMULA);
+                this.writeString(formula.getValue());
+                this.writeValueType(formula.getValueType());
+            } else if (value.getClass() == Executor.class) {
+                Executor executor = (Executor) value;
+                this.out.writeByte(EXECUTOR);
+                this.writeString(executor.getWorkspaceCode());
+                this.writeInteger(executor.getId());
+                this.writeString(executor.getCode());
+                this.writeValueType(executor.getValueType());
+            } else if (value.getClass() == Function.class) {
+                Function function = (Function) value;
+                this.out.writeByte(FUNCTION);
+                this.writeInteger(function.getId());
+                this.writeString(function.getAbstractFunction().getClass().getName());
+                this.writeValueType(function.getValueType());
+                Map<String, Value> params = function.getParams() == null ? Collections.emptyMap() : function.getParams();
+                this.writeVarInt(params.size());
+                for (Map.Entry<String, Value> entry : params.entrySet()) {
+                    this.writeString(entry.getKey());
+                    this.writeValue(entry.getValue());
+                }
+            } else {
+                this.out.writeByte(JSON);
+                this.writeBytes(JsonParse.OBJECT_MAPPER.writeValueAsBytes(value));
+            }
+        }
+
+        void writeConstant(Constant constant) throws IOException {
+            ValueType valueType = constant.getValueType();
+            this.writeValueType(valueType);
+            Object value = constant.getValue();
+            this.out.writeBoolean(value != null);
+            if (value == null) {
+                return;
+            }
+            switch (valueType) {
+                case STRING:
+                    this.writeString((String) value);
+                    break;
+                case BOOLEAN:
+                    this.out.writeBoolean((Boolean) value);
+                    break;
+                case NUMBER:
+                    BigDecimal number = (BigDecimal) value;
+                    this.writeVarInt(number.scale());
+                    this.writeBytes(number.unscaledValue().toByteArray());
+                    break;
+                case DATE:
+                    this.out.writeLong(((Date) value).getTime());
+                    break;
+                case COLLECTION:
+                    Collection<?> collection = (Collection<?>) value;
+                    this.writeVarInt(collection.size());
+                    for (Object element : collection) {
+                        this.writeString(element == null ? null : String.valueOf(element));
+                    }
+                    break;
+                default:
+                    this.writeBytes(JsonParse.OBJECT_MAPPER.writeValueAsBytes(value));
+                    break;
+            }
+        }
+
+        void writeValueType(ValueType valueType) throws IOException {
+            this.writeString(valueType == null ? null : valueType.name());
+        }
+
+        /**
+         * 字符串第一次出现时写入内容，之后只写序号，0表示null
+         */
+        void writeString(String value) throws IOException {
+            if (value == null) {
+                this.writeVarInt(0);
+                return;
+            }
+            Integer index = this.strings.get(value);
+            if (index != null) {
+                this.writeVarInt(index);
+                return;
+            }
+            this.strings.put(value, this.strings.size() + 1);
+            this.writeVarInt(this.strings.size());
+            this.writeBytes(value.getBytes(StandardCharsets.UTF_8));
+        }
+
+        /**
+         * 可以为null的整数，0表示null
+         */
+        void writeInteger(Integer value) throws IOException {
+            if (value == null) {
+                this.writeVarInt(0);
+                return;
+            }
+            // zigzag编码，负数也可以使用较少的字节
+            this.writeVarLong(((long) (value << 1 ^ value >> 31) & 0xFFFFFFFFL) + 1);
+        }
+
+        void writeVarInt(int value) throws IOException {
+            this.writeVarLong(value & 0xFFFFFFFFL);
+        }
+
+        void writeVarLong(long value) throws IOException {
+            while ((value & ~0x7FL) != 0) {
+                this.out.writeByte((int) (value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            this.out.writeByte((int) value);
+        }
+
+        void writeBytes(byte[] bytes) throws IOException {
+            this.writeVarInt(bytes.length);
+            this.out.write(bytes);
+        }
+
+    }
+
+    private static class SnapshotReader {
+
+        private final DataInputStream in;
+
+        private final List<String> strings = new ArrayList<>();
+
+        private FunctionResolver functionResolver;
+
+        SnapshotReader(DataInputStream in) {
+            this.in = in;
+        }
+
+        GeneralRule readGeneralRule() throws IOException {
+            Integer id = this.readInteger();
+            String code = this.readString();
+            String name = this.readString();
+            String description = this.readString();
+            Integer workspaceId = this.readInteger();
+            String workspaceCode = this.readString();
+            String version = this.readString();
+            GeneralRule generalRule = new GeneralRule(this.readRule());
+            generalRule.setId(id);
+            generalRule.setCode(code);
+            generalRule.setName(name);
+            generalRule.setDescription(description);
+            generalRule.setWorkspaceId(workspaceId);
+            generalRule.setWorkspaceCode(workspaceCode);
+            generalRule.setVersion(version);
+            generalRule.setDefaultActionValue(this.readValue());
+            return generalRule;
+        }
+
+        Rule readRule() throws IOException {
+            Rule rule = new Rule();
+            rule.setId(this.readInteger());
+            rule.setCode(this.readString());
+            rule.setName(this.readString());
+            rule.setDescription(this.readString());
+            ConditionSet conditionSet = new ConditionSet();
+            int groupSize = this.readVarInt();
+            for (int i = 0; i < groupSize; i++) {
+                ConditionGroup conditionGroup = new ConditionGroup();
+                conditionGroup.setId(this.readInteger());
+                conditionGroup.setName(this.readString());
+                conditionGroup.setOrderNo(this.readInteger());
+                int conditionSize = this.readVarInt();
+                List<Condition> conditions = new ArrayList<>(conditionSize);
+                for (int j = 0; j < conditionSize; j++) {
+                    Condition condition = new Condition();
+                    condition.setId(this.readInteger());
+                    condition.setName(this.readString());
+                    condition.setOrderNo(this.readInteger());
+                    condition.setLeftValue(this.readValue());
+                    String operator = this.readString();
+                    condition.setOperator(operator == null ? null : Operator.valueOf(operator));
+                    condition.setRightValue(this.readValue());
+                    conditions.add(condition);
+                }
+                conditionGroup.setConditions(conditions);
+                conditionSet.addConditionGroup(conditionGroup);
+            }
+            rule.setConditionSet(conditionSet);
+            rule.setActionValue(this.readValue());
+            return rule;
+        }
+
+        Value readValue() throws IOException {
+            int type = this.in.readUnsignedByte();
+            switch (type) {
+                case NULL:
+                    return null;
+                case CONSTANT:
+                    return this.readConstant();
+                case INPUT_PARAMETER:
+                    return new InputParameter(this.readInteger(), this.readString(), this.readValueType());
+                case VARIABLE:
+                    return new Variable(this.readInteger(), this.readValueType());
+                case FORMULA:
+                    return new Formula(this.readString(), this.readValueType());
+                case EXECUTOR:
+                    return new Executor(this.readString(), this.readInteger(), this.readString(), this.readValueType());
+                case FUNCTION:
+                    return this.readFunction();
+                case JSON:
+                    return JsonParse.OBJECT_MAPPER.readValue(this.readBytes(), Value.class);
+                default:
+                    throw new EngineException("Unknown value type in rule snapshot:{}", type);
+            }
+        }
+
+        Function readFunction() throws IOException {
+            Integer id = this.readInteger();
+            String className = this.readString();
+            ValueType valueType = this.readValueType();
+            int size = this.readVarInt();
+            Map<String, Value> params = new HashMap<>(Math.max(16, size * 2));
+            for (int i = 0; i < size; i++) {
+                params.put(this.readString(), this.readValue());
+            }
+            if (this.functionResolver == null) {
+                throw new EngineException("Function value requires a function resolver:{}", className);
+            }
+            Object abstractFunction = this.functionResolver.resolve(className);
+            if (abstractFunction == null) {
+                throw new EngineException("No such function executor:{}", className);
+            }
+            return new Function(id, abstractFunction, valueType, params);
+        }
+
+        Constant readConstant() throws IOException {
+            ValueType valueType = this.readValueType();
+            if (!this.in.readBoolean()) {
+                return new Constant(null, valueType);
+            }
+            Object value;
+            switch (valueType) {
+                case STRING:
+                    value = this.readString();
+                    break;
+                case BOOLEAN:
+                    value = this.in.readBoolean();
+                    break;
+                case NUMBER:
+                    int scale = this.readVarInt();
+                    value = new BigDecimal(new BigInteger(this.readBytes()), scale);
+                    break;
+                case DATE:
+                    value = new DateCompare.DateTime(this.in.readLong());
+                    break;
+                case COLLECTION:
+                    int size = this.readVarInt();
+                    List<String> collection = new ArrayList<>(size);
+                    for (int i = 0; i < size; i++) {
+                        collection.add(this.readString());
+                    }
+                    value = collection;
+                    break;
+                default:
+                    value = JsonParse.OBJECT_MAPPER.readValue(this.readBytes(), Object.class);
+                    break;
+            }
+            return new Constant(value, valueType);
+        }
+
+        ValueType readValueType() throws IOException {
+            String valueType = this.readString();
+            return valueType == null ? null : ValueType.valueOf(valueType);
+        }
+
+        String readString() throws IOException {
+            int index = this.readVarInt();
+            if (index == 0) {
+                return null;
+            }
+            if (index <= this.strings.size()) {
+                return this.strings.get(index - 1);
+            }
+            String value = new String(this.readBytes(), StandardCharsets.UTF_8);
+            this.strings.add(value);
+            return value;
+        }
+
+        Integer readInteger() throws IOException {
+            long value = this.readVarLong();
+            if (value == 0) {
+                return null;
+            }
+            int zigzag = (int) (value - 1);
+            return zigzag >>> 1 ^ -(zigzag & 1);
+        }
+
+        int readVarInt() throws IOException {
+            return (int) this.readVarLong();
+        }
+
+        long readVarLong() throws IOException {
+            long value = 0;
+            int shift = 0;
+            int b;
+            do {
+                if (shift > 63) {
+                    throw new EngineException("Malformed rule snapshot");
+                }
+                b = this.in.readUnsignedByte();
+                value |= (long) (b & 0x7F) << shift;
+                shift += 7;
+            } while ((b & 0x80) != 0);
+            return value;
+        }
+
+        byte[] readBytes() throws IOException {
+            byte[] bytes = new byte[this.readVarInt()];
+            this.in.readFully(bytes);
+            return bytes;
+        }
+
+    }
+
+}
@@ -0,0 +1,213 @@
+/*
+ * Copyright (c) 2020 dingqianwen (761945125@qq.com)
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cn.ruleengine.core.compile;
+
+import cn.ruleengine.core.Input;
+import cn.ruleengine.core.RuleEngineConfiguration;
+import cn.ruleengine.core.condition.ConditionCompare;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * 〈一句话功能简述〉<br>
+ * 〈〉
+ * 可以调整执行顺序的条件组/条件集
+ * <p>
+ * 编译时按照静态代价排序：固定值/规则参数 < 表达式 < 变量/本地函数 < 远程函数，
+ * 执行过程中根据每个节点的采样耗时以及成立概率定期重新排序，新的顺序通过volatile数组替换，不影响正在执行的线程
+ * <p>
+ * 条件的执行结果与顺序无关，调整顺序后如果某个条件执行出现异常，不会重新执行已经执行过的条件，
+ * 只按照原始顺序执行排在它前面并且还没有执行的条件，其中有条件可以提前结束时返回该结果，否则抛出原来的异常，
+ * 保证与未调整顺序时的结果一致，并且每个条件最多执行一次
+ *
+ * @author dingqianwen
+ * @date 2026/10/18
+ * @since 1.0.0
+ */
+abstract class AdaptiveMatch implements ConditionCompare {
+
+    /**
+     * 每执行1024次重新排序一次
+     */
+    private static final long REORDER_MASK = 1023;
+
+    /**
+     * 原始顺序
+     */
+    private final ConditionNode[] nodes;
+
+    /**
+     * 当前执行顺序，保存的是节点在原始顺序中的下标，为null时按照原始顺序执行
+     */
+    private volatile int[] order;
+
+    private long evaluations;
+
+    AdaptiveMatch(ConditionNode[] nodes) {
+        this.nodes = nodes;
+        this.order = this.sort(ConditionNode::getStaticCost);
+    }
+
+    @Override
+    public boolean compare(Input input, RuleEngineConfiguration configuration) {
+        int[] order = this.order;
+        boolean result;
+        if (this.nodes.length == 0) {
+            result = true;
+        } else if (order == null) {
+            result = this.match(input, configuration);
+        } else {
+            result = this.match(order, input, configuration);
+        }
+        if ((++this.evaluations & REORDER_MASK) == 0) {
+            this.order = this.sort(this::rank);
+        }
+        return result;
+    }
+
+    /**
+     * 按照原始顺序依次执行条件
+     *
+     * @param input         入参
+     * @param configuration 规则引擎配置
+     * @return 执行结果
+     */
+    private boolean match(Input input, RuleEngineConfiguration configuration) {
+        boolean stop = this.stopValue();
+        for (ConditionNode node : this.nodes) {
+            if (node.compare(input, configuration) == stop) {
+                return stop;
+            }
+        }
+        return !stop;
+    }
+
+    /**
+     * 按照调整后的顺序依次执行条件
+     *
+     * @param order         执行顺序
+     * @param input         入参
+     * @param configuration 规则引擎配置
+     * @return 执行结果
+     */
+    private boolean match(int[] order, Input input, RuleEngineConfiguration configuration) {
+        boolean stop = this.stopValue();
+        boolean[] evaluated = new boolean[this.nodes.length];
+        for (int index : order) {
+            boolean result;
+            try {
+                result = this.nodes[index].compare(input, configuration);
+            } catch (RuntimeException e) {
+                // 原始顺序中排在异常条件前面并且还没有执行的条件，如果可以提前结束，原始顺序不会执行到异常条件
+                for (int i = 0; i < index; i++) {
+                    if (!evaluated[i] && this.nodes[i].compare(input, configuration) == stop) {
+                        return stop;
+                    }
+                }
+                throw e;
+            }
+            if (result == stop) {
+                return stop;
+            }
+            evaluated[index] = true;
+        }
+        return !stop;
+    }
+
+    /**
+     * 可以提前结束执行的条件结果
+     *
+     * @return 条件结果为该值时不再执行后续条件，直接返回该值
+     */
+    abstract boolean stopValue();
+
+    /**
+     * 节点的排序值，越小越先执行
+     *
+     * @param node 节点
+     * @return 排序值
+     */
+    abstract double rank(ConditionNode node);
+
+    /**
+     * 根据排序值排序，排序值相同时保持原始顺序，顺序没有变化时返回null
+     *
+     * @param rank 排序值
+     * @return 执行顺序
+     */
+    private int[] sort(ToDoubleFunction<ConditionNode> rank) {
+        // 先计算出排序值，避免排序过程中统计数据变化
+        double[] ranks = new double[this.nodes.length];
+        Integer[] indexes = new Integer[this.nodes.length];
+        for (int i = 0; i < this.nodes.length; i++) {
+            ranks[i] = rank.applyAsDouble(this.nodes[i]);
+            indexes[i] = i;
+        }
+        Arrays.sort(indexes, Comparator.comparingDouble(i -> ranks[i]));
+        int[] sorted = new int[this.nodes.length];
+        boolean changed = false;
+        for (int i = 0; i < indexes.length; i++) {
+            sorted[i] = indexes[i];
+            changed |= indexes[i] != i;
+        }
+        return changed ? sorted : null;
+    }
+
+    /**
+     * 组内条件与关系，为空时返回true，优先执行代价低并且容易不成立的条件
+     */
+    static class AllMatch extends AdaptiveMatch {
+
+        AllMatch(ConditionNode[] nodes) {
+            super(nodes);
+        }
+
+        @Override
+        boolean stopValue() {
+            return false;
+        }
+
+        @Override
+        double rank(ConditionNode node) {
+            return node.cost() / (1D - node.trueRate());
+        }
+
+    }
+
+    /**
+     * 条件组之间或关系，为空时返回true，优先执行代价低并且容易成立的条件组
+     */
+    static class AnyMatch extends AdaptiveMatch {
+
+        AnyMatch(ConditionNode[] nodes) {
+            super(nodes);
+        }
+
+        @Override
+        boolean stopValue() {
+            return true;
+        }
+
+        @Override
+        double rank(ConditionNode node) {
+            return node.cost() / node.trueRate();
+        }
+
+    }
+
+}
@@ -0,0 +1,49 @@
+/*
+ * Copyright (c) 2020 dingqianwen (761945125@qq.com)
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cn.ruleengine.core.compile;
+
+import cn.ruleengine.core.EngineVariable;
+import cn.ruleengine.core.value.Value;
+import org.springframework.lang.Nullable;
+
+import java.util.Map;
+
+/**
+ * 〈一句话功能简述〉<br>
+ * 〈〉
+ * 可以被预编译的规则，加载到{@link cn.ruleengine.core.Container.Body}时触发编译
+ *
+ * @author dingqianwen
+ * @date 2026/10/18
+ * @since 1.0.0
+ */
+public interface Compilable {
+
+    /**
+     * 编译规则，编译失败时抛出异常，规则仍然使用解释执行
+     *
+     * @param engineVariable 引擎变量，值为固定值的变量在编译时直接取出，为null时变量在执行时获取
+     */
+    void compile(@Nullable EngineVariable engineVariable);
+
+    /**
+     * 最近一次编译时读取的变量以及读取到的值，未编译时返回空
+     *
+     * @return 变量id与变量值
+     */
+    Map<Integer, Value> getCompiledVariables();
+
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright (c) 2020 dingqianwen (761945125@qq.com)
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cn.ruleengine.core.compile;
+
+import cn.ruleengine.core.Input;
+import cn.ruleengine.core.RuleEngineConfiguration;
+import cn.ruleengine.core.condition.ConditionCompare;
+import cn.ruleengine.core.value.Value;
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * 〈一句话功能简述〉<br>
+ * 〈〉
+ * 编译后的规则，与{@link cn.ruleengine.core.rule.Rule#execute(Input, RuleEngineConfiguration)}执行结果一致
+ *
+ * @author dingqianwen
+ * @date 2026/10/18
+ * @since 1.0.0
+ */
+public class CompiledRule {
+
+    /**
+     * 编译后的条件集
+     */
+    private final ConditionCompare conditionSet;
+
+    /**
+     * 编译后的规则结果
+     */
+    private final Operand actionValue;
+
+    /**
+     * 编译时读取的变量以及读取到的值，变量变化后需要重新编译
+     */
+    private final Map<Integer, Value> variables;
+
+    CompiledRule(ConditionCompare conditionSet, Operand actionValue, Map<Integer, Value> variables) {
+        this.conditionSet = conditionSet;
+        this.actionValue = actionValue;
+        this.variables = Collections.unmodifiableMap(variables);
+    }
+
+    /**
+     * 编译时读取的变量以及读取到的值
+     *
+     * @return 变量id与变量值，变量不存在时值为null
+     */
+    public Map<Integer, Value> getVariables() {
+        return this.variables;
+    }
+
+    /**
+     * 执行规则
+     *
+     * @param input         入参
+     * @param configuration 规则引擎配置
+     * @return 条件全部命中时返回规则结果，否则返回null
+     */
+    @Nullable
+    public Object execute(@NonNull Input input, @NonNull RuleEngineConfiguration configuration) {
+        if (this.conditionSet.compare(input, configuration)) {
+            return this.actionValue.get(input, configuration);
+        }
+        return null;
+    }
+
+}
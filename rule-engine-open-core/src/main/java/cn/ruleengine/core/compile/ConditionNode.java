@@ -0,0 +1,171 @@
+/*
+ * Copyright (c) 2020 dingqianwen (761945125@qq.com)
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cn.ruleengine.core.compile;
+
+import cn.ruleengine.core.ExecutionContext;
+import cn.ruleengine.core.Input;
+import cn.ruleengine.core.RuleEngineConfiguration;
+import cn.ruleengine.core.condition.Condition;
+import cn.ruleengine.core.condition.ConditionCompare;
+import cn.ruleengine.core.condition.ConditionGroup;
+import cn.ruleengine.core.metrics.MetricsRecorder;
+import cn.ruleengine.core.trace.ExecutionTrace;
+import cn.ruleengine.core.trace.TraceEvent;
+
+/**
+ * 〈一句话功能简述〉<br>
+ * 〈〉
+ * 编译后的条件/条件组节点，记录静态代价以及运行时的执行次数、成立次数、采样耗时，用于调整执行顺序
+ * <p>
+ * 统计数据没有加锁，并发时可能丢失少量计数，只用于估算，条件的采样耗时同时记录到{@link MetricsRecorder}
+ * <p>
+ * 开启跟踪的执行不计入统计，条件按照原始条件解释执行以便记录左右值，条件组记录组内执行结果，见{@link ExecutionTrace}
+ *
+ * @author dingqianwen
+ * @date 2026/10/18
+ * @since 1.0.0
+ */
+final class ConditionNode implements ConditionCompare {
+
+    /**
+     * 每执行16次采样一次耗时
+     */
+    private static final long SAMPLE_MASK = 15;
+
+    private final ConditionCompare conditionCompare;
+
+    /**
+     * 静态代价，没有采样耗时前使用
+     */
+    private final double staticCost;
+
+    private long evaluations;
+
+    private long hits;
+
+    private long samples;
+
+    private long sampledNanos;
+
+    /**
+     * 原始条件，条件组时为null
+     */
+    private final Condition condition;
+
+    /**
+     * 原始条件组，条件时为null
+     */
+    private final ConditionGroup conditionGroup;
+
+    /**
+     * 条件名称，记录采样耗时指标使用
+     */
+    private final String conditionName;
+
+    ConditionNode(ConditionCompare conditionCompare, double staticCost, ConditionGroup conditionGroup) {
+        this.conditionCompare = conditionCompare;
+        this.staticCost = staticCost;
+        this.condition = null;
+        this.conditionGroup = conditionGroup;
+        this.conditionName = null;
+    }
+
+    ConditionNode(ConditionCompare conditionCompare, double staticCost, Condition condition) {
+        this.conditionCompare = conditionCompare;
+        this.staticCost = staticCost;
+        this.condition = condition;
+        this.conditionGroup = null;
+        this.conditionName = String.valueOf(condition.getName());
+    }
+
+    @Override
+    public boolean compare(Input input, RuleEngineConfiguration configuration) {
+        ExecutionTrace trace = ExecutionContext.traceOf(input);
+        if (trace != null) {
+            return this.compare(input, configuration, trace);
+        }
+        long evaluations = ++this.evaluations;
+        boolean result;
+        if ((evaluations & SAMPLE_MASK) == 0) {
+            long startTime = System.nanoTime();
+            result = this.conditionCompare.compare(input, configuration);
+            long nanos = System.nanoTime() - startTime;
+            this.sampledNanos += nanos;
+            this.samples++;
+            if (this.condition != null) {
+                MetricsRecorder metricsRecorder = configuration.getMetricsRecorder();
+                if (metricsRecorder.isEnabled()) {
+                    metricsRecorder.recordCondition(this.condition.getId(), this.conditionName, nanos, result);
+                }
+            }
+        } else {
+            result = this.conditionCompare.compare(input, configuration);
+        }
+        if (result) {
+            this.hits++;
+        }
+        return result;
+    }
+
+    /**
+     * 开启跟踪时执行，条件由原始条件记录左右值
+     *
+     * @param input         入参
+     * @param configuration 规则引擎配置
+     * @param trace         本次执行的跟踪记录
+     * @return 执行结果
+     */
+    private boolean compare(Input input, RuleEngineConfiguration configuration, ExecutionTrace trace) {
+        if (this.condition != null) {
+            return this.condition.compare(input, configuration);
+        }
+        int index = trace.begin(TraceEvent.Type.GROUP, this.conditionGroup.getId(), this.conditionGroup.getName());
+        Boolean result = null;
+        try {
+            result = this.conditionCompare.compare(input, configuration);
+            return result;
+        } finally {
+            trace.end(index, result);
+        }
+    }
+
+    double getStaticCost() {
+        return this.staticCost;
+    }
+
+    /**
+     * 执行代价，存在采样时使用平均耗时(ns)，否则使用静态代价
+     *
+     * @return 代价
+     */
+    double cost() {
+        long samples = this.samples;
+        if (samples == 0) {
+            return this.staticCost;
+        }
+        return Math.max(1D, (double) this.sampledNanos / samples);
+    }
+
+    /**
+     * 条件成立的概率，拉普拉斯平滑，没有执行过时为0.5
+     *
+     * @return 概率
+     */
+    double trueRate() {
+        return (this.hits + 1D) / (this.evaluations + 2D);
+    }
+
+}
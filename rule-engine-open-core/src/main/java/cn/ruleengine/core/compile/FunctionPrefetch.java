@@ -0,0 +1,74 @@
+/*
+ * Copyright (c) 2020 dingqianwen (761945125@qq.com)
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cn.ruleengine.core.compile;
+
+import cn.ruleengine.core.ExecutionContext;
+import cn.ruleengine.core.Input;
+import cn.ruleengine.core.RuleEngineConfiguration;
+import cn.ruleengine.core.condition.ConditionCompare;
+import cn.ruleengine.core.value.Function;
+
+/**
+ * 〈一句话功能简述〉<br>
+ * 〈〉
+ * 条件组中可以并行调用的函数，执行到第一个包含这些函数的条件时同时发起全部调用，
+ * 之前的低代价条件不成立时不会发起调用
+ *
+ * @author dingqianwen
+ * @date 2026/10/18
+ * @since 1.0.0
+ */
+final class FunctionPrefetch {
+
+    private final Function[] functions;
+
+    FunctionPrefetch(Function[] functions) {
+        this.functions = functions;
+    }
+
+    /**
+     * 包装条件，执行条件前提前发起组内全部函数调用
+     *
+     * @param conditionCompare 编译后的条件
+     * @return 包装后的条件
+     */
+    ConditionCompare wrap(ConditionCompare conditionCompare) {
+        return (input, configuration) -> {
+            this.prefetch(input, configuration);
+            return conditionCompare.compare(input, configuration);
+        };
+    }
+
+    /**
+     * 发起组内全部函数调用，一次规则执行中只发起一次
+     *
+     * @param input         入参
+     * @param configuration 规则引擎配置
+     */
+    void prefetch(Input input, RuleEngineConfiguration configuration) {
+        if (!configuration.isParallelFunction() || !(input instanceof ExecutionContext)) {
+            return;
+        }
+        ExecutionContext context = (ExecutionContext) input;
+        context.memoize(this, () -> {
+            for (Function function : this.functions) {
+                function.prefetch(context, configuration);
+            }
+            return Boolean.TRUE;
+        });
+    }
+
+}
@@ -0,0 +1,42 @@
+/*
+ * Copyright (c) 2020 dingqianwen (761945125@qq.com)
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cn.ruleengine.core.compile;
+
+import cn.ruleengine.core.Input;
+import cn.ruleengine.core.RuleEngineConfiguration;
+
+/**
+ * 〈一句话功能简述〉<br>
+ * 〈〉
+ * 编译后的条件值，固定值在编译时已经确定
+ *
+ * @author dingqianwen
+ * @date 2026/10/18
+ * @since 1.0.0
+ */
+@FunctionalInterface
+public interface Operand {
+
+    /**
+     * 获取值
+     *
+     * @param input         入参
+     * @param configuration 规则配置信息
+     * @return value
+     */
+    Object get(Input input, RuleEngineConfiguration configuration);
+
+}
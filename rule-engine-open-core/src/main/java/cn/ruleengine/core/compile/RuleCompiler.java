@@ -0,0 +1,373 @@
+/*
+ * Copyright (c) 2020 dingqianwen (761945125@qq.com)
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cn.ruleengine.core.compile;
+
+import cn.ruleengine.core.EngineVariable;
+import cn.ruleengine.core.condition.*;
+import cn.ruleengine.core.condition.compare.NumberCompare;
+import cn.ruleengine.core.rule.Rule;
+import cn.ruleengine.core.value.*;
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.BiPredicate;
+import java.util.function.Predicate;
+
+/**
+ * 〈一句话功能简述〉<br>
+ * 〈〉
+ * 规则编译器
+ * <p>
+ * 把GeneralRule -> Rule -> ConditionSet -> ConditionGroup -> Condition -> Value对象树，
+ * 编译为预先解析了比较器与运算符的执行树，执行时不再根据数据类型查找比较器以及判断运算符，固定值在编译时直接取出，
+ * 条件右值为固定值时，比较器可以预先转换右值，例如集合IN固定值时预先构建HashSet，
+ * 条件组以及条件集的执行顺序根据代价调整，见{@link AdaptiveMatch}，
+ * 条件组内可以并行调用的函数同时发起调用，见{@link FunctionPrefetch}
+ * <p>
+ * 指定引擎变量时，值为固定值的变量在编译时直接取出，并记录编译时读取的变量，
+ * 变量变化后由{@link cn.ruleengine.core.Container.Body#variableChanged(java.util.Collection)}重新编译依赖此变量的规则
+ * <p>
+ * 编译失败时规则仍然使用解释执行
+ *
+ * @author dingqianwen
+ * @date 2026/10/18
+ * @since 1.0.0
+ */
+public class RuleCompiler {
+
+    /**
+     * 固定值/规则参数静态代价
+     */
+    private static final double CONSTANT_COST = 10;
+
+    /**
+     * 表达式静态代价
+     */
+    private static final double FORMULA_COST = 2_000;
+
+    /**
+     * 本地函数静态代价
+     */
+    private static final double LOCAL_FUNCTION_COST = 1_000;
+
+    /**
+     * 引用其他规则静态代价
+     */
+    private static final double RULE_COST = 10_000;
+
+    /**
+     * 远程函数静态代价
+     */
+    private static final double REMOTE_FUNCTION_COST = 1_000_000;
+
+    /**
+     * 引擎变量，为null时变量在执行时获取
+     */
+    private final EngineVariable engineVariable;
+
+    /**
+     * 编译时读取的变量以及读取到的值
+     */
+    private final Map<Integer, Value> variables = new HashMap<>();
+
+    private RuleCompiler(EngineVariable engineVariable) {
+        this.engineVariable = engineVariable;
+    }
+
+    /**
+     * 编译规则
+     *
+     * @param rule 规则
+     * @return 编译后的规则
+     */
+    public static CompiledRule compile(@NonNull Rule rule) {
+        return compile(rule, null);
+    }
+
+    /**
+     * 编译规则，值为固定值的变量在编译时直接取出
+     *
+     * @param rule           规则
+     * @param engineVariable 引擎变量，为null时变量在执行时获取
+     * @return 编译后的规则
+     */
+    public static CompiledRule compile(@NonNull Rule rule, @Nullable EngineVariable engineVariable) {
+        Objects.requireNonNull(rule);
+        Objects.requireNonNull(rule.getActionValue());
+        RuleCompiler compiler = new RuleCompiler(engineVariable);
+        ConditionCompare conditionSet = compiler.compileConditionSet(rule.getConditionSet());
+        Operand actionValue = compiler.compileValue(rule.getActionValue());
+        return new CompiledRule(conditionSet, actionValue, compiler.variables);
+    }
+
+    /**
+     * 变量在编译时的值，并记录此变量，未指定引擎变量时返回变量本身
+     *
+     * @param value 值
+     * @return 变量的值，其他值原样返回
+     */
+    private Value resolve(Value value) {
+        if (this.engineVariable == null || !(value instanceof Variable)) {
+            return value;
+        }
+        Integer variableId = ((Variable) value).getVariableId();
+        Value variableValue = this.engineVariable.getVariables().get(variableId);
+        this.variables.put(variableId, variableValue);
+        return variableValue == null ? value : variableValue;
+    }
+
+    /**
+     * 值为固定值的变量替换为固定值，其他值在执行时获取
+     *
+     * @param value 值
+     * @return 编译时使用的值
+     */
+    private Value inline(Value value) {
+        Value resolved = this.resolve(value);
+        return resolved instanceof Constant ? resolved : value;
+    }
+
+    /**
+     * 编译条件集，条件组与条件组为或关系
+     *
+     * @param conditionSet 条件集
+     * @return 编译后的条件集
+     */
+    ConditionCompare compileConditionSet(ConditionSet conditionSet) {
+        List<ConditionGroup> conditionGroups = conditionSet.getConditionGroups();
+        ConditionNode[] groups = new ConditionNode[conditionGroups.size()];
+        for (int i = 0; i < groups.length; i++) {
+            ConditionGroup conditionGroup = conditionGroups.get(i);
+            groups[i] = new ConditionNode(this.compileConditionGroup(conditionGroup), this.cost(conditionGroup), conditionGroup);
+        }
+        return new AdaptiveMatch.AnyMatch(groups);
+    }
+
+    /**
+     * 编译条件组，组内条件为与关系
+     *
+     * @param conditionGroup 条件组
+     * @return 编译后的条件组
+     */
+    ConditionCompare compileConditionGroup(ConditionGroup conditionGroup) {
+        List<Condition> conditionList = conditionGroup.getConditions();
+        List<Function> parallelFunctions = new ArrayList<>();
+        for (Condition condition : conditionList) {
+            // 发布的规则中函数都在变量后面，需要先取出变量对应的函数
+            addParallelFunction(this.resolve(condition.getLeftValue()), parallelFunctions);
+            addParallelFunction(this.resolve(condition.getRightValue()), parallelFunctions);
+        }
+        // 组内存在多个可以并行调用的函数时，执行到第一个包含这些函数的条件时同时发起调用
+        FunctionPrefetch functionPrefetch = parallelFunctions.size() > 1 ? new FunctionPrefetch(parallelFunctions.toArray(new Function[0])) : null;
+        ConditionNode[] conditions = new ConditionNode[conditionList.size()];
+        for (int i = 0; i < conditions.length; i++) {
+            Condition condition = conditionList.get(i);
+            ConditionCompare conditionCompare = this.compileCondition(condition);
+            if (functionPrefetch != null && (isParallelFunction(this.resolve(condition.getLeftValue())) || isParallelFunction(this.resolve(condition.getRightValue())))) {
+                conditionCompare = functionPrefetch.wrap(conditionCompare);
+            }
+            conditions[i] = new ConditionNode(conditionCompare, this.cost(condition), condition);
+        }
+        return new AdaptiveMatch.AllMatch(conditions);
+    }
+
+    /**
+     * 是否为可以并行调用的函数
+     *
+     * @param value 值
+     * @return true可以并行调用
+     */
+    static boolean isParallelFunction(Value value) {
+        if (!(value instanceof Function)) {
+            return false;
+        }
+        Function function = (Function) value;
+        return function.isParallel() && function.isDeterministic();
+    }
+
+    private static void addParallelFunction(Value value, List<Function> parallelFunctions) {
+        if (!isParallelFunction(value)) {
+            return;
+        }
+        // 同一个函数不同参数时equals相同，这里按照实例去重
+        for (Function function : parallelFunctions) {
+            if (function == value) {
+                return;
+            }
+        }
+        parallelFunctions.add((Function) value);
+    }
+
+    /**
+     * 条件组的静态代价，组内全部条件代价之和
+     *
+     * @param conditionGroup 条件组
+     * @return 代价
+     */
+    double cost(ConditionGroup conditionGroup) {
+        double cost = 0;
+        for (Condition condition : conditionGroup.getConditions()) {
+            cost += this.cost(condition);
+        }
+        return cost;
+    }
+
+    /**
+     * 条件的静态代价，左右值代价之和
+     *
+     * @param condition 条件
+     * @return 代价
+     */
+    double cost(Condition condition) {
+        return this.cost(condition.getLeftValue()) + this.cost(condition.getRightValue());
+    }
+
+    /**
+     * 值的静态代价，大致为获取值的耗时(ns)，没有采样耗时之前用于排序
+     *
+     * @param value 值
+     * @return 代价
+     */
+    double cost(Value value) {
+        value = this.resolve(value);
+        if (value instanceof Constant || value instanceof InputParameter) {
+            return CONSTANT_COST;
+        }
+        if (value instanceof Formula) {
+            return FORMULA_COST;
+        }
+        if (value instanceof Function) {
+            return ((Function) value).isRemote() ? REMOTE_FUNCTION_COST : LOCAL_FUNCTION_COST;
+        }
+        // 未指定引擎变量时无法确定变量具体的值，按照本地函数估算
+        if (value instanceof Variable) {
+            return LOCAL_FUNCTION_COST;
+        }
+        // 引用其他规则等
+        return RULE_COST;
+    }
+
+    /**
+     * 编译条件，比较器与运算符在编译时确定
+     *
+     * @param condition 条件
+     * @return 编译后的条件
+     */
+    ConditionCompare compileCondition(Condition condition) {
+        ValueType valueType = condition.getLeftValue().getValueType();
+        Compare compare = ConditionCompareFactory.getCompare(valueType);
+        Operator operator = condition.getOperator();
+        Value left = this.inline(condition.getLeftValue());
+        Value right = this.inline(condition.getRightValue());
+        // 右值为固定值，右值在编译时转换完成
+        if (right instanceof Constant && !(left instanceof Constant)) {
+            Predicate<Object> predicate = compare.resolve(operator, constantValue((Constant) right));
+            Operand leftValue = this.compileOperand(left);
+            return (input, configuration) -> predicate.test(leftValue.get(input, configuration));
+        }
+        // 数值/日期左值为固定值时，交换左右值
+        Operator mirrorOperator = mirror(operator);
+        if (left instanceof Constant && !(right instanceof Constant) && mirrorOperator != null
+                && (valueType == ValueType.NUMBER || valueType == ValueType.DATE)) {
+            Predicate<Object> predicate = compare.resolve(mirrorOperator, constantValue((Constant) left));
+            Operand rightValue = this.compileOperand(right);
+            return (input, configuration) -> predicate.test(rightValue.get(input, configuration));
+        }
+        BiPredicate<Object, Object> predicate = compare.resolve(operator);
+        Operand leftValue = this.compileOperand(left);
+        Operand rightValue = this.compileOperand(right);
+        return (input, configuration) -> predicate.test(leftValue.get(input, configuration), rightValue.get(input, configuration));
+    }
+
+    /**
+     * 交换左右值后对应的运算符
+     *
+     * @param operator 运算符
+     * @return 交换后的运算符，不支持交换时返回null
+     */
+    static Operator mirror(Operator operator) {
+        switch (operator) {
+            case EQ:
+            case NE:
+                return operator;
+            case GT:
+                return Operator.LT;
+            case LT:
+                return Operator.GT;
+            case GE:
+                return Operator.LE;
+            case LE:
+                return Operator.GE;
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * 编译值，固定值直接取出
+     *
+     * @param value 值
+     * @return 编译后的值
+     */
+    Operand compileValue(Value value) {
+        Objects.requireNonNull(value);
+        value = this.inline(value);
+        if (value instanceof Constant) {
+            Object constantValue = constantValue((Constant) value);
+            return (input, configuration) -> constantValue;
+        }
+        return value::getValue;
+    }
+
+    /**
+     * 编译条件中参与比较的值，数值类型的规则入参为整数或者有限的double时不转换为BigDecimal，
+     * 由{@link NumberCompare}直接比较，只能用于条件比较，不能作为规则结果
+     *
+     * @param value 值
+     * @return 编译后的值
+     */
+    Operand compileOperand(Value value) {
+        if (!(value instanceof InputParameter) || value.getValueType() != ValueType.NUMBER) {
+            return this.compileValue(value);
+        }
+        InputParameter inputParameter = (InputParameter) value;
+        String code = inputParameter.getInputParameterCode();
+        return (input, configuration) -> {
+            Object rawValue = input.get(code);
+            if (NumberCompare.isPrimitive(rawValue)) {
+                return rawValue;
+            }
+            return inputParameter.getValue(input, configuration);
+        };
+    }
+
+    /**
+     * 获取固定值，集合类型固定值返回带索引的集合
+     *
+     * @param constant 固定值
+     * @return 值
+     */
+    static Object constantValue(Constant constant) {
+        // 固定值与入参以及配置无关
+        return constant.getValue(null, null);
+    }
+
+}
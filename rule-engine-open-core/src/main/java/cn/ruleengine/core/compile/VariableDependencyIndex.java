@@ -0,0 +1,160 @@
+/*
+ * Copyright (c) 2020 dingqianwen (761945125@qq.com)
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cn.ruleengine.core.compile;
+
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.util.*;
+
+/**
+ * 〈一句话功能简述〉<br>
+ * 变量到规则的反向索引
+ * <p>
+ * 规则编译时记录读取的变量，变量变化后只需要重新编译依赖此变量的规则，
+ * 索引中保存的是最近一次编译的规则实例
+ *
+ * @author dingqianwen
+ * @date 2026/10/18
+ * @since 1.0.0
+ */
+public class VariableDependencyIndex<T> {
+
+    /**
+     * 变量id -> 依赖此变量的规则
+     */
+    private final Map<Integer, Set<Key>> dependents = new HashMap<>();
+
+    /**
+     * 规则 -> 规则实例以及依赖的变量
+     */
+    private final Map<Key, Entry<T>> entries = new HashMap<>();
+
+    /**
+     * 更新规则依赖的变量，没有依赖的变量时移除
+     *
+     * @param workspaceCode 工作空间code
+     * @param code          规则code
+     * @param dataSupport   规则实例
+     * @param variableIds   依赖的变量
+     */
+    public synchronized void update(String workspaceCode, String code, T dataSupport, Collection<Integer> variableIds) {
+        Key key = new Key(workspaceCode, code);
+        this.remove(key);
+        if (variableIds.isEmpty()) {
+            return;
+        }
+        Set<Integer> ids = new HashSet<>(variableIds);
+        this.entries.put(key, new Entry<>(dataSupport, ids));
+        for (Integer variableId : ids) {
+            this.dependents.computeIfAbsent(variableId, k -> new HashSet<>()).add(key);
+        }
+    }
+
+    /**
+     * 移除规则
+     *
+     * @param workspaceCode 工作空间code
+     * @param code          规则code
+     */
+    public synchronized void remove(String workspaceCode, String code) {
+        this.remove(new Key(workspaceCode, code));
+    }
+
+    /**
+     * 索引中仍然是指定的规则实例时才移除，已经被重新编译的新实例不受影响
+     *
+     * @param workspaceCode 工作空间code
+     * @param code          规则code
+     * @param dataSupport   规则实例
+     */
+    public synchronized void remove(String workspaceCode, String code, T dataSupport) {
+        Key key = new Key(workspaceCode, code);
+        Entry<T> entry = this.entries.get(key);
+        if (entry != null && entry.getDataSupport() == dataSupport) {
+            this.remove(key);
+        }
+    }
+
+    private void remove(Key key) {
+        Entry<T> entry = this.entries.remove(key);
+        if (entry == null) {
+            return;
+        }
+        for (Integer variableId : entry.getVariableIds()) {
+            Set<Key> keys = this.dependents.get(variableId);
+            if (keys != null && keys.remove(key) && keys.isEmpty()) {
+                this.dependents.remove(variableId);
+            }
+        }
+    }
+
+    /**
+     * 依赖任意一个变量的规则实例
+     *
+     * @param variableIds 变量id
+     * @return 规则实例
+     */
+    public synchronized List<T> getDependents(Collection<Integer> variableIds) {
+        Set<Key> keys = new LinkedHashSet<>();
+        for (Integer variableId : variableIds) {
+            keys.addAll(this.dependents.getOrDefault(variableId, Collections.emptySet()));
+        }
+        List<T> dataSupports = new ArrayList<>(keys.size());
+        for (Key key : keys) {
+            dataSupports.add(this.entries.get(key).getDataSupport());
+        }
+        return dataSupports;
+    }
+
+    /**
+     * 依赖变量的规则数量
+     *
+     * @return 数量
+     */
+    public synchronized int size() {
+        return this.entries.size();
+    }
+
+    public synchronized void clear() {
+        this.dependents.clear();
+        this.entries.clear();
+    }
+
+    @ToString
+    @EqualsAndHashCode
+    @AllArgsConstructor
+    private static class Key {
+
+        private final String workspaceCode;
+
+        private final String code;
+
+    }
+
+    @Getter
+    @AllArgsConstructor
+    private static class Entry<T> {
+
+        private final T dataSupport;
+
+        private final Set<Integer> variableIds;
+
+    }
+
+}
@@ -15,6 +15,9 @@
  */
 package cn.ruleengine.core.condition;
 
+import java.util.function.BiPredicate;
+import java.util.function.Predicate;
+
 /**
  * 〈一句话功能简述〉<br>
  * 〈〉
@@ -35,4 +38,26 @@ public interface Compare {
      */
     boolean compare(Object leftValue, Operator operator, Object rightValue);
 
+    /**
+     * 根据运算符预先解析出比较逻辑，规则编译时使用，执行时不再判断运算符
+     *
+     * @param operator 比较符号
+     * @return 比较逻辑
+     */
+    default BiPredicate<Object, Object> resolve(Operator operator) {
+        return (leftValue, rightValue) -> this.compare(leftValue, operator, rightValue);
+    }
+
+    /**
+     * 右值为固定值时，根据运算符以及右值预先解析出比较逻辑，右值在编译时转换完成，执行时只需要处理左值
+     *
+     * @param operator   比较符号
+     * @param rightValue 固定的条件右值
+     * @return 比较逻辑
+     */
+    default Predicate<Object> resolve(Operator operator, Object rightValue) {
+        BiPredicate<Object, Object> predicate = this.resolve(operator);
+        return leftValue -> predicate.test(leftValue, rightValue);
+    }
+
 }
@@ -15,13 +15,15 @@
  */
 package cn.ruleengine.core.condition;
 
+import cn.ruleengine.core.ExecutionContext;
 import cn.ruleengine.core.Input;
 import cn.ruleengine.core.RuleEngineConfiguration;
 import cn.ruleengine.core.exception.ConditionException;
+import cn.ruleengine.core.trace.ExecutionTrace;
+import cn.ruleengine.core.trace.TraceEvent;
 import cn.ruleengine.core.value.Value;
 import cn.ruleengine.core.value.ValueType;
 import lombok.Data;
-import lombok.extern.slf4j.Slf4j;
 import org.springframework.lang.NonNull;
 
 import java.util.List;
@@ -35,7 +37,6 @@ import java.util.Objects;
  * @date 2020/3/2
  * @since 1.0.0
  */
-@Slf4j
 @Data
 public class Condition implements ConditionCompare {
 
@@ -76,18 +77,40 @@ public class Condition implements ConditionCompare {
      */
     @Override
     public boolean compare(Input input, RuleEngineConfiguration configuration) {
-        if (log.isDebugEnabled()) {
-            log.debug("条件信息:{}", this);
+        ExecutionTrace trace = ExecutionContext.traceOf(input);
+        if (trace != null) {
+            return this.compare(input, configuration, trace);
         }
         Compare compare = ConditionCompareFactory.getCompare(this.leftValue.getValueType());
         Object lValue = this.leftValue.getValue(input, configuration);
         Object rValue = this.rightValue.getValue(input, configuration);
-        if (log.isDebugEnabled()) {
-            log.debug("开始对比条件：{},左值：{}，运算符：{}，右值：{}", this.name, lValue, this.operator, rValue);
-        }
         return compare.compare(lValue, this.operator, rValue);
     }
 
+    /**
+     * 条件比较，并记录左右值以及比较结果
+     *
+     * @param input         入参
+     * @param configuration 引擎配置信息
+     * @param trace         本次执行的跟踪记录
+     * @return 比较结果
+     */
+    private boolean compare(Input input, RuleEngineConfiguration configuration, ExecutionTrace trace) {
+        int index = trace.begin(TraceEvent.Type.CONDITION, this.id, this.name);
+        Object lValue = null;
+        Object rValue = null;
+        Boolean result = null;
+        try {
+            Compare compare = ConditionCompareFactory.getCompare(this.leftValue.getValueType());
+            lValue = this.leftValue.getValue(input, configuration);
+            rValue = this.rightValue.getValue(input, configuration);
+            result = compare.compare(lValue, this.operator, rValue);
+            return result;
+        } finally {
+            trace.end(index, lValue, rValue, result);
+        }
+    }
+
     /**
      * 校验条件配置
      *
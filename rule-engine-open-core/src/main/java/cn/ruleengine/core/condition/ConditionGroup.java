@@ -16,10 +16,12 @@
 package cn.ruleengine.core.condition;
 
 import cn.hutool.core.collection.CollUtil;
+import cn.ruleengine.core.ExecutionContext;
 import cn.ruleengine.core.Input;
 import cn.ruleengine.core.RuleEngineConfiguration;
+import cn.ruleengine.core.trace.ExecutionTrace;
+import cn.ruleengine.core.trace.TraceEvent;
 import lombok.Data;
-import lombok.extern.slf4j.Slf4j;
 import org.springframework.lang.NonNull;
 
 import java.util.ArrayList;
@@ -36,7 +38,6 @@ import java.util.Objects;
  * @since 1.0.0
  */
 @Data
-@Slf4j
 public class ConditionGroup implements ConditionCompare {
 
     private Integer id;
@@ -68,18 +69,29 @@ public class ConditionGroup implements ConditionCompare {
      */
     @Override
     public boolean compare(Input input, RuleEngineConfiguration configuration) {
+        ExecutionTrace trace = ExecutionContext.traceOf(input);
+        if (trace == null) {
+            return this.match(input, configuration);
+        }
+        int index = trace.begin(TraceEvent.Type.GROUP, this.id, this.name);
+        Boolean result = null;
+        try {
+            result = this.match(input, configuration);
+            return result;
+        } finally {
+            trace.end(index, result);
+        }
+    }
+
+    private boolean match(Input input, RuleEngineConfiguration configuration) {
         if (CollUtil.isEmpty(this.conditions)) {
-            log.debug("条件为空，直接返回结果");
             return true;
         }
         // 条件运算
         for (Condition condition : this.conditions) {
-            String conditionName = condition.getName();
             if (!condition.compare(input, configuration)) {
-                log.debug("条件不成立：" + conditionName);
                 return false;
             }
-            log.debug(conditionName + "条件成立");
         }
         return true;
     }
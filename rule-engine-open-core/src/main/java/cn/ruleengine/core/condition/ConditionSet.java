@@ -19,7 +19,6 @@ import cn.hutool.core.collection.CollUtil;
 import cn.ruleengine.core.Input;
 import cn.ruleengine.core.RuleEngineConfiguration;
 import lombok.ToString;
-import lombok.extern.slf4j.Slf4j;
 import org.springframework.lang.NonNull;
 
 import java.util.ArrayList;
@@ -36,7 +35,6 @@ import java.util.Objects;
  * @since 1.0.0
  */
 @ToString
-@Slf4j
 public class ConditionSet implements ConditionCompare {
 
     /**
@@ -55,30 +53,14 @@ public class ConditionSet implements ConditionCompare {
     @Override
     public boolean compare(Input input, RuleEngineConfiguration configuration) {
         if (CollUtil.isEmpty(this.conditionGroups)) {
-            if (log.isDebugEnabled()) {
-                log.debug("条件组为空，没有条件，返回True");
-            }
             return true;
         }
-        for (int index = 0; index < this.conditionGroups.size(); index++) {
-            if (log.isDebugEnabled()) {
-                log.debug("开始验证条件组:" + index);
-            }
-            //条件组是或者关系，有一个为true,直接返回
-            if (this.conditionGroups.get(index).compare(input, configuration)) {
-                if (log.isDebugEnabled()) {
-                    log.debug("条件组:{}成立", index);
-                }
+        //条件组是或者关系，有一个为true,直接返回
+        for (ConditionGroup conditionGroup : this.conditionGroups) {
+            if (conditionGroup.compare(input, configuration)) {
                 return true;
-            } else {
-                if (log.isDebugEnabled()) {
-                    log.debug("条件组:{}不成立", index);
-                }
             }
         }
-        if (log.isDebugEnabled()) {
-            log.debug("所有条件不成立");
-        }
         return false;
     }
 
@@ -20,6 +20,8 @@ import cn.ruleengine.core.condition.Compare;
 import cn.ruleengine.core.condition.Operator;
 import cn.ruleengine.core.exception.ConditionException;
 
+import java.util.function.BiPredicate;
+
 /**
  * 〈一句话功能简述〉<br>
  * 〈〉
@@ -56,9 +58,7 @@ public class BooleanCompare implements Compare {
         if (leftValue == null || rightValue == null) {
             return false;
         }
-        if (!(leftValue instanceof Boolean) || !(rightValue instanceof Boolean)) {
-            throw new ConditionException("左值/右值必须是Boolean");
-        }
+        this.verify(leftValue, rightValue);
         switch (operator) {
             case EQ:
                 return leftValue.equals(rightValue);
@@ -68,4 +68,41 @@ public class BooleanCompare implements Compare {
                 throw new IllegalStateException("Unexpected value: " + operator);
         }
     }
+
+    /**
+     * 预先解析运算符
+     *
+     * @param operator 比较符号
+     * @return 比较逻辑
+     */
+    @Override
+    public BiPredicate<Object, Object> resolve(Operator operator) {
+        switch (operator) {
+            case EQ:
+                return (leftValue, rightValue) -> {
+                    if (leftValue == null || rightValue == null) {
+                        return false;
+                    }
+                    this.verify(leftValue, rightValue);
+                    return leftValue.equals(rightValue);
+                };
+            case NE:
+                return (leftValue, rightValue) -> {
+                    if (leftValue == null || rightValue == null) {
+                        return false;
+                    }
+                    this.verify(leftValue, rightValue);
+                    return !leftValue.equals(rightValue);
+                };
+            default:
+                throw new IllegalStateException("Unexpected value: " + operator);
+        }
+    }
+
+    private void verify(Object leftValue, Object rightValue) {
+        if (!(leftValue instanceof Boolean) || !(rightValue instanceof Boolean)) {
+            throw new ConditionException("左值/右值必须是Boolean");
+        }
+    }
+
 }
@@ -20,8 +20,10 @@ import cn.hutool.core.collection.CollUtil;
 import cn.ruleengine.core.condition.Compare;
 import cn.ruleengine.core.condition.Operator;
 import cn.ruleengine.core.exception.ConditionException;
+import cn.ruleengine.core.value.IndexedList;
 
 import java.util.*;
+import java.util.function.Predicate;
 
 /**
  * 〈一句话功能简述〉<br>
@@ -40,6 +42,11 @@ public class CollectionCompare implements Compare {
 
     private static final CollectionCompare COLLECTION_COMPARE = new CollectionCompare();
 
+    /**
+     * 两个集合元素个数都超过此值时，containsAll为集合1构建索引
+     */
+    private static final int INDEX_MIN_SIZE = 8;
+
     public static CollectionCompare getInstance() {
         return COLLECTION_COMPARE;
     }
@@ -109,6 +116,62 @@ public class CollectionCompare implements Compare {
         }
     }
 
+    /**
+     * 右值为固定值时，IN/NOT_IN预先为右值集合构建索引，CONTAIN/NOT_CONTAIN预先把右值转为字符串
+     *
+     * @param operator   比较符号
+     * @param rightValue 固定的条件右值
+     * @return 比较逻辑
+     */
+    @Override
+    public Predicate<Object> resolve(Operator operator, Object rightValue) {
+        if (rightValue == null) {
+            return leftValue -> false;
+        }
+        switch (operator) {
+            case IN:
+                if (rightValue instanceof Collection) {
+                    Collection<?> rightValueIndex = IndexedList.of((Collection<?>) rightValue);
+                    return leftValue -> leftValue != null && this.containsAll(rightValueIndex, this.toCollection(leftValue));
+                }
+                break;
+            case NOT_IN:
+                if (rightValue instanceof Collection) {
+                    Collection<?> rightValueIndex = IndexedList.of((Collection<?>) rightValue);
+                    return leftValue -> leftValue != null && !this.containsAll(rightValueIndex, this.toCollection(leftValue));
+                }
+                break;
+            case CONTAIN:
+                if (!(rightValue instanceof Collection)) {
+                    String element = String.valueOf(rightValue);
+                    return leftValue -> leftValue != null && this.toCollection(leftValue).contains(element);
+                }
+                break;
+            case NOT_CONTAIN:
+                if (!(rightValue instanceof Collection)) {
+                    String element = String.valueOf(rightValue);
+                    return leftValue -> leftValue != null && !this.toCollection(leftValue).contains(element);
+                }
+                break;
+            default:
+                break;
+        }
+        return Compare.super.resolve(operator, rightValue);
+    }
+
+    /**
+     * 左值转为集合
+     *
+     * @param leftValue 条件左值
+     * @return 集合
+     */
+    private Collection<?> toCollection(Object leftValue) {
+        if (!(leftValue instanceof Collection)) {
+            throw new ConditionException("左值必须是Collection");
+        }
+        return (Collection<?>) leftValue;
+    }
+
     /**
      * 集合1中是否包含集合2中所有的元素，即集合2是否为集合1的子集
      *
@@ -125,6 +188,10 @@ public class CollectionCompare implements Compare {
         if (CollUtil.isEmpty(coll2)) {
             return true;
         }
+        // 两个集合都比较大时，先为集合1构建索引，避免O(n*m)
+        if (coll2.size() > INDEX_MIN_SIZE && coll1.size() > INDEX_MIN_SIZE && !(coll1 instanceof Set) && !(coll1 instanceof IndexedList)) {
+            coll1 = new HashSet<>(coll1);
+        }
         for (Object object : coll2) {
             if (!coll1.contains(object)) {
                 return false;
@@ -25,6 +25,8 @@ import org.apache.commons.lang3.time.DateUtils;
 import java.text.ParseException;
 import java.text.SimpleDateFormat;
 import java.util.Date;
+import java.util.function.BiPredicate;
+import java.util.function.Predicate;
 import java.util.regex.Pattern;
 
 /**
@@ -51,12 +53,7 @@ public class DateCompare implements Compare {
         if (leftValue == null || rightValue == null) {
             return false;
         }
-        if (!(leftValue instanceof Date) || !(rightValue instanceof Date)) {
-            throw new ConditionException("左值/右值必须是Date");
-        }
-        Date lValue = (Date) leftValue;
-        Date rValue = (Date) rightValue;
-        int compare = lValue.compareTo(rValue);
+        int compare = this.compareTo(leftValue, rightValue);
         switch (operator) {
             case EQ:
                 return compare == 0;
@@ -75,6 +72,89 @@ public class DateCompare implements Compare {
         }
     }
 
+    /**
+     * 预先解析运算符
+     *
+     * @param operator 比较符号
+     * @return 比较逻辑
+     */
+    @Override
+    public BiPredicate<Object, Object> resolve(Operator operator) {
+        switch (operator) {
+            case EQ:
+                return (leftValue, rightValue) -> leftValue != null && rightValue != null && this.compareTo(leftValue, rightValue) == 0;
+            case GT:
+                return (leftValue, rightValue) -> leftValue != null && rightValue != null && this.compareTo(leftValue, rightValue) > 0;
+            case NE:
+                return (leftValue, rightValue) -> leftValue != null && rightValue != null && this.compareTo(leftValue, rightValue) != 0;
+            case LT:
+                return (leftValue, rightValue) -> leftValue != null && rightValue != null && this.compareTo(leftValue, rightValue) < 0;
+            case GE:
+                return (leftValue, rightValue) -> leftValue != null && rightValue != null && this.compareTo(leftValue, rightValue) >= 0;
+            case LE:
+                return (leftValue, rightValue) -> leftValue != null && rightValue != null && this.compareTo(leftValue, rightValue) <= 0;
+            default:
+                throw new IllegalStateException("Unexpected value: " + operator);
+        }
+    }
+
+    /**
+     * 右值为固定值时，直接与预先取出的时间戳比较
+     *
+     * @param operator   比较符号
+     * @param rightValue 固定的条件右值
+     * @return 比较逻辑
+     */
+    @Override
+    public Predicate<Object> resolve(Operator operator, Object rightValue) {
+        if (!(rightValue instanceof Date)) {
+            return Compare.super.resolve(operator, rightValue);
+        }
+        long right = ((Date) rightValue).getTime();
+        switch (operator) {
+            case EQ:
+                return leftValue -> leftValue != null && this.getTime(leftValue) == right;
+            case GT:
+                return leftValue -> leftValue != null && this.getTime(leftValue) > right;
+            case NE:
+                return leftValue -> leftValue != null && this.getTime(leftValue) != right;
+            case LT:
+                return leftValue -> leftValue != null && this.getTime(leftValue) < right;
+            case GE:
+                return leftValue -> leftValue != null && this.getTime(leftValue) >= right;
+            case LE:
+                return leftValue -> leftValue != null && this.getTime(leftValue) <= right;
+            default:
+                throw new IllegalStateException("Unexpected value: " + operator);
+        }
+    }
+
+    /**
+     * 获取左值时间戳
+     *
+     * @param leftValue 条件左值
+     * @return 时间戳
+     */
+    private long getTime(Object leftValue) {
+        if (!(leftValue instanceof Date)) {
+            throw new ConditionException("左值/右值必须是Date");
+        }
+        return ((Date) leftValue).getTime();
+    }
+
+    /**
+     * 比较两个日期
+     *
+     * @param leftValue  条件左值
+     * @param rightValue 条件右值
+     * @return 比较结果
+     */
+    private int compareTo(Object leftValue, Object rightValue) {
+        if (!(leftValue instanceof Date) || !(rightValue instanceof Date)) {
+            throw new ConditionException("左值/右值必须是Date");
+        }
+        return ((Date) leftValue).compareTo((Date) rightValue);
+    }
 
     /**
      * 增强 Date
@@ -185,6 +265,15 @@ public class DateCompare implements Compare {
             return null;
         }
 
+        /**
+         * 格式，为空时使用默认格式
+         *
+         * @return pattern
+         */
+        public String getPattern() {
+            return this.pattern;
+        }
+
         /**
          * 转为"yyyy-MM-dd HH:mm:ss " or pattern 格式字符串
          *
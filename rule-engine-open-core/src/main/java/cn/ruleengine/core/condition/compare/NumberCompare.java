@@ -19,12 +19,18 @@ package cn.ruleengine.core.condition.compare;
 import cn.ruleengine.core.condition.Compare;
 import cn.ruleengine.core.condition.Operator;
 import cn.ruleengine.core.exception.ConditionException;
+import org.springframework.lang.Nullable;
 
 import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.function.BiPredicate;
+import java.util.function.Predicate;
 
 /**
  * 〈一句话功能简述〉<br>
  * 〈〉
+ * 数值比较，左右值为BigDecimal，编译后的条件中也可以是整数类型或者有限的double，
+ * 整数之间以及与可以精确表示的固定值比较时不再转换为BigDecimal，比较结果与转换为BigDecimal后比较相同
  *
  * @author dingqianwen
  * @date 2020/4/6
@@ -56,12 +62,7 @@ public class NumberCompare implements Compare {
         if (leftValue == null || rightValue == null) {
             return false;
         }
-        if (!(leftValue instanceof BigDecimal) || !(rightValue instanceof BigDecimal)) {
-            throw new ConditionException("左值/右值必须是BigDecimal");
-        }
-        BigDecimal lValue = (BigDecimal) leftValue;
-        BigDecimal rValue = (BigDecimal) rightValue;
-        int compare = lValue.compareTo(rValue);
+        int compare = this.compareTo(leftValue, rightValue);
         switch (operator) {
             case EQ:
                 return compare == 0;
@@ -80,4 +81,183 @@ public class NumberCompare implements Compare {
         }
     }
 
+    /**
+     * 预先解析运算符
+     *
+     * @param operator 比较符号
+     * @return 比较逻辑
+     */
+    @Override
+    public BiPredicate<Object, Object> resolve(Operator operator) {
+        switch (operator) {
+            case EQ:
+                return (leftValue, rightValue) -> leftValue != null && rightValue != null && this.compareTo(leftValue, rightValue) == 0;
+            case NE:
+                return (leftValue, rightValue) -> leftValue != null && rightValue != null && this.compareTo(leftValue, rightValue) != 0;
+            case GT:
+                return (leftValue, rightValue) -> leftValue != null && rightValue != null && this.compareTo(leftValue, rightValue) > 0;
+            case LT:
+                return (leftValue, rightValue) -> leftValue != null && rightValue != null && this.compareTo(leftValue, rightValue) < 0;
+            case GE:
+                return (leftValue, rightValue) -> leftValue != null && rightValue != null && this.compareTo(leftValue, rightValue) >= 0;
+            case LE:
+                return (leftValue, rightValue) -> leftValue != null && rightValue != null && this.compareTo(leftValue, rightValue) <= 0;
+            default:
+                throw new IllegalStateException("Unexpected value: " + operator);
+        }
+    }
+
+    /**
+     * 右值为固定值时，直接与预先转换好的右值比较
+     *
+     * @param operator   比较符号
+     * @param rightValue 固定的条件右值
+     * @return 比较逻辑
+     */
+    @Override
+    public Predicate<Object> resolve(Operator operator, Object rightValue) {
+        if (!(rightValue instanceof BigDecimal)) {
+            return Compare.super.resolve(operator, rightValue);
+        }
+        ConstantNumber right = new ConstantNumber((BigDecimal) rightValue);
+        switch (operator) {
+            case EQ:
+                return leftValue -> leftValue != null && this.compareTo(leftValue, right) == 0;
+            case NE:
+                return leftValue -> leftValue != null && this.compareTo(leftValue, right) != 0;
+            case GT:
+                return leftValue -> leftValue != null && this.compareTo(leftValue, right) > 0;
+            case LT:
+                return leftValue -> leftValue != null && this.compareTo(leftValue, right) < 0;
+            case GE:
+                return leftValue -> leftValue != null && this.compareTo(leftValue, right) >= 0;
+            case LE:
+                return leftValue -> leftValue != null && this.compareTo(leftValue, right) <= 0;
+            default:
+                throw new IllegalStateException("Unexpected value: " + operator);
+        }
+    }
+
+    /**
+     * 与预先转换好的右值比较
+     *
+     * @param leftValue  条件左值
+     * @param rightValue 条件右值
+     * @return 比较结果
+     */
+    private int compareTo(Object leftValue, ConstantNumber rightValue) {
+        if (isIntegral(leftValue)) {
+            long left = ((Number) leftValue).longValue();
+            if (rightValue.exactLong) {
+                return Long.compare(left, rightValue.longValue);
+            }
+            return BigDecimal.valueOf(left).compareTo(rightValue.decimal);
+        }
+        if (leftValue instanceof Double && rightValue.exactDouble) {
+            double left = (Double) leftValue;
+            if (Double.isFinite(left)) {
+                // -0.0与0.0相等，与BigDecimal比较结果一致
+                return left < rightValue.doubleValue ? -1 : (left > rightValue.doubleValue ? 1 : 0);
+            }
+        }
+        return this.toBigDecimal(leftValue).compareTo(rightValue.decimal);
+    }
+
+    /**
+     * 比较两个数值
+     *
+     * @param leftValue  条件左值
+     * @param rightValue 条件右值
+     * @return 比较结果
+     */
+    private int compareTo(Object leftValue, Object rightValue) {
+        if (isIntegral(leftValue) && isIntegral(rightValue)) {
+            return Long.compare(((Number) leftValue).longValue(), ((Number) rightValue).longValue());
+        }
+        return this.toBigDecimal(leftValue).compareTo(this.toBigDecimal(rightValue));
+    }
+
+    private BigDecimal toBigDecimal(Object value) {
+        if (value instanceof BigDecimal) {
+            return (BigDecimal) value;
+        }
+        if (isPrimitive(value)) {
+            return valueOf(value);
+        }
+        throw new ConditionException("左值/右值必须是BigDecimal");
+    }
+
+    /**
+     * 是否为可以不转换为BigDecimal直接参与比较的数值：整数类型或者有限的double
+     *
+     * @param value 值
+     * @return true可以直接比较
+     */
+    public static boolean isPrimitive(Object value) {
+        return isIntegral(value) || (value instanceof Double && Double.isFinite((Double) value));
+    }
+
+    private static boolean isIntegral(Object value) {
+        return value instanceof Integer || value instanceof Long || value instanceof Short || value instanceof Byte;
+    }
+
+    /**
+     * 数值类型转为BigDecimal，结果与转为字符串后解析相同，但是不需要解析字符串
+     *
+     * @param value 值
+     * @return 整数类型、BigInteger以及有限的double之外返回null
+     */
+    @Nullable
+    public static BigDecimal valueOf(Object value) {
+        if (isIntegral(value)) {
+            return BigDecimal.valueOf(((Number) value).longValue());
+        }
+        if (value instanceof Double && Double.isFinite((Double) value)) {
+            // 与new BigDecimal(Double.toString(value))相同
+            return BigDecimal.valueOf((Double) value);
+        }
+        if (value instanceof BigInteger) {
+            return new BigDecimal((BigInteger) value);
+        }
+        return null;
+    }
+
+    /**
+     * 预先转换好的固定值，可以精确表示为long/double时记录对应的值
+     */
+    private static final class ConstantNumber {
+
+        private final BigDecimal decimal;
+
+        private final boolean exactLong;
+
+        private final long longValue;
+
+        private final boolean exactDouble;
+
+        private final double doubleValue;
+
+        private ConstantNumber(BigDecimal decimal) {
+            this.decimal = decimal;
+            long longValue = 0;
+            boolean exactLong = false;
+            if (decimal.signum() == 0 || decimal.scale() <= 0 || decimal.stripTrailingZeros().scale() <= 0) {
+                try {
+                    longValue = decimal.longValueExact();
+                    exactLong = true;
+                } catch (ArithmeticException ignored) {
+                    // 超出long范围
+                }
+            }
+            this.exactLong = exactLong;
+            this.longValue = longValue;
+            double doubleValue = decimal.doubleValue();
+            // 左值double通过BigDecimal.valueOf转换后比较，只有固定值等于BigDecimal.valueOf(doubleValue)时，
+            // 两个double直接比较的结果才与转换后比较相同，例如固定值为0.1D的二进制精确值时不能直接比较
+            this.exactDouble = Double.isFinite(doubleValue) && BigDecimal.valueOf(doubleValue).compareTo(decimal) == 0;
+            this.doubleValue = doubleValue;
+        }
+
+    }
+
 }
@@ -0,0 +1,229 @@
+/*
+ * Copyright (c) 2020 dingqianwen (761945125@qq.com)
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cn.ruleengine.core.metrics;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 〈一句话功能简述〉<br>
+ * 〈〉
+ * 基于HdrHistogram的指标记录，每个规则/条件/函数一个耗时直方图
+ * <p>
+ * 直方图保留2位有效数字并且按照实际耗时范围自动扩容，记录时无锁；
+ * 指标数量超过上限时不再记录新的指标，避免规则/条件数量过多时占用过多内存
+ *
+ * @author dingqianwen
+ * @date 2026/10/18
+ * @since 1.0.0
+ */
+public class HdrMetricsRecorder implements MetricsRecorder {
+
+    public static final String RULE = "rule";
+
+    public static final String CONDITION = "condition";
+
+    public static final String FUNCTION = "function";
+
+    private static final int DEFAULT_MAXIMUM_METRICS = 10_000;
+
+    private static final int SIGNIFICANT_VALUE_DIGITS = 2;
+
+    private final ConcurrentMap<MetricKey, Timer> timers = new ConcurrentHashMap<>();
+
+    private final int maximumMetrics;
+
+    public HdrMetricsRecorder() {
+        this(DEFAULT_MAXIMUM_METRICS);
+    }
+
+    /**
+     * @param maximumMetrics 最多记录的指标数量
+     */
+    public HdrMetricsRecorder(int maximumMetrics) {
+        if (maximumMetrics <= 0) {
+            throw new IllegalArgumentException("maximumMetrics must be greater than 0");
+        }
+        this.maximumMetrics = maximumMetrics;
+    }
+
+    @Override
+    public void recordRule(String workspaceCode, String ruleCode, long nanos, boolean hit) {
+        Timer timer = this.timer(new MetricKey(RULE, workspaceCode, ruleCode));
+        if (timer != null) {
+            timer.record(nanos, hit);
+        }
+    }
+
+    @Override
+    public void recordCondition(Integer conditionId, String conditionName, long nanos, boolean result) {
+        Timer timer = this.timer(new MetricKey(CONDITION, String.valueOf(conditionId), conditionName));
+        if (timer != null) {
+            timer.record(nanos, result);
+        }
+    }
+
+    @Override
+    public void recordFunction(String functionName, long nanos, boolean success) {
+        Timer timer = this.timer(new MetricKey(FUNCTION, functionName, null));
+        if (timer != null) {
+            timer.record(nanos, success);
+        }
+    }
+
+    @Override
+    public void recordFunctionCache(String functionName, boolean hit) {
+        Timer timer = this.timer(new MetricKey(FUNCTION, functionName, null));
+        if (timer != null) {
+            (hit ? timer.cacheHits : timer.cacheMisses).increment();
+        }
+    }
+
+    /**
+     * 获取全部指标的统计信息，耗时分位数统计的是上次获取之后的执行
+     *
+     * @return 统计信息
+     */
+    public List<MetricsSnapshot> snapshot() {
+        List<MetricsSnapshot> snapshots = new ArrayList<>(this.timers.size());
+        for (Map.Entry<MetricKey, Timer> entry : this.timers.entrySet()) {
+            snapshots.add(entry.getValue().snapshot(entry.getKey()));
+        }
+        return snapshots;
+    }
+
+    /**
+     * 清除全部指标
+     */
+    public void clear() {
+        this.timers.clear();
+    }
+
+    private Timer timer(MetricKey key) {
+        Timer timer = this.timers.get(key);
+        if (timer != null) {
+            return timer;
+        }
+        if (this.timers.size() >= this.maximumMetrics) {
+            return null;
+        }
+        return this.timers.computeIfAbsent(key, k -> new Timer());
+    }
+
+    /**
+     * 一个指标的耗时直方图以及计数
+     */
+    private static final class Timer {
+
+        private final Recorder recorder = new Recorder(SIGNIFICANT_VALUE_DIGITS);
+
+        private final LongAdder count = new LongAdder();
+
+        private final LongAdder totalNanos = new LongAdder();
+
+        private final LongAdder positive = new LongAdder();
+
+        private final LongAdder cacheHits = new LongAdder();
+
+        private final LongAdder cacheMisses = new LongAdder();
+
+        /**
+         * 上次获取的直方图，下次获取时复用
+         */
+        private Histogram interval;
+
+        void record(long nanos, boolean positive) {
+            this.recorder.recordValue(Math.max(0, nanos));
+            this.count.increment();
+            this.totalNanos.add(nanos);
+            if (positive) {
+                this.positive.increment();
+            }
+        }
+
+        synchronized MetricsSnapshot snapshot(MetricKey key) {
+            Histogram interval = this.recorder.getIntervalHistogram(this.interval);
+            this.interval = interval;
+            return new MetricsSnapshot(key.type, key.tags(), this.count.sum(), this.totalNanos.sum(), this.positive.sum(),
+                    this.cacheHits.sum(), this.cacheMisses.sum(),
+                    interval.getValueAtPercentile(50), interval.getValueAtPercentile(90), interval.getValueAtPercentile(99),
+                    interval.getMaxValue());
+        }
+
+    }
+
+    /**
+     * 指标类型以及标签
+     */
+    private static final class MetricKey {
+
+        private final String type;
+
+        private final String first;
+
+        private final String second;
+
+        private final int hashCode;
+
+        MetricKey(String type, String first, String second) {
+            this.type = type;
+            this.first = first;
+            this.second = second;
+            this.hashCode = Objects.hash(type, first, second);
+        }
+
+        Map<String, String> tags() {
+            Map<String, String> tags = new LinkedHashMap<>(4);
+            switch (this.type) {
+                case RULE:
+                    tags.put("workspaceCode", this.first);
+                    tags.put("ruleCode", this.second);
+                    break;
+                case CONDITION:
+                    tags.put("conditionId", this.first);
+                    tags.put("conditionName", this.second);
+                    break;
+                default:
+                    tags.put("function", this.first);
+            }
+            return tags;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof MetricKey)) {
+                return false;
+            }
+            MetricKey metricKey = (MetricKey) o;
+            return this.type.equals(metricKey.type) && Objects.equals(this.first, metricKey.first) && Objects.equals(this.second, metricKey.second);
+        }
+
+        @Override
+        public int hashCode() {
+            return this.hashCode;
+        }
+
+    }
+
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright (c) 2020 dingqianwen (761945125@qq.com)
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cn.ruleengine.core.metrics;
+
+/**
+ * 〈一句话功能简述〉<br>
+ * 〈〉
+ * 规则引擎执行指标记录，记录规则、条件、函数的耗时以及命中情况
+ * <p>
+ * 在规则执行线程中同步调用，实现需要线程安全并且尽可能轻量，默认不记录，见{@link NoopMetricsRecorder}
+ *
+ * @author dingqianwen
+ * @date 2026/10/18
+ * @since 1.0.0
+ */
+public interface MetricsRecorder {
+
+    /**
+     * 是否记录指标，为false时执行过程中不再计时
+     *
+     * @return true记录
+     */
+    default boolean isEnabled() {
+        return true;
+    }
+
+    /**
+     * 记录一次规则执行
+     *
+     * @param workspaceCode 工作空间code
+     * @param ruleCode      规则code
+     * @param nanos         执行耗时，纳秒
+     * @param hit           条件是否命中，未命中返回默认结果或者执行异常时为false
+     */
+    void recordRule(String workspaceCode, String ruleCode, long nanos, boolean hit);
+
+    /**
+     * 记录一次条件执行，编译后的规则采样记录，见{@link cn.ruleengine.core.compile.RuleCompiler}
+     *
+     * @param conditionId   条件id
+     * @param conditionName 条件名称
+     * @param nanos         执行耗时，纳秒
+     * @param result        条件是否成立
+     */
+    void recordCondition(Integer conditionId, String conditionName, long nanos, boolean result);
+
+    /**
+     * 记录一次函数调用，缓存命中时不调用函数
+     *
+     * @param functionName 函数名称
+     * @param nanos        调用耗时，纳秒
+     * @param success      是否调用成功
+     */
+    void recordFunction(String functionName, long nanos, boolean success);
+
+    /**
+     * 记录一次函数缓存查询
+     *
+     * @param functionName 函数名称
+     * @param hit          是否命中缓存
+     */
+    void recordFunctionCache(String functionName, boolean hit);
+
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright (c) 2020 dingqianwen (761945125@qq.com)
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cn.ruleengine.core.metrics;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.util.Map;
+
+/**
+ * 〈一句话功能简述〉<br>
+ * 〈〉
+ * 一个指标的统计信息，次数以及耗时总和为累计值，耗时分位数为上次获取统计信息之后的值
+ *
+ * @author dingqianwen
+ * @date 2026/10/18
+ * @since 1.0.0
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class MetricsSnapshot {
+
+    /**
+     * 指标类型：rule、condition、function
+     */
+    private final String type;
+
+    /**
+     * 指标标签，例如规则的工作空间code以及规则code
+     */
+    private final Map<String, String> tags;
+
+    /**
+     * 执行次数
+     */
+    private final long count;
+
+    /**
+     * 执行耗时总和，纳秒
+     */
+    private final long totalNanos;
+
+    /**
+     * 规则命中、条件成立、函数调用成功的次数
+     */
+    private final long positive;
+
+    /**
+     * 函数缓存命中次数
+     */
+    private final long cacheHits;
+
+    /**
+     * 函数缓存未命中次数
+     */
+    private final long cacheMisses;
+
+    /**
+     * 耗时中位数，纳秒
+     */
+    private final long p50;
+
+    private final long p90;
+
+    private final long p99;
+
+    /**
+     * 最大耗时，纳秒
+     */
+    private final long max;
+
+}
@@ -0,0 +1,54 @@
+/*
+ * Copyright (c) 2020 dingqianwen (761945125@qq.com)
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cn.ruleengine.core.metrics;
+
+/**
+ * 〈一句话功能简述〉<br>
+ * 〈〉
+ * 不记录任何指标
+ *
+ * @author dingqianwen
+ * @date 2026/10/18
+ * @since 1.0.0
+ */
+public class NoopMetricsRecorder implements MetricsRecorder {
+
+    @Override
+    public boolean isEnabled() {
+        return false;
+    }
+
+    @Override
+    public void recordRule(String workspaceCode, String ruleCode, long nanos, boolean hit) {
+
+    }
+
+    @Override
+    public void recordCondition(Integer conditionId, String conditionName, long nanos, boolean result) {
+
+    }
+
+    @Override
+    public void recordFunction(String functionName, long nanos, boolean success) {
+
+    }
+
+    @Override
+    public void recordFunctionCache(String functionName, boolean hit) {
+
+    }
+
+}
@@ -1,17 +1,29 @@
 package cn.ruleengine.core.rule;
 
 import cn.ruleengine.core.DataSupport;
+import cn.ruleengine.core.EngineVariable;
+import cn.ruleengine.core.ExecutionContext;
 import cn.ruleengine.core.Input;
 import cn.ruleengine.core.JsonParse;
 import cn.ruleengine.core.RuleEngineConfiguration;
+import cn.ruleengine.core.codec.RuleSnapshotCodec;
+import cn.ruleengine.core.compile.Compilable;
+import cn.ruleengine.core.compile.CompiledRule;
+import cn.ruleengine.core.compile.RuleCompiler;
+import cn.ruleengine.core.metrics.MetricsRecorder;
+import cn.ruleengine.core.trace.ExecutionTrace;
+import cn.ruleengine.core.trace.TraceEvent;
 import cn.ruleengine.core.value.Value;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
 import lombok.SneakyThrows;
-import lombok.extern.slf4j.Slf4j;
+import lombok.ToString;
 import org.springframework.lang.NonNull;
 import org.springframework.lang.Nullable;
 
+import java.util.Collections;
+import java.util.Map;
 import java.util.Objects;
 
 /**
@@ -26,9 +38,8 @@ import java.util.Objects;
  * @since 1.0.0
  */
 @EqualsAndHashCode(callSuper = true)
-@Slf4j
 @Data
-public class GeneralRule extends DataSupport implements JsonParse {
+public class GeneralRule extends DataSupport implements JsonParse, Compilable {
 
     private Rule rule;
 
@@ -48,6 +59,13 @@ public class GeneralRule extends DataSupport implements JsonParse {
      */
     private Value defaultActionValue;
 
+    /**
+     * 编译后的规则，为null时解释执行
+     */
+    @JsonIgnore
+    @ToString.Exclude
+    private transient volatile CompiledRule compiledRule;
+
 
     /**
      * 执行规则
@@ -59,24 +77,48 @@ public class GeneralRule extends DataSupport implements JsonParse {
     @Override
     @Nullable
     public Object execute(@NonNull Input input, @NonNull RuleEngineConfiguration configuration) {
-        long startTime = System.currentTimeMillis();
+        ExecutionTrace trace = ExecutionContext.traceOf(input);
+        if (trace == null) {
+            return this.doExecute(input, configuration);
+        }
+        int index = trace.begin(TraceEvent.Type.RULE, this.getId(), this.getCode());
+        Object action = null;
+        try {
+            action = this.doExecute(input, configuration);
+            return action;
+        } finally {
+            trace.end(index, action);
+        }
+    }
+
+    @Nullable
+    private Object doExecute(@NonNull Input input, @NonNull RuleEngineConfiguration configuration) {
+        MetricsRecorder metricsRecorder = configuration.getMetricsRecorder();
+        // 未开启指标时不读取时钟
+        boolean metricsEnabled = metricsRecorder.isEnabled();
+        long startTime = metricsEnabled ? System.nanoTime() : 0L;
+        boolean hit = false;
         try {
-            Object action = this.getRule().execute(input, configuration);
+            CompiledRule compiledRule = this.compiledRule;
+            Object action;
+            if (compiledRule != null) {
+                action = compiledRule.execute(input, configuration);
+            } else {
+                action = this.getRule().execute(input, configuration);
+            }
             if (action != null) {
                 // 条件全部命中时候执行
+                hit = true;
                 return action;
             }
             Value defaultValue = this.getDefaultActionValue();
             if (Objects.nonNull(defaultValue)) {
-                log.debug("结果未命中，存在默认结果，返回默认结果");
                 return defaultValue.getValue(input, configuration);
             }
-            log.debug("结果未命中，不存在默认结果，返回:null");
             return null;
         } finally {
-            long cost = System.currentTimeMillis() - startTime;
-            if (log.isDebugEnabled()) {
-                log.debug("普通规则计算耗时:{}ms", cost);
+            if (metricsEnabled) {
+                metricsRecorder.recordRule(this.getWorkspaceCode(), this.getCode(), System.nanoTime() - startTime, hit);
             }
         }
     }
@@ -92,6 +134,25 @@ public class GeneralRule extends DataSupport implements JsonParse {
         return OBJECT_MAPPER.readValue(jsonString, GeneralRule.class);
     }
 
+    /**
+     * 根据二进制快照构建一个规则
+     *
+     * @param snapshot 二进制快照
+     * @return rule
+     */
+    public static GeneralRule buildRule(@NonNull byte[] snapshot) {
+        return RuleSnapshotCodec.decode(snapshot);
+    }
+
+    /**
+     * 规则信息转为二进制快照
+     *
+     * @return 二进制快照
+     */
+    public byte[] toSnapshot() {
+        return RuleSnapshotCodec.encode(this);
+    }
+
     @SneakyThrows
     @Override
     public void fromJson(@NonNull String jsonString) {
@@ -107,7 +168,44 @@ public class GeneralRule extends DataSupport implements JsonParse {
         this.setVersion(generalRule.getVersion());
     }
 
+    /**
+     * 编译规则，编译后执行时不再解释执行规则
+     */
+    public void compile() {
+        this.compile(null);
+    }
+
+    /**
+     * 编译规则，编译后执行时不再解释执行规则
+     *
+     * @param engineVariable 引擎变量，值为固定值的变量在编译时直接取出，为null时变量在执行时获取
+     */
+    @Override
+    public void compile(@Nullable EngineVariable engineVariable) {
+        try {
+            this.compiledRule = RuleCompiler.compile(this.getRule(), engineVariable);
+        } catch (RuntimeException e) {
+            // 重新编译失败时不能继续使用旧的编译结果
+            this.compiledRule = null;
+            throw e;
+        }
+    }
+
+    /**
+     * 最近一次编译时读取的变量以及读取到的值
+     *
+     * @return 变量id与变量值
+     */
+    @JsonIgnore
+    @Override
+    public Map<Integer, Value> getCompiledVariables() {
+        CompiledRule compiledRule = this.compiledRule;
+        return compiledRule == null ? Collections.emptyMap() : compiledRule.getVariables();
+    }
+
     public void setRule(Rule rule) {
         this.rule = Objects.requireNonNull(rule);
+        // 规则发生变化，需要重新编译
+        this.compiledRule = null;
     }
 }
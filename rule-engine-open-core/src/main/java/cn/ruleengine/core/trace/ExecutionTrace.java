@@ -0,0 +1,174 @@
+/*
+ * Copyright (c) 2020 dingqianwen (761945125@qq.com)
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cn.ruleengine.core.trace;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 〈一句话功能简述〉<br>
+ * 〈〉
+ * 一次规则执行的跟踪记录，记录执行过的条件组、条件、函数以及它们的值和耗时
+ * <p>
+ * 记录保存在创建时预先分配的数组中，执行过程中不再创建对象，超过容量的记录丢弃并计数，
+ * 获取{@link #getEvents()}时才转换为{@link TraceEvent}。只能在执行规则的线程中使用
+ *
+ * @author dingqianwen
+ * @date 2026/10/18
+ * @since 1.0.0
+ */
+public class ExecutionTrace {
+
+    /**
+     * 默认最多记录条数
+     */
+    public static final int DEFAULT_CAPACITY = 256;
+
+    private final TraceEvent.Type[] types;
+    private final int[] depths;
+    private final Integer[] ids;
+    private final String[] names;
+    private final Object[] leftValues;
+    private final Object[] rightValues;
+    private final Object[] results;
+    /**
+     * 开始时为开始时间，结束后为耗时
+     */
+    private final long[] nanos;
+    private final Boolean[] cached;
+
+    private int size;
+
+    private int depth;
+
+    private int dropped;
+
+    public ExecutionTrace() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public ExecutionTrace(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be greater than 0");
+        }
+        this.types = new TraceEvent.Type[capacity];
+        this.depths = new int[capacity];
+        this.ids = new Integer[capacity];
+        this.names = new String[capacity];
+        this.leftValues = new Object[capacity];
+        this.rightValues = new Object[capacity];
+        this.results = new Object[capacity];
+        this.nanos = new long[capacity];
+        this.cached = new Boolean[capacity];
+    }
+
+    /**
+     * 开始记录，必须与end方法成对调用
+     *
+     * @param type 类型
+     * @param id   id
+     * @param name 名称
+     * @return 记录的下标，超过容量时为-1
+     */
+    public int begin(TraceEvent.Type type, Integer id, String name) {
+        int depth = this.depth++;
+        if (this.size == this.types.length) {
+            this.dropped++;
+            return -1;
+        }
+        int index = this.size++;
+        this.types[index] = type;
+        this.depths[index] = depth;
+        this.ids[index] = id;
+        this.names[index] = name;
+        this.nanos[index] = System.nanoTime();
+        return index;
+    }
+
+    /**
+     * 结束规则/条件组的记录
+     *
+     * @param index  {@link #begin(TraceEvent.Type, Integer, String)}返回的下标
+     * @param result 执行结果
+     */
+    public void end(int index, Object result) {
+        this.end(index, null, null, result, null);
+    }
+
+    /**
+     * 结束条件的记录
+     *
+     * @param index      {@link #begin(TraceEvent.Type, Integer, String)}返回的下标
+     * @param leftValue  左值
+     * @param rightValue 右值
+     * @param result     是否成立
+     */
+    public void end(int index, Object leftValue, Object rightValue, Object result) {
+        this.end(index, leftValue, rightValue, result, null);
+    }
+
+    /**
+     * 结束函数的记录
+     *
+     * @param index  {@link #begin(TraceEvent.Type, Integer, String)}返回的下标
+     * @param params 函数入参
+     * @param result 函数返回值
+     * @param cached 没有实际调用函数时为true
+     */
+    public void endFunction(int index, Object params, Object result, boolean cached) {
+        this.end(index, params, null, result, cached);
+    }
+
+    private void end(int index, Object leftValue, Object rightValue, Object result, Boolean cached) {
+        this.depth--;
+        if (index < 0) {
+            return;
+        }
+        this.nanos[index] = System.nanoTime() - this.nanos[index];
+        this.leftValues[index] = leftValue;
+        this.rightValues[index] = rightValue;
+        this.results[index] = result;
+        this.cached[index] = cached;
+    }
+
+    /**
+     * 按照执行顺序获取全部记录
+     *
+     * @return 记录
+     */
+    public List<TraceEvent> getEvents() {
+        if (this.size == 0) {
+            return Collections.emptyList();
+        }
+        List<TraceEvent> events = new ArrayList<>(this.size);
+        for (int i = 0; i < this.size; i++) {
+            events.add(new TraceEvent(this.types[i], this.depths[i], this.ids[i], this.names[i],
+                    this.leftValues[i], this.rightValues[i], this.results[i], this.nanos[i], this.cached[i]));
+        }
+        return events;
+    }
+
+    /**
+     * 超过容量丢弃的记录条数
+     *
+     * @return 条数
+     */
+    public int getDropped() {
+        return this.dropped;
+    }
+
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright (c) 2020 dingqianwen (761945125@qq.com)
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cn.ruleengine.core.trace;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * 〈一句话功能简述〉<br>
+ * 〈〉
+ * 执行跟踪中的一条记录，depth为嵌套层级，例如条件中调用的函数比条件深一层
+ *
+ * @author dingqianwen
+ * @date 2026/10/18
+ * @since 1.0.0
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class TraceEvent {
+
+    private final Type type;
+
+    private final int depth;
+
+    /**
+     * 规则/条件组/条件/函数id
+     */
+    private final Integer id;
+
+    /**
+     * 规则code/条件组名称/条件名称/函数名称
+     */
+    private final String name;
+
+    /**
+     * 条件左值，函数时为函数入参
+     */
+    private final Object leftValue;
+
+    /**
+     * 条件右值
+     */
+    private final Object rightValue;
+
+    /**
+     * 条件/条件组是否成立，规则以及函数时为返回值，执行异常时为null
+     */
+    private final Object result;
+
+    /**
+     * 耗时，纳秒
+     */
+    private final long nanos;
+
+    /**
+     * 函数的值是否来自本次执行上下文或者函数缓存，没有实际调用函数，其他类型为null
+     */
+    private final Boolean cached;
+
+    public enum Type {
+
+        /**
+         * 规则
+         */
+        RULE,
+        /**
+         * 条件组
+         */
+        GROUP,
+        /**
+         * 条件
+         */
+        CONDITION,
+        /**
+         * 函数
+         */
+        FUNCTION
+
+    }
+
+}
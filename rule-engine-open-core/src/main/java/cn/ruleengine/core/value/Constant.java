@@ -49,6 +49,12 @@ public class Constant implements Value {
      */
     private ValueType valueType;
 
+    /**
+     * 集合类型固定值的索引，执行时使用，不参与序列化
+     */
+    @ToString.Exclude
+    private transient IndexedList<?> indexedValue;
+
     /**
      * 反序列化json使用
      */
@@ -61,6 +67,7 @@ public class Constant implements Value {
         // 初始化值
         this.value = this.dataConversion(value, valueType);
         this.valueType = valueType;
+        this.indexedValue = this.index();
     }
 
     @Override
@@ -119,7 +126,27 @@ public class Constant implements Value {
 
     @Override
     public Object getValue(Input input, RuleEngineConfiguration configuration) {
+        if (this.value instanceof Collection) {
+            IndexedList<?> indexedValue = this.indexedValue;
+            // json反序列化的固定值，第一次使用时构建索引
+            if (indexedValue == null) {
+                indexedValue = this.indexedValue = this.index();
+            }
+            return indexedValue;
+        }
         return this.getValue();
     }
 
+    /**
+     * 集合类型固定值构建索引
+     *
+     * @return 带索引的集合，非集合时返回null
+     */
+    private IndexedList<?> index() {
+        if (this.value instanceof Collection) {
+            return IndexedList.of((Collection<?>) this.value);
+        }
+        return null;
+    }
+
 }
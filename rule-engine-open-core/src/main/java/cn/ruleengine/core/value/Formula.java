@@ -15,7 +15,6 @@
  */
 package cn.ruleengine.core.value;
 
-import cn.hutool.core.lang.Validator;
 import cn.ruleengine.core.Input;
 import cn.ruleengine.core.RuleEngineConfiguration;
 import cn.ruleengine.core.exception.FormulaException;
@@ -25,7 +24,9 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.expression.EvaluationContext;
 import org.springframework.expression.Expression;
 import org.springframework.expression.ExpressionParser;
+import org.springframework.expression.spel.SpelCompilerMode;
 import org.springframework.expression.spel.SpelNode;
+import org.springframework.expression.spel.SpelParserConfiguration;
 import org.springframework.expression.spel.ast.SpelNodeImpl;
 import org.springframework.expression.spel.ast.VariableReference;
 import org.springframework.expression.spel.standard.SpelExpression;
@@ -65,8 +66,16 @@ public class Formula implements Value {
 
     /**
      * spel表达式解析器
+     * <p>
+     * MIXED模式：表达式先解释执行，执行多次后编译为字节码，编译后执行失败时自动退回解释执行
      */
-    private final static ExpressionParser EXPRESSION_PARSER = new SpelExpressionParser();
+    private final static ExpressionParser EXPRESSION_PARSER = new SpelExpressionParser(
+            new SpelParserConfiguration(SpelCompilerMode.MIXED, Formula.class.getClassLoader()));
+
+    /**
+     * 每个线程复用的只读EvaluationContext
+     */
+    private final static ThreadLocal<EvaluationContext> READ_ONLY_EVALUATION_CONTEXT = ThreadLocal.withInitial(() -> SimpleEvaluationContext.forReadOnlyDataBinding().build());
 
 
     /**
@@ -88,6 +97,12 @@ public class Formula implements Value {
      */
     private Set<String> inputParameterCodes = new HashSet<>();
 
+    /**
+     * 表达式用到的所有的参数，执行时遍历数组，避免每次创建迭代器
+     */
+    @ToString.Exclude
+    private transient String[] parameterCodes = new String[0];
+
     /**
      * EvaluationContextType 默认使用 SIMPLE_EVALUATION_READ_ONLY
      */
@@ -145,24 +160,32 @@ public class Formula implements Value {
             log.debug("开始处理表达式：" + this.getValue());
         }
         EvaluationContext context = this.getEvaluationContext();
-        if (!this.inputParameterCodes.isEmpty()) {
-            for (String inputParameterCode : this.inputParameterCodes) {
+        String[] parameterCodes = this.parameterCodes;
+        Class<?> classType = this.valueType.getClassType();
+        Object value;
+        try {
+            for (String inputParameterCode : parameterCodes) {
                 Object paramValue = input.get(inputParameterCode);
-                if (Validator.isEmpty(paramValue)) {
+                if (paramValue == null || (paramValue instanceof String && ((String) paramValue).isEmpty())) {
                     throw new FormulaException("{} can not be null：", inputParameterCode);
                 }
                 context.setVariable(inputParameterCode, paramValue);
             }
-        }
-        Class<?> classType = this.valueType.getClassType();
-        Object value;
-        try {
-            value = this.expression.getValue(context, classType);
-        } catch (Exception e) {
-            if (log.isWarnEnabled()) {
-                log.warn("表达式执行失败", e);
+            try {
+                value = this.expression.getValue(context, classType);
+            } catch (Exception e) {
+                if (log.isWarnEnabled()) {
+                    log.warn("表达式执行失败", e);
+                }
+                throw new FormulaException("表达式执行失败：" + e.getMessage());
+            }
+        } finally {
+            if (this.evaluationContextType == EvaluationContextType.SIMPLE_EVALUATION_READ_ONLY) {
+                // 线程复用的上下文，执行完成后清除参数，不持有入参引用
+                for (String inputParameterCode : parameterCodes) {
+                    context.setVariable(inputParameterCode, null);
+                }
             }
-            throw new FormulaException("表达式执行失败：" + e.getMessage());
         }
         return this.dataConversion(value, this.valueType);
     }
@@ -180,6 +203,7 @@ public class Formula implements Value {
         this.expression = formulaProcessor.getExpression();
         // 处理表达式所有的参数，并缓存code
         this.inputParameterCodes = formulaProcessor.getInputParameterCodes();
+        this.parameterCodes = this.inputParameterCodes.toArray(new String[0]);
     }
 
 
@@ -189,13 +213,16 @@ public class Formula implements Value {
 
     /**
      * get EvaluationContext
+     * <p>
+     * 只读的上下文同一线程内复用，表达式只能读取自身的参数，每次执行前都会重新设置，执行后清除；
+     * 可写的上下文中表达式可以写入其他变量或者修改根对象，每次执行都创建新的，避免影响之后的表达式或者请求
      *
      * @return EvaluationContext
      */
     private EvaluationContext getEvaluationContext() {
         switch (this.evaluationContextType) {
             case SIMPLE_EVALUATION_READ_ONLY:
-                return SimpleEvaluationContext.forReadOnlyDataBinding().build();
+                return READ_ONLY_EVALUATION_CONTEXT.get();
             case SIMPLE_EVALUATION_READ_WRITE:
                 return SimpleEvaluationContext.forReadWriteDataBinding().build();
             case STANDARD_EVALUATION:
@@ -15,6 +15,7 @@
  */
 package cn.ruleengine.core.value;
 
+import cn.ruleengine.core.ExecutionContext;
 import cn.ruleengine.core.FunctionExecutor;
 import cn.ruleengine.core.Input;
 import cn.ruleengine.core.RuleEngineConfiguration;
@@ -24,6 +25,9 @@ import cn.ruleengine.core.annotation.FunctionCacheable;
 import cn.ruleengine.core.cache.FunctionCache;
 import cn.ruleengine.core.cache.KeyGenerator;
 import cn.ruleengine.core.exception.FunctionException;
+import cn.ruleengine.core.metrics.MetricsRecorder;
+import cn.ruleengine.core.trace.ExecutionTrace;
+import cn.ruleengine.core.trace.TraceEvent;
 import lombok.Getter;
 import lombok.ToString;
 import lombok.extern.slf4j.Slf4j;
@@ -34,6 +38,7 @@ import java.lang.reflect.Modifier;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * 〈一句话功能简述〉<br>
@@ -73,6 +78,12 @@ public class Function implements Value {
     @Getter
     private Method failureStrategyMethod;
 
+    /**
+     * 预编译的函数执行器，执行时不再反射解析方法注解以及参数
+     */
+    @ToString.Exclude
+    private FunctionExecutor.Invoker invoker;
+
     /**
      * 函数缓存key生成
      */
@@ -90,6 +101,24 @@ public class Function implements Value {
     @Getter
     private long liveOutTime;
 
+    /**
+     * 相同参数时函数返回值是否一定相同，为true时一次规则执行中参数相同的函数只执行一次
+     */
+    @Getter
+    private boolean deterministic = true;
+
+    /**
+     * 是否为远程调用的函数
+     */
+    @Getter
+    private boolean remote;
+
+    /**
+     * 是否可以提前并行调用
+     */
+    @Getter
+    private boolean parallel;
+
     @Getter
     private Map<String, Value> params;
 
@@ -112,6 +141,8 @@ public class Function implements Value {
         this.initExecutorMethod();
         this.initFailureStrategyMethod();
         this.initKeyGenerator();
+        this.initFunctionAnnotation();
+        this.invoker = FunctionExecutor.getInstance().createInvoker(this.abstractFunction, this.executorMethod, this.failureStrategyMethod);
     }
 
     /**
@@ -139,6 +170,18 @@ public class Function implements Value {
         }
     }
 
+    /**
+     * 初始化函数返回值是否确定以及是否为远程调用
+     */
+    private void initFunctionAnnotation() {
+        cn.ruleengine.core.annotation.Function function = this.abstractFunctionClass.getAnnotation(cn.ruleengine.core.annotation.Function.class);
+        if (function != null) {
+            this.deterministic = function.deterministic();
+            this.remote = function.remote();
+            this.parallel = function.parallel();
+        }
+    }
+
     /**
      * 获取函数值
      *
@@ -148,43 +191,206 @@ public class Function implements Value {
      */
     @Override
     public Object getValue(Input input, RuleEngineConfiguration configuration) {
-        //处理函数入参
+        ExecutionTrace trace = ExecutionContext.traceOf(input);
+        if (trace != null) {
+            return this.getValue((ExecutionContext) input, configuration, trace);
+        }
+        Map<String, Object> paramValue = this.getParamValue(input, configuration);
+        // 一次规则执行中参数相同的函数只执行一次
+        if (this.deterministic && input instanceof ExecutionContext) {
+            return ((ExecutionContext) input).memoize(new MemoKey(this, paramValue), () -> this.getValue(paramValue, configuration));
+        }
+        return this.getValue(paramValue, configuration);
+    }
+
+    /**
+     * 获取函数值，并记录函数入参、返回值以及是否实际调用了函数
+     *
+     * @param context       执行上下文
+     * @param configuration 规则配置信息
+     * @param trace         本次执行的跟踪记录
+     * @return value
+     */
+    private Object getValue(ExecutionContext context, RuleEngineConfiguration configuration, ExecutionTrace trace) {
+        int index = trace.begin(TraceEvent.Type.FUNCTION, this.id, this.abstractFunctionSimpleName);
+        Map<String, Object> paramValue = null;
+        Object value = null;
+        boolean[] loaded = {false};
+        try {
+            paramValue = this.getParamValue(context, configuration);
+            Map<String, Object> params = paramValue;
+            MetricsRecorder metricsRecorder = configuration.getMetricsRecorder();
+            if (this.deterministic) {
+                value = context.memoize(new MemoKey(this, params), () -> this.getValue(params, configuration, metricsRecorder, loaded));
+            } else {
+                value = this.getValue(paramValue, configuration, metricsRecorder, loaded);
+            }
+            return value;
+        } finally {
+            trace.endFunction(index, paramValue, value, !loaded[0]);
+        }
+    }
+
+    /**
+     * 提前发起函数的异步调用，结果放入本次执行上下文，之后获取函数值时等待调用完成
+     * <p>
+     * 只有可以并行调用并且相同参数返回值相同的函数才会提前调用，函数入参在当前线程计算，计算失败时不提前调用
+     *
+     * @param context       执行上下文
+     * @param configuration 规则配置信息
+     */
+    public void prefetch(ExecutionContext context, RuleEngineConfiguration configuration) {
+        if (!this.parallel || !this.deterministic || this.invoker == null) {
+            return;
+        }
+        Map<String, Object> paramValue;
+        try {
+            paramValue = this.getParamValue(context, configuration);
+        } catch (RuntimeException e) {
+            log.debug("函数入参计算失败，不提前调用：{}", this.abstractFunctionSimpleName, e);
+            return;
+        }
+        context.prefetch(new MemoKey(this, paramValue), () -> this.getValueAsync(paramValue, configuration));
+    }
+
+    /**
+     * 计算函数入参
+     *
+     * @param input         入参
+     * @param configuration 规则配置信息
+     * @return 函数入参
+     */
+    private Map<String, Object> getParamValue(Input input, RuleEngineConfiguration configuration) {
         Map<String, Object> paramValue = new HashMap<>(this.params.size());
         for (Map.Entry<String, Value> entry : this.params.entrySet()) {
             paramValue.put(entry.getKey(), entry.getValue().getValue(input, configuration));
         }
+        return paramValue;
+    }
+
+    /**
+     * 根据函数入参异步获取函数值，缓存命中时直接返回
+     *
+     * @param paramValue    函数入参
+     * @param configuration 规则配置信息
+     * @return value
+     */
+    private CompletableFuture<?> getValueAsync(Map<String, Object> paramValue, RuleEngineConfiguration configuration) {
+        MetricsRecorder metricsRecorder = configuration.getMetricsRecorder();
+        boolean metricsEnabled = metricsRecorder.isEnabled();
+        FunctionCache functionCache = this.enableCache ? configuration.getFunctionCache() : null;
+        Object key = null;
+        if (functionCache != null) {
+            key = this.keyGenerator.generate(this.abstractFunction, paramValue);
+            Object value = functionCache.get(key);
+            if (metricsEnabled) {
+                metricsRecorder.recordFunctionCache(this.abstractFunctionSimpleName, value != null);
+            }
+            if (value != null) {
+                return CompletableFuture.completedFuture(this.dataConversion(value, this.valueType));
+            }
+        }
+        Object cacheKey = key;
+        long startTime = metricsEnabled ? System.nanoTime() : 0L;
+        return FunctionExecutor.getInstance().executeAsync(this.invoker, paramValue, configuration.getFunctionAsyncExecutor())
+                .whenComplete((value, e) -> {
+                    if (metricsEnabled) {
+                        metricsRecorder.recordFunction(this.abstractFunctionSimpleName, System.nanoTime() - startTime, e == null);
+                    }
+                })
+                .thenApply(value -> {
+                    if (functionCache != null && value != null) {
+                        functionCache.put(cacheKey, value, this.liveOutTime);
+                    }
+                    return this.dataConversion(value, this.valueType);
+                });
+    }
+
+    /**
+     * 根据函数入参获取函数值
+     *
+     * @param paramValue    函数入参
+     * @param configuration 规则配置信息
+     * @return value
+     */
+    private Object getValue(Map<String, Object> paramValue, RuleEngineConfiguration configuration) {
+        MetricsRecorder metricsRecorder = configuration.getMetricsRecorder();
+        if (metricsRecorder.isEnabled()) {
+            return this.getValue(paramValue, configuration, metricsRecorder, new boolean[1]);
+        }
         Object value;
         if (this.enableCache) {
             // 获取缓存实现类
             FunctionCache functionCache = configuration.getFunctionCache();
-            String key = this.keyGenerator.generate(this.abstractFunction, paramValue);
-            value = functionCache.get(key);
-            if (value != null) {
-                if (log.isDebugEnabled()) {
-                    log.debug("{}函数存在缓存", this.abstractFunctionSimpleName);
-                }
-            } else {
-                if (log.isDebugEnabled()) {
-                    log.debug("{}函数不存在缓存,开始执行函数", this.abstractFunctionSimpleName);
-                }
-                value = this.executor(paramValue);
-                functionCache.put(key, value, this.liveOutTime);
-            }
+            Object key = this.keyGenerator.generate(this.abstractFunction, paramValue);
+            value = functionCache.get(key, this.liveOutTime, () -> this.executor(paramValue, configuration));
         } else {
-            value = this.executor(paramValue);
+            value = this.executor(paramValue, configuration);
         }
         // 函数返回值转为引擎可以执行类型
         return this.dataConversion(value, this.valueType);
     }
 
+    /**
+     * 根据函数入参获取函数值，并记录函数调用耗时以及缓存命中情况
+     *
+     * @param paramValue      函数入参
+     * @param configuration   规则配置信息
+     * @param metricsRecorder 指标记录
+     * @param loaded          实际调用了函数时设置为true
+     * @return value
+     */
+    private Object getValue(Map<String, Object> paramValue, RuleEngineConfiguration configuration, MetricsRecorder metricsRecorder, boolean[] loaded) {
+        Object value;
+        if (this.enableCache) {
+            FunctionCache functionCache = configuration.getFunctionCache();
+            Object key = this.keyGenerator.generate(this.abstractFunction, paramValue);
+            // 缓存未命中时才会调用函数
+            value = functionCache.get(key, this.liveOutTime, () -> {
+                loaded[0] = true;
+                return this.executor(paramValue, configuration, metricsRecorder);
+            });
+            metricsRecorder.recordFunctionCache(this.abstractFunctionSimpleName, !loaded[0]);
+        } else {
+            loaded[0] = true;
+            value = this.executor(paramValue, configuration, metricsRecorder);
+        }
+        return this.dataConversion(value, this.valueType);
+    }
+
+    /**
+     * 执行函数并记录调用耗时
+     *
+     * @param paramValue      函数值
+     * @param configuration   规则配置信息
+     * @param metricsRecorder 指标记录
+     * @return 函数返回结果
+     */
+    private Object executor(Map<String, Object> paramValue, RuleEngineConfiguration configuration, MetricsRecorder metricsRecorder) {
+        long startTime = System.nanoTime();
+        boolean success = false;
+        try {
+            Object value = this.executor(paramValue, configuration);
+            success = true;
+            return value;
+        } finally {
+            metricsRecorder.recordFunction(this.abstractFunctionSimpleName, System.nanoTime() - startTime, success);
+        }
+    }
+
     /**
      * 执行函数
      *
-     * @param paramValue 函数值
+     * @param paramValue    函数值
+     * @param configuration 规则配置信息
      * @return 函数返回结果
      */
-    private Object executor(Map<String, Object> paramValue) {
+    private Object executor(Map<String, Object> paramValue, RuleEngineConfiguration configuration) {
         FunctionExecutor functionExecutor = FunctionExecutor.getInstance();
+        if (this.invoker != null) {
+            // 异步函数与提前调用使用同一个线程池
+            return functionExecutor.executor(this.invoker, paramValue, configuration.getFunctionAsyncExecutor());
+        }
         return functionExecutor.executor(this.abstractFunction, this.executorMethod, this.failureStrategyMethod, paramValue);
     }
 
@@ -258,4 +464,46 @@ public class Function implements Value {
         return Objects.hash(id);
     }
 
+    /**
+     * 一次规则执行中函数值的缓存key，函数执行器、返回值类型以及函数入参相同时为同一个key
+     * <p>
+     * 不同变量引用同一个函数时是不同的Function实例，但是执行器相同，入参相同时只执行一次
+     */
+    private static final class MemoKey {
+
+        private final Object abstractFunction;
+
+        private final ValueType valueType;
+
+        private final Map<String, Object> paramValue;
+
+        private final int hashCode;
+
+        private MemoKey(Function function, Map<String, Object> paramValue) {
+            this.abstractFunction = function.abstractFunction;
+            this.valueType = function.valueType;
+            this.paramValue = paramValue;
+            this.hashCode = 31 * (31 * System.identityHashCode(this.abstractFunction) + Objects.hashCode(this.valueType)) + paramValue.hashCode();
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof MemoKey)) {
+                return false;
+            }
+            MemoKey memoKey = (MemoKey) o;
+            return this.abstractFunction == memoKey.abstractFunction && this.valueType == memoKey.valueType
+                    && this.paramValue.equals(memoKey.paramValue);
+        }
+
+        @Override
+        public int hashCode() {
+            return this.hashCode;
+        }
+
+    }
+
 }
@@ -0,0 +1,133 @@
+/*
+ * Copyright (c) 2020 dingqianwen (761945125@qq.com)
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cn.ruleengine.core.value;
+
+import org.springframework.lang.NonNull;
+
+import java.util.*;
+
+/**
+ * 〈一句话功能简述〉<br>
+ * 〈〉
+ * 带索引的不可变集合，集合类型固定值加载时构建，IN/NOT_IN/CONTAIN/NOT_CONTAIN时contains不再遍历集合
+ * <p>
+ * 元素较少并且全部为字符串时使用排序数组二分查找，否则使用HashSet
+ *
+ * @author dingqianwen
+ * @date 2026/10/18
+ * @since 1.0.0
+ */
+public final class IndexedList<E> extends AbstractList<E> implements RandomAccess {
+
+    /**
+     * 元素个数不超过此值时使用排序数组
+     */
+    static final int SORTED_ARRAY_MAX_SIZE = 16;
+
+    /**
+     * 原始顺序的元素
+     */
+    private final Object[] elements;
+
+    /**
+     * 排序后的元素，元素较少并且全部为字符串时使用
+     */
+    private final String[] sortedElements;
+
+    /**
+     * 元素较多时使用的索引
+     */
+    private final Set<Object> index;
+
+    private IndexedList(Collection<? extends E> collection) {
+        this.elements = collection.toArray();
+        if (this.elements.length <= SORTED_ARRAY_MAX_SIZE && this.allString()) {
+            this.sortedElements = new String[this.elements.length];
+            for (int i = 0; i < this.elements.length; i++) {
+                this.sortedElements[i] = (String) this.elements[i];
+            }
+            Arrays.sort(this.sortedElements);
+            this.index = null;
+        } else {
+            this.sortedElements = null;
+            this.index = new HashSet<>(Arrays.asList(this.elements));
+        }
+    }
+
+    /**
+     * 构建带索引的集合，已经是带索引的集合时直接返回
+     *
+     * @param collection 集合
+     * @param <E>        元素类型
+     * @return 带索引的集合
+     */
+    @SuppressWarnings("unchecked")
+    public static <E> IndexedList<E> of(@NonNull Collection<? extends E> collection) {
+        Objects.requireNonNull(collection);
+        if (collection instanceof IndexedList) {
+            return (IndexedList<E>) collection;
+        }
+        return new IndexedList<>(collection);
+    }
+
+    private boolean allString() {
+        for (Object element : this.elements) {
+            if (!(element instanceof String)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        if (this.sortedElements != null) {
+            // 全部元素为字符串，其他类型一定不存在
+            if (!(o instanceof String)) {
+                return false;
+            }
+            return Arrays.binarySearch(this.sortedElements, o) >= 0;
+        }
+        return this.index.contains(o);
+    }
+
+    @Override
+    public boolean containsAll(Collection<?> c) {
+        for (Object o : c) {
+            if (!this.contains(o)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public E get(int index) {
+        return (E) this.elements[index];
+    }
+
+    @Override
+    public int size() {
+        return this.elements.length;
+    }
+
+    @Override
+    public Object[] toArray() {
+        return this.elements.clone();
+    }
+
+}
@@ -20,6 +20,7 @@ import cn.hutool.core.util.NumberUtil;
 import cn.ruleengine.core.RuleEngineConfiguration;
 import cn.ruleengine.core.Input;
 import cn.ruleengine.core.condition.compare.DateCompare;
+import cn.ruleengine.core.condition.compare.NumberCompare;
 import cn.ruleengine.core.exception.ValueException;
 import cn.ruleengine.core.condition.compare.BooleanCompare;
 
@@ -67,6 +68,35 @@ public interface Value {
         if (Objects.isNull(value)) {
             return null;
         }
+        // 已经是目标类型时直接返回，不再转为字符串解析
+        switch (valueType) {
+            case NUMBER:
+                if (value instanceof BigDecimal) {
+                    return value;
+                }
+                BigDecimal number = NumberCompare.valueOf(value);
+                if (number != null) {
+                    return number;
+                }
+                break;
+            case STRING:
+                if (value instanceof String) {
+                    return value;
+                }
+                break;
+            case BOOLEAN:
+                if (value instanceof Boolean) {
+                    return value;
+                }
+                break;
+            case DATE:
+                if (value instanceof DateCompare.DateTime) {
+                    return value;
+                }
+                break;
+            default:
+                break;
+        }
         // to string , obj.toString()
         String valueString = String.valueOf(value);
         // 根据valueType 解析值 获取对应的类型
@@ -94,9 +124,6 @@ public interface Value {
                 if (valueString.isEmpty()) {
                     return null;
                 }
-                if (value instanceof BigDecimal) {
-                    return value;
-                }
                 if (NumberUtil.isNumber(valueString)) {
                     return new BigDecimal(valueString);
                 }
@@ -109,9 +136,7 @@ public interface Value {
                 if (valueString.isEmpty()) {
                     return null;
                 }
-                if (value instanceof Boolean) {
-                    return value;
-                } else if (Objects.equals(valueString, BooleanCompare.TRUE)) {
+                if (Objects.equals(valueString, BooleanCompare.TRUE)) {
                     return true;
                 } else if (Objects.equals(valueString, BooleanCompare.FALSE)) {
                     return false;
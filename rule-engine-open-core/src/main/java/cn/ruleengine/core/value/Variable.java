@@ -15,6 +15,7 @@
  */
 package cn.ruleengine.core.value;
 
+import cn.ruleengine.core.ExecutionContext;
 import cn.ruleengine.core.Input;
 import cn.ruleengine.core.RuleEngineConfiguration;
 import lombok.Getter;
@@ -57,8 +58,25 @@ public class Variable implements Value {
         Value value = configuration.getEngineVariable().getVariable(this.getVariableId());
         if (value instanceof Constant) {
             Constant constantVal = (Constant) value;
-            return constantVal.getValue();
-        } else if (value instanceof Formula) {
+            return constantVal.getValue(input, configuration);
+        }
+        // 一次规则执行中同一个变量只计算一次
+        if (input instanceof ExecutionContext && (value instanceof Formula || ((Function) value).isDeterministic())) {
+            return ((ExecutionContext) input).memoize(this, () -> this.getValue(value, input, configuration));
+        }
+        return this.getValue(value, input, configuration);
+    }
+
+    /**
+     * 计算变量值
+     *
+     * @param value         变量
+     * @param input         入参
+     * @param configuration 规则配置信息
+     * @return 变量值
+     */
+    private Object getValue(Value value, Input input, RuleEngineConfiguration configuration) {
+        if (value instanceof Formula) {
             Formula formula = (Formula) value;
             return formula.getValue(input, configuration);
         }
@@ -0,0 +1,134 @@
+package cn.ruleengine.core;
+
+import cn.ruleengine.core.condition.Condition;
+import cn.ruleengine.core.condition.ConditionGroup;
+import cn.ruleengine.core.condition.Operator;
+import cn.ruleengine.core.rule.GeneralRule;
+import cn.ruleengine.core.rule.Rule;
+import cn.ruleengine.core.value.Constant;
+import cn.ruleengine.core.value.InputParameter;
+import cn.ruleengine.core.value.ValueType;
+import cn.ruleengine.core.value.Variable;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * 〈一句话功能简述〉<br>
+ * 〈〉
+ *
+ * @author dingqianwen
+ * @date 2026/10/18
+ * @since 1.0.0
+ */
+public class ContainerTest {
+
+    @Test
+    public void test() {
+        Container.Body<GeneralRule> body = new Container.Body<>();
+        body.add(this.rule("w1", "r1"));
+        Map<String, Map<String, GeneralRule>> snapshot = body.getWorkspaceMap();
+        body.addMultiple(Arrays.asList(this.rule("w1", "r2"), this.rule("w2", "r1")));
+        // 旧快照不受之后的修改影响
+        Assert.assertEquals(1, snapshot.size());
+        Assert.assertEquals(1, snapshot.get("w1").size());
+        Assert.assertTrue(body.isExists("w1", "r1"));
+        Assert.assertTrue(body.isExists("w1", "r2"));
+        Assert.assertTrue(body.isExists("w2", "r1"));
+        body.remove("w1", "r1");
+        Assert.assertFalse(body.isExists("w1", "r1"));
+        Assert.assertNotNull(body.get("w1", "r2"));
+        body.reload(Collections.singletonList(this.rule("w3", "r1")));
+        Assert.assertFalse(body.isExists("w1", "r2"));
+        Assert.assertTrue(body.isExists("w3", "r1"));
+        body.close();
+        Assert.assertTrue(body.getWorkspaceMap().isEmpty());
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testImmutable() {
+        Container.Body<GeneralRule> body = new Container.Body<>();
+        body.add(this.rule("w1", "r1"));
+        body.getWorkspaceMap().get("w1").clear();
+    }
+
+    @Test
+    public void testVariableChanged() {
+        RuleEngineConfiguration configuration = new RuleEngineConfiguration();
+        configuration.getEngineVariable().addVariable(1, new Constant(10, ValueType.NUMBER));
+        Container.Body<GeneralRule> body = configuration.getGeneralRuleContainer();
+        body.setCompileEnabled(true);
+        Rule rule = new Rule();
+        ConditionGroup conditionGroup = new ConditionGroup();
+        Condition condition = new Condition();
+        condition.setLeftValue(new InputParameter("amount", ValueType.NUMBER));
+        condition.setOperator(Operator.GT);
+        condition.setRightValue(new Variable(1, ValueType.NUMBER));
+        conditionGroup.addCondition(condition);
+        rule.getConditionSet().addConditionGroup(conditionGroup);
+        rule.setActionValue(new Constant(true, ValueType.BOOLEAN));
+        GeneralRule generalRule = new GeneralRule(rule);
+        generalRule.setWorkspaceCode("w1");
+        generalRule.setCode("r1");
+        body.addMultiple(Arrays.asList(generalRule, this.rule("w1", "r2")));
+        Assert.assertEquals(1, body.getVariableDependentSize());
+        Assert.assertEquals(Collections.singleton(1), generalRule.getCompiledVariables().keySet());
+
+        Input input = new DefaultInput();
+        input.put("amount", 15);
+        Assert.assertEquals(true, generalRule.getCompiledRule().execute(input, configuration));
+        // 变量值在编译时取出，变量变化后只重新编译依赖此变量的规则
+        configuration.getEngineVariable().addVariable(1, new Constant(20, ValueType.NUMBER));
+        Assert.assertEquals(0, body.variableChanged(Collections.singletonList(2)));
+        Assert.assertEquals(1, body.variableChanged(Collections.singletonList(1)));
+        Assert.assertNull(generalRule.getCompiledRule().execute(input, configuration));
+        Assert.assertNull(rule.execute(input, configuration));
+
+        body.remove("w1", "r1");
+        Assert.assertEquals(0, body.getVariableDependentSize());
+    }
+
+    @Test
+    public void testReloadVariableDependency() {
+        RuleEngineConfiguration configuration = new RuleEngineConfiguration();
+        configuration.getEngineVariable().addVariable(1, new Constant(10, ValueType.NUMBER));
+        Container.Body<GeneralRule> body = configuration.getGeneralRuleContainer();
+        body.setCompileEnabled(true);
+        body.addMultiple(Arrays.asList(this.variableRule("w1", "r1"), this.variableRule("w1", "r2")));
+        Assert.assertEquals(2, body.getVariableDependentSize());
+        // 重新加载后被替换掉的旧规则不再保留依赖，新规则的依赖在发布前已经登记
+        GeneralRule reloaded = this.variableRule("w1", "r1");
+        body.reload(Collections.singletonList(reloaded));
+        Assert.assertEquals(1, body.getVariableDependentSize());
+        Assert.assertFalse(body.isExists("w1", "r2"));
+        Assert.assertEquals(1, body.variableChanged(Collections.singletonList(1)));
+        Assert.assertSame(reloaded, body.get("w1", "r1"));
+    }
+
+    private GeneralRule variableRule(String workspaceCode, String code) {
+        Rule rule = new Rule();
+        ConditionGroup conditionGroup = new ConditionGroup();
+        Condition condition = new Condition();
+        condition.setLeftValue(new InputParameter("amount", ValueType.NUMBER));
+        condition.setOperator(Operator.GT);
+        condition.setRightValue(new Variable(1, ValueType.NUMBER));
+        conditionGroup.addCondition(condition);
+        rule.getConditionSet().addConditionGroup(conditionGroup);
+        rule.setActionValue(new Constant(true, ValueType.BOOLEAN));
+        GeneralRule generalRule = new GeneralRule(rule);
+        generalRule.setWorkspaceCode(workspaceCode);
+        generalRule.setCode(code);
+        return generalRule;
+    }
+
+    private GeneralRule rule(String workspaceCode, String code) {
+        GeneralRule generalRule = new GeneralRule(new Rule());
+        generalRule.setWorkspaceCode(workspaceCode);
+        generalRule.setCode(code);
+        return generalRule;
+    }
+
+}
@@ -0,0 +1,102 @@
+package cn.ruleengine.core;
+
+import cn.ruleengine.core.annotation.Executor;
+import cn.ruleengine.core.annotation.Function;
+import cn.ruleengine.core.annotation.Param;
+import cn.ruleengine.core.condition.Condition;
+import cn.ruleengine.core.condition.ConditionGroup;
+import cn.ruleengine.core.condition.Operator;
+import cn.ruleengine.core.rule.GeneralRule;
+import cn.ruleengine.core.rule.Rule;
+import cn.ruleengine.core.value.*;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 〈一句话功能简述〉<br>
+ * 〈〉
+ *
+ * @author dingqianwen
+ * @date 2026/10/18
+ * @since 1.0.0
+ */
+public class ExecutionContextTest {
+
+    @Test
+    public void test() {
+        CountFunction countFunction = new CountFunction();
+        RandomFunction randomFunction = new RandomFunction();
+        RuleEngineConfiguration configuration = new RuleEngineConfiguration();
+        Map<String, Value> params = new HashMap<>();
+        params.put("value", new InputParameter("phone", ValueType.STRING));
+        configuration.getEngineVariable().addVariable(1, new cn.ruleengine.core.value.Function(1, countFunction, ValueType.STRING, params));
+        Variable variable = new Variable(1, ValueType.STRING);
+        cn.ruleengine.core.value.Function function = new cn.ruleengine.core.value.Function(2, countFunction, ValueType.STRING, params);
+        cn.ruleengine.core.value.Function random = new cn.ruleengine.core.value.Function(3, randomFunction, ValueType.STRING, params);
+
+        ConditionGroup conditionGroup = new ConditionGroup();
+        conditionGroup.addCondition(this.condition(variable, new Constant("138", ValueType.STRING)));
+        conditionGroup.addCondition(this.condition(variable, new Constant("138", ValueType.STRING)));
+        conditionGroup.addCondition(this.condition(function, new Constant("138", ValueType.STRING)));
+        conditionGroup.addCondition(this.condition(function, new Constant("138", ValueType.STRING)));
+        conditionGroup.addCondition(this.condition(random, new Constant("138", ValueType.STRING)));
+        conditionGroup.addCondition(this.condition(random, new Constant("138", ValueType.STRING)));
+        Rule rule = new Rule();
+        rule.getConditionSet().addConditionGroup(conditionGroup);
+        rule.setActionValue(new Constant(true, ValueType.BOOLEAN));
+        GeneralRule generalRule = new GeneralRule(rule);
+        generalRule.setCode("test");
+        generalRule.setWorkspaceCode("default");
+        configuration.getGeneralRuleContainer().add(generalRule);
+        GeneralRuleEngine engine = new GeneralRuleEngine(configuration);
+
+        Input input = new DefaultInput();
+        input.put("phone", "138");
+        Assert.assertEquals(true, engine.execute(input, "default", "test").getValue());
+        // 变量与函数引用同一个函数并且参数相同，一次执行中只计算一次
+        Assert.assertEquals(1, countFunction.count.get());
+        Assert.assertEquals(2, randomFunction.count.get());
+        Assert.assertEquals(true, engine.execute(input, "default", "test").getValue());
+        Assert.assertEquals(2, countFunction.count.get());
+        Assert.assertEquals(4, randomFunction.count.get());
+    }
+
+    private Condition condition(Value leftValue, Value rightValue) {
+        Condition condition = new Condition();
+        condition.setLeftValue(leftValue);
+        condition.setOperator(Operator.EQ);
+        condition.setRightValue(rightValue);
+        return condition;
+    }
+
+    @Function
+    public static class CountFunction {
+
+        private final AtomicInteger count = new AtomicInteger();
+
+        @Executor
+        public String executor(@Param("value") String value) {
+            this.count.incrementAndGet();
+            return value;
+        }
+
+    }
+
+    @Function(deterministic = false)
+    public static class RandomFunction {
+
+        private final AtomicInteger count = new AtomicInteger();
+
+        @Executor
+        public String executor(@Param("value") String value) {
+            this.count.incrementAndGet();
+            return value;
+        }
+
+    }
+
+}
@@ -0,0 +1,65 @@
+package cn.ruleengine.core.cache;
+
+import cn.hutool.core.thread.ThreadUtil;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 〈一句话功能简述〉<br>
+ * 〈〉
+ *
+ * @author dingqianwen
+ * @date 2026/10/18
+ * @since 1.0.0
+ */
+public class SegmentedFunctionCacheTest {
+
+    @Test
+    public void testEviction() {
+        // 一个段，最多容纳约10条
+        long weight = SegmentedFunctionCache.weigh("k00") + SegmentedFunctionCache.weigh("v00");
+        SegmentedFunctionCache cache = new SegmentedFunctionCache(weight * 10, 1, Runnable::run);
+        cache.put("hot", "v00", 0);
+        Assert.assertEquals("v00", cache.get("hot"));
+        // 只访问一次的数据不会把热点数据挤出缓存
+        for (int i = 10; i < 100; i++) {
+            cache.put("k" + i, "v" + i, 0);
+        }
+        Assert.assertEquals("v00", cache.get("hot"));
+        Assert.assertEquals("v99", cache.get("k99"));
+        Assert.assertNull(cache.get("k10"));
+        FunctionCacheStats stats = cache.stats();
+        Assert.assertTrue(stats.getEvictionCount() > 0);
+        Assert.assertTrue(stats.getWeight() <= weight * 10);
+        Assert.assertEquals(3, stats.getHitCount());
+        Assert.assertEquals(1, stats.getMissCount());
+    }
+
+    @Test
+    public void testExpire() {
+        SegmentedFunctionCache cache = new SegmentedFunctionCache(1 << 20);
+        cache.put("key", "value", 50);
+        Assert.assertEquals("value", cache.get("key"));
+        ThreadUtil.sleep(80);
+        Assert.assertNull(cache.get("key"));
+        Assert.assertEquals(1, cache.stats().getExpirationCount());
+    }
+
+    @Test
+    public void testRefresh() {
+        SegmentedFunctionCache cache = new SegmentedFunctionCache(1 << 20, 4, Runnable::run);
+        AtomicInteger counter = new AtomicInteger();
+        Assert.assertEquals(1, cache.get("key", 1000, counter::incrementAndGet));
+        Assert.assertEquals(1, cache.get("key", 1000, counter::incrementAndGet));
+        ThreadUtil.sleep(850);
+        // 超过有效期的80%，返回旧值并刷新
+        Assert.assertEquals(1, cache.get("key", 1000, counter::incrementAndGet));
+        Assert.assertEquals(2, cache.get("key", 1000, counter::incrementAndGet));
+        Assert.assertEquals(1, cache.stats().getRefreshCount());
+        cache.clear();
+        Assert.assertEquals(0, cache.stats().getSize());
+    }
+
+}
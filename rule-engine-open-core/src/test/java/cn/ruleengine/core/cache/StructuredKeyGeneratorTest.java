@@ -0,0 +1,75 @@
+package cn.ruleengine.core.cache;
+
+import cn.ruleengine.core.condition.compare.DateCompare;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.util.*;
+
+/**
+ * 〈一句话功能简述〉<br>
+ * 〈〉
+ *
+ * @author dingqianwen
+ * @date 2026/10/18
+ * @since 1.0.0
+ */
+public class StructuredKeyGeneratorTest {
+
+    @Test
+    public void test() {
+        StructuredKeyGenerator keyGenerator = new StructuredKeyGenerator();
+        Object target = new Object();
+        long now = System.currentTimeMillis();
+        Map<String, Object> params1 = new HashMap<>();
+        params1.put("a", new BigDecimal("1.50"));
+        params1.put("b", 2);
+        params1.put("c", new DateCompare.DateTime(now));
+        params1.put("d", Arrays.asList(1, 2));
+        Map<String, Object> params2 = new LinkedHashMap<>();
+        params2.put("d", new ArrayList<>(Arrays.asList(1L, 2L)));
+        params2.put("c", new DateCompare.DateTime(now));
+        params2.put("b", 2L);
+        params2.put("a", new BigDecimal("1.50"));
+        Object key1 = keyGenerator.generate(target, params1);
+        Object key2 = keyGenerator.generate(target, params2);
+        Assert.assertEquals(key1, key2);
+        Assert.assertEquals(key1.hashCode(), key2.hashCode());
+
+        params2.put("b", 3);
+        Assert.assertNotEquals(key1, keyGenerator.generate(target, params2));
+        Assert.assertNotEquals(key1, keyGenerator.generate("other function", params1));
+    }
+
+    /**
+     * 函数可以区分的参数值不能得到相同的key，否则会返回其他参数的执行结果
+     */
+    @Test
+    public void testDistinguishableValues() {
+        StructuredKeyGenerator keyGenerator = new StructuredKeyGenerator();
+        Object target = new Object();
+        long now = System.currentTimeMillis();
+        this.assertNotSameKey(keyGenerator, target, new BigDecimal("1.5"), new BigDecimal("1.50"));
+        this.assertNotSameKey(keyGenerator, target, new BigDecimal("2"), 2);
+        this.assertNotSameKey(keyGenerator, target, 1.5D, new BigDecimal("1.5"));
+        this.assertNotSameKey(keyGenerator, target, new Date(now), new DateCompare.DateTime(now));
+        this.assertNotSameKey(keyGenerator, target, new DateCompare.DateTime(now, "yyyy-MM-dd"), new DateCompare.DateTime(now));
+        this.assertNotSameKey(keyGenerator, target, Collections.singletonList(new BigDecimal("1.0")), Collections.singletonList(new BigDecimal("1")));
+    }
+
+    private void assertNotSameKey(StructuredKeyGenerator keyGenerator, Object target, Object value1, Object value2) {
+        Assert.assertNotEquals(keyGenerator.generate(target, Collections.singletonMap("a", value1)),
+                keyGenerator.generate(target, Collections.singletonMap("a", value2)));
+    }
+
+    @Test
+    public void testParamNamesChanged() {
+        StructuredKeyGenerator keyGenerator = new StructuredKeyGenerator();
+        Object target = new Object();
+        Map<String, Object> params1 = Collections.singletonMap("a", 1);
+        Map<String, Object> params2 = Collections.singletonMap("b", 1);
+        Assert.assertNotEquals(keyGenerator.generate(target, params1), keyGenerator.generate(target, params2));
+    }
+
+}
@@ -0,0 +1,154 @@
+package cn.ruleengine.core.codec;
+
+import cn.ruleengine.core.annotation.Param;
+import cn.ruleengine.core.condition.Condition;
+import cn.ruleengine.core.condition.ConditionGroup;
+import cn.ruleengine.core.condition.Operator;
+import cn.ruleengine.core.exception.EngineException;
+import cn.ruleengine.core.rule.GeneralRule;
+import cn.ruleengine.core.rule.Rule;
+import cn.ruleengine.core.value.*;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 〈一句话功能简述〉<br>
+ * 〈〉
+ *
+ * @author dingqianwen
+ * @date 2026/10/18
+ * @since 1.0.0
+ */
+public class RuleSnapshotCodecTest {
+
+    /**
+     * 发布表中保存的json格式规则
+     */
+    private static final String RULE_JSON = "{\"cn.ruleengine.core.rule.GeneralRule\": {\"id\": 214, \"code\": \"test\", \"name\": \"测试\", \"rule\": {\"cn.ruleengine.core.rule.Rule\": {\"id\": null, \"code\": null, \"name\": null, \"actionValue\": {\"cn.ruleengine.core.value.Constant\": {\"value\": true, \"valueType\": {\"cn.ruleengine.core.value.ValueType\": \"BOOLEAN\"}}}, \"description\": null, \"conditionSet\": {\"cn.ruleengine.core.condition.ConditionSet\": {\"conditionGroups\": {\"java.util.Collections$UnmodifiableRandomAccessList\": [{\"cn.ruleengine.core.condition.ConditionGroup\": {\"id\": 2028, \"name\": \"条件组\", \"orderNo\": 1, \"conditions\": {\"java.util.Collections$UnmodifiableRandomAccessList\": [{\"cn.ruleengine.core.condition.Condition\": {\"id\": 149, \"name\": \"测试条件\", \"orderNo\": 0, \"operator\": {\"cn.ruleengine.core.condition.Operator\": \"EQ\"}, \"leftValue\": {\"cn.ruleengine.core.value.InputParameter\": {\"valueType\": {\"cn.ruleengine.core.value.ValueType\": \"STRING\"}, \"inputParameterId\": 166, \"inputParameterCode\": \"name\"}}, \"rightValue\": {\"cn.ruleengine.core.value.Constant\": {\"value\": \"123\", \"valueType\": {\"cn.ruleengine.core.value.ValueType\": \"STRING\"}}}}}, {\"cn.ruleengine.core.condition.Condition\": {\"id\": 150, \"name\": \"测试2\", \"orderNo\": 1, \"operator\": {\"cn.ruleengine.core.condition.Operator\": \"EQ\"}, \"leftValue\": {\"cn.ruleengine.core.value.Variable\": {\"valueType\": {\"cn.ruleengine.core.value.ValueType\": \"BOOLEAN\"}, \"variableId\": 165}}, \"rightValue\": {\"cn.ruleengine.core.value.Constant\": {\"value\": true, \"valueType\": {\"cn.ruleengine.core.value.ValueType\": \"BOOLEAN\"}}}}}]}}}]}}}}}, \"version\": \"2.0\", \"description\": null, \"workspaceId\": 2, \"workspaceCode\": \"test\", \"defaultActionValue\": null}}";
+
+    @Test
+    public void testPublishedJson() {
+        GeneralRule generalRule = GeneralRule.buildRule(RULE_JSON);
+        byte[] snapshot = generalRule.toSnapshot();
+        Assert.assertTrue(RuleSnapshotCodec.isSnapshot(snapshot));
+        Assert.assertEquals(generalRule.toJson(), GeneralRule.buildRule(snapshot).toJson());
+        Assert.assertTrue(snapshot.length * 5 < RULE_JSON.getBytes(StandardCharsets.UTF_8).length);
+    }
+
+    @Test
+    public void testAllValues() {
+        Rule rule = new Rule();
+        rule.setId(-1);
+        rule.setCode("rule");
+        ConditionGroup conditionGroup = new ConditionGroup();
+        conditionGroup.setId(1);
+        conditionGroup.setOrderNo(0);
+        conditionGroup.addCondition(this.condition(new InputParameter(1, "amount", ValueType.NUMBER), Operator.GE, new Constant(new BigDecimal("-12.50"), ValueType.NUMBER)));
+        conditionGroup.addCondition(this.condition(new InputParameter(2, "city", ValueType.COLLECTION), Operator.IN, new Constant(Arrays.asList("北京", "上海", "amount"), ValueType.COLLECTION)));
+        conditionGroup.addCondition(this.condition(new Variable(3, ValueType.DATE), Operator.LT, new Constant(1600000000000L, ValueType.DATE)));
+        conditionGroup.addCondition(this.condition(new Formula("#amount > 10", ValueType.BOOLEAN), Operator.EQ, new Constant(true, ValueType.BOOLEAN)));
+        conditionGroup.addCondition(this.condition(new Executor("test", 4, "other", ValueType.STRING), Operator.EQ, new Constant(null, ValueType.STRING)));
+        conditionGroup.addCondition(this.condition(new Variable(5, ValueType.COLLECTION), Operator.CONTAIN, new Constant(Collections.emptyList(), ValueType.COLLECTION)));
+        rule.getConditionSet().addConditionGroup(conditionGroup);
+        rule.getConditionSet().addConditionGroup(new ConditionGroup());
+        rule.setActionValue(new Constant(Integer.MAX_VALUE, ValueType.NUMBER));
+        GeneralRule generalRule = new GeneralRule(rule);
+        generalRule.setId(Integer.MIN_VALUE);
+        generalRule.setCode("test");
+        generalRule.setWorkspaceId(2);
+        generalRule.setWorkspaceCode("test");
+        generalRule.setVersion("1.0");
+        generalRule.setDefaultActionValue(new Constant("默认", ValueType.STRING));
+
+        GeneralRule decoded = GeneralRule.buildRule(generalRule.toSnapshot());
+        Assert.assertEquals(generalRule.toJson(), decoded.toJson());
+        Assert.assertEquals(generalRule.getRule().getConditionSet().getConditionGroups().get(0).getConditions(),
+                decoded.getRule().getConditionSet().getConditionGroups().get(0).getConditions());
+    }
+
+    /**
+     * 包含大量集合常量的规则快照超过64KB，发布表快照列需要使用mediumblob
+     */
+    @Test
+    public void testLargeRule() {
+        List<String> cities = new ArrayList<>();
+        for (int i = 0; i < 20000; i++) {
+            cities.add("city-" + i);
+        }
+        Rule rule = new Rule();
+        ConditionGroup conditionGroup = new ConditionGroup();
+        conditionGroup.addCondition(this.condition(new InputParameter(1, "city", ValueType.COLLECTION), Operator.IN, new Constant(cities, ValueType.COLLECTION)));
+        rule.getConditionSet().addConditionGroup(conditionGroup);
+        rule.setActionValue(new Constant(true, ValueType.BOOLEAN));
+        GeneralRule generalRule = new GeneralRule(rule);
+        generalRule.setCode("large");
+        generalRule.setWorkspaceCode("test");
+
+        byte[] snapshot = generalRule.toSnapshot();
+        Assert.assertTrue(snapshot.length > 64 * 1024);
+        Assert.assertTrue(snapshot.length < 16 * 1024 * 1024);
+        GeneralRule decoded = GeneralRule.buildRule(snapshot);
+        Assert.assertEquals(generalRule.toJson(), decoded.toJson());
+    }
+
+    @Test
+    public void testFunctionValue() {
+        Map<String, Value> params = new HashMap<>();
+        params.put("value", new InputParameter(1, "city", ValueType.STRING));
+        params.put("suffix", new Constant("市", ValueType.STRING));
+        Function function = new Function(7, new EchoFunction(), ValueType.STRING, params);
+        byte[] snapshot = RuleSnapshotCodec.encodeValue(function);
+
+        EchoFunction executor = new EchoFunction();
+        Function decoded = (Function) RuleSnapshotCodec.decodeValue(snapshot, className -> EchoFunction.class.getName().equals(className) ? executor : null);
+        Assert.assertEquals(function.getId(), decoded.getId());
+        Assert.assertEquals(ValueType.STRING, decoded.getValueType());
+        Assert.assertSame(executor, decoded.getAbstractFunction());
+        Assert.assertEquals(function.getParams(), decoded.getParams());
+        Assert.assertEquals(new Constant("北京", ValueType.STRING),
+                RuleSnapshotCodec.decodeValue(RuleSnapshotCodec.encodeValue(new Constant("北京", ValueType.STRING)), className -> null));
+    }
+
+    @Test(expected = EngineException.class)
+    public void testUnknownFunction() {
+        Function function = new Function(7, new EchoFunction(), ValueType.STRING, new HashMap<>());
+        RuleSnapshotCodec.decodeValue(RuleSnapshotCodec.encodeValue(function), className -> null);
+    }
+
+    @Test(expected = EngineException.class)
+    public void testUnsupportedVersion() {
+        GeneralRule generalRule = GeneralRule.buildRule(RULE_JSON);
+        byte[] snapshot = generalRule.toSnapshot();
+        snapshot[2] = (byte) (RuleSnapshotCodec.VERSION + 1);
+        RuleSnapshotCodec.decode(snapshot);
+    }
+
+    private Condition condition(Value leftValue, Operator operator, Value rightValue) {
+        Condition condition = new Condition();
+        condition.setName(operator.name());
+        condition.setLeftValue(leftValue);
+        condition.setOperator(operator);
+        condition.setRightValue(rightValue);
+        return condition;
+    }
+
+    @cn.ruleengine.core.annotation.Function
+    public static class EchoFunction {
+
+        @cn.ruleengine.core.annotation.Executor
+        public String executor(@Param("value") String value, @Param("suffix") String suffix) {
+            return value + suffix;
+        }
+
+    }
+
+}
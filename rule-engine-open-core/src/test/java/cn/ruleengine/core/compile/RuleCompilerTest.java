@@ -0,0 +1,308 @@
+package cn.ruleengine.core.compile;
+
+import cn.ruleengine.core.DefaultInput;
+import cn.ruleengine.core.ExecutionContext;
+import cn.ruleengine.core.Input;
+import cn.ruleengine.core.RuleEngineConfiguration;
+import cn.ruleengine.core.condition.Condition;
+import cn.ruleengine.core.condition.ConditionGroup;
+import cn.ruleengine.core.condition.Operator;
+import cn.ruleengine.core.rule.Rule;
+import cn.ruleengine.core.annotation.Executor;
+import cn.ruleengine.core.annotation.Param;
+import cn.ruleengine.core.value.*;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 〈一句话功能简述〉<br>
+ * 〈〉
+ *
+ * @author dingqianwen
+ * @date 2026/10/18
+ * @since 1.0.0
+ */
+public class RuleCompilerTest {
+
+    private final RuleEngineConfiguration configuration = new RuleEngineConfiguration();
+
+    @Test
+    public void test() {
+        Random random = new Random(1024);
+        Operator[] numberOperators = {Operator.EQ, Operator.NE, Operator.GT, Operator.LT, Operator.GE, Operator.LE};
+        Operator[] stringOperators = {Operator.EQ, Operator.NE, Operator.CONTAIN, Operator.STARTS_WITH, Operator.ENDS_WITH};
+        for (Operator numberOperator : numberOperators) {
+            for (Operator stringOperator : stringOperators) {
+                Rule rule = new Rule();
+                ConditionGroup group1 = new ConditionGroup();
+                group1.addCondition(this.condition(new InputParameter("age", ValueType.NUMBER), numberOperator, new Constant(18, ValueType.NUMBER)));
+                group1.addCondition(this.condition(new InputParameter("city", ValueType.STRING), stringOperator, new Constant("北京", ValueType.STRING)));
+                ConditionGroup group2 = new ConditionGroup();
+                group2.addCondition(this.condition(new InputParameter("vip", ValueType.BOOLEAN), Operator.EQ, new Constant(true, ValueType.BOOLEAN)));
+                rule.getConditionSet().addConditionGroup(group1);
+                rule.getConditionSet().addConditionGroup(group2);
+                rule.setActionValue(new Constant("命中", ValueType.STRING));
+                CompiledRule compiledRule = RuleCompiler.compile(rule);
+                for (int i = 0; i < 200; i++) {
+                    Input input = new DefaultInput();
+                    input.put("age", random.nextInt(40));
+                    input.put("city", random.nextBoolean() ? "北京市" : "上海市");
+                    input.put("vip", random.nextInt(10) == 0);
+                    Assert.assertEquals(rule.execute(input, this.configuration), compiledRule.execute(input, this.configuration));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testConstant() {
+        Random random = new Random(2048);
+        Operator[] numberOperators = {Operator.EQ, Operator.NE, Operator.GT, Operator.LT, Operator.GE, Operator.LE};
+        Operator[] collectionOperators = {Operator.IN, Operator.NOT_IN, Operator.CONTAIN, Operator.NOT_CONTAIN};
+        List<String> collection = Arrays.asList("a", "b", "c", "d");
+        for (Operator numberOperator : numberOperators) {
+            for (Operator collectionOperator : collectionOperators) {
+                Rule rule = new Rule();
+                ConditionGroup group = new ConditionGroup();
+                // 左值为固定值
+                group.addCondition(this.condition(new Constant(18, ValueType.NUMBER), numberOperator, new InputParameter("age", ValueType.NUMBER)));
+                group.addCondition(this.condition(new InputParameter("date", ValueType.DATE), numberOperator, new Constant("2020-01-01 00:00:00", ValueType.DATE)));
+                Constant rightValue = collectionOperator == Operator.IN || collectionOperator == Operator.NOT_IN ?
+                        new Constant(collection, ValueType.COLLECTION) : new Constant("b", ValueType.STRING);
+                group.addCondition(this.condition(new InputParameter("tags", ValueType.COLLECTION), collectionOperator, rightValue));
+                rule.getConditionSet().addConditionGroup(group);
+                rule.setActionValue(new Constant(true, ValueType.BOOLEAN));
+                CompiledRule compiledRule = RuleCompiler.compile(rule);
+                for (int i = 0; i < 200; i++) {
+                    Input input = new DefaultInput();
+                    input.put("age", random.nextInt(40));
+                    input.put("date", random.nextBoolean() ? "2019-12-31 23:59:59" : random.nextBoolean() ? "2020-01-01 00:00:00" : "2020-01-02");
+                    input.put("tags", String.join(",", collection.subList(0, random.nextInt(collection.size() + 1))) + (random.nextBoolean() ? ",e" : ""));
+                    Assert.assertEquals(rule.execute(input, this.configuration), compiledRule.execute(input, this.configuration));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testNumber() {
+        Random random = new Random(4096);
+        Operator[] numberOperators = {Operator.EQ, Operator.NE, Operator.GT, Operator.LT, Operator.GE, Operator.LE};
+        Object[] values = {18, 18L, 18.0D, 18.5D, 0.1D, "18", "18.50", -7, Long.MAX_VALUE, new BigDecimal("18.5")};
+        for (Operator numberOperator : numberOperators) {
+            Rule rule = new Rule();
+            ConditionGroup group = new ConditionGroup();
+            // 入参为整数/double时不转换为BigDecimal直接比较
+            group.addCondition(this.condition(new InputParameter("amount", ValueType.NUMBER), numberOperator, new Constant("18.5", ValueType.NUMBER)));
+            group.addCondition(this.condition(new InputParameter("amount", ValueType.NUMBER), numberOperator, new InputParameter("limit", ValueType.NUMBER)));
+            rule.getConditionSet().addConditionGroup(group);
+            rule.setActionValue(new Constant(true, ValueType.BOOLEAN));
+            CompiledRule compiledRule = RuleCompiler.compile(rule);
+            for (int i = 0; i < 200; i++) {
+                Input input = new DefaultInput();
+                input.put("amount", values[random.nextInt(values.length)]);
+                input.put("limit", values[random.nextInt(values.length)]);
+                Assert.assertEquals(rule.execute(input, this.configuration), compiledRule.execute(input, this.configuration));
+            }
+        }
+    }
+
+    /**
+     * 固定值恰好等于0.1D的二进制精确值时，0.1D按照字符串转换后小于固定值
+     */
+    @Test
+    public void testNumberExactDouble() {
+        Operator[] numberOperators = {Operator.EQ, Operator.NE, Operator.GT, Operator.LT, Operator.GE, Operator.LE};
+        for (Operator numberOperator : numberOperators) {
+            Rule rule = new Rule();
+            ConditionGroup group = new ConditionGroup();
+            group.addCondition(this.condition(new InputParameter("amount", ValueType.NUMBER), numberOperator,
+                    new Constant("0.1000000000000000055511151231257827021181583404541015625", ValueType.NUMBER)));
+            rule.getConditionSet().addConditionGroup(group);
+            rule.setActionValue(new Constant(true, ValueType.BOOLEAN));
+            CompiledRule compiledRule = RuleCompiler.compile(rule);
+            Input input = new DefaultInput();
+            input.put("amount", 0.1D);
+            Assert.assertEquals(numberOperator.toString(), rule.execute(input, this.configuration), compiledRule.execute(input, this.configuration));
+        }
+    }
+
+    @Test
+    public void testReorder() {
+        RemoteFunction remoteFunction = new RemoteFunction();
+        Map<String, Value> params = new HashMap<>();
+        params.put("value", new InputParameter("age", ValueType.STRING));
+        Function function = new Function(1, remoteFunction, ValueType.BOOLEAN, params);
+        Rule rule = new Rule();
+        ConditionGroup group = new ConditionGroup();
+        group.addCondition(this.condition(function, Operator.EQ, new Constant(true, ValueType.BOOLEAN)));
+        group.addCondition(this.condition(new InputParameter("age", ValueType.NUMBER), Operator.GT, new Constant(18, ValueType.NUMBER)));
+        rule.getConditionSet().addConditionGroup(group);
+        rule.setActionValue(new Constant(true, ValueType.BOOLEAN));
+        CompiledRule compiledRule = RuleCompiler.compile(rule);
+        for (int i = 0; i < 3000; i++) {
+            Input input = new DefaultInput();
+            input.put("age", i % 20);
+            Assert.assertEquals(rule.execute(input, this.configuration), compiledRule.execute(input, this.configuration));
+        }
+        // 编译后先执行代价低的条件，年龄不满足时不再调用远程函数
+        remoteFunction.count.set(0);
+        Input input = new DefaultInput();
+        input.put("age", 10);
+        Assert.assertNull(compiledRule.execute(input, this.configuration));
+        Assert.assertEquals(0, remoteFunction.count.get());
+        // 调整顺序后出现异常时，结果与原始顺序一致
+        input.put("age", "abc");
+        Assert.assertNull(rule.execute(input, this.configuration));
+        Assert.assertNull(compiledRule.execute(input, this.configuration));
+    }
+
+    /**
+     * 调整顺序后函数出现异常时不重新执行已经执行过的条件，函数只调用一次
+     */
+    @Test
+    public void testReorderFailure() {
+        FailureFunction failureFunction = new FailureFunction();
+        Rule rule = new Rule();
+        ConditionGroup group = new ConditionGroup();
+        group.addCondition(this.condition(new Function(1, failureFunction, ValueType.BOOLEAN, new HashMap<>()), Operator.EQ, new Constant(true, ValueType.BOOLEAN)));
+        group.addCondition(this.condition(new InputParameter("age", ValueType.NUMBER), Operator.GT, new Constant(18, ValueType.NUMBER)));
+        rule.getConditionSet().addConditionGroup(group);
+        rule.setActionValue(new Constant(true, ValueType.BOOLEAN));
+        CompiledRule compiledRule = RuleCompiler.compile(rule);
+        Input input = new DefaultInput();
+        input.put("age", 20);
+        try {
+            compiledRule.execute(ExecutionContext.of(input), this.configuration);
+            Assert.fail();
+        } catch (RuntimeException e) {
+            Assert.assertEquals(1, failureFunction.count.get());
+        }
+    }
+
+    @Test
+    public void testEmpty() {
+        Rule rule = new Rule();
+        rule.setActionValue(new Constant(1, ValueType.NUMBER));
+        rule.getConditionSet().addConditionGroup(new ConditionGroup());
+        CompiledRule compiledRule = RuleCompiler.compile(rule);
+        Input input = new DefaultInput();
+        Assert.assertEquals(rule.execute(input, this.configuration), compiledRule.execute(input, this.configuration));
+    }
+
+    @Test
+    public void testParallelFunction() {
+        SlowFunction slowFunction = new SlowFunction();
+        Rule rule = new Rule();
+        ConditionGroup group = new ConditionGroup();
+        group.addCondition(this.condition(new InputParameter("age", ValueType.NUMBER), Operator.GT, new Constant(18, ValueType.NUMBER)));
+        for (int i = 0; i < 4; i++) {
+            Map<String, Value> params = new HashMap<>();
+            params.put("value", new Constant(i, ValueType.NUMBER));
+            Function function = new Function(i, slowFunction, ValueType.NUMBER, params);
+            group.addCondition(this.condition(function, Operator.EQ, new Constant(i, ValueType.NUMBER)));
+        }
+        rule.getConditionSet().addConditionGroup(group);
+        rule.setActionValue(new Constant(true, ValueType.BOOLEAN));
+        CompiledRule compiledRule = RuleCompiler.compile(rule);
+        // 低代价条件不成立时不调用函数
+        Input input = new DefaultInput();
+        input.put("age", 10);
+        Assert.assertNull(compiledRule.execute(ExecutionContext.of(input), this.configuration));
+        Assert.assertEquals(0, slowFunction.count.get());
+        input.put("age", 20);
+        long startTime = System.currentTimeMillis();
+        Assert.assertEquals(true, compiledRule.execute(ExecutionContext.of(input), this.configuration));
+        long cost = System.currentTimeMillis() - startTime;
+        Assert.assertEquals(4, slowFunction.count.get());
+        Assert.assertTrue(String.valueOf(cost), cost < 4 * SlowFunction.DELAY);
+        Assert.assertEquals(rule.execute(ExecutionContext.of(input), this.configuration), true);
+    }
+
+    /**
+     * 发布的规则中函数都通过变量引用
+     */
+    @Test
+    public void testParallelFunctionVariable() {
+        SlowFunction slowFunction = new SlowFunction();
+        RuleEngineConfiguration configuration = new RuleEngineConfiguration();
+        Rule rule = new Rule();
+        ConditionGroup group = new ConditionGroup();
+        for (int i = 0; i < 4; i++) {
+            Map<String, Value> params = new HashMap<>();
+            params.put("value", new InputParameter("age" + i, ValueType.NUMBER));
+            configuration.getEngineVariable().addVariable(i, new Function(i, slowFunction, ValueType.NUMBER, params));
+            group.addCondition(this.condition(new Variable(i, ValueType.NUMBER), Operator.EQ, new Constant(20 + i, ValueType.NUMBER)));
+        }
+        rule.getConditionSet().addConditionGroup(group);
+        rule.setActionValue(new Constant(true, ValueType.BOOLEAN));
+        CompiledRule compiledRule = RuleCompiler.compile(rule, configuration.getEngineVariable());
+        Assert.assertEquals(4, compiledRule.getVariables().size());
+        Input input = new DefaultInput();
+        for (int i = 0; i < 4; i++) {
+            input.put("age" + i, 20 + i);
+        }
+        long startTime = System.currentTimeMillis();
+        Assert.assertEquals(true, compiledRule.execute(ExecutionContext.of(input), configuration));
+        long cost = System.currentTimeMillis() - startTime;
+        // 提前发起的调用结果被变量读取，每个函数只调用一次
+        Assert.assertEquals(4, slowFunction.count.get());
+        Assert.assertTrue(String.valueOf(cost), cost < 2 * SlowFunction.DELAY);
+    }
+
+    @cn.ruleengine.core.annotation.Function(remote = true, parallel = true)
+    public static class SlowFunction {
+
+        private static final long DELAY = 200;
+
+        private final AtomicInteger count = new AtomicInteger();
+
+        @Executor
+        public Integer executor(@Param("value") Integer value) throws InterruptedException {
+            this.count.incrementAndGet();
+            Thread.sleep(DELAY);
+            return value;
+        }
+
+    }
+
+    @cn.ruleengine.core.annotation.Function(remote = true)
+    public static class RemoteFunction {
+
+        private final AtomicInteger count = new AtomicInteger();
+
+        @Executor
+        public Boolean executor(@Param(value = "value", required = false) String value) {
+            this.count.incrementAndGet();
+            return !"abc".equals(value);
+        }
+
+    }
+
+    @cn.ruleengine.core.annotation.Function(remote = true)
+    public static class FailureFunction {
+
+        private final AtomicInteger count = new AtomicInteger();
+
+        @Executor
+        public Boolean executor() {
+            this.count.incrementAndGet();
+            throw new IllegalStateException("failure");
+        }
+
+    }
+
+    private Condition condition(Value leftValue, Operator operator, Value rightValue) {
+        Condition condition = new Condition();
+        condition.setName(operator.name());
+        condition.setLeftValue(leftValue);
+        condition.setOperator(operator);
+        condition.setRightValue(rightValue);
+        return condition;
+    }
+
+}
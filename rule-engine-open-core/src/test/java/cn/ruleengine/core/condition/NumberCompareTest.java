@@ -0,0 +1,72 @@
+package cn.ruleengine.core.condition;
+
+import cn.ruleengine.core.condition.compare.NumberCompare;
+import cn.ruleengine.core.value.Constant;
+import cn.ruleengine.core.value.ValueType;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.function.BiPredicate;
+import java.util.function.Predicate;
+
+/**
+ * 〈一句话功能简述〉<br>
+ * 〈〉
+ *
+ * @author dingqianwen
+ * @date 2026/10/18
+ * @since 1.0.0
+ */
+public class NumberCompareTest {
+
+    private static final Operator[] OPERATORS = {Operator.EQ, Operator.NE, Operator.GT, Operator.LT, Operator.GE, Operator.LE};
+
+    private static final Object[] LEFT_VALUES = {0, -1, 18, 19, 17L, Long.MAX_VALUE, Long.MIN_VALUE, (short) 18, (byte) -3,
+            0.0D, -0.0D, 0.1D, 0.3D, 18.0D, 18.5D, 1.0E20D, -2.5D, 9007199254740993L};
+
+    private static final String[] RIGHT_VALUES = {"0", "18", "18.0", "18.5", "0.1", "0.3", "-2.5", "1E+20", "1E+2",
+            "9223372036854775807", "9223372036854775808", "-9223372036854775809", "0.30000000000000004", "9007199254740992",
+            "0.1000000000000000055511151231257827021181583404541015625"};
+
+    @Test
+    public void testDataConversion() {
+        Constant constant = new Constant(null, ValueType.NUMBER);
+        for (Object value : LEFT_VALUES) {
+            Assert.assertEquals(new BigDecimal(String.valueOf(value)), constant.dataConversion(value, ValueType.NUMBER));
+        }
+        Assert.assertEquals(new BigDecimal("123456789012345678901234567890"), constant.dataConversion(new BigInteger("123456789012345678901234567890"), ValueType.NUMBER));
+        Assert.assertEquals(new BigDecimal("1.5"), constant.dataConversion(1.5F, ValueType.NUMBER));
+        Assert.assertNull(NumberCompare.valueOf(Double.NaN));
+    }
+
+    /**
+     * 整数/double直接比较的结果与转换为BigDecimal后比较相同
+     */
+    @Test
+    public void testPrimitive() {
+        NumberCompare numberCompare = NumberCompare.getInstance();
+        for (Operator operator : OPERATORS) {
+            BiPredicate<Object, Object> biPredicate = numberCompare.resolve(operator);
+            for (String right : RIGHT_VALUES) {
+                BigDecimal rightValue = new BigDecimal(right);
+                Predicate<Object> predicate = numberCompare.resolve(operator, rightValue);
+                for (Object left : LEFT_VALUES) {
+                    BigDecimal leftValue = new BigDecimal(String.valueOf(left));
+                    boolean expected = numberCompare.compare(leftValue, operator, rightValue);
+                    String message = left + " " + operator + " " + right;
+                    Assert.assertEquals(message, expected, predicate.test(left));
+                    Assert.assertEquals(message, expected, biPredicate.test(left, rightValue));
+                }
+            }
+            for (Object left : LEFT_VALUES) {
+                for (Object right : LEFT_VALUES) {
+                    boolean expected = numberCompare.compare(new BigDecimal(String.valueOf(left)), operator, new BigDecimal(String.valueOf(right)));
+                    Assert.assertEquals(left + " " + operator + " " + right, expected, biPredicate.test(left, right));
+                }
+            }
+        }
+    }
+
+}
@@ -0,0 +1,119 @@
+package cn.ruleengine.core.metrics;
+
+import cn.ruleengine.core.DefaultInput;
+import cn.ruleengine.core.ExecutionContext;
+import cn.ruleengine.core.Input;
+import cn.ruleengine.core.RuleEngineConfiguration;
+import cn.ruleengine.core.annotation.Executor;
+import cn.ruleengine.core.annotation.FunctionCacheable;
+import cn.ruleengine.core.annotation.Param;
+import cn.ruleengine.core.condition.Condition;
+import cn.ruleengine.core.condition.ConditionGroup;
+import cn.ruleengine.core.condition.Operator;
+import cn.ruleengine.core.rule.GeneralRule;
+import cn.ruleengine.core.rule.Rule;
+import cn.ruleengine.core.value.*;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * 〈一句话功能简述〉<br>
+ * 〈〉
+ *
+ * @author dingqianwen
+ * @date 2026/10/18
+ * @since 1.0.0
+ */
+public class HdrMetricsRecorderTest {
+
+    @Test
+    public void test() {
+        HdrMetricsRecorder metricsRecorder = new HdrMetricsRecorder();
+        for (int i = 1; i <= 100; i++) {
+            metricsRecorder.recordRule("w1", "r1", i * 1000L, i % 4 == 0);
+        }
+        List<MetricsSnapshot> snapshots = metricsRecorder.snapshot();
+        Assert.assertEquals(1, snapshots.size());
+        MetricsSnapshot snapshot = snapshots.get(0);
+        Assert.assertEquals(HdrMetricsRecorder.RULE, snapshot.getType());
+        Assert.assertEquals("r1", snapshot.getTags().get("ruleCode"));
+        Assert.assertEquals(100, snapshot.getCount());
+        Assert.assertEquals(25, snapshot.getPositive());
+        Assert.assertEquals(5050 * 1000L, snapshot.getTotalNanos());
+        // 2位有效数字
+        Assert.assertEquals(50_000, snapshot.getP50(), 1000);
+        Assert.assertEquals(99_000, snapshot.getP99(), 1000);
+        Assert.assertEquals(100_000, snapshot.getMax(), 1000);
+        // 分位数为上次获取之后的值，次数为累计值
+        metricsRecorder.recordRule("w1", "r1", 10, true);
+        snapshot = metricsRecorder.snapshot().get(0);
+        Assert.assertEquals(101, snapshot.getCount());
+        Assert.assertEquals(10, snapshot.getMax());
+    }
+
+    @Test
+    public void testMaximumMetrics() {
+        HdrMetricsRecorder metricsRecorder = new HdrMetricsRecorder(2);
+        metricsRecorder.recordFunction("f1", 1, true);
+        metricsRecorder.recordFunction("f2", 1, true);
+        metricsRecorder.recordFunction("f3", 1, true);
+        metricsRecorder.recordFunction("f1", 1, false);
+        Assert.assertEquals(2, metricsRecorder.snapshot().size());
+    }
+
+    @Test
+    public void testExecute() {
+        HdrMetricsRecorder metricsRecorder = new HdrMetricsRecorder();
+        RuleEngineConfiguration configuration = new RuleEngineConfiguration();
+        configuration.setMetricsRecorder(metricsRecorder);
+        Function function = new Function(1, new CacheableFunction(), ValueType.NUMBER,
+                Collections.singletonMap("value", new InputParameter("age", ValueType.NUMBER)));
+        Condition condition = new Condition();
+        condition.setId(10);
+        condition.setName("age");
+        condition.setLeftValue(function);
+        condition.setOperator(Operator.GT);
+        condition.setRightValue(new Constant(18, ValueType.NUMBER));
+        ConditionGroup conditionGroup = new ConditionGroup();
+        conditionGroup.addCondition(condition);
+        Rule rule = new Rule();
+        rule.getConditionSet().addConditionGroup(conditionGroup);
+        rule.setActionValue(new Constant(true, ValueType.BOOLEAN));
+        GeneralRule generalRule = new GeneralRule(rule);
+        generalRule.setWorkspaceCode("w1");
+        generalRule.setCode("r1");
+        generalRule.compile();
+        for (int i = 0; i < 32; i++) {
+            Input input = new DefaultInput();
+            input.put("age", i % 2 == 0 ? 10 : 20);
+            generalRule.execute(ExecutionContext.of(input), configuration);
+        }
+        Map<String, MetricsSnapshot> snapshots = metricsRecorder.snapshot().stream()
+                .collect(Collectors.toMap(MetricsSnapshot::getType, s -> s));
+        MetricsSnapshot ruleSnapshot = snapshots.get(HdrMetricsRecorder.RULE);
+        Assert.assertEquals(32, ruleSnapshot.getCount());
+        Assert.assertEquals(16, ruleSnapshot.getPositive());
+        // 条件每执行16次采样一次
+        Assert.assertEquals(2, snapshots.get(HdrMetricsRecorder.CONDITION).getCount());
+        MetricsSnapshot functionSnapshot = snapshots.get(HdrMetricsRecorder.FUNCTION);
+        Assert.assertEquals(2, functionSnapshot.getCount());
+        Assert.assertEquals(2, functionSnapshot.getCacheMisses());
+        Assert.assertEquals(30, functionSnapshot.getCacheHits());
+    }
+
+    @FunctionCacheable
+    public static class CacheableFunction {
+
+        @Executor
+        public Integer executor(@Param("value") Integer value) {
+            return value;
+        }
+
+    }
+
+}
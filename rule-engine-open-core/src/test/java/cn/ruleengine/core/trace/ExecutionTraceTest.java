@@ -0,0 +1,140 @@
+package cn.ruleengine.core.trace;
+
+import cn.ruleengine.core.*;
+import cn.ruleengine.core.annotation.Executor;
+import cn.ruleengine.core.annotation.Function;
+import cn.ruleengine.core.annotation.Param;
+import cn.ruleengine.core.condition.Condition;
+import cn.ruleengine.core.condition.ConditionGroup;
+import cn.ruleengine.core.condition.Operator;
+import cn.ruleengine.core.rule.GeneralRule;
+import cn.ruleengine.core.rule.Rule;
+import cn.ruleengine.core.value.Constant;
+import cn.ruleengine.core.value.InputParameter;
+import cn.ruleengine.core.value.Value;
+import cn.ruleengine.core.value.ValueType;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 〈一句话功能简述〉<br>
+ * 〈〉
+ *
+ * @author dingqianwen
+ * @date 2026/10/18
+ * @since 1.0.0
+ */
+public class ExecutionTraceTest {
+
+    @Test
+    public void testInterpreted() {
+        this.test(false);
+    }
+
+    @Test
+    public void testCompiled() {
+        this.test(true);
+    }
+
+    private void test(boolean compile) {
+        RuleEngineConfiguration configuration = new RuleEngineConfiguration();
+        Map<String, Value> params = Collections.singletonMap("value", new InputParameter("phone", ValueType.STRING));
+        cn.ruleengine.core.value.Function function = new cn.ruleengine.core.value.Function(3, new EchoFunction(), ValueType.STRING, params);
+        Rule rule = new Rule();
+        rule.getConditionSet().addConditionGroup(this.conditionGroup(1, this.condition(11, function, "139")));
+        rule.getConditionSet().addConditionGroup(this.conditionGroup(2, this.condition(21, function, "138")));
+        rule.setActionValue(new Constant(true, ValueType.BOOLEAN));
+        GeneralRule generalRule = new GeneralRule(rule);
+        generalRule.setId(100);
+        generalRule.setCode("test");
+        generalRule.setWorkspaceCode("default");
+        if (compile) {
+            generalRule.compile();
+        }
+        configuration.getGeneralRuleContainer().add(generalRule);
+        GeneralRuleEngine engine = new GeneralRuleEngine(configuration);
+
+        Input input = new DefaultInput();
+        input.put("phone", "138");
+        Assert.assertNull(engine.execute(input, "default", "test").getTrace());
+
+        ExecutionContext context = ExecutionContext.of(new DefaultInput(Collections.singletonMap("phone", "138")));
+        context.enableTrace();
+        Output output = engine.execute(context, "default", "test");
+        Assert.assertEquals(true, output.getValue());
+        List<TraceEvent> events = output.getTrace().getEvents();
+        Assert.assertEquals(7, events.size());
+        this.assertEvent(events.get(0), TraceEvent.Type.RULE, 0, 100, true);
+        this.assertEvent(events.get(1), TraceEvent.Type.GROUP, 1, 1, false);
+        this.assertEvent(events.get(2), TraceEvent.Type.CONDITION, 2, 11, false);
+        Assert.assertEquals("138", events.get(2).getLeftValue());
+        Assert.assertEquals("139", events.get(2).getRightValue());
+        this.assertEvent(events.get(3), TraceEvent.Type.FUNCTION, 3, 3, "138");
+        Assert.assertEquals(false, events.get(3).getCached());
+        Assert.assertEquals(Collections.singletonMap("value", "138"), events.get(3).getLeftValue());
+        this.assertEvent(events.get(4), TraceEvent.Type.GROUP, 1, 2, true);
+        this.assertEvent(events.get(5), TraceEvent.Type.CONDITION, 2, 21, true);
+        // 本次执行中已经计算过，没有再次调用函数
+        this.assertEvent(events.get(6), TraceEvent.Type.FUNCTION, 3, 3, "138");
+        Assert.assertEquals(true, events.get(6).getCached());
+        Assert.assertNull(events.get(0).getCached());
+    }
+
+    @Test
+    public void testCapacity() {
+        ExecutionTrace trace = new ExecutionTrace(2);
+        int rule = trace.begin(TraceEvent.Type.RULE, 1, "rule");
+        int group = trace.begin(TraceEvent.Type.GROUP, 2, "group");
+        int condition = trace.begin(TraceEvent.Type.CONDITION, 3, "condition");
+        Assert.assertEquals(-1, condition);
+        trace.end(condition, 1, 2, false);
+        trace.end(group, false);
+        int next = trace.begin(TraceEvent.Type.GROUP, 4, "group");
+        trace.end(next, true);
+        trace.end(rule, null);
+        Assert.assertEquals(2, trace.getEvents().size());
+        Assert.assertEquals(2, trace.getDropped());
+        Assert.assertEquals(1, trace.getEvents().get(1).getDepth());
+    }
+
+    private void assertEvent(TraceEvent event, TraceEvent.Type type, int depth, Integer id, Object result) {
+        Assert.assertEquals(type, event.getType());
+        Assert.assertEquals(depth, event.getDepth());
+        Assert.assertEquals(id, event.getId());
+        Assert.assertEquals(result, event.getResult());
+        Assert.assertTrue(event.getNanos() >= 0);
+    }
+
+    private ConditionGroup conditionGroup(Integer id, Condition condition) {
+        ConditionGroup conditionGroup = new ConditionGroup();
+        conditionGroup.setId(id);
+        conditionGroup.setName("group" + id);
+        conditionGroup.addCondition(condition);
+        return conditionGroup;
+    }
+
+    private Condition condition(Integer id, Value leftValue, String rightValue) {
+        Condition condition = new Condition();
+        condition.setId(id);
+        condition.setName("condition" + id);
+        condition.setLeftValue(leftValue);
+        condition.setOperator(Operator.EQ);
+        condition.setRightValue(new Constant(rightValue, ValueType.STRING));
+        return condition;
+    }
+
+    @Function
+    public static class EchoFunction {
+
+        @Executor
+        public String executor(@Param("value") String value) {
+            return value;
+        }
+
+    }
+
+}
@@ -2,8 +2,17 @@ package cn.ruleengine.core.value;
 
 import cn.ruleengine.core.DefaultInput;
 import cn.ruleengine.core.Input;
+import cn.ruleengine.core.exception.FormulaException;
+import org.junit.Assert;
 import org.junit.Test;
 
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
 /**
  * 〈一句话功能简述〉<br>
  * 〈〉
@@ -35,4 +44,56 @@ public class FormulaTest {
         System.out.println(value);
     }
 
+    @Test
+    public void testCompiled() {
+        Formula formula = new Formula("(#input1 - #input2) * 3", ValueType.NUMBER);
+        for (int i = 0; i < 500; i++) {
+            Input input = new DefaultInput();
+            input.put("input1", i);
+            input.put("input2", 1);
+            Assert.assertEquals(new BigDecimal((i - 1) * 3), formula.getValue(input, null));
+        }
+        // 编译后参数类型发生变化，退回解释执行
+        Input input = new DefaultInput();
+        input.put("input1", 3.5D);
+        input.put("input2", 1);
+        Assert.assertEquals(0, new BigDecimal("7.5").compareTo((BigDecimal) formula.getValue(input, null)));
+    }
+
+    @Test(expected = FormulaException.class)
+    public void testEmptyParameter() {
+        Formula formula = new Formula("#input1 + ' 你好'", ValueType.STRING);
+        Input input = new DefaultInput();
+        input.put("input1", "");
+        formula.getValue(input, null);
+    }
+
+    @Test
+    public void testConcurrent() throws Exception {
+        Formula formula = new Formula("#input1 * 2 + #input2", ValueType.NUMBER);
+        ExecutorService executorService = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<Boolean>> futures = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                int base = t * 10000;
+                futures.add(executorService.submit(() -> {
+                    for (int i = base; i < base + 2000; i++) {
+                        Input input = new DefaultInput();
+                        input.put("input1", i);
+                        input.put("input2", 1);
+                        if (!new BigDecimal(i * 2 + 1).equals(formula.getValue(input, null))) {
+                            return false;
+                        }
+                    }
+                    return true;
+                }));
+            }
+            for (Future<Boolean> future : futures) {
+                Assert.assertTrue(future.get());
+            }
+        } finally {
+            executorService.shutdown();
+        }
+    }
+
 }
@@ -0,0 +1,233 @@
+package cn.ruleengine.core.value;
+
+import cn.ruleengine.core.DefaultInput;
+import cn.ruleengine.core.ExecutionContext;
+import cn.ruleengine.core.RuleEngineConfiguration;
+import cn.ruleengine.core.annotation.Executor;
+import cn.ruleengine.core.annotation.FailureStrategy;
+import cn.ruleengine.core.annotation.Param;
+import cn.ruleengine.core.exception.FunctionException;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 〈一句话功能简述〉<br>
+ * 〈〉
+ *
+ * @author dingqianwen
+ * @date 2026/10/18
+ * @since 1.0.0
+ */
+public class FunctionTest {
+
+    private final RuleEngineConfiguration configuration = new RuleEngineConfiguration();
+
+    @Test
+    public void test() {
+        Map<String, Value> params = new HashMap<>();
+        params.put("a", new Constant(1, ValueType.NUMBER));
+        params.put("list", new Constant(Arrays.asList(1, 2, 3), ValueType.COLLECTION));
+        Function function = new Function(1, new SumFunction(), ValueType.NUMBER, params);
+        Object value = function.getValue(new DefaultInput(), this.configuration);
+        Assert.assertEquals(0, new BigDecimal(7).compareTo((BigDecimal) value));
+    }
+
+    @Test
+    public void testFailureStrategy() {
+        Map<String, Value> params = new HashMap<>();
+        params.put("value", new Constant("a", ValueType.STRING));
+        Function function = new Function(2, new FailureFunction(), ValueType.STRING, params);
+        Assert.assertEquals("failure:a", function.getValue(new DefaultInput(), this.configuration));
+    }
+
+    @Test(expected = FunctionException.class)
+    public void testException() {
+        Map<String, Value> params = new HashMap<>();
+        params.put("value", new Constant("a", ValueType.STRING));
+        Function function = new Function(3, new ExceptionFunction(), ValueType.STRING, params);
+        function.getValue(new DefaultInput(), this.configuration);
+    }
+
+    @Test
+    public void testAsync() {
+        Map<String, Value> params = new HashMap<>();
+        params.put("value", new Constant("a", ValueType.STRING));
+        Function function = new Function(4, new AsyncFunction(), ValueType.STRING, params);
+        Assert.assertEquals("async:a", function.getValue(new DefaultInput(), this.configuration));
+    }
+
+    @Test
+    public void testAsyncFailureStrategy() {
+        Map<String, Value> params = new HashMap<>();
+        params.put("value", new Constant("a", ValueType.STRING));
+        AsyncFailureFunction asyncFailureFunction = new AsyncFailureFunction();
+        Function function = new Function(5, asyncFailureFunction, ValueType.STRING, params);
+        Assert.assertEquals("failure:a", function.getValue(new DefaultInput(), this.configuration));
+        Assert.assertEquals(3, asyncFailureFunction.count.get());
+    }
+
+    /**
+     * 同步函数失败重试在线程池中执行，不在调用线程中休眠
+     */
+    @Test
+    public void testRetryThread() {
+        Map<String, Value> params = new HashMap<>();
+        params.put("value", new Constant("a", ValueType.STRING));
+        RetryFunction retryFunction = new RetryFunction();
+        Function function = new Function(7, retryFunction, ValueType.STRING, params);
+        Assert.assertEquals("retry:a", function.getValue(new DefaultInput(), this.configuration));
+        Assert.assertEquals(2, retryFunction.threads.size());
+        Assert.assertSame(Thread.currentThread(), retryFunction.threads.get(0));
+        Assert.assertNotSame(Thread.currentThread(), retryFunction.threads.get(1));
+    }
+
+    /**
+     * 不同变量引用同一个函数并且入参相同时，一次执行中只调用一次
+     */
+    @Test
+    public void testMemoizeSameFunction() {
+        CountFunction countFunction = new CountFunction();
+        Map<String, Value> params1 = new HashMap<>();
+        params1.put("value", new Constant("a", ValueType.STRING));
+        Map<String, Value> params2 = new HashMap<>();
+        params2.put("value", new Constant("a", ValueType.STRING));
+        Function function1 = new Function(8, countFunction, ValueType.STRING, params1);
+        Function function2 = new Function(8, countFunction, ValueType.STRING, params2);
+        ExecutionContext context = ExecutionContext.of(new DefaultInput());
+        Assert.assertEquals("count:a", function1.getValue(context, this.configuration));
+        Assert.assertEquals("count:a", function2.getValue(context, this.configuration));
+        Assert.assertEquals(1, countFunction.count.get());
+        params2.put("value", new Constant("b", ValueType.STRING));
+        Assert.assertEquals("count:b", new Function(8, countFunction, ValueType.STRING, params2).getValue(context, this.configuration));
+        Assert.assertEquals(2, countFunction.count.get());
+    }
+
+    @Test
+    public void testPrefetch() {
+        Map<String, Value> params = new HashMap<>();
+        params.put("value", new Constant("a", ValueType.STRING));
+        ParallelFunction parallelFunction = new ParallelFunction();
+        Function function = new Function(6, parallelFunction, ValueType.STRING, params);
+        ExecutionContext context = ExecutionContext.of(new DefaultInput());
+        function.prefetch(context, this.configuration);
+        function.prefetch(context, this.configuration);
+        Assert.assertEquals("parallel:a", function.getValue(context, this.configuration));
+        Assert.assertEquals("parallel:a", function.getValue(context, this.configuration));
+        Assert.assertEquals(1, parallelFunction.count.get());
+    }
+
+    public static class SumFunction {
+
+        @Executor
+        public BigDecimal executor(@Param("a") Integer a, @Param("list") List<BigDecimal> list) {
+            return list.stream().reduce(new BigDecimal(a), BigDecimal::add);
+        }
+
+    }
+
+    public static class FailureFunction {
+
+        private int count;
+
+        @Executor(maxAttempts = 2)
+        public String executor(@Param("value") String value) {
+            this.count++;
+            throw new IllegalStateException(value);
+        }
+
+        @FailureStrategy
+        public String failureStrategy(@Param("value") String value) {
+            Assert.assertEquals(3, this.count);
+            return "failure:" + value;
+        }
+
+    }
+
+    public static class AsyncFunction {
+
+        @Executor
+        public CompletableFuture<String> executor(@Param("value") String value) {
+            return CompletableFuture.supplyAsync(() -> "async:" + value);
+        }
+
+    }
+
+    public static class AsyncFailureFunction {
+
+        private final AtomicInteger count = new AtomicInteger();
+
+        @Executor(maxAttempts = 2, delay = 10)
+        public CompletableFuture<String> executor(@Param("value") String value) {
+            this.count.incrementAndGet();
+            CompletableFuture<String> future = new CompletableFuture<>();
+            future.completeExceptionally(new IllegalStateException(value));
+            return future;
+        }
+
+        @FailureStrategy
+        public CompletableFuture<String> failureStrategy(@Param("value") String value) {
+            return CompletableFuture.completedFuture("failure:" + value);
+        }
+
+    }
+
+    public static class CountFunction {
+
+        private final AtomicInteger count = new AtomicInteger();
+
+        @Executor
+        public String executor(@Param("value") String value) {
+            this.count.incrementAndGet();
+            return "count:" + value;
+        }
+
+    }
+
+    @cn.ruleengine.core.annotation.Function(remote = true)
+    public static class RetryFunction {
+
+        private final List<Thread> threads = new CopyOnWriteArrayList<>();
+
+        @Executor(maxAttempts = 1, delay = 10)
+        public String executor(@Param("value") String value) {
+            this.threads.add(Thread.currentThread());
+            if (this.threads.size() == 1) {
+                throw new IllegalStateException(value);
+            }
+            return "retry:" + value;
+        }
+
+    }
+
+    @cn.ruleengine.core.annotation.Function(remote = true, parallel = true)
+    public static class ParallelFunction {
+
+        private final AtomicInteger count = new AtomicInteger();
+
+        @Executor
+        public String executor(@Param("value") String value) {
+            this.count.incrementAndGet();
+            return "parallel:" + value;
+        }
+
+    }
+
+    public static class ExceptionFunction {
+
+        @Executor
+        public String executor(@Param("value") String value) {
+            throw new IllegalStateException(value);
+        }
+
+    }
+
+}
@@ -0,0 +1,67 @@
+package cn.ruleengine.core.value;
+
+import cn.ruleengine.core.JsonParse;
+import cn.ruleengine.core.condition.Operator;
+import cn.ruleengine.core.condition.compare.CollectionCompare;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * 〈一句话功能简述〉<br>
+ * 〈〉
+ *
+ * @author dingqianwen
+ * @date 2026/10/18
+ * @since 1.0.0
+ */
+public class IndexedListTest {
+
+    @Test
+    public void test() {
+        for (int size : new int[]{0, 1, IndexedList.SORTED_ARRAY_MAX_SIZE, IndexedList.SORTED_ARRAY_MAX_SIZE + 1, 1000}) {
+            List<String> list = new ArrayList<>();
+            for (int i = size; i > 0; i--) {
+                list.add("element" + i);
+            }
+            IndexedList<String> indexedList = IndexedList.of(list);
+            Assert.assertEquals(list, indexedList);
+            for (String element : list) {
+                Assert.assertTrue(indexedList.contains(element));
+            }
+            Assert.assertFalse(indexedList.contains("element0"));
+            Assert.assertFalse(indexedList.contains(1));
+            Assert.assertFalse(indexedList.contains(null));
+        }
+        IndexedList<Object> mixed = IndexedList.of(Arrays.asList(1, "1", null));
+        Assert.assertTrue(mixed.contains(1));
+        Assert.assertTrue(mixed.contains("1"));
+        Assert.assertTrue(mixed.contains(null));
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testImmutable() {
+        IndexedList.of(Arrays.asList("a", "b")).add("c");
+    }
+
+    @Test
+    public void testConstant() throws Exception {
+        Constant constant = new Constant(Arrays.asList("a", "b", "c"), ValueType.COLLECTION);
+        Assert.assertTrue(constant.getValue(null, null) instanceof IndexedList);
+        // 序列化后的json不包含索引
+        String json = JsonParse.OBJECT_MAPPER.writeValueAsString(constant);
+        Assert.assertFalse(json.contains(IndexedList.class.getSimpleName()));
+        Constant fromJson = JsonParse.OBJECT_MAPPER.readValue(json, Constant.class);
+        Assert.assertEquals(constant, fromJson);
+        Object value = fromJson.getValue(null, null);
+        Assert.assertTrue(value instanceof IndexedList);
+        Collection<String> left = Arrays.asList("a", "c");
+        Assert.assertTrue(CollectionCompare.getInstance().compare(left, Operator.IN, value));
+        Assert.assertFalse(CollectionCompare.getInstance().compare(Arrays.asList("a", "d"), Operator.IN, value));
+    }
+
+}
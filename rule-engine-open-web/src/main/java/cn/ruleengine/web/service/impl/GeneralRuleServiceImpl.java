@@ -39,8 +39,10 @@ import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.DigestUtils;
 
 import javax.annotation.Resource;
+import java.nio.charset.StandardCharsets;
 import java.util.*;
 import java.util.stream.Collectors;
 
@@ -173,6 +175,15 @@ public class GeneralRuleServiceImpl implements GeneralRuleService {
             ruleMessageBody.setWorkspaceId(ruleEngineGeneralRule.getWorkspaceId());
             ruleMessageBody.setWorkspaceCode(ruleEngineGeneralRule.getWorkspaceCode());
             ruleMessageBody.setRuleCode(ruleEngineGeneralRule.getCode());
+            // 移除的版本为当前线上版本，计算服务中不会再加载比此版本旧的规则
+            RuleEngineGeneralRulePublish rulePublish = this.ruleEngineGeneralRulePublishManager.lambdaQuery()
+                    .select(RuleEngineGeneralRulePublish::getId)
+                    .eq(RuleEngineGeneralRulePublish::getStatus, DataStatus.PRD.getStatus())
+                    .eq(RuleEngineGeneralRulePublish::getGeneralRuleId, id)
+                    .one();
+            if (rulePublish != null) {
+                ruleMessageBody.setRevision(rulePublish.getId().longValue());
+            }
             this.eventPublisher.publishEvent(new GeneralRuleEvent(ruleMessageBody));
         }
         // 删除规则同时删除规则的权限信息
@@ -275,6 +286,7 @@ public class GeneralRuleServiceImpl implements GeneralRuleService {
         rulePublish.setGeneralRuleCode(generalRule.getCode());
         rulePublish.setGeneralRuleName(generalRule.getName());
         rulePublish.setData(generalRule.toJson());
+        rulePublish.setSnapshot(generalRule.toSnapshot());
         rulePublish.setStatus(DataStatus.TEST.getStatus());
         rulePublish.setWorkspaceId(generalRule.getWorkspaceId());
         // add version
@@ -343,6 +355,21 @@ public class GeneralRuleServiceImpl implements GeneralRuleService {
         ruleMessageBody.setRuleCode(ruleEngineGeneralRule.getCode());
         ruleMessageBody.setWorkspaceId(ruleEngineGeneralRule.getWorkspaceId());
         ruleMessageBody.setWorkspaceCode(ruleEngineGeneralRule.getWorkspaceCode());
+        // 消息中携带发布的规则数据以及版本，计算服务无需再查询数据库，并且可以丢弃乱序到达的旧版本
+        RuleEngineGeneralRulePublish rulePublish = this.ruleEngineGeneralRulePublishManager.lambdaQuery()
+                .eq(RuleEngineGeneralRulePublish::getStatus, DataStatus.PRD.getStatus())
+                .eq(RuleEngineGeneralRulePublish::getGeneralRuleId, ruleEngineGeneralRule.getId())
+                .one();
+        if (rulePublish != null) {
+            ruleMessageBody.setRevision(rulePublish.getId().longValue());
+            if (rulePublish.getSnapshot() != null) {
+                ruleMessageBody.setSnapshot(rulePublish.getSnapshot());
+                ruleMessageBody.setHash(DigestUtils.md5DigestAsHex(rulePublish.getSnapshot()));
+            } else {
+                ruleMessageBody.setData(rulePublish.getData());
+                ruleMessageBody.setHash(DigestUtils.md5DigestAsHex(rulePublish.getData().getBytes(StandardCharsets.UTF_8)));
+            }
+        }
         this.eventPublisher.publishEvent(new GeneralRuleEvent(ruleMessageBody));
         // 记录日志
         UserData currentUser = Context.getCurrentUser();
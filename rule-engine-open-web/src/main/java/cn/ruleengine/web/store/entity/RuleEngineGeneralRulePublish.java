@@ -38,6 +38,11 @@ public class RuleEngineGeneralRulePublish implements Serializable {
 
     private String data;
 
+    /**
+     * 规则二进制快照，与data内容相同，加载规则时优先使用
+     */
+    private byte[] snapshot;
+
     /**
      * see RuleStatus
      */
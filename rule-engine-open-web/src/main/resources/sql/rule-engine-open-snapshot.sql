@@ -0,0 +1,3 @@
+-- 已有数据库升级：规则发布表增加二进制快照列，重新生成测试版本/发布后写入，为空时计算端继续使用json
+alter table rule_engine_general_rule_publish
+    add snapshot mediumblob null comment '规则二进制快照' after data;
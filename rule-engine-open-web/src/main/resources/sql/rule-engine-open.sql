@@ -241,6 +241,7 @@ create table rule_engine_general_rule_publish
     workspace_id      int               null,
     workspace_code    varchar(20)       null,
     data              json              null,
+    snapshot          mediumblob        null comment '规则二进制快照',
     status            tinyint           null,
     version           varchar(10)       null,
     loading_mode      tinyint default 1 null comment '加载模式，1启动加载 2懒加载 3会话',